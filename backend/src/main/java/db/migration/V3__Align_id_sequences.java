@@ -0,0 +1,53 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * Moves id sequences past ids already used in their tables. Tables of the baseline schema
+ * got their ids from identity columns, so their rows would collide with ids of new sequences.
+ */
+public class V3__Align_id_sequences extends BaseJavaMigration {
+    /**
+     * Sequences with tables which ids they generate
+     */
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "task_seq", "task",
+            "project_seq", "project",
+            "label_seq", "label",
+            "habit_seq", "habit",
+            "habit_completion_seq", "habit_completion",
+            "filter_seq", "filter",
+            "task_comment_seq", "task_comment",
+            "collaboration_seq", "collaboration",
+            "user_account_seq", "user_account",
+            "user_role_seq", "user_role"
+    );
+
+    // Hibernate takes a value of the sequence as the last id of a block of this size
+    private static final long ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        try(Statement statement = context.getConnection().createStatement()) {
+            for(Map.Entry<String, String> sequence : SEQUENCES.entrySet()) {
+                long maxId = getMaxId(statement, sequence.getValue());
+                if(maxId > 0) {
+                    statement.execute("ALTER SEQUENCE " + sequence.getKey() + " RESTART WITH " + (maxId + ALLOCATION_SIZE));
+                }
+            }
+        }
+    }
+
+    private long getMaxId(Statement statement, String table) throws SQLException {
+        try(ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+}
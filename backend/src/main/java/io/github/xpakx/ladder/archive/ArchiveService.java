@@ -12,6 +12,9 @@ import io.github.xpakx.ladder.common.error.NotFoundException;
 import io.github.xpakx.ladder.habit.HabitRepository;
 import io.github.xpakx.ladder.project.ProjectRepository;
 import io.github.xpakx.ladder.task.TaskRepository;
+import io.github.xpakx.ladder.task.TaskUpdateUtilsService;
+import io.github.xpakx.ladder.common.order.SparseOrderService;
+import io.github.xpakx.ladder.tree.ProjectTreeCache;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,6 +33,8 @@ public class ArchiveService {
     private final ProjectRepository projectRepository;
     private final TaskRepository taskRepository;
     private final HabitRepository habitRepository;
+    private final ProjectTreeCache treeCache;
+    private final TaskUpdateUtilsService taskUtils;
 
     /**
      * Change project archived state; if request contains false flag,
@@ -68,7 +73,7 @@ public class ArchiveService {
     }
 
     private void restoreProjectFromArchiveAtTheEndOfTree(Integer userId, Project project) {
-        project.setGeneralOrder(projectRepository.getMaxOrderByOwnerId(userId));
+        project.setGeneralOrder(projectRepository.getMaxOrderByOwnerId(userId) + SparseOrderService.GAP);
     }
 
     private void detachProjectFromTree(Integer userId, Project project, LocalDateTime now) {
@@ -96,6 +101,7 @@ public class ArchiveService {
             a.setModifiedAt(now);
         });
         taskRepository.saveAll(tasks);
+        treeCache.tasksSaved(tasks);
     }
 
     private List<Task> prepareCompletedTasks(boolean request, LocalDateTime now, List<Task> tasks) {
@@ -116,6 +122,7 @@ public class ArchiveService {
         if(children.size() > 0) {
             reassignParent(project, now, children, getMaxOrderForParent(userId, project));
             projectRepository.saveAll(children);
+            treeCache.projectsSaved(children);
         }
     }
 
@@ -123,7 +130,8 @@ public class ArchiveService {
         for(Project a : children) {
             a.setParent(project.getParent());
             a.setModifiedAt(now);
-            a.setGeneralOrder(order++);
+            order += SparseOrderService.GAP;
+            a.setGeneralOrder(order);
         }
     }
 
@@ -209,21 +217,13 @@ public class ArchiveService {
             updateTaskOrder(userId, task);
         }
         task.setModifiedAt(now);
-        taskRepository.saveAll(
-                archiveChildren(userId, task, now, request.isFlag())
-        );
+        taskUtils.archiveChildren(task, userId, request.isFlag(), now);
         return taskRepository.save(task);
     }
 
     private void updateTaskOrder(Integer userId, Task task) {
         task.setProjectOrder(
-                task.getProject() != null ? taskRepository.getMaxOrderByOwnerIdAndProjectId(userId, task.getProject().getId())+1 : taskRepository.getMaxOrderByOwnerId(userId)+1
+                task.getProject() != null ? taskRepository.getMaxOrderByOwnerIdAndProjectId(userId, task.getProject().getId()) + SparseOrderService.GAP : taskRepository.getMaxOrderByOwnerId(userId) + SparseOrderService.GAP
         );
     }
-
-    private List<Task> archiveChildren(Integer userId, Task task, LocalDateTime now, boolean archived) {
-        List<Task> tasks = taskRepository.findByOwnerIdAndProjectId(userId,
-                task.getProject() != null ? task.getProject().getId() : null);
-        return archiveChildren(tasks, List.of(task), now, archived);
-    }
 }
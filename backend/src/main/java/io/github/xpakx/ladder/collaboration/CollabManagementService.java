@@ -5,6 +5,7 @@ import io.github.xpakx.ladder.user.UserAccount;
 import io.github.xpakx.ladder.common.dto.BooleanRequest;
 import io.github.xpakx.ladder.collaboration.dto.CollabTokenResponse;
 import io.github.xpakx.ladder.common.error.NotFoundException;
+import io.github.xpakx.ladder.security.AuthenticationCache;
 import io.github.xpakx.ladder.user.UserAccountRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -16,6 +17,8 @@ import java.time.LocalDateTime;
 public class CollabManagementService {
     private final CollaborationRepository collabRepository;
     private final UserAccountRepository userRepository;
+    private final AuthenticationCache authenticationCache;
+    private final CollaboratorCache collaboratorCache;
 
     @NotifyOnCollaborationChange
     public Collaboration updateCollabEdit(BooleanRequest request, Integer collabId, Integer userId) {
@@ -23,7 +26,9 @@ public class CollabManagementService {
                 .orElseThrow(() -> new NotFoundException("No such collaboration!"));
         collaborationToUpdate.setEditionAllowed(request.isFlag());
         collaborationToUpdate.setModifiedAt(LocalDateTime.now());
-        return collabRepository.save(collaborationToUpdate);
+        Collaboration updated = collabRepository.save(collaborationToUpdate);
+        collaboratorCache.invalidate(updated.getProject().getId());
+        return updated;
     }
 
     @NotifyOnCollaborationChange
@@ -32,7 +37,9 @@ public class CollabManagementService {
                 .orElseThrow(() -> new NotFoundException("No such collaboration!"));
         collaborationToUpdate.setTaskCompletionAllowed(request.isFlag());
         collaborationToUpdate.setModifiedAt(LocalDateTime.now());
-        return collabRepository.save(collaborationToUpdate);
+        Collaboration updated = collabRepository.save(collaborationToUpdate);
+        collaboratorCache.invalidate(updated.getProject().getId());
+        return updated;
     }
 
     public UserAccount getNewToken(Integer userId) {
@@ -42,7 +49,9 @@ public class CollabManagementService {
         LocalDateTime date = LocalDateTime.now();
         String token = "" + user.getId() + "-" + date.getYear() + date.getMonthValue() + date.getDayOfMonth();
         user.setCollaborationToken(token);
-        return userRepository.save(user);
+        UserAccount updated = userRepository.save(user);
+        authenticationCache.invalidateUser(updated.getId().toString());
+        return updated;
     }
 
     public CollabTokenResponse getToken(Integer userId) {
@@ -0,0 +1,19 @@
+package io.github.xpakx.ladder.collaboration;
+
+import io.github.xpakx.ladder.collaboration.dto.CollaboratorCacheDetails;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@AllArgsConstructor
+public class CollabMetricsController {
+    private final CollaboratorCache collaboratorCache;
+
+    @GetMapping("/metrics/collaborators")
+    public ResponseEntity<CollaboratorCacheDetails> getCollaboratorCacheMetrics() {
+        return new ResponseEntity<>(collaboratorCache.getMetricsDetails(), HttpStatus.OK);
+    }
+}
@@ -11,7 +11,7 @@ import io.github.xpakx.ladder.common.dto.PriorityRequest;
 import io.github.xpakx.ladder.task.Task;
 import io.github.xpakx.ladder.common.error.NotFoundException;
 import io.github.xpakx.ladder.common.error.WrongOwnerException;
-import io.github.xpakx.ladder.project.ProjectRepository;
+import io.github.xpakx.ladder.stats.CompletionCountService;
 import io.github.xpakx.ladder.task.TaskRepository;
 import io.github.xpakx.ladder.user.UserAccountRepository;
 import io.github.xpakx.ladder.task.TaskMovableService;
@@ -34,9 +34,10 @@ public class CollabService {
     private final TaskPartialUpdateService taskUpdateService;
     private final TaskMovableService taskMovableService;
     private final UserAccountRepository userRepository;
-    private final ProjectRepository projectRepository;
     private final TaskRepository taskRepository;
     private final CollaborationRepository collabRepository;
+    private final CompletionCountService completionCounts;
+    private final CollaboratorCache collaboratorCache;
 
     public Task addTask(AddTaskRequest request, Integer projectId, Integer userId) {
         Integer ownerId = testAccessToProject(projectId, userId, true).orElse(userId);
@@ -44,32 +45,25 @@ public class CollabService {
     }
 
     private Optional<Integer> testAccessToProject(Integer projectId, Integer userId, boolean edit) {
-        boolean isCollaborator = testProjectCollaboration(projectId, userId, edit);
-        Optional<Integer> owner = userRepository.getOwnerIdByProjectId(projectId);
-        if(!isCollaborator || owner.isEmpty()) {
-            throw new AccessDeniedException("You aren't collaborator in this project!");
-        }
-        return owner;
+        return testAccess(collaboratorCache.getAccess(projectId), userId, edit, false);
     }
 
-    private boolean testProjectCollaboration(Integer projectId, Integer userId, boolean edit) {
-        return edit ? projectRepository.existsEditorCollaboratorById(projectId, userId) : projectRepository.existsCollaboratorById(projectId, userId);
+    private Optional<Integer> testAccessToTask(Integer taskId, Integer userId, boolean edit, boolean complete) {
+        return testAccess(collaboratorCache.getAccessByTaskId(taskId), userId, edit, complete);
     }
 
-    private Optional<Integer> testAccessToTask(Integer taskId, Integer userId, boolean edit, boolean complete) {
-        boolean isCollaborator = testTaskCollaboration(taskId, userId, edit, complete);
-        Optional<Integer> owner = userRepository.getOwnerIdByTaskId(taskId);
-        if(!isCollaborator || owner.isEmpty()) {
+    private Optional<Integer> testAccess(Optional<ProjectAccess> access, Integer userId, boolean edit, boolean complete) {
+        if(access.isEmpty() || !hasPermission(access.get(), userId, edit, complete)) {
             throw new AccessDeniedException("You aren't collaborator in this project!");
         }
-        return owner;
+        return Optional.ofNullable(access.get().getOwnerId());
     }
 
-    private boolean testTaskCollaboration(Integer taskId, Integer userId, boolean edit, boolean complete) {
+    private boolean hasPermission(ProjectAccess access, Integer userId, boolean edit, boolean complete) {
         if(complete) {
-            return taskRepository.existsDoerCollaboratorById(taskId, userId);
+            return access.canComplete(userId);
         }
-        return edit ? taskRepository.existsEditorCollaboratorById(taskId, userId) : taskRepository.existsCollaboratorById(taskId, userId);
+        return edit ? access.canEdit(userId) : access.canView(userId);
     }
 
     public Task addTaskAfter(AddTaskRequest request, Integer userId, Integer afterId) {
@@ -115,14 +109,16 @@ public class CollabService {
         if(request.isFlag()) {
             taskToUpdate.setAssigned(userRepository.getById(userId));
             LocalDateTime now = LocalDateTime.now();
+            completionCounts.taskCompletionChanged(ownerId, taskToUpdate.getProject(), taskToUpdate.getCompletedAt(), now);
             taskToUpdate.setCompleted(true);
             taskToUpdate.setCompletedAt(now);
             taskToUpdate.setModifiedAt(now);
             return taskRepository.save(taskToUpdate);
         } else {
-            if((taskToUpdate.getAssigned()==null || !taskToUpdate.getAssigned().getId().equals(userId)) && !testTaskCollaboration(taskId, userId, true, false)) {
+            if((taskToUpdate.getAssigned()==null || !taskToUpdate.getAssigned().getId().equals(userId)) && !canEditTask(taskId, userId)) {
                 throw new WrongOwnerException("You cannot uncomplete tasks completed by someone else!");
             }
+            completionCounts.taskCompletionChanged(ownerId, taskToUpdate.getProject(), taskToUpdate.getCompletedAt(), null);
             taskToUpdate.setCompleted(false);
             taskToUpdate.setCompletedAt(null);
             taskToUpdate.setModifiedAt(LocalDateTime.now());
@@ -130,6 +126,12 @@ public class CollabService {
         return taskRepository.save(taskToUpdate);
     }
 
+    private boolean canEditTask(Integer taskId, Integer userId) {
+        return collaboratorCache.getAccessByTaskId(taskId)
+                .map((a) -> a.canEdit(userId))
+                .orElse(false);
+    }
+
     public Task moveTaskAfter(IdRequest request, Integer userId, Integer taskToMoveId) {
         Integer ownerId = testAccessToTask(taskToMoveId, userId, true, false).orElse(userId);
         return taskMovableService.moveTaskAfter(request, ownerId, taskToMoveId);
@@ -160,13 +162,17 @@ public class CollabService {
                 .orElseThrow(() -> new NotFoundException("Not such collaboration!"));
         collab.setAccepted(request.isFlag());
         collab.setModifiedAt(LocalDateTime.now());
-        return collabRepository.save(collab);
+        Collaboration updated = collabRepository.save(collab);
+        collaboratorCache.invalidate(updated.getProject().getId());
+        return updated;
     }
 
     @NotifyOnCollaborationUnsubscription
     public List<Collaboration> unsubscribe(BooleanRequest request, Integer userId, Integer projectId) {
         List<Collaboration> collabs = collabRepository.findByOwnerIdAndProjectId(userId, projectId);
         collabs.forEach((a) -> a.setAccepted(request.isFlag()));
-        return collabRepository.saveAll(collabs);
+        List<Collaboration> updated = collabRepository.saveAll(collabs);
+        collaboratorCache.invalidate(projectId);
+        return updated;
     }
 }
@@ -14,10 +14,14 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"user_account_id", "project_id"}))
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"user_account_id", "project_id"}),
+        indexes = {
+                @Index(name = "collaboration_project_idx", columnList = "project_id, accepted")
+})
 public class Collaboration {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "collaboration_seq")
+    @SequenceGenerator(name = "collaboration_seq", sequenceName = "collaboration_seq", allocationSize = 50)
     private Integer id;
 
     private boolean accepted;
@@ -2,14 +2,22 @@ package io.github.xpakx.ladder.collaboration;
 
 import io.github.xpakx.ladder.collaboration.Collaboration;
 import io.github.xpakx.ladder.collaboration.dto.CollaborationDetails;
+import io.github.xpakx.ladder.collaboration.dto.CollaborationExportRow;
 import io.github.xpakx.ladder.collaboration.dto.CollaborationWithOwner;
+import io.github.xpakx.ladder.collaboration.dto.ProjectAccessRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface CollaborationRepository extends JpaRepository<Collaboration, Integer> {
@@ -29,4 +37,17 @@ public interface CollaborationRepository extends JpaRepository<Collaboration, In
     @Query("SELECT c FROM Collaboration c LEFT JOIN c.project p LEFT JOIN c.owner u WHERE u.id = :id AND p.archived = false AND c.accepted = true AND (p.modifiedAt > :modifiedAt OR  c.modifiedAt > :modifiedAt )")
     <T> List<T> findCollabsByUserIdAndNotArchivedAndModifiedAtAfter(Integer id, Class<T> type, LocalDateTime modifiedAt);
 
-}
\ No newline at end of file
+    @Query("SELECT c.owner.id FROM Collaboration c WHERE c.project.id = :projectId AND c.accepted = true")
+    List<Integer> findOwnerIdsByProjectId(Integer projectId);
+
+    @Query("SELECT p.owner.id AS ownerId, u.id AS collaboratorId, c.accepted AS accepted, " +
+            "c.editionAllowed AS editionAllowed, c.taskCompletionAllowed AS taskCompletionAllowed " +
+            "FROM Project p LEFT JOIN p.collaborators c LEFT JOIN c.owner u WHERE p.id = :projectId")
+    List<ProjectAccessRow> findAccessRowsByProjectId(Integer projectId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c.id AS id, p.id AS projectId, u.id AS collaboratorId, c.accepted AS accepted, " +
+            "c.taskCompletionAllowed AS taskCompletionAllowed, c.editionAllowed AS editionAllowed, c.modifiedAt AS modifiedAt " +
+            "FROM Collaboration c JOIN c.project p LEFT JOIN c.owner u WHERE p.owner.id = :ownerId ORDER BY c.id")
+    Stream<CollaborationExportRow> streamExportRowsByProjectOwnerId(Integer ownerId);
+}
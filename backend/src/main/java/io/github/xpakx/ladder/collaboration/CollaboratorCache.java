@@ -0,0 +1,169 @@
+package io.github.xpakx.ladder.collaboration;
+
+import io.github.xpakx.ladder.collaboration.dto.CollaboratorCacheDetails;
+import io.github.xpakx.ladder.common.cache.ExpiringCache;
+import io.github.xpakx.ladder.task.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches ids of collaborators for every project, so notifications and change journal
+ * don't have to query them on every write. Projects without collaborators are cached as empty lists.
+ * Access of collaborators to projects is cached alongside, so collaboration endpoints check permissions in memory.
+ * Services changing the collaborator list or permissions of a project must call {@link #invalidate(Integer)}.
+ * Invalidation only reaches this instance, so entries expire after a short time and writes
+ * made on other instances are seen once they do. Access expires sooner than collaborator ids,
+ * as revoked permissions must stop being accepted quickly.
+ */
+@Service
+public class CollaboratorCache {
+    private final CollaborationRepository collaborationRepository;
+    private final TaskRepository taskRepository;
+    private final ExpiringCache<Integer, List<Integer>> collaboratorsByProject;
+    private final ExpiringCache<Integer, ProjectAccess> accessByProject;
+    private final long ttlMillis;
+    private final long accessTtlMillis;
+    private final AtomicLong version = new AtomicLong();
+    private final CollaboratorCacheMetrics metrics = new CollaboratorCacheMetrics();
+    private static final Logger LOG = LoggerFactory.getLogger(CollaboratorCache.class);
+
+    @Autowired
+    public CollaboratorCache(CollaborationRepository collaborationRepository, TaskRepository taskRepository,
+                             @Value("${collaboration.cache.max-size:10000}") int maxSize,
+                             @Value("${collaboration.cache.ttl-ms:30000}") long ttlMillis,
+                             @Value("${collaboration.cache.access-ttl-ms:5000}") long accessTtlMillis) {
+        this(collaborationRepository, taskRepository, maxSize, ttlMillis, accessTtlMillis, System::currentTimeMillis);
+    }
+
+    CollaboratorCache(CollaborationRepository collaborationRepository, TaskRepository taskRepository,
+                      int maxSize, long ttlMillis, long accessTtlMillis, LongSupplier clock) {
+        this.collaborationRepository = collaborationRepository;
+        this.taskRepository = taskRepository;
+        this.collaboratorsByProject = new ExpiringCache<>(maxSize, clock);
+        this.accessByProject = new ExpiringCache<>(maxSize, clock);
+        this.ttlMillis = ttlMillis;
+        this.accessTtlMillis = accessTtlMillis;
+    }
+
+    /**
+     * Get ids of collaborators of the project
+     * @param projectId ID of the project, may be null for tasks without project
+     * @return List of collaborator ids, empty if project isn't collaborative
+     */
+    public List<Integer> getCollaboratorIds(Integer projectId) {
+        if(projectId == null) {
+            return List.of();
+        }
+        List<Integer> cached = collaboratorsByProject.get(projectId);
+        if(cached != null) {
+            metrics.getHits().incrementAndGet();
+            return cached;
+        }
+        metrics.getMisses().incrementAndGet();
+        long versionBeforeLoad = version.get();
+        List<Integer> collaborators = List.copyOf(collaborationRepository.findOwnerIdsByProjectId(projectId));
+        if(version.get() == versionBeforeLoad) {
+            collaboratorsByProject.put(projectId, collaborators, ttlMillis);
+        }
+        return collaborators;
+    }
+
+    /**
+     * Get ids of collaborators of the project the task belongs to; the project is
+     * resolved with task's foreign key, without joining collaborations
+     * @param taskId ID of the task
+     * @return List of collaborator ids, empty if task isn't in collaborative project
+     */
+    public List<Integer> getCollaboratorIdsByTaskId(Integer taskId) {
+        return getCollaboratorIds(taskRepository.findProjectIdById(taskId).orElse(null));
+    }
+
+    /**
+     * Get owner of the project and permissions of its accepted collaborators
+     * @param projectId ID of the project, may be null for tasks without project
+     * @return Access to the project, empty if there's no such project
+     */
+    public Optional<ProjectAccess> getAccess(Integer projectId) {
+        if(projectId == null) {
+            return Optional.empty();
+        }
+        ProjectAccess cached = accessByProject.get(projectId);
+        if(cached != null) {
+            metrics.getHits().incrementAndGet();
+            return Optional.of(cached);
+        }
+        metrics.getMisses().incrementAndGet();
+        long versionBeforeLoad = version.get();
+        Optional<ProjectAccess> access = ProjectAccess.of(collaborationRepository.findAccessRowsByProjectId(projectId));
+        if(access.isPresent() && version.get() == versionBeforeLoad) {
+            accessByProject.put(projectId, access.get(), accessTtlMillis);
+        }
+        return access;
+    }
+
+    /**
+     * Get access to the project the task belongs to
+     * @param taskId ID of the task
+     * @return Access to the project, empty if there's no such task or task isn't in a project
+     */
+    public Optional<ProjectAccess> getAccessByTaskId(Integer taskId) {
+        return getAccess(taskRepository.findProjectIdById(taskId).orElse(null));
+    }
+
+    /**
+     * Remove cached collaborators and access of the project. If called in a transaction, the entry
+     * is removed once more after the transaction completes, so values read
+     * by concurrent requests before the commit are not kept. Values loaded while
+     * an invalidation happened are returned, but not cached.
+     * @param projectId ID of the project
+     */
+    public void invalidate(Integer projectId) {
+        metrics.getInvalidations().incrementAndGet();
+        remove(projectId);
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(projectId);
+                }
+            });
+        }
+    }
+
+    private void remove(Integer projectId) {
+        version.incrementAndGet();
+        collaboratorsByProject.remove(projectId);
+        accessByProject.remove(projectId);
+    }
+
+    public CollaboratorCacheMetrics getMetrics() {
+        return metrics;
+    }
+
+    public CollaboratorCacheDetails getMetricsDetails() {
+        return new CollaboratorCacheDetails(
+                collaboratorsByProject.size(),
+                accessByProject.size(),
+                metrics.getHits().get(),
+                metrics.getMisses().get(),
+                metrics.getHitRatio(),
+                metrics.getInvalidations().get()
+        );
+    }
+
+    @Scheduled(fixedDelayString = "${collaboration.cache.metrics-interval-ms:60000}")
+    public void logMetrics() {
+        LOG.info("Collaborator cache: projects={}, access={}, {}", collaboratorsByProject.size(), accessByProject.size(), metrics);
+    }
+}
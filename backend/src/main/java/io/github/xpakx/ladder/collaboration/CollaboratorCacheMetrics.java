@@ -0,0 +1,25 @@
+package io.github.xpakx.ladder.collaboration;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+public class CollaboratorCacheMetrics {
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public double getHitRatio() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + hits +
+                ", misses=" + misses +
+                ", hitRatio=" + String.format("%.3f", getHitRatio()) +
+                ", invalidations=" + invalidations;
+    }
+}
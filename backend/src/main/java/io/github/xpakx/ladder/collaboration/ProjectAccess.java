@@ -0,0 +1,72 @@
+package io.github.xpakx.ladder.collaboration;
+
+import io.github.xpakx.ladder.collaboration.dto.ProjectAccessRow;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Owner of a project and permissions of its accepted collaborators, stored as bitmasks
+ * so access checks don't need to query collaborations.
+ */
+public class ProjectAccess {
+    static final int VIEW = 1;
+    static final int EDIT = 2;
+    static final int COMPLETE = 4;
+
+    private final Integer ownerId;
+    private final Map<Integer, Integer> permissions;
+
+    ProjectAccess(Integer ownerId, Map<Integer, Integer> permissions) {
+        this.ownerId = ownerId;
+        this.permissions = permissions;
+    }
+
+    /**
+     * Build access from rows of the project joined with its collaborations
+     * @param rows Rows with owner id and collaboration of the project, empty if there's no such project
+     * @return Access to the project, empty if there's no such project
+     */
+    static Optional<ProjectAccess> of(List<ProjectAccessRow> rows) {
+        if(rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<Integer, Integer> permissions = new HashMap<>();
+        for(ProjectAccessRow row : rows) {
+            if(row.getCollaboratorId() == null || !Boolean.TRUE.equals(row.getAccepted())) {
+                continue;
+            }
+            int mask = VIEW;
+            if(Boolean.TRUE.equals(row.getEditionAllowed())) {
+                mask |= EDIT;
+            }
+            if(Boolean.TRUE.equals(row.getTaskCompletionAllowed())) {
+                mask |= COMPLETE;
+            }
+            permissions.put(row.getCollaboratorId(), mask);
+        }
+        return Optional.of(new ProjectAccess(rows.get(0).getOwnerId(), Map.copyOf(permissions)));
+    }
+
+    public Integer getOwnerId() {
+        return ownerId;
+    }
+
+    public boolean canView(Integer userId) {
+        return hasPermission(userId, VIEW);
+    }
+
+    public boolean canEdit(Integer userId) {
+        return hasPermission(userId, EDIT);
+    }
+
+    public boolean canComplete(Integer userId) {
+        return hasPermission(userId, COMPLETE);
+    }
+
+    private boolean hasPermission(Integer userId, int permission) {
+        return (permissions.getOrDefault(userId, 0) & permission) != 0;
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.xpakx.ladder.collaboration.dto;
+
+import java.time.LocalDateTime;
+
+public interface CollaborationExportRow {
+    Integer getId();
+    Integer getProjectId();
+    Integer getCollaboratorId();
+    Boolean getAccepted();
+    Boolean getTaskCompletionAllowed();
+    Boolean getEditionAllowed();
+    LocalDateTime getModifiedAt();
+}
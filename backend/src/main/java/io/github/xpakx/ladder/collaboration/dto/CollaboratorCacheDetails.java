@@ -0,0 +1,17 @@
+package io.github.xpakx.ladder.collaboration.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class CollaboratorCacheDetails {
+    private int projects;
+    private int access;
+    private long hits;
+    private long misses;
+    private double hitRatio;
+    private long invalidations;
+}
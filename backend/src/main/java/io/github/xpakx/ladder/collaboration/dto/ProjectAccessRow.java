@@ -0,0 +1,9 @@
+package io.github.xpakx.ladder.collaboration.dto;
+
+public interface ProjectAccessRow {
+    Integer getOwnerId();
+    Integer getCollaboratorId();
+    Boolean getAccepted();
+    Boolean getEditionAllowed();
+    Boolean getTaskCompletionAllowed();
+}
@@ -14,9 +14,13 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        @Index(name = "task_comment_task_idx", columnList = "task_id, createdAt")
+})
 public class TaskComment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_comment_seq")
+    @SequenceGenerator(name = "task_comment_seq", sequenceName = "task_comment_seq", allocationSize = 50)
     private Integer id;
 
     private String content;
@@ -2,16 +2,29 @@ package io.github.xpakx.ladder.comment;
 
 import io.github.xpakx.ladder.comment.TaskComment;
 import io.github.xpakx.ladder.comment.dto.TaskCommentDetails;
+import io.github.xpakx.ladder.comment.dto.TaskCommentExportRow;
 import org.springframework.data.domain.Page;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface TaskCommentRepository extends JpaRepository<TaskComment, Integer> {
     Page<TaskCommentDetails> findByTaskId(Integer taskId, Pageable page);
 
     Optional<TaskComment> getByIdAndOwnerId(Integer id, Integer ownerId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c.id AS id, t.id AS taskId, u.id AS authorId, c.content AS content, c.createdAt AS createdAt " +
+            "FROM TaskComment c JOIN c.task t LEFT JOIN c.owner u WHERE t.owner.id = :ownerId ORDER BY c.id")
+    Stream<TaskCommentExportRow> streamExportRowsByTaskOwnerId(Integer ownerId);
 }
@@ -0,0 +1,11 @@
+package io.github.xpakx.ladder.comment.dto;
+
+import java.time.LocalDateTime;
+
+public interface TaskCommentExportRow {
+    Integer getId();
+    Integer getTaskId();
+    Integer getAuthorId();
+    String getContent();
+    LocalDateTime getCreatedAt();
+}
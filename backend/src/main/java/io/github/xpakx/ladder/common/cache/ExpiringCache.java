@@ -0,0 +1,93 @@
+package io.github.xpakx.ladder.common.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded map with per-entry expiration time. When full, the least recently used entry is evicted.
+ * @param <K> Type of keys
+ * @param <V> Type of values
+ */
+public class ExpiringCache<K, V> {
+    private final Map<K, Entry<V>> entries;
+    private final LongSupplier clock;
+
+    public ExpiringCache(int maxSize) {
+        this(maxSize, System::currentTimeMillis);
+    }
+
+    public ExpiringCache(int maxSize, LongSupplier clock) {
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Get value for given key
+     * @param key Key
+     * @return Value, or null if there is no value or it has expired
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if(entry == null) {
+            return null;
+        }
+        if(entry.expiresAt <= clock.getAsLong()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Put value which will be valid for given time
+     * @param key Key
+     * @param value Value
+     * @param ttlMillis Time to live in milliseconds
+     */
+    public void put(K key, V value, long ttlMillis) {
+        putUntil(key, value, clock.getAsLong() + ttlMillis);
+    }
+
+    /**
+     * Put value which will be valid until given time
+     * @param key Key
+     * @param value Value
+     * @param expiresAt Expiration time in milliseconds since epoch
+     */
+    public synchronized void putUntil(K key, V value, long expiresAt) {
+        entries.put(key, new Entry<>(value, expiresAt));
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void removeIf(BiPredicate<K, V> predicate) {
+        entries.entrySet().removeIf((a) -> predicate.test(a.getKey(), a.getValue().value));
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
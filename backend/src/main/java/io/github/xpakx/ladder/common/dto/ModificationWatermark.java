@@ -0,0 +1,9 @@
+package io.github.xpakx.ladder.common.dto;
+
+import java.time.LocalDateTime;
+
+public interface ModificationWatermark {
+    Long getRowCount();
+    LocalDateTime getLastModifiedAt();
+    Long getModifiedSince();
+}
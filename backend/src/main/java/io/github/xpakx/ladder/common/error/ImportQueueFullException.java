@@ -0,0 +1,11 @@
+package io.github.xpakx.ladder.common.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ImportQueueFullException extends RuntimeException {
+    public ImportQueueFullException(String message) {
+        super(message);
+    }
+}
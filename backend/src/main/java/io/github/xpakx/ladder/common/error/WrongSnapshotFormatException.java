@@ -0,0 +1,11 @@
+package io.github.xpakx.ladder.common.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class WrongSnapshotFormatException extends RuntimeException {
+    public WrongSnapshotFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.xpakx.ladder.common.order;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Base for sparse ordering of sibling entities. Siblings are kept {@link #GAP} apart,
+ * so an entity can be placed between two others by writing only its own row.
+ * Siblings are renumbered only when there is no free value left between neighbours.
+ * @param <T> Type of ordered entity
+ */
+public abstract class SparseOrderService<T> {
+    public static final int GAP = 1024;
+    private static final int NO_ENTITY = -1;
+
+    protected abstract Integer getId(T entity);
+
+    protected abstract Integer getOrder(T entity);
+
+    protected abstract void setOrder(T entity, Integer order, LocalDateTime modifiedAt);
+
+    /**
+     * Get lowest order greater than given one among siblings of given entity
+     */
+    protected abstract Integer getNextOrder(Integer userId, T sibling, Integer order, Integer excludedId);
+
+    /**
+     * Get greatest order lower than given one among siblings of given entity
+     */
+    protected abstract Integer getPreviousOrder(Integer userId, T sibling, Integer order, Integer excludedId);
+
+    /**
+     * Get all siblings of given entity sorted by order
+     */
+    protected abstract List<T> getSiblings(Integer userId, T sibling);
+
+    protected abstract List<T> saveAll(List<T> entities);
+
+    /**
+     * Get order placing entity directly after given entity
+     * @param userId ID of an owner of entities
+     * @param afterEntity Entity which should be before moved entity
+     * @param movedId ID of the moved entity or null for a new entity
+     * @return Order for moved entity
+     */
+    public Integer getOrderAfter(Integer userId, T afterEntity, Integer movedId) {
+        Integer excludedId = excluded(movedId);
+        Integer afterOrder = getOrder(afterEntity);
+        Integer order = between(afterOrder, getNextOrder(userId, afterEntity, afterOrder, excludedId));
+        if(order != null) {
+            return order;
+        }
+        return getNewOrder(rebalance(userId, afterEntity, excludedId), getId(afterEntity)) + GAP / 2;
+    }
+
+    /**
+     * Get order placing entity directly before given entity
+     * @param userId ID of an owner of entities
+     * @param beforeEntity Entity which should be after moved entity
+     * @param movedId ID of the moved entity or null for a new entity
+     * @return Order for moved entity
+     */
+    public Integer getOrderBefore(Integer userId, T beforeEntity, Integer movedId) {
+        Integer excludedId = excluded(movedId);
+        Integer beforeOrder = getOrder(beforeEntity);
+        Integer order = between(getPreviousOrder(userId, beforeEntity, beforeOrder, excludedId), beforeOrder);
+        if(order != null) {
+            return order;
+        }
+        return getNewOrder(rebalance(userId, beforeEntity, excludedId), getId(beforeEntity)) - GAP / 2;
+    }
+
+    /**
+     * Get order placing entity before all its siblings
+     * @param userId ID of an owner of entities
+     * @param entity Entity with fields deciding about its siblings already set
+     * @param movedId ID of the moved entity or null for a new entity
+     * @return Order for moved entity
+     */
+    public Integer getFirstOrder(Integer userId, T entity, Integer movedId) {
+        Integer excludedId = excluded(movedId);
+        Integer order = between(null, getNextOrder(userId, entity, Integer.MIN_VALUE, excludedId));
+        if(order != null) {
+            return order;
+        }
+        rebalance(userId, entity, excludedId);
+        return GAP / 2;
+    }
+
+    private Integer excluded(Integer id) {
+        return id != null ? id : NO_ENTITY;
+    }
+
+    private Integer between(Integer lower, Integer upper) {
+        long result;
+        if(lower == null && upper == null) {
+            result = GAP;
+        } else if(lower == null) {
+            result = (long) upper - GAP;
+        } else if(upper == null) {
+            result = (long) lower + GAP;
+        } else if((long) upper - lower > 1) {
+            result = lower + ((long) upper - lower) / 2;
+        } else {
+            return null;
+        }
+        return result > Integer.MIN_VALUE && result < Integer.MAX_VALUE ? (int) result : null;
+    }
+
+    private Integer getNewOrder(List<T> entities, Integer id) {
+        return entities.stream()
+                .filter((a) -> getId(a).equals(id))
+                .map(this::getOrder)
+                .findAny()
+                .orElse(0);
+    }
+
+    private List<T> rebalance(Integer userId, T sibling, Integer excludedId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<T> entities = getSiblings(userId, sibling);
+        entities.removeIf((a) -> getId(a).equals(excludedId));
+        int order = GAP;
+        for(T entity : entities) {
+            setOrder(entity, order, now);
+            order += GAP;
+        }
+        return saveAll(entities);
+    }
+}
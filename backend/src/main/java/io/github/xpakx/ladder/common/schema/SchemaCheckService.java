@@ -0,0 +1,143 @@
+package io.github.xpakx.ladder.common.schema;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Compares the database with Flyway migrations and indexes declared on entities. Tables are validated
+ * by Hibernate, but indexes aren't, so an index declared on an entity without a migration creating it
+ * would go unnoticed until hot queries start to scan whole tables.
+ */
+@Service
+public class SchemaCheckService {
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+    private final ObjectProvider<Flyway> flyway;
+    private final boolean failOnMissing;
+    private static final Logger LOG = LoggerFactory.getLogger(SchemaCheckService.class);
+
+    public SchemaCheckService(EntityManagerFactory entityManagerFactory, DataSource dataSource,
+                              ObjectProvider<Flyway> flyway,
+                              @Value("${schema.check.fail-on-missing:false}") boolean failOnMissing) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataSource = dataSource;
+        this.flyway = flyway;
+        this.failOnMissing = failOnMissing;
+    }
+
+    @PostConstruct
+    public void checkSchema() throws SQLException {
+        List<String> problems = new ArrayList<>();
+        List<String> migrations = findUnappliedMigrations();
+        if(!migrations.isEmpty()) {
+            problems.add("Unapplied migrations: " + String.join(", ", migrations));
+        }
+        List<String> missing = findMissingIndexes();
+        if(!missing.isEmpty()) {
+            problems.add("Missing indexes: " + String.join(", ", missing));
+        }
+        if(problems.isEmpty()) {
+            return;
+        }
+        if(failOnMissing) {
+            throw new IllegalStateException(String.join("; ", problems));
+        }
+        problems.forEach(LOG::warn);
+    }
+
+    /**
+     * Find migrations which are pending or failed, so the database is behind the schema expected by the application
+     * @return Versions and descriptions of migrations with their states
+     */
+    public List<String> findUnappliedMigrations() {
+        Flyway migrations = flyway.getIfAvailable();
+        if(migrations == null) {
+            return List.of("Flyway is disabled");
+        }
+        List<String> unapplied = new ArrayList<>();
+        for(MigrationInfo migration : migrations.info().all()) {
+            MigrationState state = migration.getState();
+            if(state == MigrationState.PENDING || state.isFailed()) {
+                unapplied.add(migration.getVersion() + " " + migration.getDescription() + " (" + state.getDisplayName() + ")");
+            }
+        }
+        return unapplied;
+    }
+
+    /**
+     * Find indexes declared on entities which don't exist in the database
+     * @return Names of missing indexes with their tables
+     */
+    public List<String> findMissingIndexes() throws SQLException {
+        List<String> missing = new ArrayList<>();
+        try(Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for(Map.Entry<String, List<String>> table : getExpectedIndexes().entrySet()) {
+                Set<String> existing = getIndexes(metaData, table.getKey());
+                for(String index : table.getValue()) {
+                    if(!exists(existing, index.toLowerCase())) {
+                        missing.add(table.getKey() + "." + index);
+                    }
+                }
+            }
+        }
+        return missing;
+    }
+
+    // unique indexes created by schema update are constraints, and H2 names their indexes after constraint with a suffix
+    private boolean exists(Set<String> existing, String index) {
+        return existing.stream().anyMatch((a) -> a.equals(index) || a.startsWith(index + "_index_"));
+    }
+
+    private Map<String, List<String>> getExpectedIndexes() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Map<String, List<String>> indexes = new TreeMap<>();
+        for(EntityPersister persister : sessionFactory.getMetamodel().entityPersisters().values()) {
+            Class<?> type = persister.getMappedClass();
+            Table table = type.getAnnotation(Table.class);
+            if(table == null || table.indexes().length == 0 || !(persister instanceof AbstractEntityPersister)) {
+                continue;
+            }
+            List<String> names = indexes.computeIfAbsent(((AbstractEntityPersister) persister).getTableName(),
+                    (a) -> new ArrayList<>());
+            for(Index index : table.indexes()) {
+                names.add(index.name());
+            }
+        }
+        return indexes;
+    }
+
+    private Set<String> getIndexes(DatabaseMetaData metaData, String table) throws SQLException {
+        String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase() : table.toLowerCase();
+        Set<String> indexes = new HashSet<>();
+        try(ResultSet result = metaData.getIndexInfo(null, null, tableName, false, true)) {
+            while(result.next()) {
+                String name = result.getString("INDEX_NAME");
+                if(name != null) {
+                    indexes.add(name.toLowerCase());
+                }
+            }
+        }
+        return indexes;
+    }
+}
@@ -2,20 +2,27 @@ package io.github.xpakx.ladder.filter;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.sync.ChangeLogListener;
 import lombok.*;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(ChangeLogListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        @Index(name = "filter_owner_modified_at_idx", columnList = "user_account_id, modifiedAt"),
+        @Index(name = "filter_owner_order_idx", columnList = "user_account_id, generalOrder")
+})
 public class Filter {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "filter_seq")
+    @SequenceGenerator(name = "filter_seq", sequenceName = "filter_seq", allocationSize = 50)
     private Integer id;
 
     private String name;
@@ -7,6 +7,7 @@ import io.github.xpakx.ladder.common.error.NotFoundException;
 import io.github.xpakx.ladder.user.UserAccountRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -16,6 +17,7 @@ import java.util.Optional;
 public class FilterMovableService {
     private final FilterRepository filterRepository;
     private final UserAccountRepository userRepository;
+    private final FilterOrderService orderService;
 
     /**
      * Move filter at first position
@@ -23,15 +25,12 @@ public class FilterMovableService {
      * @param filterToMoveId ID of the filter to move
      * @return Moved filter
      */
+    @Transactional
     @NotifyOnFilterChange
     public Filter moveFilterAsFirst(Integer userId, Integer filterToMoveId) {
         Filter filterToMove = filterRepository.findByIdAndOwnerId(filterToMoveId, userId)
                 .orElseThrow(() -> new NotFoundException("Cannot move non-existent filter!"));
-        filterRepository.incrementGeneralOrderByOwnerId(
-                userId,
-                LocalDateTime.now()
-        );
-        filterToMove.setGeneralOrder(1);
+        filterToMove.setGeneralOrder(orderService.getFirstOrder(userId, filterToMove, filterToMoveId));
         filterToMove.setModifiedAt(LocalDateTime.now());
         return filterRepository.save(filterToMove);
     }
@@ -43,18 +42,14 @@ public class FilterMovableService {
      * @param filterId ID of the filter which should be before newly created filter
      * @return Newly created filter
      */
+    @Transactional
     @NotifyOnFilterChange
     public Filter addFilterAfter(FilterRequest request, Integer userId, Integer filterId) {
         Filter filterToAdd = buildFilterToAddFromRequest(request, userId);
         Filter filter = filterRepository.findByIdAndOwnerId(filterId, userId)
                 .orElseThrow(() -> new NotFoundException("Cannot add nothing after non-existent filter!"));
-        filterToAdd.setGeneralOrder(filter.getGeneralOrder()+1);
+        filterToAdd.setGeneralOrder(orderService.getOrderAfter(userId, filter, null));
         filterToAdd.setModifiedAt(LocalDateTime.now());
-        filterRepository.incrementGeneralOrderByOwnerIdAndGeneralOrderGreaterThan(
-                userId,
-                filter.getGeneralOrder(),
-                LocalDateTime.now()
-        );
         return filterRepository.save(filterToAdd);
     }
 
@@ -65,18 +60,14 @@ public class FilterMovableService {
      * @param filterId ID of the filter which should be after newly created filter
      * @return Newly created filter
      */
+    @Transactional
     @NotifyOnFilterChange
     public Filter addFilterBefore(FilterRequest request, Integer userId, Integer filterId) {
         Filter filterToAdd = buildFilterToAddFromRequest(request, userId);
         Filter filter = filterRepository.findByIdAndOwnerId(filterId, userId)
                 .orElseThrow(() -> new NotFoundException("Cannot add nothing before non-existent filter!"));
-        filterToAdd.setGeneralOrder(filter.getGeneralOrder());
+        filterToAdd.setGeneralOrder(orderService.getOrderBefore(userId, filter, null));
         filterToAdd.setModifiedAt(LocalDateTime.now());
-        filterRepository.incrementGeneralOrderByOwnerIdAndGeneralOrderGreaterThanEqual(
-                userId,
-                filter.getGeneralOrder(),
-                LocalDateTime.now()
-        );
         return filterRepository.save(filterToAdd);
     }
 
@@ -87,17 +78,13 @@ public class FilterMovableService {
      * @param filterToMoveId ID of the filter to move
      * @return Moved filter
      */
+    @Transactional
     public Filter moveFilterAfter(IdRequest request, Integer userId, Integer filterToMoveId) {
         Filter filterToMove = filterRepository.findByIdAndOwnerId(filterToMoveId, userId)
                 .orElseThrow(() -> new NotFoundException("Cannot move non-existent filter!"));
         Filter afterFilter = findIdFromIdRequest(request)
                 .orElseThrow(() -> new NotFoundException("Cannot move filter after non-existent filter!"));
-        filterRepository.incrementGeneralOrderByOwnerIdAndGeneralOrderGreaterThan(
-                userId,
-                afterFilter.getGeneralOrder(),
-                LocalDateTime.now()
-        );
-        filterToMove.setGeneralOrder(afterFilter.getGeneralOrder() + 1);
+        filterToMove.setGeneralOrder(orderService.getOrderAfter(userId, afterFilter, filterToMoveId));
         filterToMove.setModifiedAt(LocalDateTime.now());
         return filterRepository.save(filterToMove);
     }
@@ -0,0 +1,50 @@
+package io.github.xpakx.ladder.filter;
+
+import io.github.xpakx.ladder.common.order.SparseOrderService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+public class FilterOrderService extends SparseOrderService<Filter> {
+    private final FilterRepository filterRepository;
+
+    @Override
+    protected Integer getId(Filter entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected Integer getOrder(Filter entity) {
+        return entity.getGeneralOrder();
+    }
+
+    @Override
+    protected void setOrder(Filter entity, Integer order, LocalDateTime modifiedAt) {
+        entity.setGeneralOrder(order);
+        entity.setModifiedAt(modifiedAt);
+    }
+
+    @Override
+    protected Integer getNextOrder(Integer userId, Filter sibling, Integer order, Integer excludedId) {
+        return filterRepository.getNextOrderByOwnerId(userId, order, excludedId);
+    }
+
+    @Override
+    protected Integer getPreviousOrder(Integer userId, Filter sibling, Integer order, Integer excludedId) {
+        return filterRepository.getPreviousOrderByOwnerId(userId, order, excludedId);
+    }
+
+    @Override
+    protected List<Filter> getSiblings(Integer userId, Filter sibling) {
+        return filterRepository.findByOwnerIdOrderByGeneralOrder(userId);
+    }
+
+    @Override
+    protected List<Filter> saveAll(List<Filter> entities) {
+        return filterRepository.saveAll(entities);
+    }
+}
@@ -1,21 +1,29 @@
 package io.github.xpakx.ladder.filter;
 
 import io.github.xpakx.ladder.filter.Filter;
+import io.github.xpakx.ladder.filter.dto.FilterDetails;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface FilterRepository extends JpaRepository<Filter, Integer> {
     <T> List<T> findByOwnerIdAndModifiedAtAfter(Integer ownerId, LocalDateTime modifiedAt, Class<T> type);
+    <T> List<T> findProjectedByOwnerIdAndIdIn(Integer ownerId, List<Integer> ids, Class<T> type);
     <T> List<T> findByOwnerId(Integer userId, Class<T> type);
     Optional<Filter> findByIdAndOwnerId(Integer id, Integer ownerId);
+    <T> Optional<T> findProjectedByIdAndOwnerId(Integer id, Integer ownerId, Class<T> type);
 
     @Transactional
     void deleteByIdAndOwnerId(Integer labelId, Integer ownerId);
@@ -23,19 +31,14 @@ public interface FilterRepository extends JpaRepository<Filter, Integer> {
     @Query("SELECT coalesce(max(f.generalOrder), 0) FROM Filter f WHERE f.owner.id = :ownerId")
     Integer getMaxOrderByOwnerId(Integer ownerId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Filter f SET f.generalOrder = f.generalOrder + 1, f.modifiedAt = :modifiedAt WHERE f.owner.id = :ownerId")
-    void incrementGeneralOrderByOwnerId(Integer ownerId, LocalDateTime modifiedAt);
+    @Query("SELECT min(f.generalOrder) FROM Filter f WHERE f.owner.id = :ownerId AND f.generalOrder > :generalOrder AND f.id <> :excludedId")
+    Integer getNextOrderByOwnerId(Integer ownerId, Integer generalOrder, Integer excludedId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Filter f SET f.generalOrder = f.generalOrder + 1, f.modifiedAt = :modifiedAt WHERE f.owner.id = :ownerId AND f.generalOrder > :generalOrder")
-    void incrementGeneralOrderByOwnerIdAndGeneralOrderGreaterThan(Integer ownerId, Integer generalOrder, LocalDateTime modifiedAt);
+    @Query("SELECT max(f.generalOrder) FROM Filter f WHERE f.owner.id = :ownerId AND f.generalOrder < :generalOrder AND f.id <> :excludedId")
+    Integer getPreviousOrderByOwnerId(Integer ownerId, Integer generalOrder, Integer excludedId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Filter f SET f.generalOrder = f.generalOrder + 1, f.modifiedAt = :modifiedAt WHERE f.owner.id = :ownerId AND f.generalOrder >= :generalOrder")
-    void incrementGeneralOrderByOwnerIdAndGeneralOrderGreaterThanEqual(Integer ownerId, Integer generalOrder, LocalDateTime modifiedAt);
+    List<Filter> findByOwnerIdOrderByGeneralOrder(Integer ownerId);
 
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<FilterDetails> streamByOwnerIdOrderById(Integer ownerId);
 }
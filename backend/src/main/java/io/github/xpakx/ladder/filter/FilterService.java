@@ -5,6 +5,7 @@ import io.github.xpakx.ladder.notification.NotifyOnFilterDeletion;
 import io.github.xpakx.ladder.common.dto.BooleanRequest;
 import io.github.xpakx.ladder.filter.dto.FilterRequest;
 import io.github.xpakx.ladder.common.error.NotFoundException;
+import io.github.xpakx.ladder.common.order.SparseOrderService;
 import io.github.xpakx.ladder.user.UserAccountRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -23,10 +24,10 @@ public class FilterService {
      * @param userId ID of an owner of the newly created filter
      * @return Newly created filter
      */
-    @NotifyOnFilterChange
+    @NotifyOnFilterChange(payload = true)
     public Filter addFilter(FilterRequest request, Integer userId) {
         Filter filterToAdd = buildFilterToAddFromRequest(request, userId);
-        filterToAdd.setGeneralOrder(filterRepository.getMaxOrderByOwnerId(userId)+1);
+        filterToAdd.setGeneralOrder(filterRepository.getMaxOrderByOwnerId(userId) + SparseOrderService.GAP);
         return filterRepository.save(filterToAdd);
     }
 
@@ -48,7 +49,7 @@ public class FilterService {
      * @param userId ID of an owner of the filter
      * @return Filter with updated data
      */
-    @NotifyOnFilterChange
+    @NotifyOnFilterChange(payload = true)
     public Filter updateFilter(FilterRequest request, Integer userId, Integer filterId) {
         Filter filterToUpdate = filterRepository.findByIdAndOwnerId(filterId, userId)
                 .orElseThrow(() -> new NotFoundException("No such filter!"));
@@ -77,7 +78,7 @@ public class FilterService {
      * @param userId ID of an owner of the filter
      * @return Updated filter
      */
-    @NotifyOnFilterChange
+    @NotifyOnFilterChange(payload = true)
     public Filter updateFilterFav(BooleanRequest request, Integer filterId, Integer userId) {
         Filter filterToUpdate = filterRepository.findByIdAndOwnerId(filterId, userId)
                 .orElseThrow(() -> new NotFoundException("No such filter"));
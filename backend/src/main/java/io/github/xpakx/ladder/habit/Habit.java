@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.github.xpakx.ladder.user.UserAccount;
 import io.github.xpakx.ladder.label.Label;
 import io.github.xpakx.ladder.project.Project;
+import io.github.xpakx.ladder.sync.ChangeLogListener;
 import lombok.*;
 
 import javax.persistence.*;
@@ -12,6 +13,7 @@ import java.util.List;
 import java.util.Set;
 
 @Entity
+@EntityListeners(ChangeLogListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,9 +23,15 @@ import java.util.Set;
             attributeNodes = {@NamedAttributeNode("labels"),
 				              @NamedAttributeNode("project")}
     )
+@Table(indexes = {
+        @Index(name = "habit_owner_modified_at_idx", columnList = "user_account_id, modifiedAt"),
+        @Index(name = "habit_owner_archived_idx", columnList = "user_account_id, archived"),
+        @Index(name = "habit_owner_project_idx", columnList = "user_account_id, project_id, generalOrder")
+})
 public class Habit {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "habit_seq")
+    @SequenceGenerator(name = "habit_seq", sequenceName = "habit_seq", allocationSize = 50)
     private Integer id;
 
     private String title;
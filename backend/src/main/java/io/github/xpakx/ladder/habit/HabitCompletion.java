@@ -2,20 +2,27 @@ package io.github.xpakx.ladder.habit;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.sync.ChangeLogListener;
 import lombok.*;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(ChangeLogListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        @Index(name = "habit_completion_owner_date_idx", columnList = "user_account_id, date"),
+        @Index(name = "habit_completion_habit_date_idx", columnList = "habit_id, date")
+})
 public class HabitCompletion {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "habit_completion_seq")
+    @SequenceGenerator(name = "habit_completion_seq", sequenceName = "habit_completion_seq", allocationSize = 50)
     private Integer id;
 
     private LocalDateTime date;
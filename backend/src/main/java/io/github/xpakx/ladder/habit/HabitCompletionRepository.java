@@ -1,22 +1,26 @@
 package io.github.xpakx.ladder.habit;
 
+import io.github.xpakx.ladder.habit.dto.HabitCompletionExportRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface HabitCompletionRepository extends JpaRepository<HabitCompletion, Integer> {
     <T> List<T> findByOwnerIdAndDateAfter(Integer ownerId, LocalDateTime date, Class<T> type);
+    <T> List<T> findProjectedByOwnerIdAndIdIn(Integer ownerId, List<Integer> ids, Class<T> type);
 
-    @Query("SELECT t FROM HabitCompletion t LEFT JOIN t.habit h WHERE h.owner.id = :ownerId AND h.project.id = :projectId AND date_part('year', t.date) = :year")
-    List<HabitCompletion> getByOwnerIdAndProjectIdAndYear(Integer ownerId, Integer projectId, Integer year);
-
-    @Query("SELECT t FROM HabitCompletion t LEFT JOIN t.habit h WHERE h.owner.id = :ownerId AND h.project.id = :projectId AND date_part('month', t.date) = :month")
-    List<HabitCompletion> getByOwnerIdAndProjectIdAndMonth(Integer ownerId, Integer projectId, Integer month);
-
-    @Query("SELECT t FROM HabitCompletion t LEFT JOIN t.habit h WHERE h.owner.id = :ownerId AND h.id = :habitId AND date_part('year', t.date) = :year")
-    List<HabitCompletion> getByOwnerIdAndHabitIdAndYear(Integer ownerId, Integer habitId, Integer year);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c.id AS id, h.id AS habitId, c.date AS date, c.positive AS positive " +
+            "FROM HabitCompletion c JOIN c.habit h WHERE c.owner.id = :ownerId ORDER BY c.id")
+    Stream<HabitCompletionExportRow> streamExportRowsByOwnerId(Integer ownerId);
 }
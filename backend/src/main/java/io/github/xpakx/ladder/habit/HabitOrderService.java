@@ -0,0 +1,59 @@
+package io.github.xpakx.ladder.habit;
+
+import io.github.xpakx.ladder.common.order.SparseOrderService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+public class HabitOrderService extends SparseOrderService<Habit> {
+    private final HabitRepository habitRepository;
+
+    @Override
+    protected Integer getId(Habit entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected Integer getOrder(Habit entity) {
+        return entity.getGeneralOrder();
+    }
+
+    @Override
+    protected void setOrder(Habit entity, Integer order, LocalDateTime modifiedAt) {
+        entity.setGeneralOrder(order);
+        entity.setModifiedAt(modifiedAt);
+    }
+
+    @Override
+    protected Integer getNextOrder(Integer userId, Habit sibling, Integer order, Integer excludedId) {
+        if(sibling.getProject() != null) {
+            return habitRepository.getNextOrderByOwnerIdAndProjectId(userId, sibling.getProject().getId(), order, excludedId);
+        }
+        return habitRepository.getNextOrderByOwnerIdAndProjectIsNull(userId, order, excludedId);
+    }
+
+    @Override
+    protected Integer getPreviousOrder(Integer userId, Habit sibling, Integer order, Integer excludedId) {
+        if(sibling.getProject() != null) {
+            return habitRepository.getPreviousOrderByOwnerIdAndProjectId(userId, sibling.getProject().getId(), order, excludedId);
+        }
+        return habitRepository.getPreviousOrderByOwnerIdAndProjectIsNull(userId, order, excludedId);
+    }
+
+    @Override
+    protected List<Habit> getSiblings(Integer userId, Habit sibling) {
+        if(sibling.getProject() != null) {
+            return habitRepository.findByOwnerIdAndProjectIdOrderByGeneralOrder(userId, sibling.getProject().getId());
+        }
+        return habitRepository.findByOwnerIdAndProjectIsNullOrderByGeneralOrder(userId);
+    }
+
+    @Override
+    protected List<Habit> saveAll(List<Habit> entities) {
+        return habitRepository.saveAll(entities);
+    }
+}
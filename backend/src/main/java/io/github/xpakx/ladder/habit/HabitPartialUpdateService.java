@@ -8,7 +8,9 @@ import io.github.xpakx.ladder.common.dto.IdRequest;
 import io.github.xpakx.ladder.common.dto.PriorityRequest;
 import io.github.xpakx.ladder.common.error.NotFoundException;
 import io.github.xpakx.ladder.common.error.WrongCompletionTypeException;
+import io.github.xpakx.ladder.common.order.SparseOrderService;
 import io.github.xpakx.ladder.project.ProjectRepository;
+import io.github.xpakx.ladder.stats.CompletionCountService;
 import io.github.xpakx.ladder.user.UserAccountRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -24,6 +26,7 @@ public class HabitPartialUpdateService {
     private final HabitCompletionRepository habitCompletionRepository;
     private final UserAccountRepository userRepository;
     private final ProjectRepository projectRepository;
+    private final CompletionCountService completionCounts;
 
     /**
      * Change habit priority
@@ -32,7 +35,7 @@ public class HabitPartialUpdateService {
      * @param userId ID of an owner of the habit
      * @return Updated habit
      */
-    @NotifyOnHabitChange
+    @NotifyOnHabitChange(payload = true)
     public Habit updateHabitPriority(PriorityRequest request, Integer habitId, Integer userId) {
         Habit habitToUpdate = habitRepository.findByIdAndOwnerId(habitId, userId)
                 .orElseThrow(() -> new NotFoundException("No such habit!"));
@@ -55,7 +58,9 @@ public class HabitPartialUpdateService {
         if(isCompletionTypeNotAllowed(request, habit)) {
             throw new WrongCompletionTypeException("Wrong type of completion!");
         }
-        return habitCompletionRepository.save(createCompletionForHabit(request, userId, habit));
+        HabitCompletion completion = habitCompletionRepository.save(createCompletionForHabit(request, userId, habit));
+        completionCounts.habitCompleted(userId, habitId, completion.getDate());
+        return completion;
     }
 
     private HabitCompletion createCompletionForHabit(BooleanRequest request, Integer userId, Habit habit) {
@@ -85,7 +90,7 @@ public class HabitPartialUpdateService {
                 .orElseThrow(() -> new NotFoundException("No such task!"));
         Project project = getProjectFromRequest(request, userId);
         habitToUpdate.setProject(project);
-        habitToUpdate.setGeneralOrder(getMaxProjectOrder(request, userId)+1);
+        habitToUpdate.setGeneralOrder(getMaxProjectOrder(request, userId) + SparseOrderService.GAP);
         habitToUpdate.setModifiedAt(LocalDateTime.now());
         return habitRepository.save(habitToUpdate);
     }
@@ -1,16 +1,23 @@
 package io.github.xpakx.ladder.habit;
 
 import io.github.xpakx.ladder.habit.Habit;
+import io.github.xpakx.ladder.habit.dto.HabitExportRow;
+import io.github.xpakx.ladder.label.dto.LabelLink;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.jpa.repository.EntityGraph;
 
+import javax.persistence.QueryHint;
+
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface HabitRepository extends JpaRepository<Habit, Integer> {
@@ -22,52 +29,22 @@ public interface HabitRepository extends JpaRepository<Habit, Integer> {
 
     void deleteByIdAndOwnerId(Integer id, Integer ownerId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Habit h SET h.generalOrder = h.generalOrder + 1, h.modifiedAt = :modifiedAt WHERE h.owner.id = :ownerId")
-    void incrementGeneralOrderByOwnerId(Integer ownerId, LocalDateTime modifiedAt);
-
-    @Modifying
-    @Transactional
-    @Query("Update Habit h SET h.generalOrder = h.generalOrder + 1, h.modifiedAt = :modifiedAt WHERE h.owner.id = :ownerId AND h.project.id = :projectId")
-    void incrementGeneralOrderByOwnerIdAndProjectId(Integer ownerId, Integer projectId, LocalDateTime modifiedAt);
-
-    @Modifying
-    @Transactional
-    @Query("Update Habit h SET h.generalOrder = h.generalOrder + 1, h.modifiedAt = :modifiedAt WHERE h.owner.id = :ownerId AND h.project IS NULL")
-    void incrementGeneralOrderByOwnerIdAndProjectIsNull(Integer ownerId, LocalDateTime modifiedAt);
-
     Optional<Habit> findByIdAndOwnerId(Integer id, Integer ownerId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Habit h SET h.generalOrder = h.generalOrder + 1, h.modifiedAt = :modifiedAt WHERE h.owner.id = :ownerId AND h.generalOrder > :generalOrder")
-    void incrementGeneralOrderByOwnerIdAndGeneralOrderGreaterThan(Integer ownerId, Integer generalOrder, LocalDateTime modifiedAt);
+    @Query("SELECT min(h.generalOrder) FROM Habit h WHERE h.owner.id = :ownerId AND h.project IS NULL AND h.generalOrder > :generalOrder AND h.id <> :excludedId")
+    Integer getNextOrderByOwnerIdAndProjectIsNull(Integer ownerId, Integer generalOrder, Integer excludedId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Habit h SET h.generalOrder = h.generalOrder + 1, h.modifiedAt = :modifiedAt WHERE h.owner.id = :ownerId AND h.generalOrder > :generalOrder AND h.project.id = :projectId")
-    void incrementGeneralOrderByOwnerIdAndProjectIdAndGeneralOrderGreaterThan(Integer ownerId, Integer projectId, Integer generalOrder, LocalDateTime modifiedAt);
+    @Query("SELECT min(h.generalOrder) FROM Habit h WHERE h.owner.id = :ownerId AND h.project.id = :projectId AND h.generalOrder > :generalOrder AND h.id <> :excludedId")
+    Integer getNextOrderByOwnerIdAndProjectId(Integer ownerId, Integer projectId, Integer generalOrder, Integer excludedId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Habit h SET h.generalOrder = h.generalOrder + 1, h.modifiedAt = :modifiedAt WHERE h.owner.id = :ownerId AND h.generalOrder > :generalOrder AND h.project IS NULL")
-    void incrementGeneralOrderByOwnerIdAndProjectIsNullAndGeneralOrderGreaterThan(Integer ownerId, Integer generalOrder, LocalDateTime modifiedAt);
+    @Query("SELECT max(h.generalOrder) FROM Habit h WHERE h.owner.id = :ownerId AND h.project IS NULL AND h.generalOrder < :generalOrder AND h.id <> :excludedId")
+    Integer getPreviousOrderByOwnerIdAndProjectIsNull(Integer ownerId, Integer generalOrder, Integer excludedId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Habit h SET h.generalOrder = h.generalOrder + 1, h.modifiedAt = :modifiedAt WHERE h.owner.id = :ownerId AND h.generalOrder >= :generalOrder")
-    void incrementGeneralOrderByOwnerIdAndGeneralOrderGreaterThanEqual(Integer ownerId, Integer generalOrder, LocalDateTime modifiedAt);
+    @Query("SELECT max(h.generalOrder) FROM Habit h WHERE h.owner.id = :ownerId AND h.project.id = :projectId AND h.generalOrder < :generalOrder AND h.id <> :excludedId")
+    Integer getPreviousOrderByOwnerIdAndProjectId(Integer ownerId, Integer projectId, Integer generalOrder, Integer excludedId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Habit h SET h.generalOrder = h.generalOrder + 1, h.modifiedAt = :modifiedAt WHERE h.owner.id = :ownerId AND h.generalOrder >= :generalOrder AND h.project.id = :projectId")
-    void incrementGeneralOrderByOwnerIdAndProjectIdAndGeneralOrderGreaterThanEqual(Integer ownerId, Integer projectId, Integer generalOrder, LocalDateTime modifiedAt);
-
-    @Modifying
-    @Transactional
-    @Query("Update Habit h SET h.generalOrder = h.generalOrder + 1, h.modifiedAt = :modifiedAt WHERE h.owner.id = :ownerId AND h.generalOrder >= :generalOrder AND h.project IS NULL")
-    void incrementGeneralOrderByOwnerIdAndProjectIsNullAndGeneralOrderGreaterThanEqual(Integer ownerId, Integer generalOrder, LocalDateTime modifiedAt);
+    List<Habit> findByOwnerIdAndProjectIsNullOrderByGeneralOrder(Integer ownerId);
+    List<Habit> findByOwnerIdAndProjectIdOrderByGeneralOrder(Integer ownerId, Integer projectId);
 
     <T> Optional<T> findProjectedByIdAndOwnerId(Integer id, Integer ownerId, Class<T> type);
     
@@ -78,7 +55,20 @@ public interface HabitRepository extends JpaRepository<Habit, Integer> {
     @EntityGraph("habit-with-labels")
     <T> List<T> findByOwnerIdAndModifiedAtAfter(Integer ownerId, LocalDateTime modifiedAt, Class<T> type);
     @EntityGraph("habit-with-labels")
+    <T> List<T> findProjectedByOwnerIdAndIdIn(Integer ownerId, List<Integer> ids, Class<T> type);
+    @EntityGraph("habit-with-labels")
     <T> List<T> findByOwnerIdAndProjectId(Integer ownerId, Integer projectId, Class<T> type);
     @EntityGraph("habit-with-labels")
     <T> List<T> findByOwnerIdAndProjectIdAndArchived(Integer ownerId, Integer projectId, boolean archived, Class<T> type);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT h.id AS id, h.title AS title, h.description AS description, p.id AS projectId, h.priority AS priority, " +
+            "h.generalOrder AS generalOrder, h.allowPositive AS allowPositive, h.allowNegative AS allowNegative, " +
+            "h.archived AS archived, h.modifiedAt AS modifiedAt FROM Habit h LEFT JOIN h.project p " +
+            "WHERE h.owner.id = :ownerId ORDER BY h.id")
+    Stream<HabitExportRow> streamExportRowsByOwnerId(Integer ownerId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT h.id AS entityId, l.id AS labelId FROM Habit h JOIN h.labels l WHERE h.owner.id = :ownerId ORDER BY h.id, l.id")
+    Stream<LabelLink> streamLabelLinksByOwnerId(Integer ownerId);
 }
@@ -3,12 +3,14 @@ package io.github.xpakx.ladder.habit;
 import io.github.xpakx.ladder.notification.NotifyOnHabitChange;
 import io.github.xpakx.ladder.notification.NotifyOnHabitDeletion;
 import io.github.xpakx.ladder.common.error.NotFoundException;
+import io.github.xpakx.ladder.common.order.SparseOrderService;
 import io.github.xpakx.ladder.habit.dto.HabitDetails;
 import io.github.xpakx.ladder.habit.dto.HabitRequest;
 import io.github.xpakx.ladder.label.Label;
 import io.github.xpakx.ladder.label.LabelRepository;
 import io.github.xpakx.ladder.project.Project;
 import io.github.xpakx.ladder.project.ProjectRepository;
+import io.github.xpakx.ladder.stats.CompletionCountService;
 import io.github.xpakx.ladder.user.UserAccountRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -28,6 +30,7 @@ public class HabitService {
     private final UserAccountRepository userRepository;
     private final ProjectRepository projectRepository;
     private final LabelRepository labelRepository;
+    private final CompletionCountService completionCounts;
 
     /**
      * Get habit details by ID.
@@ -46,7 +49,7 @@ public class HabitService {
      * @param userId ID of an owner of the newly created habit
      * @return Newly created habit
      */
-    @NotifyOnHabitChange
+    @NotifyOnHabitChange(payload = true)
     public Habit addHabit(HabitRequest request, Integer userId, Integer projectId) {
         return habitRepository.save(
                 buildHabitToAddFromRequest(request, userId, getProjectFromRequest(userId, projectId))
@@ -69,7 +72,7 @@ public class HabitService {
                 .modifiedAt(LocalDateTime.now())
                 .archived(false)
                 .project(project)
-                .generalOrder(habitRepository.getMaxOrderByOwnerId(userId)+1)
+                .generalOrder(habitRepository.getMaxOrderByOwnerId(userId) + SparseOrderService.GAP)
                 .build();
     }
 
@@ -81,6 +84,7 @@ public class HabitService {
     @Transactional
     @NotifyOnHabitDeletion
     public void deleteHabit(Integer habitId, Integer userId) {
+        completionCounts.habitDeleted(userId, habitId);
         habitRepository.deleteByIdAndOwnerId(habitId, userId);
     }
 
@@ -91,7 +95,7 @@ public class HabitService {
      * @param userId ID of an owner of the habit
      * @return Habit with updated data
      */
-    @NotifyOnHabitChange
+    @NotifyOnHabitChange(payload = true)
     public Habit updateHabit(HabitRequest request, Integer habitId, Integer userId) {
         Project project = getProjectFromRequest(userId, request.getProjectId());
         Habit habitToUpdate = habitRepository.findByIdAndOwnerId(habitId, userId)
@@ -0,0 +1,10 @@
+package io.github.xpakx.ladder.habit.dto;
+
+import java.time.LocalDateTime;
+
+public interface HabitCompletionExportRow {
+    Integer getId();
+    Integer getHabitId();
+    LocalDateTime getDate();
+    Boolean getPositive();
+}
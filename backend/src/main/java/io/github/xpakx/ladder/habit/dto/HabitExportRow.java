@@ -0,0 +1,16 @@
+package io.github.xpakx.ladder.habit.dto;
+
+import java.time.LocalDateTime;
+
+public interface HabitExportRow {
+    Integer getId();
+    String getTitle();
+    String getDescription();
+    Integer getProjectId();
+    Integer getPriority();
+    Integer getGeneralOrder();
+    Boolean getAllowPositive();
+    Boolean getAllowNegative();
+    Boolean getArchived();
+    LocalDateTime getModifiedAt();
+}
@@ -0,0 +1,202 @@
+package io.github.xpakx.ladder.imports;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.xpakx.ladder.collaboration.CollaborationRepository;
+import io.github.xpakx.ladder.comment.TaskCommentRepository;
+import io.github.xpakx.ladder.common.error.NotFoundException;
+import io.github.xpakx.ladder.filter.FilterRepository;
+import io.github.xpakx.ladder.habit.HabitCompletionRepository;
+import io.github.xpakx.ladder.habit.HabitRepository;
+import io.github.xpakx.ladder.label.LabelRepository;
+import io.github.xpakx.ladder.label.dto.LabelLink;
+import io.github.xpakx.ladder.project.ProjectRepository;
+import io.github.xpakx.ladder.task.TaskRepository;
+import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.user.UserAccountRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static io.github.xpakx.ladder.imports.AccountSnapshot.*;
+
+/**
+ * Writes all data of an account as an {@link AccountSnapshot}, streaming every entity type from its own cursor
+ */
+@Service
+@AllArgsConstructor
+public class AccountExportService {
+    private final ExportStreams streams;
+    private final ObjectMapper mapper;
+    private final UserAccountRepository userRepository;
+    private final LabelRepository labelRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final HabitRepository habitRepository;
+    private final HabitCompletionRepository habitCompletionRepository;
+    private final FilterRepository filterRepository;
+    private final TaskCommentRepository commentRepository;
+    private final CollaborationRepository collaborationRepository;
+
+    public StreamingResponseBody exportAccount(Integer userId) {
+        UserAccount user = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("No such user!"));
+        return streams.stream((writer) -> {
+            JsonGenerator json = mapper.getFactory().createGenerator(writer);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            writeHeader(json, user);
+            writeRecords(json, userId);
+            json.writeRaw('\n');
+            json.flush();
+        });
+    }
+
+    private void writeHeader(JsonGenerator json, UserAccount user) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("type", ACCOUNT);
+        json.writeNumberField("version", VERSION);
+        json.writeNumberField("userId", user.getId());
+        json.writeStringField("username", user.getUsername());
+        writeDate(json, "exportedAt", LocalDateTime.now());
+        json.writeEndObject();
+    }
+
+    private void writeRecords(JsonGenerator json, Integer userId) throws IOException {
+        write(json, LABEL, labelRepository.streamByOwnerIdOrderById(userId), (a) -> {
+            writeInteger(json, "id", a.getId());
+            json.writeStringField("name", a.getName());
+            json.writeStringField("color", a.getColor());
+            writeInteger(json, "generalOrder", a.getGeneralOrder());
+            json.writeBooleanField("favorite", a.getFavorite());
+            writeDate(json, "modifiedAt", a.getModifiedAt());
+        });
+        write(json, PROJECT, projectRepository.streamSnapshotRowsByOwnerId(userId), (a) -> {
+            writeInteger(json, "id", a.getId());
+            json.writeStringField("name", a.getName());
+            json.writeStringField("color", a.getColor());
+            writeBoolean(json, "favorite", a.getFavorite());
+            writeBoolean(json, "archived", a.getArchived());
+            writeBoolean(json, "collapsed", a.getCollapsed());
+            writeBoolean(json, "collaborative", a.getCollaborative());
+            writeInteger(json, "parentId", a.getParentId());
+            writeInteger(json, "generalOrder", a.getGeneralOrder());
+            writeDate(json, "createdAt", a.getCreatedAt());
+            writeDate(json, "modifiedAt", a.getModifiedAt());
+        });
+        write(json, TASK, taskRepository.streamSnapshotRowsByOwnerId(userId), (a) -> {
+            writeInteger(json, "id", a.getId());
+            json.writeStringField("title", a.getTitle());
+            json.writeStringField("description", a.getDescription());
+            writeInteger(json, "parentId", a.getParentId());
+            writeInteger(json, "projectId", a.getProjectId());
+            writeDate(json, "due", a.getDue());
+            writeBoolean(json, "timeboxed", a.getTimeboxed());
+            writeBoolean(json, "completed", a.getCompleted());
+            writeDate(json, "completedAt", a.getCompletedAt());
+            writeBoolean(json, "collapsed", a.getCollapsed());
+            writeBoolean(json, "archived", a.getArchived());
+            writeInteger(json, "projectOrder", a.getProjectOrder());
+            writeInteger(json, "dailyViewOrder", a.getDailyViewOrder());
+            writeInteger(json, "priority", a.getPriority());
+            writeInteger(json, "assignedId", a.getAssignedId());
+            writeDate(json, "createdAt", a.getCreatedAt());
+            writeDate(json, "modifiedAt", a.getModifiedAt());
+        });
+        writeLabelLinks(json, TASK_LABEL, "taskId", taskRepository.streamLabelLinksByOwnerId(userId));
+        write(json, HABIT, habitRepository.streamExportRowsByOwnerId(userId), (a) -> {
+            writeInteger(json, "id", a.getId());
+            json.writeStringField("title", a.getTitle());
+            json.writeStringField("description", a.getDescription());
+            writeInteger(json, "projectId", a.getProjectId());
+            writeInteger(json, "priority", a.getPriority());
+            writeInteger(json, "generalOrder", a.getGeneralOrder());
+            writeBoolean(json, "allowPositive", a.getAllowPositive());
+            writeBoolean(json, "allowNegative", a.getAllowNegative());
+            writeBoolean(json, "archived", a.getArchived());
+            writeDate(json, "modifiedAt", a.getModifiedAt());
+        });
+        writeLabelLinks(json, HABIT_LABEL, "habitId", habitRepository.streamLabelLinksByOwnerId(userId));
+        write(json, HABIT_COMPLETION, habitCompletionRepository.streamExportRowsByOwnerId(userId), (a) -> {
+            writeInteger(json, "id", a.getId());
+            writeInteger(json, "habitId", a.getHabitId());
+            writeDate(json, "date", a.getDate());
+            writeBoolean(json, "positive", a.getPositive());
+        });
+        write(json, FILTER, filterRepository.streamByOwnerIdOrderById(userId), (a) -> {
+            writeInteger(json, "id", a.getId());
+            json.writeStringField("name", a.getName());
+            json.writeStringField("searchString", a.getSearchString());
+            json.writeStringField("color", a.getColor());
+            json.writeBooleanField("favorite", a.getFavorite());
+            writeInteger(json, "generalOrder", a.getGeneralOrder());
+            writeDate(json, "modifiedAt", a.getModifiedAt());
+        });
+        write(json, COMMENT, commentRepository.streamExportRowsByTaskOwnerId(userId), (a) -> {
+            writeInteger(json, "id", a.getId());
+            writeInteger(json, "taskId", a.getTaskId());
+            writeInteger(json, "authorId", a.getAuthorId());
+            json.writeStringField("content", a.getContent());
+            writeDate(json, "createdAt", a.getCreatedAt());
+        });
+        write(json, COLLABORATION, collaborationRepository.streamExportRowsByProjectOwnerId(userId), (a) -> {
+            writeInteger(json, "id", a.getId());
+            writeInteger(json, "projectId", a.getProjectId());
+            writeInteger(json, "collaboratorId", a.getCollaboratorId());
+            writeBoolean(json, "accepted", a.getAccepted());
+            writeBoolean(json, "taskCompletionAllowed", a.getTaskCompletionAllowed());
+            writeBoolean(json, "editionAllowed", a.getEditionAllowed());
+            writeDate(json, "modifiedAt", a.getModifiedAt());
+        });
+    }
+
+    private void writeLabelLinks(JsonGenerator json, String type, String entityField, Stream<LabelLink> rows) throws IOException {
+        write(json, type, rows, (a) -> {
+            writeInteger(json, entityField, a.getEntityId());
+            writeInteger(json, "labelId", a.getLabelId());
+        });
+    }
+
+    private <T> void write(JsonGenerator json, String type, Stream<T> rows, RecordWriter<T> fields) throws IOException {
+        try(rows) {
+            Iterator<T> iterator = rows.iterator();
+            while(iterator.hasNext()) {
+                json.writeStartObject();
+                json.writeStringField("type", type);
+                fields.write(iterator.next());
+                json.writeEndObject();
+            }
+        }
+    }
+
+    private void writeInteger(JsonGenerator json, String name, Integer value) throws IOException {
+        if(value == null) {
+            json.writeNullField(name);
+        } else {
+            json.writeNumberField(name, value);
+        }
+    }
+
+    private void writeBoolean(JsonGenerator json, String name, Boolean value) throws IOException {
+        json.writeBooleanField(name, Boolean.TRUE.equals(value));
+    }
+
+    private void writeDate(JsonGenerator json, String name, LocalDateTime value) throws IOException {
+        if(value == null) {
+            json.writeNullField(name);
+        } else {
+            json.writeStringField(name, value.toString());
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter<T> {
+        void write(T row) throws IOException;
+    }
+}
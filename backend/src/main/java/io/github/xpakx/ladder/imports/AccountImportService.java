@@ -0,0 +1,419 @@
+package io.github.xpakx.ladder.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import io.github.xpakx.ladder.collaboration.Collaboration;
+import io.github.xpakx.ladder.collaboration.CollaborationRepository;
+import io.github.xpakx.ladder.comment.TaskComment;
+import io.github.xpakx.ladder.comment.TaskCommentRepository;
+import io.github.xpakx.ladder.common.error.WrongSnapshotFormatException;
+import io.github.xpakx.ladder.filter.Filter;
+import io.github.xpakx.ladder.filter.FilterRepository;
+import io.github.xpakx.ladder.habit.Habit;
+import io.github.xpakx.ladder.habit.HabitCompletion;
+import io.github.xpakx.ladder.habit.HabitCompletionRepository;
+import io.github.xpakx.ladder.habit.HabitRepository;
+import io.github.xpakx.ladder.label.Label;
+import io.github.xpakx.ladder.label.LabelRepository;
+import io.github.xpakx.ladder.notification.NotifyOnImport;
+import io.github.xpakx.ladder.project.Project;
+import io.github.xpakx.ladder.project.ProjectRepository;
+import io.github.xpakx.ladder.stats.CompletionCountService;
+import io.github.xpakx.ladder.task.Task;
+import io.github.xpakx.ladder.task.TaskRepository;
+import io.github.xpakx.ladder.user.UserAccountRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+
+import static io.github.xpakx.ladder.imports.AccountSnapshot.*;
+
+/**
+ * Reads an {@link AccountSnapshot} record by record, creating new entities for the importing user.
+ * Only maps from exported to new ids are kept in memory, and persistence context is cleared after every chunk.
+ * Users other than the exported one are kept in comments, assignments and collaborations only if they exist.
+ */
+@Service
+public class AccountImportService {
+    private final ObjectMapper mapper;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final UserAccountRepository userRepository;
+    private final LabelRepository labelRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final HabitRepository habitRepository;
+    private final HabitCompletionRepository habitCompletionRepository;
+    private final FilterRepository filterRepository;
+    private final TaskCommentRepository commentRepository;
+    private final CollaborationRepository collaborationRepository;
+    private final CompletionCountService completionCounts;
+    private final int chunkSize;
+    private static final String SKIPPED = "skipped";
+
+    public AccountImportService(ObjectMapper mapper, EntityManager entityManager, JdbcTemplate jdbcTemplate,
+                                UserAccountRepository userRepository, LabelRepository labelRepository,
+                                ProjectRepository projectRepository, TaskRepository taskRepository,
+                                HabitRepository habitRepository, HabitCompletionRepository habitCompletionRepository,
+                                FilterRepository filterRepository, TaskCommentRepository commentRepository,
+                                CollaborationRepository collaborationRepository, CompletionCountService completionCounts,
+                                @Value("${imports.account.chunk-size:500}") int chunkSize) {
+        this.mapper = mapper;
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.userRepository = userRepository;
+        this.labelRepository = labelRepository;
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.habitRepository = habitRepository;
+        this.habitCompletionRepository = habitCompletionRepository;
+        this.filterRepository = filterRepository;
+        this.commentRepository = commentRepository;
+        this.collaborationRepository = collaborationRepository;
+        this.completionCounts = completionCounts;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Import account snapshot in one transaction
+     * @param userId ID of a user who will own imported entities
+     * @param snapshot Snapshot file, gzipped or not
+     * @return Number of imported records of every type, and number of skipped records
+     */
+    @Transactional
+    @NotifyOnImport
+    public Map<String, Integer> importAccount(Integer userId, InputStream snapshot) throws IOException {
+        InputStream in = decompress(snapshot);
+        try(MappingIterator<JsonNode> records = mapper.readerFor(JsonNode.class)
+                .readValues(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            if(!records.hasNext()) {
+                throw new WrongSnapshotFormatException("Snapshot is empty!");
+            }
+            SnapshotState state = new SnapshotState(userId, readHeader(records.next()));
+            while(records.hasNext()) {
+                importRecord(records.next(), state);
+                if(++state.recordsInChunk >= chunkSize) {
+                    flush(state);
+                }
+            }
+            flush(state);
+            linkPendingParents(state);
+            completionCounts.recount(userId);
+            return state.counts;
+        } catch(JsonProcessingException | RuntimeJsonMappingException ex) {
+            throw new WrongSnapshotFormatException("Malformed snapshot record!");
+        }
+    }
+
+    private InputStream decompress(InputStream snapshot) throws IOException {
+        InputStream in = new BufferedInputStream(snapshot);
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        boolean gzipped = first == (GZIPInputStream.GZIP_MAGIC & 0xff) && second == (GZIPInputStream.GZIP_MAGIC >> 8);
+        return gzipped ? new GZIPInputStream(in) : in;
+    }
+
+    private Integer readHeader(JsonNode header) {
+        if(!ACCOUNT.equals(header.path("type").asText())) {
+            throw new WrongSnapshotFormatException("Snapshot must start with account record!");
+        }
+        if(header.path("version").asInt() != VERSION) {
+            throw new WrongSnapshotFormatException("Unsupported snapshot version!");
+        }
+        return getInteger(header, "userId");
+    }
+
+    private void importRecord(JsonNode record, SnapshotState state) {
+        String type = record.path("type").asText();
+        boolean imported;
+        try {
+            imported = importRecord(type, record, state);
+        } catch(DateTimeParseException ex) {
+            throw new WrongSnapshotFormatException("Wrong date in " + type + " record!");
+        }
+        state.counts.merge(imported ? type : SKIPPED, 1, Integer::sum);
+    }
+
+    private boolean importRecord(String type, JsonNode record, SnapshotState state) {
+        switch(type) {
+            case LABEL: return importLabel(record, state);
+            case PROJECT: return importProject(record, state);
+            case TASK: return importTask(record, state);
+            case TASK_LABEL: return linkLabel(record, "taskId", state.taskIds, state.taskLabels, state);
+            case HABIT: return importHabit(record, state);
+            case HABIT_LABEL: return linkLabel(record, "habitId", state.habitIds, state.habitLabels, state);
+            case HABIT_COMPLETION: return importHabitCompletion(record, state);
+            case FILTER: return importFilter(record, state);
+            case COMMENT: return importComment(record, state);
+            case COLLABORATION: return importCollaboration(record, state);
+            default: return false;
+        }
+    }
+
+    private boolean importLabel(JsonNode record, SnapshotState state) {
+        Label label = labelRepository.save(Label.builder()
+                .name(record.path("name").textValue())
+                .color(record.path("color").textValue())
+                .generalOrder(getInteger(record, "generalOrder"))
+                .favorite(record.path("favorite").asBoolean())
+                .modifiedAt(getDate(record, "modifiedAt"))
+                .owner(userRepository.getById(state.userId))
+                .build());
+        state.labelIds.put(getInteger(record, "id"), label.getId());
+        return true;
+    }
+
+    private boolean importProject(JsonNode record, SnapshotState state) {
+        Integer parentId = getInteger(record, "parentId");
+        Integer newParentId = state.projectIds.get(parentId);
+        Project project = projectRepository.save(Project.builder()
+                .name(record.path("name").textValue())
+                .color(record.path("color").textValue())
+                .favorite(record.path("favorite").asBoolean())
+                .archived(record.path("archived").asBoolean())
+                .collapsed(record.path("collapsed").asBoolean())
+                .collaborative(record.path("collaborative").asBoolean())
+                .generalOrder(getInteger(record, "generalOrder"))
+                .createdAt(getDate(record, "createdAt"))
+                .modifiedAt(getDate(record, "modifiedAt"))
+                .parent(newParentId != null ? projectRepository.getById(newParentId) : null)
+                .owner(userRepository.getById(state.userId))
+                .build());
+        state.projectIds.put(getInteger(record, "id"), project.getId());
+        if(parentId != null && newParentId == null) {
+            state.pendingProjectParents.put(project.getId(), parentId);
+        }
+        return true;
+    }
+
+    private boolean importTask(JsonNode record, SnapshotState state) {
+        Integer parentId = getInteger(record, "parentId");
+        Integer newParentId = state.taskIds.get(parentId);
+        Integer projectId = state.projectIds.get(getInteger(record, "projectId"));
+        Integer assignedId = mapUser(getInteger(record, "assignedId"), state);
+        Task task = taskRepository.save(Task.builder()
+                .title(record.path("title").textValue())
+                .description(record.path("description").textValue())
+                .due(getDate(record, "due"))
+                .timeboxed(record.path("timeboxed").asBoolean())
+                .completed(record.path("completed").asBoolean())
+                .completedAt(getDate(record, "completedAt"))
+                .collapsed(record.path("collapsed").asBoolean())
+                .archived(record.path("archived").asBoolean())
+                .projectOrder(getInteger(record, "projectOrder"))
+                .dailyViewOrder(getInteger(record, "dailyViewOrder"))
+                .priority(getInteger(record, "priority"))
+                .createdAt(getDate(record, "createdAt"))
+                .modifiedAt(getDate(record, "modifiedAt"))
+                .parent(newParentId != null ? taskRepository.getById(newParentId) : null)
+                .project(projectId != null ? projectRepository.getById(projectId) : null)
+                .assigned(assignedId != null ? userRepository.getById(assignedId) : null)
+                .owner(userRepository.getById(state.userId))
+                .build());
+        state.taskIds.put(getInteger(record, "id"), task.getId());
+        if(parentId != null && newParentId == null) {
+            state.pendingTaskParents.put(task.getId(), parentId);
+        }
+        return true;
+    }
+
+    private boolean linkLabel(JsonNode record, String entityField, Map<Integer, Integer> entityIds,
+                              List<Object[]> links, SnapshotState state) {
+        Integer entityId = entityIds.get(getInteger(record, entityField));
+        Integer labelId = state.labelIds.get(getInteger(record, "labelId"));
+        if(entityId == null || labelId == null) {
+            return false;
+        }
+        links.add(new Object[] {entityId, labelId});
+        return true;
+    }
+
+    private boolean importHabit(JsonNode record, SnapshotState state) {
+        Integer projectId = state.projectIds.get(getInteger(record, "projectId"));
+        Habit habit = habitRepository.save(Habit.builder()
+                .title(record.path("title").textValue())
+                .description(record.path("description").textValue())
+                .priority(getInteger(record, "priority"))
+                .generalOrder(getInteger(record, "generalOrder"))
+                .allowPositive(record.path("allowPositive").asBoolean())
+                .allowNegative(record.path("allowNegative").asBoolean())
+                .archived(record.path("archived").asBoolean())
+                .modifiedAt(getDate(record, "modifiedAt"))
+                .project(projectId != null ? projectRepository.getById(projectId) : null)
+                .owner(userRepository.getById(state.userId))
+                .build());
+        state.habitIds.put(getInteger(record, "id"), habit.getId());
+        return true;
+    }
+
+    private boolean importHabitCompletion(JsonNode record, SnapshotState state) {
+        Integer habitId = state.habitIds.get(getInteger(record, "habitId"));
+        if(habitId == null) {
+            return false;
+        }
+        habitCompletionRepository.save(HabitCompletion.builder()
+                .date(getDate(record, "date"))
+                .positive(record.path("positive").asBoolean())
+                .habit(habitRepository.getById(habitId))
+                .owner(userRepository.getById(state.userId))
+                .build());
+        return true;
+    }
+
+    private boolean importFilter(JsonNode record, SnapshotState state) {
+        filterRepository.save(Filter.builder()
+                .name(record.path("name").textValue())
+                .searchString(record.path("searchString").textValue())
+                .color(record.path("color").textValue())
+                .favorite(record.path("favorite").asBoolean())
+                .generalOrder(getInteger(record, "generalOrder"))
+                .modifiedAt(getDate(record, "modifiedAt"))
+                .owner(userRepository.getById(state.userId))
+                .build());
+        return true;
+    }
+
+    private boolean importComment(JsonNode record, SnapshotState state) {
+        Integer taskId = state.taskIds.get(getInteger(record, "taskId"));
+        Integer authorId = mapUser(getInteger(record, "authorId"), state);
+        if(taskId == null || authorId == null) {
+            return false;
+        }
+        commentRepository.save(TaskComment.builder()
+                .content(record.path("content").textValue())
+                .createdAt(getDate(record, "createdAt"))
+                .task(taskRepository.getById(taskId))
+                .owner(userRepository.getById(authorId))
+                .build());
+        return true;
+    }
+
+    private boolean importCollaboration(JsonNode record, SnapshotState state) {
+        Integer projectId = state.projectIds.get(getInteger(record, "projectId"));
+        Integer collaboratorId = mapUser(getInteger(record, "collaboratorId"), state);
+        if(projectId == null || collaboratorId == null || collaboratorId.equals(state.userId)) {
+            return false;
+        }
+        collaborationRepository.save(Collaboration.builder()
+                .accepted(record.path("accepted").asBoolean())
+                .taskCompletionAllowed(record.path("taskCompletionAllowed").asBoolean())
+                .editionAllowed(record.path("editionAllowed").asBoolean())
+                .modifiedAt(getDate(record, "modifiedAt"))
+                .project(projectRepository.getById(projectId))
+                .owner(userRepository.getById(collaboratorId))
+                .build());
+        return true;
+    }
+
+    /**
+     * Map exported user to importing user, and keep other users only if they exist
+     */
+    private Integer mapUser(Integer id, SnapshotState state) {
+        if(id == null) {
+            return null;
+        }
+        if(id.equals(state.exportedUserId)) {
+            return state.userId;
+        }
+        return state.existingUsers.computeIfAbsent(id, userRepository::existsById) ? id : null;
+    }
+
+    /**
+     * Write chunk to the database, insert label links and clear persistence context
+     */
+    private void flush(SnapshotState state) {
+        entityManager.flush();
+        insertLinks("INSERT INTO task_label (task_id, label_id) VALUES (?, ?)", state.taskLabels);
+        insertLinks("INSERT INTO habit_label (habit_id, label_id) VALUES (?, ?)", state.habitLabels);
+        entityManager.clear();
+        state.recordsInChunk = 0;
+    }
+
+    private void insertLinks(String sql, List<Object[]> links) {
+        if(!links.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, links);
+            links.clear();
+        }
+    }
+
+    /**
+     * Link projects and tasks exported before their parents
+     */
+    private void linkPendingParents(SnapshotState state) {
+        for(List<Integer> ids : chunks(state.pendingProjectParents.keySet())) {
+            List<Project> projects = projectRepository.findByOwnerIdAndIdIn(state.userId, ids);
+            for(Project project : projects) {
+                Integer parentId = state.projectIds.get(state.pendingProjectParents.get(project.getId()));
+                project.setParent(parentId != null ? projectRepository.getById(parentId) : null);
+            }
+            projectRepository.saveAll(projects);
+            flush(state);
+        }
+        for(List<Integer> ids : chunks(state.pendingTaskParents.keySet())) {
+            List<Task> tasks = taskRepository.findByOwnerIdAndIdIn(state.userId, ids);
+            for(Task task : tasks) {
+                Integer parentId = state.taskIds.get(state.pendingTaskParents.get(task.getId()));
+                task.setParent(parentId != null ? taskRepository.getById(parentId) : null);
+            }
+            taskRepository.saveAll(tasks);
+            flush(state);
+        }
+    }
+
+    private List<List<Integer>> chunks(Collection<Integer> ids) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        List<Integer> list = new ArrayList<>(ids);
+        for(int i = 0; i < list.size(); i += chunkSize) {
+            chunks.add(list.subList(i, Math.min(i + chunkSize, list.size())));
+        }
+        return chunks;
+    }
+
+    private Integer getInteger(JsonNode record, String field) {
+        JsonNode value = record.path(field);
+        return value.isNumber() ? value.asInt() : null;
+    }
+
+    private LocalDateTime getDate(JsonNode record, String field) {
+        JsonNode value = record.path(field);
+        return value.isTextual() ? LocalDateTime.parse(value.asText()) : null;
+    }
+
+    private static class SnapshotState {
+        final Integer userId;
+        final Integer exportedUserId;
+        final Map<String, Integer> counts = new LinkedHashMap<>();
+        final Map<Integer, Integer> labelIds = new HashMap<>();
+        final Map<Integer, Integer> projectIds = new HashMap<>();
+        final Map<Integer, Integer> taskIds = new HashMap<>();
+        final Map<Integer, Integer> habitIds = new HashMap<>();
+        final Map<Integer, Integer> pendingProjectParents = new HashMap<>();
+        final Map<Integer, Integer> pendingTaskParents = new HashMap<>();
+        final Map<Integer, Boolean> existingUsers = new HashMap<>();
+        final List<Object[]> taskLabels = new ArrayList<>();
+        final List<Object[]> habitLabels = new ArrayList<>();
+        int recordsInChunk;
+
+        SnapshotState(Integer userId, Integer exportedUserId) {
+            this.userId = userId;
+            this.exportedUserId = exportedUserId;
+        }
+    }
+}
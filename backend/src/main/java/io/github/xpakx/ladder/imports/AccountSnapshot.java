@@ -0,0 +1,24 @@
+package io.github.xpakx.ladder.imports;
+
+/**
+ * Record types of account snapshot. Snapshot is a gzipped NDJSON file: a header record,
+ * followed by one record per line, with records written in order of their dependencies.
+ * Records reference each other by ids from the exported account.
+ */
+public final class AccountSnapshot {
+    public static final int VERSION = 1;
+    public static final String ACCOUNT = "account";
+    public static final String LABEL = "label";
+    public static final String PROJECT = "project";
+    public static final String TASK = "task";
+    public static final String TASK_LABEL = "task_label";
+    public static final String HABIT = "habit";
+    public static final String HABIT_LABEL = "habit_label";
+    public static final String HABIT_COMPLETION = "habit_completion";
+    public static final String FILTER = "filter";
+    public static final String COMMENT = "comment";
+    public static final String COLLABORATION = "collaboration";
+
+    private AccountSnapshot() {
+    }
+}
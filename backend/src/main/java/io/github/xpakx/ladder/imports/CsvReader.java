@@ -0,0 +1,92 @@
+package io.github.xpakx.ladder.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads CSV records one by one, so only the current record is kept in memory.
+ * Fields may be quoted, with quotes inside escaped by doubling them, and quoted
+ * fields may contain delimiters and line breaks.
+ */
+public class CsvReader {
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private int next = -2;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+    }
+
+    /**
+     * Read next record
+     * @return List of fields, or null if there are no more records
+     */
+    public List<String> readRecord() {
+        skipEmptyLines();
+        if(peek() == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        boolean quoted = false;
+        field.setLength(0);
+        while(true) {
+            int c = read();
+            if(quoted) {
+                if(c == -1) {
+                    break;
+                } else if(c == QUOTE && peek() == QUOTE) {
+                    field.append(QUOTE);
+                    read();
+                } else if(c == QUOTE) {
+                    quoted = false;
+                } else {
+                    field.append((char) c);
+                }
+            } else if(c == QUOTE) {
+                quoted = true;
+            } else if(c == DELIMITER) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if(c == '\n' || c == -1) {
+                break;
+            } else if(c != '\r') {
+                field.append((char) c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private void skipEmptyLines() {
+        while(peek() == '\n' || peek() == '\r') {
+            read();
+        }
+    }
+
+    private int peek() {
+        if(next == -2) {
+            next = readFromStream();
+        }
+        return next;
+    }
+
+    private int read() {
+        int c = peek();
+        next = -2;
+        return c;
+    }
+
+    private int readFromStream() {
+        try {
+            return reader.read();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
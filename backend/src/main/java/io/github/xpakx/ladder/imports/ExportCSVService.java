@@ -1,149 +1,99 @@
 package io.github.xpakx.ladder.imports;
 
-import io.github.xpakx.ladder.label.dto.LabelDetails;
-import io.github.xpakx.ladder.project.dto.ProjectDetails;
-import io.github.xpakx.ladder.task.dto.TaskDetails;
+import io.github.xpakx.ladder.project.dto.ProjectExportRow;
+import io.github.xpakx.ladder.task.dto.TaskExportRow;
 import io.github.xpakx.ladder.project.ProjectRepository;
 import io.github.xpakx.ladder.task.TaskRepository;
 import lombok.AllArgsConstructor;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.ByteArrayInputStream;
-import java.io.InputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
 public class ExportCSVService implements ExportServiceInterface {
     private ProjectRepository projectRepository;
     private TaskRepository taskRepository;
+    private ExportStreams exportStreams;
     private static final String DELIMITER = ",";
 
-    public InputStreamResource exportProjectList(Integer userId) {
-        List<ProjectDetails> projects = projectRepository.findByOwnerId(userId, ProjectDetails.class);
-        StringBuilder result = new StringBuilder();
-        result.append("id").append(DELIMITER).append("name").append(DELIMITER)
-                .append("color").append(DELIMITER).append("favorite").append(DELIMITER)
-                .append("archived").append(DELIMITER).append("parentId").append(DELIMITER).append("order")
-                .append(DELIMITER).append("\n");
-        for(ProjectDetails project : projects) {
-            result.append(project.getId())
-                    .append(DELIMITER)
-                    .append(prepareString(project.getName()))
-                    .append(DELIMITER)
-                    .append(project.getColor())
-                    .append(DELIMITER)
-                    .append(project.getFavorite())
-                    .append(DELIMITER)
-                    .append(project.getArchived())
-                    .append(DELIMITER)
-                    .append(project.getParent() != null ? project.getParent().getId() : "")
-                    .append(DELIMITER)
-                    .append(project.getGeneralOrder())
-                    .append(DELIMITER)
-                    .append("\n");
-        }
-        InputStream stream = new ByteArrayInputStream(result.toString().getBytes());
-        return new InputStreamResource(stream);
+    public StreamingResponseBody exportProjectList(Integer userId) {
+        return exportStreams.stream((writer) -> {
+            writeRow(writer, "id", "name", "color", "favorite", "archived", "parentId", "order");
+            try(Stream<ProjectExportRow> projects = projectRepository.streamExportRowsByOwnerId(userId)) {
+                Iterator<ProjectExportRow> iterator = projects.iterator();
+                while(iterator.hasNext()) {
+                    ProjectExportRow project = iterator.next();
+                    writeRow(writer,
+                            toField(project.getId()),
+                            prepareString(project.getName()),
+                            toField(project.getColor()),
+                            toField(project.getFavorite()),
+                            toField(project.getArchived()),
+                            toField(project.getParentId()),
+                            toField(project.getGeneralOrder()));
+                }
+            }
+        });
     }
 
-    public InputStreamResource exportTasksFromProjectById(Integer userId, Integer projectId) {
-        List<TaskDetails> tasks = taskRepository.findByOwnerIdAndProjectId(userId, projectId, TaskDetails.class);
-        StringBuilder result = new StringBuilder();
-        result.append("id").append(DELIMITER).append("title").append(DELIMITER)
-                .append("description").append(DELIMITER).append("parent_id").append(DELIMITER)
-                .append("due").append(DELIMITER).append("completed").append(DELIMITER)
-                .append("collapsed").append(DELIMITER).append("archived").append(DELIMITER)
-                .append("project_order").append(DELIMITER)
-                .append("daily_order").append(DELIMITER).append("priority").append(DELIMITER)
-                .append("labels").append(DELIMITER).append("\n");
-        for(TaskDetails task : tasks) {
-            result.append(task.getId())
-                    .append(DELIMITER)
-                    .append(prepareString(task.getTitle()))
-                    .append(DELIMITER)
-                    .append(prepareString(task.getDescription()))
-                    .append(DELIMITER)
-                    .append(task.getParent() != null ? task.getParent().getId() : "")
-                    .append(DELIMITER)
-                    .append(task.getDue())
-                    .append(DELIMITER)
-                    .append(task.getCompleted())
-                    .append(DELIMITER)
-                    .append(task.getCollapsed())
-                    .append(DELIMITER)
-                    .append(task.getArchived())
-                    .append(DELIMITER)
-                    .append(task.getProjectOrder())
-                    .append(DELIMITER)
-                    .append(task.getDailyViewOrder())
-                    .append(DELIMITER)
-                    .append(task.getPriority())
-                    .append(DELIMITER)
-                    .append(prepareString(getLabelList(task.getLabels())))
-                    .append(DELIMITER)
-                    .append("\n");
-        }
-        InputStream stream = new ByteArrayInputStream(result.toString().getBytes());
-        return new InputStreamResource(stream);
+    public StreamingResponseBody exportTasksFromProjectById(Integer userId, Integer projectId) {
+        return exportStreams.stream((writer) -> {
+            writeRow(writer, "id", "title", "description", "parent_id", "due", "completed", "collapsed",
+                    "archived", "project_order", "daily_order", "priority", "labels");
+            try(Stream<TaskExportRow> tasks = taskRepository.streamExportRowsByOwnerIdAndProjectId(userId, projectId)) {
+                ExportStreams.forEachTask(tasks, (task, labels) -> writeTask(writer, task, labels, false));
+            }
+        });
     }
 
-    private String getLabelList(Set<LabelDetails> labels) {
-        return labels.stream()
-                .map(LabelDetails::getName)
-                .collect(Collectors.joining(","));
+    public StreamingResponseBody exportTasks(Integer userId) {
+        return exportStreams.stream((writer) -> {
+            writeRow(writer, "id", "title", "description", "parent_id", "due", "completed", "collapsed",
+                    "archived", "project_order", "daily_order", "priority", "labels", "project_id", "project_name");
+            try(Stream<TaskExportRow> tasks = taskRepository.streamExportRowsByOwnerId(userId)) {
+                ExportStreams.forEachTask(tasks, (task, labels) -> writeTask(writer, task, labels, true));
+            }
+        });
     }
 
-    public InputStreamResource exportTasks(Integer userId) {
-        List<TaskDetails> tasks = taskRepository.findByOwnerId(userId, TaskDetails.class);
-        StringBuilder result = new StringBuilder();
-        result.append("id").append(DELIMITER).append("title").append(DELIMITER)
-                .append("description").append(DELIMITER).append("parent_id").append(DELIMITER)
-                .append("due").append(DELIMITER).append("completed").append(DELIMITER)
-                .append("collapsed").append(DELIMITER).append("archived").append(DELIMITER)
-                .append("project_order").append(DELIMITER)
-                .append("daily_order").append(DELIMITER).append("priority").append(DELIMITER)
-                .append("labels").append(DELIMITER).append("project_id").append(DELIMITER)
-                .append("project_name").append(DELIMITER).append("\n");
-        for(TaskDetails task : tasks) {
-            result.append(task.getId())
-                    .append(DELIMITER)
-                    .append(prepareString(task.getTitle()))
-                    .append(DELIMITER)
-                    .append(prepareString(task.getDescription()))
-                    .append(DELIMITER)
-                    .append(task.getParent() != null ? task.getParent().getId() : "")
-                    .append(DELIMITER)
-                    .append(task.getDue())
-                    .append(DELIMITER)
-                    .append(task.getCompleted())
-                    .append(DELIMITER)
-                    .append(task.getCollapsed())
-                    .append(DELIMITER)
-                    .append(task.getArchived())
-                    .append(DELIMITER)
-                    .append(task.getProjectOrder())
-                    .append(DELIMITER)
-                    .append(task.getDailyViewOrder())
-                    .append(DELIMITER)
-                    .append(task.getPriority())
-                    .append(DELIMITER)
-                    .append(prepareString(getLabelList(task.getLabels())))
-                    .append(DELIMITER)
-                    .append(task.getProject() != null ? task.getProject().getId() : "")
-                    .append(DELIMITER)
-                    .append(task.getProject() != null ? prepareString(task.getProject().getName()) : "")
-                    .append(DELIMITER)
-                    .append("\n");
+    private void writeTask(Writer writer, TaskExportRow task, List<String> labels, boolean withProject) throws IOException {
+        writer.append(toField(task.getId())).append(DELIMITER)
+                .append(prepareString(task.getTitle())).append(DELIMITER)
+                .append(prepareString(task.getDescription())).append(DELIMITER)
+                .append(toField(task.getParentId())).append(DELIMITER)
+                .append(toField(task.getDue())).append(DELIMITER)
+                .append(toField(task.getCompleted())).append(DELIMITER)
+                .append(toField(task.getCollapsed())).append(DELIMITER)
+                .append(toField(task.getArchived())).append(DELIMITER)
+                .append(toField(task.getProjectOrder())).append(DELIMITER)
+                .append(toField(task.getDailyViewOrder())).append(DELIMITER)
+                .append(toField(task.getPriority())).append(DELIMITER)
+                .append(prepareString(String.join(",", labels))).append(DELIMITER);
+        if(withProject) {
+            writer.append(toField(task.getProjectId())).append(DELIMITER)
+                    .append(task.getProjectId() != null ? prepareString(task.getProjectName()) : "").append(DELIMITER);
         }
-        InputStream stream = new ByteArrayInputStream(result.toString().getBytes());
-        return new InputStreamResource(stream);
+        writer.append("\n");
+    }
+
+    private void writeRow(Writer writer, String... fields) throws IOException {
+        for(String field : fields) {
+            writer.append(field).append(DELIMITER);
+        }
+        writer.append("\n");
+    }
+
+    private String toField(Object value) {
+        return value != null ? value.toString() : "";
     }
 
     private String prepareString(String s) {
-        return "\"" +  s.replaceAll("\"", "\"\"") + "\"";
+        return s != null ? "\"" +  s.replaceAll("\"", "\"\"") + "\"" : "";
     }
 }
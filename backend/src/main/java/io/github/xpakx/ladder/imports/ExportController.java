@@ -1,17 +1,14 @@
 package io.github.xpakx.ladder.imports;
 
-import io.github.xpakx.ladder.imports.ExportCSVService;
-import io.github.xpakx.ladder.imports.ExportTXTService;
 import lombok.AllArgsConstructor;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @AllArgsConstructor
@@ -19,53 +16,75 @@ import org.springframework.web.bind.annotation.RestController;
 public class ExportController {
     private ExportCSVService service;
     private ExportTXTService txtService;
+    private AccountExportService accountService;
 
     @PreAuthorize("#userId.toString() == authentication.principal.username")
     @GetMapping(value = "/csv/projects", produces="text/csv")
-    public ResponseEntity<Resource> exportProjectListToCSV(@PathVariable Integer userId) {
-        return new ResponseEntity<>(service.exportProjectList(userId),
-                getHttpHeadersForFile("projects.csv", "csv"),
-                HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> exportProjectListToCSV(@PathVariable Integer userId,
+                                                                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String encoding) {
+        return getResponseForFile(service.exportProjectList(userId), "projects.csv", "csv", encoding);
     }
 
     @PreAuthorize("#userId.toString() == authentication.principal.username")
     @GetMapping(value = "/csv/projects/{projectId}/tasks", produces="text/csv")
-    public ResponseEntity<Resource> exportProjectsTaskListToCSV(@PathVariable Integer userId, @PathVariable Integer projectId) {
-        return new ResponseEntity<>(service.exportTasksFromProjectById(userId, projectId),
-                getHttpHeadersForFile("tasks.csv", "csv"),
-                HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> exportProjectsTaskListToCSV(@PathVariable Integer userId, @PathVariable Integer projectId,
+                                                                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String encoding) {
+        return getResponseForFile(service.exportTasksFromProjectById(userId, projectId), "tasks.csv", "csv", encoding);
     }
 
     @PreAuthorize("#userId.toString() == authentication.principal.username")
     @GetMapping(value = "/csv/tasks", produces="text/csv")
-    public ResponseEntity<Resource> exportTaskListToCSV(@PathVariable Integer userId) {
-        return new ResponseEntity<>(service.exportTasks(userId),
-                getHttpHeadersForFile("tasks.csv", "csv"),
-                HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> exportTaskListToCSV(@PathVariable Integer userId,
+                                                                     @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String encoding) {
+        return getResponseForFile(service.exportTasks(userId), "tasks.csv", "csv", encoding);
     }
 
     @PreAuthorize("#userId.toString() == authentication.principal.username")
     @GetMapping(value = "/txt/projects", produces="text/txt")
-    public ResponseEntity<Resource> exportProjectListToTXT(@PathVariable Integer userId) {
-        return new ResponseEntity<>(txtService.exportProjectList(userId),
-                getHttpHeadersForFile("projects.txt", "txt"),
-                HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> exportProjectListToTXT(@PathVariable Integer userId,
+                                                                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String encoding) {
+        return getResponseForFile(txtService.exportProjectList(userId), "projects.txt", "txt", encoding);
     }
 
     @PreAuthorize("#userId.toString() == authentication.principal.username")
     @GetMapping(value = "/txt/projects/{projectId}/tasks", produces="text/txt")
-    public ResponseEntity<Resource> exportProjectsTaskListToTXT(@PathVariable Integer userId, @PathVariable Integer projectId) {
-        return new ResponseEntity<>(txtService.exportTasksFromProjectById(userId, projectId),
-                getHttpHeadersForFile("tasks.txt", "txt"),
-                HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> exportProjectsTaskListToTXT(@PathVariable Integer userId, @PathVariable Integer projectId,
+                                                                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String encoding) {
+        return getResponseForFile(txtService.exportTasksFromProjectById(userId, projectId), "tasks.txt", "txt", encoding);
     }
 
     @PreAuthorize("#userId.toString() == authentication.principal.username")
     @GetMapping(value = "/txt/tasks", produces="text/txt")
-    public ResponseEntity<Resource> exportTaskListToTXT(@PathVariable Integer userId) {
-        return new ResponseEntity<>(txtService.exportTasks(userId),
-                getHttpHeadersForFile("tasks.txt", "txt"),
-                HttpStatus.OK);
+    public ResponseEntity<StreamingResponseBody> exportTaskListToTXT(@PathVariable Integer userId,
+                                                                     @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String encoding) {
+        return getResponseForFile(txtService.exportTasks(userId), "tasks.txt", "txt", encoding);
+    }
+
+    @PreAuthorize("#userId.toString() == authentication.principal.username")
+    @GetMapping(value = "/account", produces="application/gzip")
+    public ResponseEntity<StreamingResponseBody> exportAccount(@PathVariable Integer userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=account.ndjson.gz");
+        headers.set(HttpHeaders.CONTENT_TYPE, "application/gzip");
+        return new ResponseEntity<>(gzip(accountService.exportAccount(userId)), headers, HttpStatus.OK);
+    }
+
+    private ResponseEntity<StreamingResponseBody> getResponseForFile(StreamingResponseBody body, String fileName,
+                                                                     String fileType, String encoding) {
+        HttpHeaders headers = getHttpHeadersForFile(fileName, fileType);
+        if(encoding != null && encoding.contains("gzip")) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return new ResponseEntity<>(gzip(body), headers, HttpStatus.OK);
+        }
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    private StreamingResponseBody gzip(StreamingResponseBody body) {
+        return (out) -> {
+            GZIPOutputStream gzip = new GZIPOutputStream(out);
+            body.writeTo(gzip);
+            gzip.finish();
+        };
     }
 
     private HttpHeaders getHttpHeadersForFile(String fileName, String fileType) {
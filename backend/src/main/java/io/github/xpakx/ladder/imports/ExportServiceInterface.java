@@ -1,9 +1,9 @@
 package io.github.xpakx.ladder.imports;
 
-import org.springframework.core.io.InputStreamResource;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 public interface ExportServiceInterface {
-    InputStreamResource exportProjectList(Integer userId);
-    InputStreamResource exportTasksFromProjectById(Integer userId, Integer projectId);
-    InputStreamResource exportTasks(Integer userId);
+    StreamingResponseBody exportProjectList(Integer userId);
+    StreamingResponseBody exportTasksFromProjectById(Integer userId, Integer projectId);
+    StreamingResponseBody exportTasks(Integer userId);
 }
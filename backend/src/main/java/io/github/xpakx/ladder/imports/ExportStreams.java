@@ -0,0 +1,79 @@
+package io.github.xpakx.ladder.imports;
+
+import io.github.xpakx.ladder.task.dto.TaskExportRow;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes exports straight to the response. Rows are read from a cursor in a read-only transaction
+ * which stays open while the response is written, so only the current row is kept in memory.
+ */
+@Component
+public class ExportStreams {
+    private final TransactionTemplate transactionTemplate;
+
+    public ExportStreams(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public StreamingResponseBody stream(Export export) {
+        return (out) -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try {
+                transactionTemplate.executeWithoutResult((status) -> {
+                    try {
+                        export.write(writer);
+                        writer.flush();
+                    } catch(IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch(UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+        };
+    }
+
+    /**
+     * Write tasks from rows ordered by task, joining labels from consecutive rows of the same task
+     */
+    public static void forEachTask(Stream<TaskExportRow> rows, TaskWriter writer) throws IOException {
+        Iterator<TaskExportRow> iterator = rows.iterator();
+        TaskExportRow task = null;
+        List<String> labels = new ArrayList<>();
+        while(iterator.hasNext()) {
+            TaskExportRow row = iterator.next();
+            if(task != null && !task.getId().equals(row.getId())) {
+                writer.write(task, labels);
+                labels.clear();
+            }
+            task = row;
+            if(row.getLabel() != null) {
+                labels.add(row.getLabel());
+            }
+        }
+        if(task != null) {
+            writer.write(task, labels);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Export {
+        void write(Writer writer) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface TaskWriter {
+        void write(TaskExportRow task, List<String> labels) throws IOException;
+    }
+}
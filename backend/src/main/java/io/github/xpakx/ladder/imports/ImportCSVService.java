@@ -1,6 +1,7 @@
 package io.github.xpakx.ladder.imports;
 
 import io.github.xpakx.ladder.notification.NotifyOnImport;
+import io.github.xpakx.ladder.common.order.SparseOrderService;
 import io.github.xpakx.ladder.label.Label;
 import io.github.xpakx.ladder.project.Project;
 import io.github.xpakx.ladder.task.Task;
@@ -10,85 +11,152 @@ import io.github.xpakx.ladder.label.LabelRepository;
 import io.github.xpakx.ladder.project.ProjectRepository;
 import io.github.xpakx.ladder.task.TaskRepository;
 import io.github.xpakx.ladder.user.UserAccountRepository;
-import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+/**
+ * Imports projects and tasks from CSV records. Records are saved in chunks by {@link ImportJobService},
+ * and only ids of saved rows are kept between chunks, to link parents that appear in other chunks.
+ */
 @Service
-@AllArgsConstructor
 public class ImportCSVService implements ImportServiceInterface {
     private final ProjectRepository projectRepository;
     private final TaskRepository taskRepository;
     private final UserAccountRepository userRepository;
     private final LabelRepository labelRepository;
-    private static final String DELIMITER = ",";
+    private final ImportedRowRepository importedRowRepository;
+    private final ImportJobRepository importJobRepository;
     private static final Pattern isInteger = Pattern.compile("\\d+");
 
+    public ImportCSVService(ProjectRepository projectRepository, TaskRepository taskRepository,
+                            UserAccountRepository userRepository, LabelRepository labelRepository,
+                            ImportedRowRepository importedRowRepository, ImportJobRepository importJobRepository) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.labelRepository = labelRepository;
+        this.importedRowRepository = importedRowRepository;
+        this.importJobRepository = importJobRepository;
+    }
+
+    @Override
+    public ImportState loadState(ImportJob job) {
+        return ImportState.of(importedRowRepository.findByJobIdOrderById(job.getId()));
+    }
+
+    /**
+     * Save chunk of CSV records, with rows needed to resume the job after this chunk
+     */
+    @Override
+    @Transactional
+    public void importChunk(ImportJob job, List<List<String>> records, ImportState state) {
+        Integer userId = job.getOwnerId();
+        if(job.getType() == ImportType.PROJECTS) {
+            saveProjects(userId, map(records, this::toProjectImport), state);
+        } else if(job.getType() == ImportType.PROJECT_TASKS) {
+            saveTasks(userId, map(records, this::toTaskImport), state, (a) -> projectRepository.getById(job.getProjectId()));
+        } else {
+            List<TaskImport> tasks = map(records, this::toTaskImport);
+            prepareProjects(userId, tasks, state);
+            saveTasks(userId, tasks, state, (a) -> a.getProjectId() != null ?
+                    projectRepository.getById(state.projectIds.get(a.getProjectId())) : null);
+        }
+        importedRowRepository.saveAll(state.takeUnsavedRows(job.getId()));
+    }
+
+    /**
+     * Set parents of rows saved before their parents
+     * @param ids IDs of saved rows from {@link ImportState#getPendingChunks(int)}
+     */
+    @Override
+    @Transactional
+    public void linkPendingParents(ImportJob job, List<Integer> ids, ImportState state) {
+        if(job.getType() == ImportType.PROJECTS) {
+            linkPendingProjectParents(job.getOwnerId(), ids, state);
+        } else {
+            linkPendingTaskParents(job.getOwnerId(), ids, state);
+        }
+    }
+
+    /**
+     * Mark job as finished, unless it was cancelled, and remove rows kept to resume it.
+     * Jobs taken over by another instance are left to that instance.
+     */
     @Override
     @Transactional
     @NotifyOnImport
-    public void importProjectList(Integer userId, String csv) {
-        List<ProjectImport> projects = CSVtoProjectList(csv);
-        List<Integer> ids = getProjectIdsFromImported(projects);
-        List<Integer> parentIds = getParentIdsFromImported(projects);
-        parentIds = projectRepository.findIdByOwnerIdAndIdIn(userId, parentIds);
-        List<Project> projectsInDb = projectRepository.findByOwnerIdAndIdIn(userId, ids);
-        ids = projectListToIds(projectsInDb);
-        Map<Integer, Project> hashMap = new HashMap<>();
-        Map<Project, Integer> parentMap = new HashMap<>();
-        List<Project> toSave = transformToProjects(userId, projects, projectsInDb, hashMap, parentMap);
-        appendParentsToProjects(ids, parentIds, toSave, hashMap, parentMap);
-        projectRepository.saveAll(toSave);
+    public ImportJob finishImport(Integer userId, ImportJob job, ImportStatus status, String error) {
+        if(importJobRepository.finishRunning(job.getId(), job.getLeaseOwner(), status, error, LocalDateTime.now()) == 0
+                && isTakenOver(job)) {
+            return job;
+        }
+        importedRowRepository.deleteByJobId(job.getId());
+        return job;
+    }
+
+    private boolean isTakenOver(ImportJob job) {
+        return importJobRepository.findById(job.getId())
+                .filter((a) -> a.getStatus() == ImportStatus.RUNNING || a.getStatus() == ImportStatus.QUEUED)
+                .isPresent();
+    }
+
+    private <T> List<T> map(List<List<String>> records, Function<List<String>, T> mapper) {
+        return records.stream()
+                .map(mapper)
+                .collect(Collectors.toList());
     }
 
-    private List<Project> transformToProjects(Integer userId, List<ProjectImport> projects, List<Project> projectsInDb, Map<Integer, Project> hashMap, Map<Project, Integer> parentMap) {
+    private void saveProjects(Integer userId, List<ProjectImport> projects, ImportState state) {
+        Map<Integer, Project> projectsInDb = projectRepository.findByOwnerIdAndIdIn(userId, getIds(projects, ProjectImport::getId, state))
+                .stream()
+                .collect(Collectors.toMap(Project::getId, (a) -> a));
+        Map<Integer, Project> projectsInChunk = new HashMap<>();
         List<Project> toSave = new ArrayList<>();
         for(ProjectImport project : projects) {
-            Project projectToSave = getProjectFromDbOrNewProject(projectsInDb, project);
+            Project projectToSave = projectsInDb.getOrDefault(project.getId(), new Project());
             copyFieldsToProject(projectToSave, project, userId);
             if(project.getId() != null) {
-                hashMap.put(project.getId(), projectToSave);
+                projectsInChunk.put(project.getId(), projectToSave);
             }
-            parentMap.put(projectToSave, project.getParentId());
             toSave.add(projectToSave);
         }
-        return toSave;
-    }
-
-    private void appendParentsToProjects(List<Integer> ids, List<Integer> parentIds, List<Project> toSave, Map<Integer, Project> hashMap, Map<Project, Integer> parentMap) {
-        for(Project project : toSave) {
+        Set<Integer> parentsInDb = getParentsInDb(projects, ProjectImport::getParentId, projectsInChunk, state,
+                (ids) -> projectRepository.findIdByOwnerIdAndIdIn(userId, ids));
+        Set<Integer> pendingParents = new HashSet<>();
+        for(int i = 0; i < projects.size(); i++) {
+            Integer parentId = projects.get(i).getParentId();
             Project parent = null;
-            if(parentMap.containsKey(project)) {
-                Integer parentId = parentMap.get(project);
-                if(hashMap.containsKey(parentId)) {
-                    parent = hashMap.get(parentId);
-                } else if(ids.contains(parentId) || parentIds.contains(parentId)) {
-                    parent = projectRepository.getById(parentId);
-                }
+            if(projectsInChunk.containsKey(parentId)) {
+                parent = projectsInChunk.get(parentId);
+            } else if(state.savedIds.containsKey(parentId)) {
+                parent = projectRepository.getById(state.savedIds.get(parentId));
+            } else if(parentsInDb.contains(parentId)) {
+                parent = projectRepository.getById(parentId);
+            } else if(parentId != null) {
+                pendingParents.add(i);
             }
-            project.setParent(parent);
+            toSave.get(i).setParent(parent);
         }
+        projectRepository.saveAll(toSave);
+        state.saved(projects, toSave, ProjectImport::getId, ProjectImport::getParentId, Project::getId, pendingParents,
+                projectsInDb.keySet());
     }
 
-    private List<Integer> projectListToIds(List<Project> projectsInDb) {
-        return projectsInDb.stream()
-                .map(Project::getId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-    }
-
-    private Project getProjectFromDbOrNewProject(List<Project> projectsInDb, ProjectImport project) {
-        return projectsInDb.stream()
-                .filter((a) -> Objects.equals(a.getId(), project.getId()))
-                .findAny()
-                .orElse(new Project());
+    private void linkPendingProjectParents(Integer userId, List<Integer> ids, ImportState state) {
+        List<Project> projects = projectRepository.findByOwnerIdAndIdIn(userId, ids);
+        for(Project project : projects) {
+            Integer parentId = state.savedIds.get(state.pendingParents.get(project.getId()));
+            project.setParent(parentId != null ? projectRepository.getById(parentId) : null);
+        }
+        projectRepository.saveAll(projects);
     }
 
     private void copyFieldsToProject(Project projectToSave, ProjectImport project, Integer userId) {
@@ -106,105 +174,54 @@ public class ImportCSVService implements ImportServiceInterface {
         }
     }
 
-    private List<Integer> getParentIdsFromImported(List<ProjectImport> projects) {
-        return projects.stream()
-                .map(ProjectImport::getParentId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-    }
-
-    private List<Integer> getProjectIdsFromImported(List<ProjectImport> projects) {
-        return projects.stream()
-                .map(ProjectImport::getId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-    }
-
-    @Override
-    @Transactional
-    @NotifyOnImport
-    public void importTasksToProjectById(Integer userId, Integer projectId, String csv) {
-        List<TaskImport> tasks = CSVtoTaskList(csv);
-        List<Integer> ids = getTaskIdsFromImported(tasks);
-        List<Integer> parentIds = getParentIdsFromImported(tasks, userId);
-        List<Task> tasksInDb = taskRepository.findByOwnerIdAndIdIn(userId, ids);
-        ids = taskListToIds(tasksInDb);
-        Map<Integer, Task> hashMap = new HashMap<>();
-        Map<Task, Integer> parentMap = new HashMap<>();
-        List<Task> toSave = transformToTasks(userId, projectId, tasks, tasksInDb, hashMap, parentMap);
-        appendParentsToTasks(toSave, parentMap, hashMap, ids, parentIds);
-        taskRepository.saveAll(toSave);
-    }
-
-    private List<Integer> taskListToIds(List<Task> tasksInDb) {
-        return tasksInDb.stream()
-                .map(Task::getId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-    }
 
-    private void appendParentsToTasks(List<Task> toSave, Map<Task, Integer> parentMap, Map<Integer, Task> hashMap, List<Integer> ids, List<Integer> parentIds) {
-        for(Task task : toSave) {
-            Task parent = null;
-            if(parentMap.containsKey(task)) {
-                Integer parentId = parentMap.get(task);
-                if(hashMap.containsKey(parentId)) {
-                    parent = hashMap.get(parentId);
-                } else if(ids.contains(parentId) || parentIds.contains(parentId)) {
-                    parent = taskRepository.getById(parentId);
-                }
-            }
-            task.setParent(parent);
-        }
-    }
 
-    private List<Task> transformToTasks(Integer userId, Integer projectId, List<TaskImport> tasks, List<Task> tasksInDb, Map<Integer, Task> hashMap, Map<Task, Integer> parentMap) {
-        Map<String, Label> labelMap = getLabelMap(userId, tasks);
+    private void saveTasks(Integer userId, List<TaskImport> tasks, ImportState state, Function<TaskImport, Project> projectForTask) {
+        Map<Integer, Task> tasksInDb = taskRepository.findByOwnerIdAndIdIn(userId, getIds(tasks, TaskImport::getId, state))
+                .stream()
+                .collect(Collectors.toMap(Task::getId, (a) -> a));
+        prepareLabels(userId, tasks, state);
+        Map<Integer, Task> tasksInChunk = new HashMap<>();
         List<Task> toSave = new ArrayList<>();
         for(TaskImport task : tasks) {
-            Task taskToSave = createNewTaskToSave(userId, tasksInDb, labelMap, task);
-            taskToSave.setProject(projectRepository.getById(projectId));
-            addTaskToDataStructures(hashMap, parentMap, toSave, task, taskToSave);
+            Task taskToSave = tasksInDb.getOrDefault(task.getId(), new Task());
+            copyFieldsToTask(taskToSave, task, userId);
+            taskToSave.setLabels(getLabelsForTask(task, state));
+            taskToSave.setProject(projectForTask.apply(task));
+            if(task.getId() != null) {
+                tasksInChunk.put(task.getId(), taskToSave);
+            }
+            toSave.add(taskToSave);
         }
-        return toSave;
-    }
-
-    private void addTaskToDataStructures(Map<Integer, Task> hashMap, Map<Task, Integer> parentMap, List<Task> toSave, TaskImport task, Task taskToSave) {
-        if(task.getId() != null) {
-            hashMap.put(task.getId(), taskToSave);
+        Set<Integer> parentsInDb = getParentsInDb(tasks, TaskImport::getParentId, tasksInChunk, state,
+                (ids) -> taskRepository.findIdByOwnerIdAndIdIn(userId, ids));
+        Set<Integer> pendingParents = new HashSet<>();
+        for(int i = 0; i < tasks.size(); i++) {
+            Integer parentId = tasks.get(i).getParentId();
+            Task parent = null;
+            if(tasksInChunk.containsKey(parentId)) {
+                parent = tasksInChunk.get(parentId);
+            } else if(state.savedIds.containsKey(parentId)) {
+                parent = taskRepository.getById(state.savedIds.get(parentId));
+            } else if(parentsInDb.contains(parentId)) {
+                parent = taskRepository.getById(parentId);
+            } else if(parentId != null) {
+                pendingParents.add(i);
+            }
+            toSave.get(i).setParent(parent);
         }
-        parentMap.put(taskToSave, task.getParentId());
-        toSave.add(taskToSave);
-    }
-
-    private Task createNewTaskToSave(Integer userId, List<Task> tasksInDb, Map<String, Label> labelMap, TaskImport task) {
-        Task taskToSave = tasksInDb.stream()
-                .filter((a) -> Objects.equals(a.getId(), task.getId()))
-                .findAny()
-                .orElse(new Task());
-        copyFieldsToTask(taskToSave, task, userId);
-        taskToSave.setLabels(getLabelForTask(task, labelMap));
-        return taskToSave;
+        taskRepository.saveAll(toSave);
+        state.saved(tasks, toSave, TaskImport::getId, TaskImport::getParentId, Task::getId, pendingParents,
+                tasksInDb.keySet());
     }
 
-    private List<Task> transformToTasksWithProjects(Integer userId, List<TaskImport> tasks, List<Task> tasksInDb, Map<Integer,
-            Task> hashMap, Map<Task, Integer> parentMap, List<Integer> projectIds, Map<Integer, Project> newProjectsMap) {
-        Map<String, Label> labelMap = getLabelMap(userId, tasks);
-        List<Task> toSave = new ArrayList<>();
-        for(TaskImport task : tasks) {
-            Task taskToSave = createNewTaskToSave(userId, tasksInDb, labelMap, task);
-            setProjectForTask(projectIds, newProjectsMap, task, taskToSave);
-            addTaskToDataStructures(hashMap, parentMap, toSave, task, taskToSave);
-        }
-        return toSave;
-    }
-
-    private void setProjectForTask(List<Integer> projectIds, Map<Integer, Project> newProjectsMap, TaskImport task, Task taskToSave) {
-        if(projectIds.contains(task.getProjectId())) {
-            taskToSave.setProject(projectRepository.getById(task.getProjectId()));
-        } else {
-            taskToSave.setProject(newProjectsMap.get(task.getProjectId()));
+    private void linkPendingTaskParents(Integer userId, List<Integer> ids, ImportState state) {
+        List<Task> tasks = taskRepository.findByOwnerIdAndIdIn(userId, ids);
+        for(Task task : tasks) {
+            Integer parentId = state.savedIds.get(state.pendingParents.get(task.getId()));
+            task.setParent(parentId != null ? taskRepository.getById(parentId) : null);
         }
+        taskRepository.saveAll(tasks);
     }
 
     private void copyFieldsToTask(Task taskToSave, TaskImport task, Integer userId) {
@@ -225,53 +242,85 @@ public class ImportCSVService implements ImportServiceInterface {
         }
     }
 
-    private List<Integer> getParentIdsFromImported(List<TaskImport> tasks, Integer userId) {
-        List<Integer> parentIds = tasks.stream()
-                .map(TaskImport::getParentId)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-        return taskRepository.findIdByOwnerIdAndIdIn(userId, parentIds);
-    }
-
-    private List<Integer> getTaskIdsFromImported(List<TaskImport> tasks) {
-        return tasks.stream()
-                .map(TaskImport::getId)
-                .filter(Objects::nonNull)
+    /**
+     * Find ids of projects referenced by tasks in chunk, creating projects
+     * for ids which aren't in the database
+     */
+    private void prepareProjects(Integer userId, List<TaskImport> tasks, ImportState state) {
+        List<Integer> unknownIds = tasks.stream()
+                .map(TaskImport::getProjectId)
+                .filter((a) -> a != null && !state.projectIds.containsKey(a))
+                .distinct()
                 .collect(Collectors.toList());
+        if(unknownIds.isEmpty()) {
+            return;
+        }
+        projectRepository.findIdByOwnerIdAndIdIn(userId, unknownIds).stream()
+                .filter((a) -> !state.createdProjectIds.contains(a))
+                .forEach((a) -> state.projectIds.put(a, a));
+        Map<Integer, Project> newProjects = new LinkedHashMap<>();
+        for(TaskImport task : tasks) {
+            if(task.getProjectId() != null && !state.projectIds.containsKey(task.getProjectId())) {
+                newProjects.computeIfAbsent(task.getProjectId(), (a) -> newProject(userId, task.getProjectName(), state));
+            }
+        }
+        projectRepository.saveAll(newProjects.values());
+        newProjects.forEach((importedId, project) -> state.projectCreated(importedId, project.getId()));
     }
 
-    private Set<Label> getLabelForTask(TaskImport task, Map<String, Label> labelMap) {
-        return task.getLabels()
-                .stream()
-                .map(labelMap::get)
-                .collect(Collectors.toSet());
-    }
-
-    private Map<String, Label> getLabelMap(Integer userId, List<TaskImport> tasks) {
-        List<String> names = tasks.stream()
+    private Project newProject(Integer userId, String name, ImportState state) {
+        if(state.projectOrder == null) {
+            state.projectOrder = projectRepository.getMaxOrderByOwnerId(userId);
+        }
+        state.projectOrder += SparseOrderService.GAP;
+        Project newProject = new Project();
+        newProject.setOwner(userRepository.getById(userId));
+        newProject.setArchived(false);
+        newProject.setFavorite(false);
+        newProject.setColor("#ffffff");
+        newProject.setName(name);
+        newProject.setModifiedAt(LocalDateTime.now());
+        newProject.setCreatedAt(LocalDateTime.now());
+        newProject.setGeneralOrder(state.projectOrder);
+        return newProject;
+    }
+
+    /**
+     * Find ids of labels used by tasks in chunk, creating labels which aren't in the database
+     */
+    private void prepareLabels(Integer userId, List<TaskImport> tasks, ImportState state) {
+        List<String> unknownNames = tasks.stream()
                 .map(TaskImport::getLabels)
                 .flatMap(Collection::stream)
-                .collect(Collectors.toList());
-        List<Label> labels = labelRepository.findIdByOwnerIdAndNameIn(userId, names);
-        Integer order = labelRepository.getMaxOrderByOwnerId(userId);
-        HashMap<String, Label> result = new HashMap<>();
-        for(Label label : labels) {
-            result.put(label.getName(), label);
-        }
-        List<String> namesInDb = labels.stream()
-                .map(Label::getName)
-                .collect(Collectors.toList());
-        List<Label> newLabels = names.stream()
-                .filter((a) -> !namesInDb.contains(a))
+                .filter((a) -> !state.labelIds.containsKey(a))
                 .distinct()
-                .map((a) -> stringToLabel(userId, a))
                 .collect(Collectors.toList());
-        for(Label l : newLabels) {
-            l.setGeneralOrder(++order);
+        if(unknownNames.isEmpty()) {
+            return;
+        }
+        labelRepository.findIdByOwnerIdAndNameIn(userId, unknownNames)
+                .forEach((a) -> state.labelIds.put(a.getName(), a.getId()));
+        if(state.labelOrder == null) {
+            state.labelOrder = labelRepository.getMaxOrderByOwnerId(userId);
+        }
+        List<Label> newLabels = new ArrayList<>();
+        for(String name : unknownNames) {
+            if(!state.labelIds.containsKey(name)) {
+                state.labelOrder += SparseOrderService.GAP;
+                Label label = stringToLabel(userId, name);
+                label.setGeneralOrder(state.labelOrder);
+                newLabels.add(label);
+            }
         }
         labelRepository.saveAll(newLabels)
-                .forEach((a) -> result.put(a.getName(), a));
-        return result;
+                .forEach((a) -> state.labelIds.put(a.getName(), a.getId()));
+    }
+
+    private Set<Label> getLabelsForTask(TaskImport task, ImportState state) {
+        return task.getLabels()
+                .stream()
+                .map((a) -> labelRepository.getById(state.labelIds.get(a)))
+                .collect(Collectors.toSet());
     }
 
     private Label stringToLabel(Integer userId, String s) {
@@ -285,117 +334,63 @@ public class ImportCSVService implements ImportServiceInterface {
         return newLabel;
     }
 
-    @Override
-    @Transactional
-    @NotifyOnImport
-    public void importTasks(Integer userId, String csv) {
-        List<TaskImport> tasks = CSVtoTaskList(csv);
-        List<Integer> ids = getTaskIdsFromImported(tasks);
-        List<Integer> parentIds = getParentIdsFromImported(tasks, userId);
-        List<Integer> projectIds = getProjectIdsFromImported(userId, tasks);
-        Map<Integer, Project> newProjectsMap = generateNewProjects(tasks, projectIds, userId);
-        List<Task> tasksInDb = taskRepository.findByOwnerIdAndIdIn(userId, ids);
-        ids = taskListToIds(tasksInDb);
-
-        Map<Integer, Task> hashMap = new HashMap<>();
-        Map<Task, Integer> parentMap = new HashMap<>();
-        List<Task> toSave = transformToTasksWithProjects(userId, tasks, tasksInDb, hashMap, parentMap, projectIds, newProjectsMap);
-        appendParentsToTasks(toSave, parentMap, hashMap, ids, parentIds);
-
-        taskRepository.saveAll(toSave);
-    }
-
-    private List<Integer> getProjectIdsFromImported(Integer userId, List<TaskImport> tasks) {
-        List<Integer> projectIds = tasks.stream()
-                .map(TaskImport::getProjectId)
-                .filter(Objects::nonNull)
+    /**
+     * Get ids from imported rows, skipping ids of rows created by this import
+     */
+    private <T> List<Integer> getIds(List<T> rows, Function<T, Integer> id, ImportState state) {
+        return rows.stream()
+                .map(id)
+                .filter((a) -> a != null && !state.createdIds.contains(a))
                 .collect(Collectors.toList());
-        projectIds = projectRepository.findIdByOwnerIdAndIdIn(userId, projectIds);
-        return projectIds;
-    }
-
-    private Map<Integer, Project> generateNewProjects(List<TaskImport> tasks, List<Integer> projectIds, Integer userId) {
-        List<Project> projects = new ArrayList<>();
-        List<Integer> newProjectsIds =  new ArrayList<>();
-        Integer order = projectRepository.getMaxOrderByOwnerId(userId);
-        for(TaskImport task : tasks) {
-            if(task.getProjectId() != null && !projectIds.contains(task.getProjectId()) && !newProjectsIds.contains(task.getProjectId())) {
-                Project newProject = new Project();
-                newProject.setOwner(userRepository.getById(userId));
-                newProject.setArchived(false);
-                newProject.setFavorite(false);
-                newProject.setColor("#ffffff");
-                newProject.setName(task.getProjectName());
-                newProject.setModifiedAt(LocalDateTime.now());
-                newProject.setCreatedAt(LocalDateTime.now());
-                newProject.setGeneralOrder(++order);
-                projects.add(newProject);
-                newProjectsIds.add(task.getProjectId());
-            }
-        }
-        projects = projectRepository.saveAll(projects);
-        Map<Integer, Project> result = new HashMap<>();
-        for(TaskImport task : tasks) {
-            Optional<Project> proj = projects.stream()
-                    .filter((a) -> a.getName().equals(task.getProjectName()))
-                    .findAny();
-            proj.ifPresent(project -> result.put(task.getProjectId(), project));
-        }
-        return result;
-    }
-
-    private List<ProjectImport> CSVtoProjectList(String list) {
-        String[] charArr = list.split("");
-        int i = 0;
-        while(!charArr[i].equals("\n")) {
-            i++;
-        }
-        List<ProjectImport> result = new ArrayList<>();
-        i++;
-        while(i<charArr.length) {
-            int quoteCount = 0;
-            int start = i;
-            int fieldNum = 0;
-            ProjectImport newProj = new ProjectImport();
-            while (!(charArr[i].equals("\n") && quoteCount % 2 == 0)) {
-                if (quoteCount % 2 == 0 && charArr[i].equals(DELIMITER)) {
-                    String field = list.substring(start, i);
-                    start = i + 1;
-                    setField(fieldNum, newProj, field);
-                    fieldNum++;
-                } else if (charArr[i].equals("\"")) {
-                    quoteCount++;
-                }
-                i++;
-            }
-            result.add(newProj);
-            i++;
-        }
-        return result;
     }
 
-    private void setField(int fieldNum, ProjectImport newProj, String field) {
-        if(field.length()>1 && field.charAt(0) == '"') {
-            field = field.substring(1);
-        }
-        if(field.length()>0 && field.charAt(field.length()-1) == '"') {
-            field = field.substring(0,field.length()-1);
-        }
-        if(fieldNum == 0) {
-            newProj.setId((toInteger(field)));
-        } else if(fieldNum == 1) {
-            newProj.setName(field);
-        } else if(fieldNum == 2) {
-            newProj.setColor(field);
-        } else if(fieldNum == 3) {
-            newProj.setFavorite(field.equals("true"));
-        } else if(fieldNum == 4) {
-            newProj.setArchived(field.equals("true"));
-        } else if(fieldNum == 5) {
-            newProj.setParentId(toInteger(field));
-        } else if(fieldNum == 6) {
-            newProj.setGeneralOrder(toInteger(field));
-        }
+    /**
+     * Check which parents that are neither in the chunk nor already imported exist in the database
+     */
+    private <T> Set<Integer> getParentsInDb(List<T> rows, Function<T, Integer> parentId, Map<Integer, ?> rowsInChunk,
+                                            ImportState state, Function<List<Integer>, List<Integer>> existingIds) {
+        List<Integer> ids = rows.stream()
+                .map(parentId)
+                .filter((a) -> a != null && !rowsInChunk.containsKey(a) && !state.savedIds.containsKey(a)
+                        && !state.createdIds.contains(a))
+                .distinct()
+                .collect(Collectors.toList());
+        return ids.isEmpty() ? Collections.emptySet() : new HashSet<>(existingIds.apply(ids));
+    }
+
+    private ProjectImport toProjectImport(List<String> fields) {
+        ProjectImport project = new ProjectImport();
+        project.setId(toInteger(field(fields, 0)));
+        project.setName(field(fields, 1));
+        project.setColor(field(fields, 2));
+        project.setFavorite(field(fields, 3).equals("true"));
+        project.setArchived(field(fields, 4).equals("true"));
+        project.setParentId(toInteger(field(fields, 5)));
+        project.setGeneralOrder(toInteger(field(fields, 6)));
+        return project;
+    }
+
+    private TaskImport toTaskImport(List<String> fields) {
+        TaskImport task = new TaskImport();
+        task.setId(toInteger(field(fields, 0)));
+        task.setTitle(field(fields, 1));
+        task.setDescription(field(fields, 2));
+        task.setParentId(toInteger(field(fields, 3)));
+        task.setDue(toDate(field(fields, 4)));
+        task.setCompleted(field(fields, 5).equals("true"));
+        task.setCollapsed(field(fields, 6).equals("true"));
+        task.setArchived(field(fields, 7).equals("true"));
+        task.setProjectOrder(toInteger(field(fields, 8)));
+        task.setDailyOrder(toInteger(field(fields, 9)));
+        task.setPriority(toInteger(field(fields, 10)));
+        task.setLabels(toLabelList(field(fields, 11)));
+        task.setProjectId(toInteger(field(fields, 12)));
+        task.setProjectName(field(fields, 13));
+        return task;
+    }
+
+    private String field(List<String> fields, int fieldNum) {
+        return fieldNum < fields.size() ? fields.get(fieldNum) : "";
     }
 
     private Integer toInteger(String s) {
@@ -407,74 +402,6 @@ public class ImportCSVService implements ImportServiceInterface {
         }
     }
 
-    private List<TaskImport> CSVtoTaskList(String list) {
-        String[] charArr = list.split("");
-        int i = 0;
-        while(!charArr[i].equals("\n")) {
-            i++;
-        }
-        List<TaskImport> result = new ArrayList<>();
-        i++;
-        while(i<charArr.length) {
-            int quoteCount = 0;
-            int start = i;
-            int fieldNum = 0;
-            TaskImport newTask = new TaskImport();
-            while (!(charArr[i].equals("\n") && quoteCount % 2 == 0)) {
-                if (quoteCount % 2 == 0 && charArr[i].equals(DELIMITER)) {
-                    String field = list.substring(start, i);
-                    start = i + 1;
-                    setField(fieldNum, newTask, field);
-                    fieldNum++;
-                } else if (charArr[i].equals("\"")) {
-                    quoteCount++;
-                }
-                i++;
-            }
-            result.add(newTask);
-            i++;
-        }
-        return result;
-    }
-
-    private void setField(int fieldNum, TaskImport newTask, String field) {
-        if(field.length()>1 && field.charAt(0) == '"') {
-            field = field.substring(1);
-        }
-        if(field.length()>0 && field.charAt(field.length()-1) == '"') {
-            field = field.substring(0,field.length()-1);
-        }
-        if(fieldNum == 0) {
-            newTask.setId((toInteger(field)));
-        } else if(fieldNum == 1) {
-            newTask.setTitle(field);
-        } else if(fieldNum == 2) {
-            newTask.setDescription(field);
-        } else if(fieldNum == 3) {
-            newTask.setParentId(toInteger(field));
-        } else if(fieldNum == 4) {
-            newTask.setDue(toDate(field));
-        } else if(fieldNum == 5) {
-            newTask.setCompleted(field.equals("true"));
-        } else if(fieldNum == 6) {
-            newTask.setCollapsed(field.equals("true"));
-        } else if(fieldNum == 7) {
-            newTask.setArchived(field.equals("true"));
-        } else if(fieldNum == 8) {
-            newTask.setProjectOrder(toInteger(field));
-        } else if(fieldNum == 9) {
-            newTask.setDailyOrder(toInteger(field));
-        } else if(fieldNum == 10) {
-            newTask.setPriority(toInteger(field));
-        } else if(fieldNum == 11) {
-            newTask.setLabels(toLabelList(field));
-        } else if(fieldNum == 12) {
-            newTask.setProjectId(toInteger(field));
-        } else if(fieldNum == 13) {
-            newTask.setProjectName(field);
-        }
-    }
-
     private LocalDateTime toDate(String s) {
         try {
             return LocalDateTime.parse(s);
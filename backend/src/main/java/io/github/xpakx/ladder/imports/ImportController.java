@@ -1,54 +1,75 @@
 package io.github.xpakx.ladder.imports;
 
-import io.github.xpakx.ladder.imports.ImportCSVService;
 import lombok.AllArgsConstructor;
-import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.Map;
 
 @RestController
 @AllArgsConstructor
 @RequestMapping("{userId}/import")
 public class ImportController {
-    private ImportCSVService service;
+    private ImportJobService service;
+    private AccountImportService accountService;
 
     @PreAuthorize("#userId.toString() == authentication.principal.username")
     @PostMapping("/csv/projects")
-    public ResponseEntity<?> importProjectListFromCSV(@RequestParam("file") MultipartFile file, @PathVariable Integer userId) {
-        try {
-            String content = new String(file.getBytes());
-            service.importProjectList(userId, content);
-        } catch (IOException ex) {
-            throw new IllegalArgumentException();
-        }
-        return ResponseEntity.ok().build();
+    public ResponseEntity<ImportJob> importProjectListFromCSV(@RequestParam("file") MultipartFile file, @PathVariable Integer userId) {
+        return new ResponseEntity<>(
+                submit(userId, ImportType.PROJECTS, null, file),
+                HttpStatus.ACCEPTED
+        );
     }
 
     @PreAuthorize("#userId.toString() == authentication.principal.username")
     @PostMapping("/csv/projects/{projectId}/tasks")
-    public ResponseEntity<Resource> importProjectsTaskListFromCSV(@RequestParam("file") MultipartFile file, @PathVariable Integer userId, @PathVariable Integer projectId) {
-        try {
-            String content = new String(file.getBytes());
-            service.importTasksToProjectById(userId, projectId, content);
-        } catch (IOException ex) {
-            throw new IllegalArgumentException();
-        }
-        return ResponseEntity.ok().build();
+    public ResponseEntity<ImportJob> importProjectsTaskListFromCSV(@RequestParam("file") MultipartFile file, @PathVariable Integer userId, @PathVariable Integer projectId) {
+        return new ResponseEntity<>(
+                submit(userId, ImportType.PROJECT_TASKS, projectId, file),
+                HttpStatus.ACCEPTED
+        );
     }
 
     @PreAuthorize("#userId.toString() == authentication.principal.username")
     @PostMapping("/csv/tasks")
-    public ResponseEntity<Resource> importTaskListFromCSV(@RequestParam("file") MultipartFile file, @PathVariable Integer userId) {
+    public ResponseEntity<ImportJob> importTaskListFromCSV(@RequestParam("file") MultipartFile file, @PathVariable Integer userId) {
+        return new ResponseEntity<>(
+                submit(userId, ImportType.TASKS, null, file),
+                HttpStatus.ACCEPTED
+        );
+    }
+
+    @PreAuthorize("#userId.toString() == authentication.principal.username")
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ImportJob> getImportJob(@PathVariable Integer userId, @PathVariable Integer jobId) {
+        return new ResponseEntity<>(service.getJob(jobId, userId), HttpStatus.OK);
+    }
+
+    @PreAuthorize("#userId.toString() == authentication.principal.username")
+    @PutMapping("/jobs/{jobId}/cancel")
+    public ResponseEntity<ImportJob> cancelImportJob(@PathVariable Integer userId, @PathVariable Integer jobId) {
+        return new ResponseEntity<>(service.cancel(jobId, userId), HttpStatus.OK);
+    }
+
+    @PreAuthorize("#userId.toString() == authentication.principal.username")
+    @PostMapping("/account")
+    public ResponseEntity<Map<String, Integer>> importAccount(@RequestParam("file") MultipartFile file, @PathVariable Integer userId) throws IOException {
+        return new ResponseEntity<>(
+                accountService.importAccount(userId, file.getInputStream()),
+                HttpStatus.OK
+        );
+    }
+
+    private ImportJob submit(Integer userId, ImportType type, Integer projectId, MultipartFile file) {
         try {
-            String content = new String(file.getBytes());
-            service.importTasks(userId, content);
+            return service.submit(userId, type, projectId, file.getInputStream());
         } catch (IOException ex) {
             throw new IllegalArgumentException();
         }
-        return ResponseEntity.ok().build();
     }
 }
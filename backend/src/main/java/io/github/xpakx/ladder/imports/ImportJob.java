@@ -0,0 +1,47 @@
+package io.github.xpakx.ladder.imports;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = {
+        @Index(name = "import_job_status_idx", columnList = "status")
+})
+public class ImportJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_job_seq")
+    @SequenceGenerator(name = "import_job_seq", sequenceName = "import_job_seq", allocationSize = 50)
+    private Integer id;
+
+    private Integer ownerId;
+    private Integer projectId;
+
+    @Enumerated(EnumType.STRING)
+    private ImportType type;
+
+    @Enumerated(EnumType.STRING)
+    private ImportStatus status;
+
+    @JsonIgnore
+    private String file;
+
+    private int rowsParsed;
+    private int rowsSaved;
+    private int rowsFailed;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime modifiedAt;
+
+    @JsonIgnore
+    private String leaseOwner;
+    @JsonIgnore
+    private LocalDateTime leaseExpiresAt;
+}
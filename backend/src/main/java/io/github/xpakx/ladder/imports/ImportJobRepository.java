@@ -0,0 +1,52 @@
+package io.github.xpakx.ladder.imports;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, Integer> {
+    Optional<ImportJob> findByIdAndOwnerId(Integer id, Integer ownerId);
+
+    @Query("SELECT j FROM ImportJob j WHERE j.status IN :statuses " +
+            "AND (j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now) ORDER BY j.id")
+    List<ImportJob> findWithExpiredLease(Collection<ImportStatus> statuses, LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ImportJob j SET j.status = io.github.xpakx.ladder.imports.ImportStatus.RUNNING, " +
+            "j.leaseOwner = :node, j.leaseExpiresAt = :expiresAt, j.modifiedAt = :now " +
+            "WHERE j.id = :id AND j.status IN :from " +
+            "AND ((j.status = io.github.xpakx.ladder.imports.ImportStatus.QUEUED AND j.leaseOwner = :node) " +
+            "OR j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now)")
+    int claim(Integer id, String node, Collection<ImportStatus> from, LocalDateTime expiresAt, LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImportJob j SET j.leaseExpiresAt = :expiresAt " +
+            "WHERE j.id IN :ids AND j.leaseOwner = :node AND j.status IN :statuses")
+    int renewLeases(Collection<Integer> ids, String node, Collection<ImportStatus> statuses, LocalDateTime expiresAt);
+
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE ImportJob j SET j.status = :status, j.modifiedAt = :now WHERE j.id = :id AND j.status IN :from")
+    int updateStatus(Integer id, ImportStatus status, Collection<ImportStatus> from, LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImportJob j SET j.status = :status, j.error = :error, j.modifiedAt = :now " +
+            "WHERE j.id = :id AND j.leaseOwner = :node AND j.status = io.github.xpakx.ladder.imports.ImportStatus.RUNNING")
+    int finishRunning(Integer id, String node, ImportStatus status, String error, LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImportJob j SET j.rowsParsed = j.rowsParsed + :parsed, j.rowsSaved = j.rowsSaved + :saved, " +
+            "j.rowsFailed = j.rowsFailed + :failed, j.modifiedAt = :now " +
+            "WHERE j.id = :id AND j.leaseOwner = :node AND j.status = io.github.xpakx.ladder.imports.ImportStatus.RUNNING")
+    int addProgressIfRunning(Integer id, String node, int parsed, int saved, int failed, LocalDateTime now);
+}
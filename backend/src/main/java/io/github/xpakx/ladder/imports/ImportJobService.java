@@ -0,0 +1,303 @@
+package io.github.xpakx.ladder.imports;
+
+import io.github.xpakx.ladder.common.error.ImportQueueFullException;
+import io.github.xpakx.ladder.common.error.NotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Runs imports as background jobs. Uploaded files are kept on disk until the job finishes,
+ * and every chunk of rows is saved in its own transaction together with the job's progress,
+ * so interrupted jobs are resumed from the last saved chunk.
+ * Every unfinished job is leased by the instance which runs or queued it, and the lease is renewed
+ * while the instance is alive. Jobs with expired leases, e.g. of crashed instances, are taken over
+ * by any instance; the directory for uploaded files should be persistent and shared by all instances.
+ */
+@Service
+public class ImportJobService {
+    private final ImportJobRepository jobRepository;
+    private final ImportServiceInterface importService;
+    private final TransactionTemplate transactionTemplate;
+    private final Path directory;
+    private final int chunkSize;
+    private final String nodeId;
+    private final long leaseMillis;
+    private final ExecutorService executor;
+    private final Set<Integer> localJobs = ConcurrentHashMap.newKeySet();
+    private static final Logger LOG = LoggerFactory.getLogger(ImportJobService.class);
+    private static final Set<ImportStatus> UNFINISHED = EnumSet.of(ImportStatus.QUEUED, ImportStatus.RUNNING);
+    private static final int ERROR_LENGTH = 255;
+
+    public ImportJobService(ImportJobRepository jobRepository, ImportCSVService importService,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${imports.jobs.directory}") String directory,
+                            @Value("${imports.csv.chunk-size:500}") int chunkSize,
+                            @Value("${imports.jobs.threads:2}") int threads,
+                            @Value("${imports.jobs.queue-capacity:100}") int queueCapacity,
+                            @Value("${imports.jobs.node-id:${random.uuid}}") String nodeId,
+                            @Value("${imports.jobs.lease-ms:60000}") long leaseMillis) throws IOException {
+        this.jobRepository = jobRepository;
+        this.importService = importService;
+        this.transactionTemplate = transactionTemplate;
+        this.directory = Files.createDirectories(Path.of(directory).toAbsolutePath());
+        if(this.directory.startsWith(Path.of(System.getProperty("java.io.tmpdir")).toAbsolutePath())) {
+            LOG.warn("Import files are kept in temporary directory {}, jobs may not survive a restart", this.directory);
+        }
+        this.chunkSize = chunkSize;
+        this.nodeId = nodeId;
+        this.leaseMillis = leaseMillis;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queue unfinished jobs whose lease has expired, i.e. jobs of instances which stopped
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${imports.jobs.lease-ms:60000}", fixedDelayString = "${imports.jobs.lease-ms:60000}")
+    public void resumeUnfinishedJobs() {
+        List<ImportJob> jobs = jobRepository.findWithExpiredLease(UNFINISHED, LocalDateTime.now());
+        if(!jobs.isEmpty()) {
+            LOG.info("Resuming {} unfinished import jobs", jobs.size());
+        }
+        for(ImportJob job : jobs) {
+            if(!schedule(job.getId())) {
+                LOG.warn("Import queue is full, remaining jobs will be resumed later");
+                return;
+            }
+        }
+    }
+
+    /**
+     * Renew leases of jobs running or queued on this instance
+     */
+    @Scheduled(fixedDelayString = "${imports.jobs.heartbeat-ms:15000}")
+    public void renewLeases() {
+        if(localJobs.isEmpty()) {
+            return;
+        }
+        jobRepository.renewLeases(Set.copyOf(localJobs), nodeId, UNFINISHED, leaseExpiration());
+    }
+
+    private LocalDateTime leaseExpiration() {
+        return LocalDateTime.now().plusNanos(leaseMillis * 1_000_000);
+    }
+
+    /**
+     * Queue job on this instance, unless it's already queued here
+     * @return False if the queue is full
+     */
+    private boolean schedule(Integer jobId) {
+        if(!localJobs.add(jobId)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(jobId);
+                } finally {
+                    localJobs.remove(jobId);
+                }
+            });
+            return true;
+        } catch(RejectedExecutionException ex) {
+            localJobs.remove(jobId);
+            return false;
+        }
+    }
+
+    /**
+     * Save uploaded file and queue import job
+     * @param userId ID of an owner of imported rows
+     * @param type Type of imported rows
+     * @param projectId ID of a project for imported tasks, or null
+     * @param csv Uploaded file
+     * @return Queued job
+     * @throws ImportQueueFullException if there are too many queued jobs
+     */
+    public ImportJob submit(Integer userId, ImportType type, Integer projectId, InputStream csv) throws IOException {
+        Path file = Files.createTempFile(directory, "import-", ".csv");
+        Files.copy(csv, file, StandardCopyOption.REPLACE_EXISTING);
+        LocalDateTime now = LocalDateTime.now();
+        ImportJob job = jobRepository.save(ImportJob.builder()
+                .ownerId(userId)
+                .projectId(projectId)
+                .type(type)
+                .status(ImportStatus.QUEUED)
+                .file(file.toString())
+                .createdAt(now)
+                .modifiedAt(now)
+                .leaseOwner(nodeId)
+                .leaseExpiresAt(leaseExpiration())
+                .build());
+        if(!schedule(job.getId())) {
+            jobRepository.delete(job);
+            deleteFile(job);
+            throw new ImportQueueFullException("Too many imports in progress, try again later!");
+        }
+        return job;
+    }
+
+    public ImportJob getJob(Integer jobId, Integer userId) {
+        return jobRepository.findByIdAndOwnerId(jobId, userId)
+                .orElseThrow(() -> new NotFoundException("No such import job!"));
+    }
+
+    /**
+     * Cancel job. Chunks saved before cancellation aren't removed.
+     */
+    public ImportJob cancel(Integer jobId, Integer userId) {
+        getJob(jobId, userId);
+        jobRepository.updateStatus(jobId, ImportStatus.CANCELLED, UNFINISHED, LocalDateTime.now());
+        return getJob(jobId, userId);
+    }
+
+    /**
+     * Import rows from job's file, starting after the last saved chunk. Jobs leased by other
+     * instances are skipped.
+     * @param jobId ID of a queued or interrupted job
+     */
+    public void process(Integer jobId) {
+        if(jobRepository.claim(jobId, nodeId, UNFINISHED, leaseExpiration(), LocalDateTime.now()) == 0) {
+            jobRepository.findById(jobId)
+                    .filter((a) -> !UNFINISHED.contains(a.getStatus()))
+                    .ifPresent(this::deleteFile);
+            return;
+        }
+        ImportJob job = jobRepository.findById(jobId).orElse(null);
+        if(job == null) {
+            return;
+        }
+        ImportStatus status = ImportStatus.COMPLETED;
+        String error = null;
+        try(InputStream in = Files.newInputStream(Path.of(job.getFile()))) {
+            CsvReader reader = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            ImportState state = importService.loadState(job);
+            skip(reader, job.getRowsParsed() + 1);
+            List<List<String>> chunk;
+            while(state != null && !(chunk = readChunk(reader)).isEmpty()) {
+                state = saveChunk(job, chunk, state);
+            }
+            if(state != null) {
+                linkPendingParents(job, state);
+            } else {
+                status = ImportStatus.CANCELLED;
+            }
+        } catch(IOException | RuntimeException ex) {
+            LOG.error("Import job {} failed", jobId, ex);
+            status = ImportStatus.FAILED;
+            error = toError(ex);
+        }
+        importService.finishImport(job.getOwnerId(), job, status, error);
+        deleteFile(job);
+        LOG.info("Import job {} for user {} finished with status {}", jobId, job.getOwnerId(), status);
+    }
+
+    /**
+     * Save chunk in one transaction, or row by row if the chunk can't be saved,
+     * counting rows which failed
+     * @return State for the next chunk, or null if job was cancelled
+     */
+    private ImportState saveChunk(ImportJob job, List<List<String>> chunk, ImportState state) {
+        try {
+            return commit(job, chunk, 0, state) ? state : null;
+        } catch(RuntimeException ex) {
+            LOG.warn("Chunk of import job {} failed, saving rows one by one", job.getId(), ex);
+        }
+        state = importService.loadState(job);
+        for(List<String> record : chunk) {
+            try {
+                if(!commit(job, List.of(record), 0, state)) {
+                    return null;
+                }
+            } catch(RuntimeException ex) {
+                LOG.debug("Row of import job {} failed", job.getId(), ex);
+                state = importService.loadState(job);
+                if(!commit(job, List.of(), 1, state)) {
+                    return null;
+                }
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Save records with job's progress
+     * @return False if job was cancelled, and nothing was saved
+     */
+    private boolean commit(ImportJob job, List<List<String>> records, int failed, ImportState state) {
+        Boolean running = transactionTemplate.execute((status) -> {
+            if(!records.isEmpty()) {
+                importService.importChunk(job, records, state);
+            }
+            int parsed = records.size() + failed;
+            if(jobRepository.addProgressIfRunning(job.getId(), nodeId, parsed, records.size(), failed, LocalDateTime.now()) == 0) {
+                status.setRollbackOnly();
+                return false;
+            }
+            return true;
+        });
+        LOG.debug("Import job {}: saved {} rows, {} failed", job.getId(), records.size(), failed);
+        return Boolean.TRUE.equals(running);
+    }
+
+    private void linkPendingParents(ImportJob job, ImportState state) {
+        for(List<Integer> ids : state.getPendingChunks(chunkSize)) {
+            transactionTemplate.executeWithoutResult((status) ->
+                    importService.linkPendingParents(job, ids, state)
+            );
+        }
+    }
+
+    private List<List<String>> readChunk(CsvReader reader) {
+        List<List<String>> chunk = new ArrayList<>();
+        List<String> record;
+        while(chunk.size() < chunkSize && (record = reader.readRecord()) != null) {
+            chunk.add(record);
+        }
+        return chunk;
+    }
+
+    private void skip(CsvReader reader, int records) {
+        for(int i = 0; i < records && reader.readRecord() != null; i++);
+    }
+
+    private String toError(Exception ex) {
+        String error = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+        return error.length() > ERROR_LENGTH ? error.substring(0, ERROR_LENGTH) : error;
+    }
+
+    private void deleteFile(ImportJob job) {
+        try {
+            Files.deleteIfExists(Path.of(job.getFile()));
+        } catch(IOException ex) {
+            LOG.warn("Couldn't delete file of import job {}", job.getId(), ex);
+        }
+    }
+}
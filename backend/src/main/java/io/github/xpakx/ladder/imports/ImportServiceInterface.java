@@ -1,7 +1,10 @@
 package io.github.xpakx.ladder.imports;
 
+import java.util.List;
+
 public interface ImportServiceInterface {
-    void importProjectList(Integer userId, String csv);
-    void importTasksToProjectById(Integer userId, Integer projectId, String csv);
-    void importTasks(Integer userId, String csv);
+    ImportState loadState(ImportJob job);
+    void importChunk(ImportJob job, List<List<String>> records, ImportState state);
+    void linkPendingParents(ImportJob job, List<Integer> ids, ImportState state);
+    ImportJob finishImport(Integer userId, ImportJob job, ImportStatus status, String error);
 }
@@ -0,0 +1,97 @@
+package io.github.xpakx.ladder.imports;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Ids kept between chunks of one import. Every change is also kept as an {@link ImportedRow},
+ * which is saved with the chunk, so the state can be rebuilt when an interrupted job is resumed.
+ */
+public class ImportState {
+    final Map<Integer, Integer> savedIds = new HashMap<>();
+    final Set<Integer> createdIds = new HashSet<>();
+    final Map<Integer, Integer> pendingParents = new LinkedHashMap<>();
+    final Map<Integer, Integer> projectIds = new HashMap<>();
+    final Set<Integer> createdProjectIds = new HashSet<>();
+    final Map<String, Integer> labelIds = new HashMap<>();
+    Integer projectOrder;
+    Integer labelOrder;
+    private final List<ImportedRow> unsavedRows = new ArrayList<>();
+
+    /**
+     * Rebuild state from rows saved by previous chunks
+     */
+    static ImportState of(List<ImportedRow> rows) {
+        ImportState state = new ImportState();
+        for(ImportedRow row : rows) {
+            state.apply(row);
+        }
+        return state;
+    }
+
+    private void apply(ImportedRow row) {
+        if(row.isProject()) {
+            projectIds.put(row.getImportedId(), row.getEntityId());
+            createdProjectIds.add(row.getEntityId());
+            return;
+        }
+        if(row.getImportedId() != null) {
+            savedIds.put(row.getImportedId(), row.getEntityId());
+        }
+        if(row.isCreated()) {
+            createdIds.add(row.getEntityId());
+        }
+        if(row.getPendingParentId() != null) {
+            pendingParents.put(row.getEntityId(), row.getPendingParentId());
+        }
+    }
+
+    private void add(ImportedRow row) {
+        apply(row);
+        unsavedRows.add(row);
+    }
+
+    /**
+     * Remember ids of saved and created rows, and parents of rows which parents weren't imported yet
+     */
+    <I, E> void saved(List<I> rows, List<E> entities, Function<I, Integer> importedId, Function<I, Integer> parentId,
+                      Function<E, Integer> id, Set<Integer> pending, Set<Integer> existingIds) {
+        for(int i = 0; i < rows.size(); i++) {
+            Integer savedId = id.apply(entities.get(i));
+            add(ImportedRow.builder()
+                    .importedId(importedId.apply(rows.get(i)))
+                    .entityId(savedId)
+                    .pendingParentId(pending.contains(i) ? parentId.apply(rows.get(i)) : null)
+                    .created(!existingIds.contains(savedId))
+                    .build());
+        }
+    }
+
+    void projectCreated(Integer importedId, Integer projectId) {
+        add(ImportedRow.builder()
+                .project(true)
+                .importedId(importedId)
+                .entityId(projectId)
+                .created(true)
+                .build());
+    }
+
+    /**
+     * Get rows added since last call, which should be saved with the current chunk
+     */
+    List<ImportedRow> takeUnsavedRows(Integer jobId) {
+        List<ImportedRow> rows = new ArrayList<>(unsavedRows);
+        rows.forEach((a) -> a.setJobId(jobId));
+        unsavedRows.clear();
+        return rows;
+    }
+
+    List<List<Integer>> getPendingChunks(int chunkSize) {
+        List<Integer> ids = new ArrayList<>(pendingParents.keySet());
+        List<List<Integer>> chunks = new ArrayList<>();
+        for(int i = 0; i < ids.size(); i += chunkSize) {
+            chunks.add(ids.subList(i, Math.min(i + chunkSize, ids.size())));
+        }
+        return chunks;
+    }
+}
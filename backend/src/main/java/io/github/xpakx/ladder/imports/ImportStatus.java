@@ -0,0 +1,9 @@
+package io.github.xpakx.ladder.imports;
+
+public enum ImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    CANCELLED,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package io.github.xpakx.ladder.imports;
+
+public enum ImportType {
+    PROJECTS,
+    PROJECT_TASKS,
+    TASKS
+}
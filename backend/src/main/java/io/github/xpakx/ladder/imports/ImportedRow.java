@@ -0,0 +1,41 @@
+package io.github.xpakx.ladder.imports;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+/**
+ * Entity saved by an unfinished import job, used to rebuild import state when the job is resumed
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = {
+        @Index(name = "imported_row_job_id_idx", columnList = "jobId, id")
+})
+public class ImportedRow {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "imported_row_seq")
+    @SequenceGenerator(name = "imported_row_seq", sequenceName = "imported_row_seq", allocationSize = 50)
+    private Long id;
+
+    private Integer jobId;
+
+    /**
+     * True for projects created for tasks, false for imported rows
+     */
+    private boolean project;
+
+    private Integer importedId;
+    private Integer entityId;
+
+    /**
+     * Imported id of a parent which wasn't imported yet when the row was saved
+     */
+    private Integer pendingParentId;
+
+    private boolean created;
+}
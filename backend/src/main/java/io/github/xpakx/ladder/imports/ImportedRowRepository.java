@@ -0,0 +1,17 @@
+package io.github.xpakx.ladder.imports;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface ImportedRowRepository extends JpaRepository<ImportedRow, Long> {
+    List<ImportedRow> findByJobIdOrderById(Integer jobId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ImportedRow r WHERE r.jobId = :jobId")
+    int deleteByJobId(Integer jobId);
+}
@@ -3,6 +3,7 @@ package io.github.xpakx.ladder.label;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.github.xpakx.ladder.user.UserAccount;
 import io.github.xpakx.ladder.task.Task;
+import io.github.xpakx.ladder.sync.ChangeLogListener;
 import lombok.*;
 
 import javax.persistence.*;
@@ -10,14 +11,20 @@ import java.time.LocalDateTime;
 import java.util.Set;
 
 @Entity
+@EntityListeners(ChangeLogListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Table(indexes = {
+        @Index(name = "label_owner_modified_at_idx", columnList = "user_account_id, modifiedAt"),
+        @Index(name = "label_owner_order_idx", columnList = "user_account_id, generalOrder")
+})
 public class Label {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "label_seq")
+    @SequenceGenerator(name = "label_seq", sequenceName = "label_seq", allocationSize = 50)
     private Integer id;
 
     private String name;
@@ -7,6 +7,7 @@ import io.github.xpakx.ladder.common.error.NotFoundException;
 import io.github.xpakx.ladder.user.UserAccountRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -16,6 +17,7 @@ import java.util.Optional;
 public class LabelMovableService {
     private final LabelRepository labelRepository;
     private final UserAccountRepository userRepository;
+    private final LabelOrderService orderService;
 
     /**
      * Move label after given label
@@ -24,18 +26,14 @@ public class LabelMovableService {
      * @param labelToMoveId ID of the label to move
      * @return Moved label
      */
+    @Transactional
     @NotifyOnLabelChange
     public Label moveLabelAfter(IdRequest request, Integer userId, Integer labelToMoveId) {
         Label labelToMove = labelRepository.findByIdAndOwnerId(labelToMoveId, userId)
                 .orElseThrow(() -> new NotFoundException("Cannot move non-existent label!"));
         Label afterLabel = findIdFromIdRequest(request)
                 .orElseThrow(() -> new NotFoundException("Cannot move label after non-existent label!"));
-        labelRepository.incrementGeneralOrderByOwnerIdAndGeneralOrderGreaterThan(
-                userId,
-                afterLabel.getGeneralOrder(),
-                LocalDateTime.now()
-        );
-        labelToMove.setGeneralOrder(afterLabel.getGeneralOrder() + 1);
+        labelToMove.setGeneralOrder(orderService.getOrderAfter(userId, afterLabel, labelToMoveId));
         labelToMove.setModifiedAt(LocalDateTime.now());
         return labelRepository.save(labelToMove);
     }
@@ -46,15 +44,12 @@ public class LabelMovableService {
      * @param labelToMoveId ID of the label to move
      * @return Moved label
      */
+    @Transactional
     @NotifyOnLabelChange
     public Label moveLabelAsFirst(Integer userId, Integer labelToMoveId) {
         Label labelToMove = labelRepository.findByIdAndOwnerId(labelToMoveId, userId)
                 .orElseThrow(() -> new NotFoundException("Cannot move non-existent label!"));
-        labelRepository.incrementGeneralOrderByOwnerId(
-                userId,
-                LocalDateTime.now()
-        );
-        labelToMove.setGeneralOrder(1);
+        labelToMove.setGeneralOrder(orderService.getFirstOrder(userId, labelToMove, labelToMoveId));
         labelToMove.setModifiedAt(LocalDateTime.now());
         return labelRepository.save(labelToMove);
     }
@@ -66,18 +61,14 @@ public class LabelMovableService {
      * @param labelId ID of the label which should be before newly created label
      * @return Newly created label
      */
+    @Transactional
     @NotifyOnLabelChange
     public Label addLabelAfter(LabelRequest request, Integer userId, Integer labelId) {
         Label labelToAdd = buildLabelToAddFromRequest(request, userId);
         Label label = labelRepository.findByIdAndOwnerId(labelId, userId)
                 .orElseThrow(() -> new NotFoundException("Cannot add nothing after non-existent label!"));
-        labelToAdd.setGeneralOrder(label.getGeneralOrder()+1);
+        labelToAdd.setGeneralOrder(orderService.getOrderAfter(userId, label, null));
         labelToAdd.setModifiedAt(LocalDateTime.now());
-        labelRepository.incrementGeneralOrderByOwnerIdAndGeneralOrderGreaterThan(
-                userId,
-                label.getGeneralOrder(),
-                LocalDateTime.now()
-        );
         return labelRepository.save(labelToAdd);
     }
 
@@ -88,18 +79,14 @@ public class LabelMovableService {
      * @param labelId ID of the label which should be after newly created label
      * @return Newly created label
      */
+    @Transactional
     @NotifyOnLabelChange
     public Label addLabelBefore(LabelRequest request, Integer userId, Integer labelId) {
         Label labelToAdd = buildLabelToAddFromRequest(request, userId);
         Label label = labelRepository.findByIdAndOwnerId(labelId, userId)
                 .orElseThrow(() -> new NotFoundException("Cannot add nothing before non-existent label!"));
-        labelToAdd.setGeneralOrder(label.getGeneralOrder());
+        labelToAdd.setGeneralOrder(orderService.getOrderBefore(userId, label, null));
         labelToAdd.setModifiedAt(LocalDateTime.now());
-        labelRepository.incrementGeneralOrderByOwnerIdAndGeneralOrderGreaterThanEqual(
-                userId,
-                label.getGeneralOrder(),
-                LocalDateTime.now()
-        );
         return labelRepository.save(labelToAdd);
     }
 
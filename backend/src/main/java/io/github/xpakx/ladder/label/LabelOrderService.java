@@ -0,0 +1,50 @@
+package io.github.xpakx.ladder.label;
+
+import io.github.xpakx.ladder.common.order.SparseOrderService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+public class LabelOrderService extends SparseOrderService<Label> {
+    private final LabelRepository labelRepository;
+
+    @Override
+    protected Integer getId(Label entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected Integer getOrder(Label entity) {
+        return entity.getGeneralOrder();
+    }
+
+    @Override
+    protected void setOrder(Label entity, Integer order, LocalDateTime modifiedAt) {
+        entity.setGeneralOrder(order);
+        entity.setModifiedAt(modifiedAt);
+    }
+
+    @Override
+    protected Integer getNextOrder(Integer userId, Label sibling, Integer order, Integer excludedId) {
+        return labelRepository.getNextOrderByOwnerId(userId, order, excludedId);
+    }
+
+    @Override
+    protected Integer getPreviousOrder(Integer userId, Label sibling, Integer order, Integer excludedId) {
+        return labelRepository.getPreviousOrderByOwnerId(userId, order, excludedId);
+    }
+
+    @Override
+    protected List<Label> getSiblings(Integer userId, Label sibling) {
+        return labelRepository.findByOwnerIdOrderByGeneralOrder(userId);
+    }
+
+    @Override
+    protected List<Label> saveAll(List<Label> entities) {
+        return labelRepository.saveAll(entities);
+    }
+}
@@ -1,15 +1,21 @@
 package io.github.xpakx.ladder.label;
 
 import io.github.xpakx.ladder.label.Label;
+import io.github.xpakx.ladder.label.dto.LabelDetails;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface LabelRepository extends JpaRepository<Label, Integer> {
@@ -19,27 +25,25 @@ public interface LabelRepository extends JpaRepository<Label, Integer> {
     void deleteByIdAndOwnerId(Integer labelId, Integer ownerId);
 
     <T> List<T> findByOwnerId(Integer userId, Class<T> type);
-    @Modifying
-    @Transactional
-    @Query("Update Label l SET l.generalOrder = l.generalOrder + 1, l.modifiedAt = :modifiedAt WHERE l.owner.id = :ownerId AND l.generalOrder > :generalOrder")
-    void incrementGeneralOrderByOwnerIdAndGeneralOrderGreaterThan(Integer ownerId, Integer generalOrder, LocalDateTime modifiedAt);
+    <T> Optional<T> findProjectedByIdAndOwnerId(Integer id, Integer ownerId, Class<T> type);
+    @Query("SELECT coalesce(max(l.generalOrder), 0) FROM Label l WHERE l.owner.id = :ownerId")
+    Integer getMaxOrderByOwnerId(Integer ownerId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Label l SET l.generalOrder = l.generalOrder + 1, l.modifiedAt = :modifiedAt WHERE l.owner.id = :ownerId AND l.generalOrder >= :generalOrder")
-    void incrementGeneralOrderByOwnerIdAndGeneralOrderGreaterThanEqual(Integer ownerId, Integer generalOrder, LocalDateTime modifiedAt);
+    @Query("SELECT min(l.generalOrder) FROM Label l WHERE l.owner.id = :ownerId AND l.generalOrder > :generalOrder AND l.id <> :excludedId")
+    Integer getNextOrderByOwnerId(Integer ownerId, Integer generalOrder, Integer excludedId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Label l SET l.generalOrder = l.generalOrder + 1, l.modifiedAt = :modifiedAt WHERE l.owner.id = :ownerId")
-    void incrementGeneralOrderByOwnerId(Integer ownerId, LocalDateTime modifiedAt);
+    @Query("SELECT max(l.generalOrder) FROM Label l WHERE l.owner.id = :ownerId AND l.generalOrder < :generalOrder AND l.id <> :excludedId")
+    Integer getPreviousOrderByOwnerId(Integer ownerId, Integer generalOrder, Integer excludedId);
 
-    @Query("SELECT coalesce(max(l.generalOrder), 0) FROM Label l WHERE l.owner.id = :ownerId")
-    Integer getMaxOrderByOwnerId(Integer ownerId);
+    List<Label> findByOwnerIdOrderByGeneralOrder(Integer ownerId);
 
     @Query("SELECT l.owner.id FROM Label l WHERE l.id IN :ids")
     List<Integer> findOwnerIdById(List<Integer> ids);
 
     <T> List<T> findByOwnerIdAndModifiedAtAfter(Integer ownerId, LocalDateTime modifiedAt, Class<T> type);
+    <T> List<T> findProjectedByOwnerIdAndIdIn(Integer ownerId, List<Integer> ids, Class<T> type);
     List<Label> findIdByOwnerIdAndNameIn(Integer ownerId, List<String> names);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    Stream<LabelDetails> streamByOwnerIdOrderById(Integer ownerId);
 }
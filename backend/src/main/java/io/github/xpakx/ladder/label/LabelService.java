@@ -5,6 +5,7 @@ import io.github.xpakx.ladder.notification.NotifyOnLabelDeletion;
 import io.github.xpakx.ladder.common.dto.BooleanRequest;
 import io.github.xpakx.ladder.label.dto.LabelRequest;
 import io.github.xpakx.ladder.common.error.NotFoundException;
+import io.github.xpakx.ladder.common.order.SparseOrderService;
 import io.github.xpakx.ladder.user.UserAccountRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -23,10 +24,10 @@ public class LabelService {
      * @param userId ID of an owner of the newly created label
      * @return Newly created label
      */
-    @NotifyOnLabelChange
+    @NotifyOnLabelChange(payload = true)
     public Label addLabel(LabelRequest request, Integer userId) {
         Label labelToAdd = buildLabelToAddFromRequest(request, userId);
-        labelToAdd.setGeneralOrder(labelRepository.getMaxOrderByOwnerId(userId)+1);
+        labelToAdd.setGeneralOrder(labelRepository.getMaxOrderByOwnerId(userId) + SparseOrderService.GAP);
         return labelRepository.save(labelToAdd);
     }
 
@@ -47,7 +48,7 @@ public class LabelService {
      * @param userId ID of an owner of the label
      * @return Label with updated data
      */
-    @NotifyOnLabelChange
+    @NotifyOnLabelChange(payload = true)
     public Label updateLabel(LabelRequest request, Integer userId, Integer labelId) {
         Label labelToUpdate = labelRepository.findByIdAndOwnerId(labelId, userId)
                 .orElseThrow(() -> new NotFoundException("No such label!"));
@@ -75,7 +76,7 @@ public class LabelService {
      * @param userId ID of an owner of the label
      * @return Updated label
      */
-    @NotifyOnLabelChange
+    @NotifyOnLabelChange(payload = true)
     public Label updateLabelFav(BooleanRequest request, Integer labelId, Integer userId) {
         Label labelToUpdate = labelRepository.findByIdAndOwnerId(labelId, userId)
                 .orElseThrow(() -> new NotFoundException("No such label"));
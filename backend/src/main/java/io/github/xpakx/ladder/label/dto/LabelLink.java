@@ -0,0 +1,9 @@
+package io.github.xpakx.ladder.label.dto;
+
+/**
+ * Label assigned to a task or a habit
+ */
+public interface LabelLink {
+    Integer getEntityId();
+    Integer getLabelId();
+}
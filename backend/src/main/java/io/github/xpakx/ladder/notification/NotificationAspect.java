@@ -1,6 +1,8 @@
 package io.github.xpakx.ladder.notification;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.github.xpakx.ladder.collaboration.Collaboration;
+import io.github.xpakx.ladder.collaboration.CollaboratorCache;
 import io.github.xpakx.ladder.common.dto.BooleanRequest;
 import io.github.xpakx.ladder.notification.dto.CollabNotificationRequest;
 import io.github.xpakx.ladder.notification.dto.NotificationRequest;
@@ -10,7 +12,6 @@ import io.github.xpakx.ladder.habit.HabitCompletion;
 import io.github.xpakx.ladder.label.Label;
 import io.github.xpakx.ladder.project.Project;
 import io.github.xpakx.ladder.project.ProjectRepository;
-import io.github.xpakx.ladder.user.UserAccountRepository;
 import io.github.xpakx.ladder.task.Task;
 import lombok.AllArgsConstructor;
 import org.aspectj.lang.JoinPoint;
@@ -19,21 +20,25 @@ import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 
 import java.lang.reflect.Method;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Aspect
 @Service
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
 @AllArgsConstructor
 public class NotificationAspect {
     private final NotificationService notificationService;
-    private final UserAccountRepository userRepository;
     private final ProjectRepository projectRepository;
+    private final NotificationPayloadService payloadService;
+    private final CollaboratorCache collaboratorCache;
 
     @AfterReturning(value="@annotation(NotifyOnProjectChange)", returning="response")
     public void notifyOnProjectChange(Project response) throws Throwable {
@@ -45,7 +50,7 @@ public class NotificationAspect {
         if(response.isCollaborative()) {
             sendCollabUpdateNotification(
                     response.getModifiedAt(),
-                    userRepository.getCollaboratorsIdByProjectId(response.getId())
+                    collaboratorCache.getCollaboratorIds(response.getId())
             );
         }
         notificationService.sendNotification(notification);
@@ -64,24 +69,21 @@ public class NotificationAspect {
 
     @Around(value="@annotation(NotifyOnProjectDeletion) && args(projectId, ..)", argNames = "projectId")
     public void notifyCollabOnProjectDeletion(ProceedingJoinPoint joinPoint, Integer projectId) throws Throwable {
-        List<Integer> collab = new ArrayList<>();
-        if(projectRepository.existsByIdAndCollaborative(projectId, true)) {
-            collab = userRepository.getCollaboratorsIdByProjectId(projectId);
-        }
+        List<Integer> collab = collaboratorCache.getCollaboratorIds(projectId);
         joinPoint.proceed();
         if(collab.size() > 0) {
             sendCollabDeleteNotification(LocalDateTime.now(), projectId, "PROJ", collab);
         }
     }
 
-    @AfterReturning(value="@annotation(NotifyOnLabelChange)", returning="response")
-    public void notifyOnLabelChange(Label response) throws Throwable {
-        NotificationRequest notification = NotificationRequest.builder()
-                .userId(response.getOwner().getId())
-                .time(response.getModifiedAt())
-                .type("UPDATE")
-                .build();
-        notificationService.sendNotification(notification);
+    @AfterReturning(value="@annotation(annotation)", returning="response", argNames = "annotation,response")
+    public void notifyOnLabelChange(NotifyOnLabelChange annotation, Label response) throws Throwable {
+        Integer userId = response.getOwner().getId();
+        Optional<JsonNode> payload = annotation.payload() ?
+                payloadService.getLabelPayload(response.getId(), userId) : Optional.empty();
+        notificationService.sendNotification(
+                buildUpdateNotification(userId, response.getModifiedAt(), "LABEL", response.getId(), payload)
+        );
     }
 
     @AfterReturning(value="@annotation(NotifyOnLabelDeletion) && args(labelId, userId)", argNames = "labelId,userId")
@@ -95,16 +97,17 @@ public class NotificationAspect {
         notificationService.sendNotification(notification);
     }
 
-    @AfterReturning(value="@annotation(NotifyOnTaskChange)", returning="response")
-    public void notifyOnTaskChange(Task response) throws Throwable {
-        NotificationRequest notification = NotificationRequest.builder()
-                .userId(response.getOwner().getId())
-                .time(response.getModifiedAt())
-                .type("UPDATE")
-                .build();
-        List<Integer> collab = userRepository.getCollaboratorsIdByTaskId(response.getId());
+    @AfterReturning(value="@annotation(annotation)", returning="response", argNames = "annotation,response")
+    public void notifyOnTaskChange(NotifyOnTaskChange annotation, Task response) throws Throwable {
+        Integer userId = response.getOwner().getId();
+        Optional<JsonNode> payload = annotation.payload() ?
+                payloadService.getTaskPayload(response.getId(), userId) : Optional.empty();
+        NotificationRequest notification = buildUpdateNotification(userId, response.getModifiedAt(), "TASK", response.getId(), payload);
+        List<Integer> collab = collaboratorCache.getCollaboratorIds(getProjectId(response));
         if(collab.size() > 0) {
-            sendCollabUpdateNotification(LocalDateTime.now(), collab);
+            Optional<JsonNode> collabPayload = annotation.payload() ?
+                    payloadService.getCollabTaskPayload(response.getId(), userId) : Optional.empty();
+            sendCollabUpdateNotification(LocalDateTime.now(), collab, response.getId(), collabPayload);
         }
         notificationService.sendNotification(notification);
     }
@@ -120,7 +123,7 @@ public class NotificationAspect {
                     .time(task.getModifiedAt())
                     .type("UPDATE")
                     .build();
-            List<Integer> collab = userRepository.getCollaboratorsIdByTaskId(task.getId());
+            List<Integer> collab = getCollaboratorIds(response);
             if(collab.size() > 0) {
                 sendCollabUpdateNotification(task.getModifiedAt(), collab);
             }
@@ -141,21 +144,21 @@ public class NotificationAspect {
 
     @Around(value="@annotation(NotifyOnTaskDeletion) && args(taskId, ..)", argNames = "taskId")
     public void notifyCollabOnTaskDeletion(ProceedingJoinPoint joinPoint, Integer taskId) throws Throwable {
-        List<Integer> collab = userRepository.getCollaboratorsIdByTaskId(taskId);
+        List<Integer> collab = collaboratorCache.getCollaboratorIdsByTaskId(taskId);
         joinPoint.proceed();
         if(collab.size() > 0) {
             sendCollabDeleteNotification(LocalDateTime.now(), taskId, "TASK", collab);
         }
     }
 
-    @AfterReturning(value="@annotation(NotifyOnHabitChange)", returning="response")
-    public void notifyOnHabitChange(Habit response) throws Throwable {
-        NotificationRequest notification = NotificationRequest.builder()
-                .userId(response.getOwner().getId())
-                .time(response.getModifiedAt())
-                .type("UPDATE")
-                .build();
-        notificationService.sendNotification(notification);
+    @AfterReturning(value="@annotation(annotation)", returning="response", argNames = "annotation,response")
+    public void notifyOnHabitChange(NotifyOnHabitChange annotation, Habit response) throws Throwable {
+        Integer userId = response.getOwner().getId();
+        Optional<JsonNode> payload = annotation.payload() ?
+                payloadService.getHabitPayload(response.getId(), userId) : Optional.empty();
+        notificationService.sendNotification(
+                buildUpdateNotification(userId, response.getModifiedAt(), "HABIT", response.getId(), payload)
+        );
     }
 
     @AfterReturning(value="@annotation(NotifyOnHabitDeletion) && args(habitId, userId)", argNames = "habitId,userId")
@@ -179,14 +182,14 @@ public class NotificationAspect {
         notificationService.sendNotification(notification);
     }
 
-    @AfterReturning(value="@annotation(NotifyOnFilterChange)", returning="response")
-    public void notifyOnFilterChange(Filter response) throws Throwable {
-        NotificationRequest notification = NotificationRequest.builder()
-                .userId(response.getOwner().getId())
-                .time(response.getModifiedAt())
-                .type("UPDATE")
-                .build();
-        notificationService.sendNotification(notification);
+    @AfterReturning(value="@annotation(annotation)", returning="response", argNames = "annotation,response")
+    public void notifyOnFilterChange(NotifyOnFilterChange annotation, Filter response) throws Throwable {
+        Integer userId = response.getOwner().getId();
+        Optional<JsonNode> payload = annotation.payload() ?
+                payloadService.getFilterPayload(response.getId(), userId) : Optional.empty();
+        notificationService.sendNotification(
+                buildUpdateNotification(userId, response.getModifiedAt(), "FILTER", response.getId(), payload)
+        );
     }
 
     @AfterReturning(value="@annotation(NotifyOnFilterDeletion) && args(filterId, userId)", argNames = "filterId,userId")
@@ -210,6 +213,19 @@ public class NotificationAspect {
         notificationService.sendNotification(notification);
     }
 
+    private Integer getProjectId(Task task) {
+        return task.getProject() != null ? task.getProject().getId() : null;
+    }
+
+    private List<Integer> getCollaboratorIds(List<Task> tasks) {
+        return tasks.stream()
+                .map(this::getProjectId)
+                .distinct()
+                .flatMap((a) -> collaboratorCache.getCollaboratorIds(a).stream())
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
     private void sendCollabUpdateNotification(LocalDateTime modifiedAt, List<Integer> collaborators) {
         CollabNotificationRequest notification = CollabNotificationRequest.builder()
                 .collabId(collaborators)
@@ -219,6 +235,38 @@ public class NotificationAspect {
         notificationService.sendCollabNotification(notification);
     }
 
+    private void sendCollabUpdateNotification(LocalDateTime modifiedAt, List<Integer> collaborators, Integer taskId, Optional<JsonNode> payload) {
+        if(payload.isEmpty()) {
+            sendCollabUpdateNotification(modifiedAt, collaborators);
+            return;
+        }
+        CollabNotificationRequest notification = CollabNotificationRequest.builder()
+                .collabId(collaborators)
+                .time(modifiedAt)
+                .type("UPDATE_CTASK")
+                .id(taskId)
+                .payload(payload.get())
+                .build();
+        notificationService.sendCollabNotification(notification);
+    }
+
+    private NotificationRequest buildUpdateNotification(Integer userId, LocalDateTime modifiedAt, String type, Integer id, Optional<JsonNode> payload) {
+        if(payload.isEmpty()) {
+            return NotificationRequest.builder()
+                    .userId(userId)
+                    .time(modifiedAt)
+                    .type("UPDATE")
+                    .build();
+        }
+        return NotificationRequest.builder()
+                .userId(userId)
+                .time(modifiedAt)
+                .type("UPDATE_" + type)
+                .id(id)
+                .payload(payload.get())
+                .build();
+    }
+
     private void sendCollabDeleteNotification(LocalDateTime modifiedAt, Integer id, String type, List<Integer> collaborators) {
         CollabNotificationRequest notification = CollabNotificationRequest.builder()
                 .collabId(collaborators)
@@ -0,0 +1,56 @@
+package io.github.xpakx.ladder.notification;
+
+import io.github.xpakx.ladder.notification.dto.CollabNotificationRequest;
+import io.github.xpakx.ladder.notification.dto.NotificationBatchRequest;
+import io.github.xpakx.ladder.notification.dto.NotificationRequest;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Notifications collected within one dispatch window. Notifications with the same
+ * recipient, type and entity are merged into one carrying the latest time.
+ */
+class NotificationBatch {
+    private final Map<List<Object>, NotificationRequest> notifications = new LinkedHashMap<>();
+    private final Map<List<Object>, CollabNotificationRequest> collabNotifications = new LinkedHashMap<>();
+    private int added = 0;
+
+    void add(Object notification) {
+        added++;
+        if(notification instanceof NotificationRequest) {
+            NotificationRequest request = (NotificationRequest) notification;
+            notifications.merge(
+                    Arrays.asList(request.getUserId(), request.getType(), request.getId()),
+                    request,
+                    (a, b) -> later(a.getTime(), b.getTime()) ? a : b
+            );
+        } else if(notification instanceof CollabNotificationRequest) {
+            CollabNotificationRequest request = (CollabNotificationRequest) notification;
+            collabNotifications.merge(
+                    Arrays.asList(new HashSet<>(request.getCollabId()), request.getType(), request.getId()),
+                    request,
+                    (a, b) -> later(a.getTime(), b.getTime()) ? a : b
+            );
+        }
+    }
+
+    private boolean later(LocalDateTime first, LocalDateTime second) {
+        return second == null || (first != null && first.isAfter(second));
+    }
+
+    int getAdded() {
+        return added;
+    }
+
+    int size() {
+        return notifications.size() + collabNotifications.size();
+    }
+
+    NotificationBatchRequest toRequest() {
+        return NotificationBatchRequest.builder()
+                .notifications(new ArrayList<>(notifications.values()))
+                .collabNotifications(new ArrayList<>(collabNotifications.values()))
+                .build();
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.xpakx.ladder.notification;
+
+import io.github.xpakx.ladder.notification.dto.NotificationBatchRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+@Service
+public class NotificationClient {
+    private final RestTemplate template;
+    private final String uri;
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationClient.class);
+
+    public NotificationClient(RestTemplateBuilder templateBuilder, @Value("${service.notification.host}") final
+                              String uri) {
+        this.template = templateBuilder.build();
+        this.uri = uri;
+    }
+
+    /**
+     * Send batch of notifications to notification service
+     * @param batch Notifications to send
+     * @throws org.springframework.web.client.RestClientException if batch couldn't be delivered
+     */
+    public void sendBatch(NotificationBatchRequest batch) {
+        ResponseEntity<?> r = template
+                .postForEntity(uri + "/notification/batch", batch, Object.class);
+        LOG.debug("Notification service response: {}", r.getStatusCode());
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.xpakx.ladder.notification;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+public class NotificationMetrics {
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    @Override
+    public String toString() {
+        return "enqueued=" + enqueued +
+                ", dropped=" + dropped +
+                ", coalesced=" + coalesced +
+                ", batches=" + batches +
+                ", sent=" + sent +
+                ", retries=" + retries +
+                ", failed=" + failed;
+    }
+}
@@ -0,0 +1,19 @@
+package io.github.xpakx.ladder.notification;
+
+import io.github.xpakx.ladder.notification.dto.NotificationDispatchDetails;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@AllArgsConstructor
+public class NotificationMetricsController {
+    private final NotificationService notificationService;
+
+    @GetMapping("/metrics/notifications")
+    public ResponseEntity<NotificationDispatchDetails> getDispatchMetrics() {
+        return new ResponseEntity<>(notificationService.getMetricsDetails(), HttpStatus.OK);
+    }
+}
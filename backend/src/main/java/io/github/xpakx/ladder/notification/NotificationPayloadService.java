@@ -0,0 +1,92 @@
+package io.github.xpakx.ladder.notification;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.xpakx.ladder.collaboration.dto.CollabTaskDetails;
+import io.github.xpakx.ladder.filter.FilterRepository;
+import io.github.xpakx.ladder.filter.dto.FilterDetails;
+import io.github.xpakx.ladder.habit.HabitRepository;
+import io.github.xpakx.ladder.habit.dto.HabitDetails;
+import io.github.xpakx.ladder.label.LabelRepository;
+import io.github.xpakx.ladder.label.dto.LabelDetails;
+import io.github.xpakx.ladder.task.TaskRepository;
+import io.github.xpakx.ladder.task.dto.TaskDetails;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Builds compact projections of changed entities to be sent with notifications,
+ * so clients can apply the change without syncing. Projections larger than
+ * the configured limit are skipped and clients fall back to sync.
+ */
+@Service
+public class NotificationPayloadService {
+    private final TaskRepository taskRepository;
+    private final LabelRepository labelRepository;
+    private final HabitRepository habitRepository;
+    private final FilterRepository filterRepository;
+    private final ObjectMapper mapper;
+    private final int maxPayloadBytes;
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationPayloadService.class);
+
+    public NotificationPayloadService(TaskRepository taskRepository, LabelRepository labelRepository,
+                                      HabitRepository habitRepository, FilterRepository filterRepository,
+                                      ObjectMapper mapper,
+                                      @Value("${service.notification.max-payload-bytes:2048}") int maxPayloadBytes) {
+        this.taskRepository = taskRepository;
+        this.labelRepository = labelRepository;
+        this.habitRepository = habitRepository;
+        this.filterRepository = filterRepository;
+        this.mapper = mapper;
+        this.maxPayloadBytes = maxPayloadBytes;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<JsonNode> getTaskPayload(Integer taskId, Integer userId) {
+        return taskRepository.findProjectedByIdAndOwnerId(taskId, userId, TaskDetails.class)
+                .flatMap(this::toPayload);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<JsonNode> getCollabTaskPayload(Integer taskId, Integer userId) {
+        return taskRepository.findProjectedByIdAndOwnerId(taskId, userId, CollabTaskDetails.class)
+                .flatMap(this::toPayload);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<JsonNode> getLabelPayload(Integer labelId, Integer userId) {
+        return labelRepository.findProjectedByIdAndOwnerId(labelId, userId, LabelDetails.class)
+                .flatMap(this::toPayload);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<JsonNode> getHabitPayload(Integer habitId, Integer userId) {
+        return habitRepository.findProjectedByIdAndOwnerId(habitId, userId, HabitDetails.class)
+                .flatMap(this::toPayload);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<JsonNode> getFilterPayload(Integer filterId, Integer userId) {
+        return filterRepository.findProjectedByIdAndOwnerId(filterId, userId, FilterDetails.class)
+                .flatMap(this::toPayload);
+    }
+
+    private Optional<JsonNode> toPayload(Object projection) {
+        try {
+            byte[] json = mapper.writeValueAsBytes(projection);
+            if(json.length > maxPayloadBytes) {
+                return Optional.empty();
+            }
+            return Optional.of(mapper.readTree(json));
+        } catch(IOException e) {
+            LOG.warn("Cannot serialize notification payload.", e);
+            return Optional.empty();
+        }
+    }
+}
@@ -1,44 +1,182 @@
 package io.github.xpakx.ladder.notification;
 
 import io.github.xpakx.ladder.notification.dto.CollabNotificationRequest;
+import io.github.xpakx.ladder.notification.dto.NotificationDispatchDetails;
 import io.github.xpakx.ladder.notification.dto.NotificationRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queues notifications and sends them to notification service from a background thread.
+ * Notifications collected within a short window are coalesced and sent in one batch.
+ */
 @Service
 public class NotificationService {
-    private final RestTemplate template;
-    private final String uri;
+    private final NotificationClient client;
+    private final BlockingQueue<Object> queue;
+    private final NotificationMetrics metrics = new NotificationMetrics();
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final long offerTimeoutMillis;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private Thread dispatcher;
+    private volatile boolean running = true;
     private static final Logger LOG = LoggerFactory.getLogger(NotificationService.class);
 
-    public NotificationService(RestTemplateBuilder templateBuilder, @Value("${service.notification.host}") final
-                               String uri) {
-        this.template = templateBuilder.build();
-        this.uri = uri;
+    public NotificationService(NotificationClient client,
+                               @Value("${service.notification.queue-capacity:1024}") int queueCapacity,
+                               @Value("${service.notification.batch-window-ms:50}") long windowMillis,
+                               @Value("${service.notification.max-batch-size:500}") int maxBatchSize,
+                               @Value("${service.notification.offer-timeout-ms:10}") long offerTimeoutMillis,
+                               @Value("${service.notification.max-attempts:3}") int maxAttempts,
+                               @Value("${service.notification.retry-backoff-ms:100}") long retryBackoffMillis) {
+        this.client = client;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        dispatcher = new Thread(this::dispatch, "notification-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        dispatcher.interrupt();
+        dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+        List<Object> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if(remaining.size() > 0) {
+            NotificationBatch batch = new NotificationBatch();
+            remaining.forEach(batch::add);
+            send(batch);
+        }
     }
 
     public void sendNotification(NotificationRequest notification) {
+        enqueue(notification);
+    }
+
+    public void sendCollabNotification(CollabNotificationRequest notification) {
+        enqueue(notification);
+    }
+
+    public NotificationMetrics getMetrics() {
+        return metrics;
+    }
+
+    public NotificationDispatchDetails getMetricsDetails() {
+        return new NotificationDispatchDetails(
+                queue.size(),
+                queue.remainingCapacity(),
+                metrics.getEnqueued().get(),
+                metrics.getDropped().get(),
+                metrics.getCoalesced().get(),
+                metrics.getBatches().get(),
+                metrics.getSent().get(),
+                metrics.getRetries().get(),
+                metrics.getFailed().get()
+        );
+    }
+
+    private void enqueue(Object notification) {
         try {
-            ResponseEntity<?> r = template
-                    .postForEntity(uri  + "/notification", notification, Object.class);
-            LOG.info("Notification service response: {}", r.getStatusCode());
-        } catch(Exception e) {
-            LOG.error("Problem with sending notification.", e);
+            if(queue.offer(notification, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                metrics.getEnqueued().incrementAndGet();
+                return;
+            }
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+        metrics.getDropped().incrementAndGet();
+        LOG.warn("Notification queue is full, dropping notification.");
     }
 
-    public void sendCollabNotification(CollabNotificationRequest notification) {
+    private void dispatch() {
+        while(running) {
+            try {
+                NotificationBatch batch = collectBatch();
+                if(batch != null) {
+                    send(batch);
+                }
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private NotificationBatch collectBatch() throws InterruptedException {
+        Object first = queue.poll(1, TimeUnit.SECONDS);
+        if(first == null) {
+            return null;
+        }
+        NotificationBatch batch = new NotificationBatch();
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        while(batch.getAdded() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            Object next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if(next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void send(NotificationBatch batch) {
+        metrics.getCoalesced().addAndGet(batch.getAdded() - batch.size());
+        long backoff = retryBackoffMillis;
+        for(int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                client.sendBatch(batch.toRequest());
+                metrics.getBatches().incrementAndGet();
+                metrics.getSent().addAndGet(batch.size());
+                return;
+            } catch(Exception e) {
+                if(attempt == maxAttempts || !sleep(backoff)) {
+                    metrics.getFailed().addAndGet(batch.size());
+                    LOG.error("Problem with sending notification.", e);
+                    return;
+                }
+                metrics.getRetries().incrementAndGet();
+                backoff *= 2;
+            }
+        }
+    }
+
+    private boolean sleep(long millis) {
         try {
-            ResponseEntity<?> r = template
-                    .postForEntity(uri  + "/collab/notification", notification, Object.class);
-            LOG.info("Notification service response: {}", r.getStatusCode());
-        } catch(Exception e) {
-            LOG.error("Problem with sending notification.", e);
+            Thread.sleep(millis);
+            return true;
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         }
     }
+
+    @Scheduled(fixedDelayString = "${service.notification.metrics-interval-ms:60000}")
+    public void logMetrics() {
+        LOG.info("Notification dispatch: queued={}, {}", queue.size(), metrics);
+    }
 }
@@ -8,4 +8,8 @@ import java.lang.annotation.Target;
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface NotifyOnHabitChange {
+    /**
+     * Attach changed habit to notification, should be used only if no other rows were changed
+     */
+    boolean payload() default false;
 }
@@ -1,5 +1,6 @@
 package io.github.xpakx.ladder.notification.dto;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Builder;
 import lombok.Data;
 
@@ -13,4 +14,5 @@ public class CollabNotificationRequest {
     private LocalDateTime time;
     private String type;
     private Integer id;
+    private JsonNode payload;
 }
@@ -0,0 +1,13 @@
+package io.github.xpakx.ladder.notification.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class NotificationBatchRequest {
+    private List<NotificationRequest> notifications;
+    private List<CollabNotificationRequest> collabNotifications;
+}
@@ -0,0 +1,20 @@
+package io.github.xpakx.ladder.notification.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class NotificationDispatchDetails {
+    private int queued;
+    private int remainingCapacity;
+    private long enqueued;
+    private long dropped;
+    private long coalesced;
+    private long batches;
+    private long sent;
+    private long retries;
+    private long failed;
+}
@@ -1,5 +1,6 @@
 package io.github.xpakx.ladder.notification.dto;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Builder;
 import lombok.Data;
 
@@ -12,4 +13,5 @@ public class NotificationRequest {
     private LocalDateTime time;
     private String type;
     private Integer id;
+    private JsonNode payload;
 }
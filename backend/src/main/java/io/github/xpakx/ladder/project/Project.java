@@ -5,6 +5,7 @@ import io.github.xpakx.ladder.collaboration.Collaboration;
 import io.github.xpakx.ladder.habit.Habit;
 import io.github.xpakx.ladder.task.Task;
 import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.sync.ChangeLogListener;
 import lombok.*;
 import org.hibernate.annotations.Where;
 
@@ -13,6 +14,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@EntityListeners(ChangeLogListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -27,9 +29,15 @@ import java.util.List;
                 attributeNodes = {@NamedAttributeNode("collaborators")}
         )
 })
+@Table(indexes = {
+        @Index(name = "project_owner_modified_at_idx", columnList = "user_account_id, modifiedAt"),
+        @Index(name = "project_owner_archived_idx", columnList = "user_account_id, archived"),
+        @Index(name = "project_owner_parent_idx", columnList = "user_account_id, project_id, generalOrder")
+})
 public class Project {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_seq")
+    @SequenceGenerator(name = "project_seq", sequenceName = "project_seq", allocationSize = 50)
     private Integer id;
 
     private String name;
@@ -4,6 +4,7 @@ import io.github.xpakx.ladder.notification.Notify;
 import io.github.xpakx.ladder.notification.NotifyOnCollaborationDeletion;
 import io.github.xpakx.ladder.notification.NotifyOnProjectChange;
 import io.github.xpakx.ladder.collaboration.Collaboration;
+import io.github.xpakx.ladder.collaboration.CollaboratorCache;
 import io.github.xpakx.ladder.task.Task;
 import io.github.xpakx.ladder.user.UserAccount;
 import io.github.xpakx.ladder.collaboration.dto.CollaborationRequest;
@@ -27,6 +28,7 @@ public class ProjectCollaborationService {
     private final TaskRepository taskRepository;
     private final UserAccountRepository userRepository;
     private final CollaborationRepository collaborationRepository;
+    private final CollaboratorCache collaboratorCache;
 
     /**
      * Add user as a collaborator to project.
@@ -45,6 +47,7 @@ public class ProjectCollaborationService {
         UserAccount user = userRepository.findByCollaborationToken(request.getCollaborationToken())
                 .orElseThrow(() -> new NotFoundException("No user with such token!"));
         projectRepository.save(updateProject(request, projectId, toUpdate, user));
+        collaboratorCache.invalidate(projectId);
         return collaborationRepository.findProjectedByOwnerIdAndProjectId(user.getId(), projectId).orElse(null);
     }
 
@@ -83,6 +86,7 @@ public class ProjectCollaborationService {
         updateProject(collaboratorId, toUpdate, collaborations, now);
         deassignTasks(collaboratorId, toUpdate, now);
         deleteCollaborations(collaboratorId, collaborations);
+        collaboratorCache.invalidate(projectId);
     }
 
     private void deleteCollaborations(Integer collaboratorId, List<Collaboration> collaborations) {
@@ -5,18 +5,24 @@ import io.github.xpakx.ladder.habit.dto.HabitDetails;
 import io.github.xpakx.ladder.project.dto.FullProjectTree;
 import io.github.xpakx.ladder.project.dto.ProjectData;
 import io.github.xpakx.ladder.project.dto.ProjectDetails;
-import io.github.xpakx.ladder.project.dto.ProjectMin;
+import io.github.xpakx.ladder.project.dto.ProjectNameAndId;
+import io.github.xpakx.ladder.project.dto.ProjectTreeRow;
+import io.github.xpakx.ladder.project.dto.ProjectWithNameAndId;
 import io.github.xpakx.ladder.habit.HabitRepository;
 import io.github.xpakx.ladder.task.TaskRepository;
 import io.github.xpakx.ladder.task.dto.TaskDetails;
 import io.github.xpakx.ladder.task.dto.TaskForTree;
+import io.github.xpakx.ladder.task.dto.TaskTreeRow;
+import io.github.xpakx.ladder.tree.ProjectTreeCache;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @AllArgsConstructor
@@ -24,95 +30,56 @@ public class ProjectDataService {
     private final ProjectRepository projectRepository;
     private final TaskRepository taskRepository;
     private final HabitRepository habitRepository;
+    private final ProjectTreeCache treeCache;
 
     /**
-     * Get tree with all subprojects and tasks of the given project
+     * Get tree with all subprojects and tasks of the given project; only the subtree
+     * of the project is loaded, with recursive queries
      * @param projectId Project id
      * @param userId ID of an owner of the project
      * @return Project tree
      */
+    @Transactional(readOnly = true)
     public FullProjectTree getFullProject(Integer projectId, Integer userId) {
-        ProjectMin project = projectRepository.findProjectedByIdAndOwnerId(projectId, userId, ProjectMin.class)
-                .orElseThrow(() -> new NotFoundException("No such project!"));
-        List<ProjectDetails> projects = projectRepository.findByOwnerId(userId, ProjectDetails.class);
-        List<TaskDetails> tasks = taskRepository.findByOwnerId(userId, TaskDetails.class);
-        return addProjectsToTree(
-                constructMapWithProjectsGroupedByParentId(projects),
-                constructMapWithTasksGroupedByParentId(tasks),
-                constructMapWithTasksGroupedByProjectId(tasks),
-                project);
-    }
-
-    private Map<Integer, List<TaskDetails>> constructMapWithTasksGroupedByProjectId(List<TaskDetails> tasks) {
-        return tasks.stream()
-                .filter((a) -> a.getParent() == null)
-                .filter((a) -> a.getProject() != null)
-                .collect(Collectors.groupingBy((a) -> a.getProject().getId()));
-    }
-
-    private Map<Integer, List<ProjectDetails>> constructMapWithProjectsGroupedByParentId(List<ProjectDetails> projects) {
-        return projects.stream()
-                .filter((a) -> a.getParent() != null)
-                .collect(Collectors.groupingBy((a) -> a.getParent().getId()));
-    }
-
-    private FullProjectTree addProjectsToTree(Map<Integer, List<ProjectDetails>> projectByParent, Map<Integer,
-            List<TaskDetails>> tasksByParent, Map<Integer, List<TaskDetails>> tasksByProject, ProjectMin project) {
-        FullProjectTree tree = new FullProjectTree(project);
-        addProjectsToTree(projectByParent, tasksByParent, tasksByProject, List.of(tree));
-        return tree;
-    }
-
-    private List<FullProjectTree> addProjectsToTree(Map<Integer, List<ProjectDetails>> projectByParent, Map<Integer,
-            List<TaskDetails>> tasksByParent, Map<Integer, List<TaskDetails>> tasksByProject,
-                                   List<FullProjectTree> toAdd) {
-        List<FullProjectTree> temp = toAdd;
-        while(temp.size() > 0) {
-            List<FullProjectTree> newToAdd = new ArrayList<>();
-            for (FullProjectTree parent : temp) {
-                List<FullProjectTree> children = getAllProjectChildrenAsTreeElements(projectByParent, parent);
-                parent.setTasks(addTasksToTree(parent, tasksByParent, tasksByProject));
-                parent.setChildren(children);
-                newToAdd.addAll(children);
-            }
-            temp = newToAdd;
+        List<ProjectTreeRow> projectRows = projectRepository.findSubtreeByIdAndOwnerId(projectId, userId);
+        if(projectRows.isEmpty()) {
+            throw new NotFoundException("No such project!");
         }
-        return toAdd;
-    }
-
-    private List<FullProjectTree> getAllProjectChildrenAsTreeElements(Map<Integer, List<ProjectDetails>> projectByParent, FullProjectTree parent) {
-        return projectByParent
-                .getOrDefault(parent.getId(), new ArrayList<>()).stream()
-                .map(FullProjectTree::new)
-                .collect(Collectors.toList());
+        Map<Integer, FullProjectTree> projects = buildProjectSubtree(projectRows, projectId);
+        try(Stream<TaskTreeRow> tasks = taskRepository.streamSubtreeByProjectIdInAndOwnerId(new ArrayList<>(projects.keySet()), userId)) {
+            addTasksToSubtree(projects, tasks);
+        }
+        return projects.get(projectId);
     }
 
-    private List<TaskForTree> addTasksToTree(FullProjectTree project, Map<Integer, List<TaskDetails>> tasksByParent,
-                                             Map<Integer, List<TaskDetails>> tasksByProject) {
-        List<TaskForTree> toAdd = getAllProjectTasksAsTreeElements(tasksByProject, project.getId());
-        List<TaskForTree> result = toAdd;
-        while(toAdd.size() > 0) {
-            List<TaskForTree> newToAdd = new ArrayList<>();
-            for (TaskForTree parent : toAdd) {
-                List<TaskForTree> children = getAllTaskChildrenAsTreeElements(tasksByParent, parent);
-                parent.setChildren(children);
-                newToAdd.addAll(children);
+    private Map<Integer, FullProjectTree> buildProjectSubtree(List<ProjectTreeRow> rows, Integer rootId) {
+        Map<Integer, FullProjectTree> projects = new HashMap<>();
+        for(ProjectTreeRow row : rows) {
+            FullProjectTree project = projects.computeIfAbsent(row.getId(), FullProjectTree::new);
+            project.setName(row.getName());
+            if(!row.getId().equals(rootId)) {
+                projects.computeIfAbsent(row.getParentId(), FullProjectTree::new).getChildren().add(project);
             }
-            toAdd = newToAdd;
         }
-        return result;
-    }
-
-    private List<TaskForTree> getAllProjectTasksAsTreeElements(Map<Integer, List<TaskDetails>> tasksByProject, Integer projectId) {
-        return tasksByProject.getOrDefault(projectId, new ArrayList<>()).stream()
-                .map(TaskForTree::new)
-                .collect(Collectors.toList());
+        return projects;
     }
 
-    private List<TaskForTree> getAllTaskChildrenAsTreeElements(Map<Integer, List<TaskDetails>> tasksByParent, TaskForTree parent) {
-        return tasksByParent.getOrDefault(parent.getId(), new ArrayList<>()).stream()
-                .map(TaskForTree::new)
-                .collect(Collectors.toList());
+    private void addTasksToSubtree(Map<Integer, FullProjectTree> projects, Stream<TaskTreeRow> rows) {
+        Map<Integer, TaskForTree> tasks = new HashMap<>();
+        Map<Integer, ProjectWithNameAndId> projectRefs = new HashMap<>();
+        rows.forEach((row) -> {
+            TaskForTree task = tasks.computeIfAbsent(row.getId(), TaskForTree::new);
+            task.setTitle(row.getTitle());
+            task.setDescription(row.getDescription());
+            if(row.getProjectId() != null) {
+                task.setProject(projectRefs.computeIfAbsent(row.getProjectId(), (id) -> new ProjectNameAndId(id, row.getProjectName())));
+            }
+            if(row.getParentId() == null) {
+                projects.get(row.getProjectId()).getTasks().add(task);
+            } else {
+                tasks.computeIfAbsent(row.getParentId(), TaskForTree::new).getChildren().add(task);
+            }
+        });
     }
 
     /**
@@ -121,27 +88,7 @@ public class ProjectDataService {
      * @return Projects tree
      */
     public List<FullProjectTree> getFullTree(Integer userId) {
-        List<ProjectDetails> projects = projectRepository.findByOwnerId(userId, ProjectDetails.class);
-        List<TaskDetails> tasks = taskRepository.findByOwnerId(userId, TaskDetails.class);
-        return addProjectsToTree(
-                constructMapWithProjectsGroupedByParentId(projects),
-                constructMapWithTasksGroupedByParentId(tasks),
-                constructMapWithTasksGroupedByProjectId(tasks),
-                transformProjectsToTreeElements(projects)
-        );
-    }
-
-    private List<FullProjectTree> transformProjectsToTreeElements(List<ProjectDetails> projects) {
-        return projects.stream()
-                .filter((a) -> a.getParent() == null)
-                .map(FullProjectTree::new)
-                .collect(Collectors.toList());
-    }
-
-    private Map<Integer, List<TaskDetails>> constructMapWithTasksGroupedByParentId(List<TaskDetails> tasks) {
-        return tasks.stream()
-                .filter((a) -> a.getParent() != null)
-                .collect(Collectors.groupingBy((a) -> a.getParent().getId()));
+        return treeCache.getTree(userId).toFullTrees();
     }
 
     /**
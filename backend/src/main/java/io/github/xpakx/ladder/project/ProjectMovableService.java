@@ -8,6 +8,7 @@ import io.github.xpakx.ladder.project.dto.TasksAndProjects;
 import io.github.xpakx.ladder.common.error.NotFoundException;
 import io.github.xpakx.ladder.common.error.WrongOwnerException;
 import io.github.xpakx.ladder.task.TaskRepository;
+import io.github.xpakx.ladder.tree.ProjectTreeCache;
 import io.github.xpakx.ladder.user.UserAccountRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -26,6 +27,8 @@ public class ProjectMovableService {
     private final ProjectRepository projectRepository;
     private final TaskRepository taskRepository;
     private final UserAccountRepository userRepository;
+    private final ProjectOrderService orderService;
+    private final ProjectTreeCache treeCache;
 
     /**
      * Duplicate given project, its subprojects and tasks
@@ -34,9 +37,12 @@ public class ProjectMovableService {
      * @return All created projects and tasks
      */
     public TasksAndProjects duplicate(Integer projectId, Integer userId) {
-        Map<Integer, Project> projectsById = generateProjectMapForUser(userId);
+        List<Integer> projectIds = treeCache.getTree(userId).getProjectSubtreeIds(projectId);
+        Map<Integer, Project> projectsById = generateProjectMapForSubtree(userId, projectIds);
         testIfProjectExists(projectId, projectsById);
-        List<Project> projects = generateProjectDuplicatesToSave(projectId, projectsById);
+        List<Project> projects = projectIds.stream()
+                .map(projectsById::get)
+                .collect(Collectors.toList());
         List<Task> tasks = generateTaskDuplicatesToSave(projectsById, projects);
         prepareProjectObjectsToSave(projectId, userId, projects);
         return constructResponseWithDuplicatedElements(
@@ -46,13 +52,17 @@ public class ProjectMovableService {
     }
 
     private List<Integer> saveProjectsAndReturnIds(List<Project> projects) {
-        return projectRepository.saveAll(projects).stream()
+        List<Project> savedProjects = projectRepository.saveAll(projects);
+        treeCache.projectsSaved(savedProjects);
+        return savedProjects.stream()
                 .map(Project::getId)
                 .collect(Collectors.toList());
     }
 
     private List<Integer> saveTasksAndReturnIds(List<Task> tasks) {
-        return taskRepository.saveAll(tasks).stream()
+        List<Task> savedTasks = taskRepository.saveAll(tasks);
+        treeCache.tasksSaved(savedTasks);
+        return savedTasks.stream()
                 .map(Task::getId)
                 .collect(Collectors.toList());
     }
@@ -60,7 +70,7 @@ public class ProjectMovableService {
     private void prepareProjectObjectsToSave(Integer projectId, Integer userId, List<Project> projects) {
         projects.stream().filter((a) -> a.getId().equals(projectId))
                 .findAny()
-                .ifPresent((a) -> incrementOrderForDuplication(a, userId));
+                .ifPresent((a) -> a.setGeneralOrder(orderService.getOrderAfter(userId, a, null)));
         projects.forEach((a) -> a.setId(null));
     }
 
@@ -69,11 +79,6 @@ public class ProjectMovableService {
                 .orElseThrow(() -> new NotFoundException("Cannot add nothing after non-existent project!"));
     }
 
-    private void incrementOrderForDuplication(Project project, Integer userId) {
-        incrementGeneralOrderIfGreaterThan(userId, project);
-        project.setGeneralOrder(project.getGeneralOrder()+1);
-    }
-
     private TasksAndProjects constructResponseWithDuplicatedElements(List<Integer> projectIds, List<Integer> taskIds) {
         TasksAndProjects result = new TasksAndProjects();
         result.setTasks(taskRepository.findByIdIn(taskIds));
@@ -81,17 +86,14 @@ public class ProjectMovableService {
         return result;
     }
 
-    private List<Project> generateProjectDuplicatesToSave(Integer projectId, Map<Integer, Project> projectsById) {
-        return projectsById.values().stream()
-                .filter((a) -> hasIdInParentTree(a, projectId))
-                .collect(Collectors.toList());
-    }
-
-    private Map<Integer, Project> generateProjectMapForUser(Integer userId) {
-        Map<Integer, Project> projectsById = projectRepository.getByOwnerId(userId).stream()
+    private Map<Integer, Project> generateProjectMapForSubtree(Integer userId, List<Integer> projectIds) {
+        if(projectIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Integer, Project> projectsById = projectRepository.findByOwnerIdAndIdIn(userId, projectIds).stream()
                 .collect(Collectors.toMap(Project::getId, this::duplicate));
         projectsById.values()
-                .stream().filter((a) -> a.getParent() != null)
+                .stream().filter((a) -> a.getParent() != null && projectsById.containsKey(a.getParent().getId()))
                 .forEach((a) -> a.setParent(projectsById.get(a.getParent().getId())));
         return projectsById;
     }
@@ -113,16 +115,6 @@ public class ProjectMovableService {
         return tasks;
     }
 
-    private boolean hasIdInParentTree(Project a, Integer projectId) {
-        while(a != null) {
-            if(a.getId().equals(projectId)) {
-                return true;
-            }
-            a = a.getParent();
-        }
-        return false;
-    }
-
     private Project duplicate(Project originalProject) {
         LocalDateTime now = LocalDateTime.now();
         return Project.builder()
@@ -174,46 +166,11 @@ public class ProjectMovableService {
         Project project = projectRepository.findByIdAndOwnerId(projectId, userId)
                 .orElseThrow(() -> new NotFoundException("Cannot add nothing after non-existent project!"));
         projectToAdd.setParent(project.getParent());
-        projectToAdd.setGeneralOrder(project.getGeneralOrder()+1);
+        projectToAdd.setGeneralOrder(orderService.getOrderAfter(userId, project, null));
         projectToAdd.setModifiedAt(LocalDateTime.now());
-        incrementGeneralOrderIfGreaterThan(userId, project);
         return projectRepository.save(projectToAdd);
     }
 
-    private void incrementGeneralOrderIfGreaterThan(Integer userId, Project proj) {
-        if(hasParent(proj)) {
-            projectRepository.incrementGeneralOrderByOwnerIdAndParentIdAndGeneralOrderGreaterThan(
-                    userId,
-                    proj.getParent().getId(),
-                    proj.getGeneralOrder(),
-                    LocalDateTime.now()
-            );
-        } else {
-            projectRepository.incrementGeneralOrderByOwnerIdAndGeneralOrderGreaterThan(
-                    userId,
-                    proj.getGeneralOrder(),
-                    LocalDateTime.now()
-            );
-        }
-    }
-
-    private void incrementGeneralOrderIfGreaterThanEquals(Integer userId, Project proj) {
-        if(hasParent(proj)) {
-            projectRepository.incrementGeneralOrderByOwnerIdAndParentIdAndGeneralOrderGreaterThanEqual(
-                    userId,
-                    proj.getParent().getId(),
-                    proj.getGeneralOrder(),
-                    LocalDateTime.now()
-            );
-        } else {
-            projectRepository.incrementGeneralOrderByOwnerIdAndGeneralOrderGreaterThanEqual(
-                    userId,
-                    proj.getGeneralOrder(),
-                    LocalDateTime.now()
-            );
-        }
-    }
-
     private boolean hasParent(Project project) {
         return nonNull(project.getParent());
     }
@@ -236,9 +193,8 @@ public class ProjectMovableService {
         Project proj = projectRepository.findByIdAndOwnerId(projectId, userId)
                 .orElseThrow(() -> new NotFoundException("Cannot add nothing before non-existent project!"));
         projectToAdd.setParent(proj.getParent());
-        projectToAdd.setGeneralOrder(proj.getGeneralOrder());
+        projectToAdd.setGeneralOrder(orderService.getOrderBefore(userId, proj, null));
         projectToAdd.setModifiedAt(LocalDateTime.now());
-        incrementGeneralOrderIfGreaterThanEquals(userId, proj);
         return projectRepository.save(projectToAdd);
     }
 
@@ -256,9 +212,8 @@ public class ProjectMovableService {
                 .orElseThrow(() -> new NotFoundException("Cannot move non-existent project!"));
         Project afterProject = findIdFromIdRequest(request)
                 .orElseThrow(() -> new NotFoundException("Cannot insert anything after non-existent project!"));
-        incrementGeneralOrderIfGreaterThan(userId, afterProject);
+        projectToMove.setGeneralOrder(orderService.getOrderAfter(userId, afterProject, projectToMoveId));
         projectToMove.setParent(afterProject.getParent());
-        projectToMove.setGeneralOrder(afterProject.getGeneralOrder()+1);
         projectToMove.setModifiedAt(LocalDateTime.now());
         return projectRepository.save(projectToMove);
     }
@@ -284,28 +239,12 @@ public class ProjectMovableService {
         Project projectToMove = projectRepository.findByIdAndOwnerId(projectToMoveId, userId)
                 .orElseThrow(() -> new NotFoundException("Cannot move non-existent project!"));
         Optional<Project> parentProject = findIdFromIdRequest(request);
-        incrementGeneralOrderOfAllChildren(request, userId);
         projectToMove.setParent(parentProject.orElse(null));
-        projectToMove.setGeneralOrder(1);
+        projectToMove.setGeneralOrder(orderService.getFirstOrder(userId, projectToMove, projectToMoveId));
         projectToMove.setModifiedAt(LocalDateTime.now());
         return projectRepository.save(projectToMove);
     }
 
-    private void incrementGeneralOrderOfAllChildren(IdRequest request, Integer userId) {
-        if(request.getId() != null) {
-            projectRepository.incrementGeneralOrderByOwnerIdAndParentId(
-                    userId,
-                    request.getId(),
-                    LocalDateTime.now()
-            );
-        } else {
-            projectRepository.incrementGeneralOrderByOwnerId(
-                    userId,
-                    LocalDateTime.now()
-            );
-        }
-    }
-
     /**
      * Move project at first position
      * @param userId ID of an owner of projects
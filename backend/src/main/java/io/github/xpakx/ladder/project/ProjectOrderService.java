@@ -0,0 +1,59 @@
+package io.github.xpakx.ladder.project;
+
+import io.github.xpakx.ladder.common.order.SparseOrderService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+public class ProjectOrderService extends SparseOrderService<Project> {
+    private final ProjectRepository projectRepository;
+
+    @Override
+    protected Integer getId(Project entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected Integer getOrder(Project entity) {
+        return entity.getGeneralOrder();
+    }
+
+    @Override
+    protected void setOrder(Project entity, Integer order, LocalDateTime modifiedAt) {
+        entity.setGeneralOrder(order);
+        entity.setModifiedAt(modifiedAt);
+    }
+
+    @Override
+    protected Integer getNextOrder(Integer userId, Project sibling, Integer order, Integer excludedId) {
+        if(sibling.getParent() != null) {
+            return projectRepository.getNextOrderByOwnerIdAndParentId(userId, sibling.getParent().getId(), order, excludedId);
+        }
+        return projectRepository.getNextOrderByOwnerId(userId, order, excludedId);
+    }
+
+    @Override
+    protected Integer getPreviousOrder(Integer userId, Project sibling, Integer order, Integer excludedId) {
+        if(sibling.getParent() != null) {
+            return projectRepository.getPreviousOrderByOwnerIdAndParentId(userId, sibling.getParent().getId(), order, excludedId);
+        }
+        return projectRepository.getPreviousOrderByOwnerId(userId, order, excludedId);
+    }
+
+    @Override
+    protected List<Project> getSiblings(Integer userId, Project sibling) {
+        if(sibling.getParent() != null) {
+            return projectRepository.findByOwnerIdAndParentIdOrderByGeneralOrder(userId, sibling.getParent().getId());
+        }
+        return projectRepository.findByOwnerIdAndParentIsNullOrderByGeneralOrder(userId);
+    }
+
+    @Override
+    protected List<Project> saveAll(List<Project> entities) {
+        return projectRepository.saveAll(entities);
+    }
+}
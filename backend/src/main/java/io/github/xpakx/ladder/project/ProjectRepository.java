@@ -1,18 +1,26 @@
 package io.github.xpakx.ladder.project;
 
+import io.github.xpakx.ladder.common.dto.ModificationWatermark;
 import io.github.xpakx.ladder.project.Project;
 import io.github.xpakx.ladder.project.dto.ProjectDetails;
+import io.github.xpakx.ladder.project.dto.ProjectExportRow;
+import io.github.xpakx.ladder.project.dto.ProjectSnapshotRow;
+import io.github.xpakx.ladder.project.dto.ProjectTreeRow;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.QueryHint;
 
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Integer> {
@@ -28,35 +36,20 @@ public interface ProjectRepository extends JpaRepository<Project, Integer> {
     List<Project> getByOwnerId(Integer ownerId);
     void deleteByIdAndOwnerId(Integer Id, Integer ownerId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Project p SET p.generalOrder = p.generalOrder + 1, p.modifiedAt = :modifiedAt WHERE p.owner.id = :ownerId AND p.parent IS NULL AND p.generalOrder > :generalOrder")
-    void incrementGeneralOrderByOwnerIdAndGeneralOrderGreaterThan(Integer ownerId, Integer generalOrder, LocalDateTime modifiedAt);
+    @Query("SELECT min(p.generalOrder) FROM Project p WHERE p.owner.id = :ownerId AND p.parent IS NULL AND p.generalOrder > :generalOrder AND p.id <> :excludedId")
+    Integer getNextOrderByOwnerId(Integer ownerId, Integer generalOrder, Integer excludedId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Project p SET p.generalOrder = p.generalOrder + 1, p.modifiedAt = :modifiedAt  WHERE p.owner.id = :ownerId AND p.parent IS NULL AND p.generalOrder >= :generalOrder")
-    void incrementGeneralOrderByOwnerIdAndGeneralOrderGreaterThanEqual(Integer ownerId, Integer generalOrder, LocalDateTime modifiedAt);
+    @Query("SELECT min(p.generalOrder) FROM Project p WHERE p.owner.id = :ownerId AND p.parent.id = :parentId AND p.generalOrder > :generalOrder AND p.id <> :excludedId")
+    Integer getNextOrderByOwnerIdAndParentId(Integer ownerId, Integer parentId, Integer generalOrder, Integer excludedId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Project p SET p.generalOrder = p.generalOrder + 1, p.modifiedAt = :modifiedAt  WHERE p.owner.id = :ownerId AND p.parent.id = :parentId AND p.generalOrder > :generalOrder")
-    void incrementGeneralOrderByOwnerIdAndParentIdAndGeneralOrderGreaterThan(Integer ownerId, Integer parentId, Integer generalOrder, LocalDateTime modifiedAt);
+    @Query("SELECT max(p.generalOrder) FROM Project p WHERE p.owner.id = :ownerId AND p.parent IS NULL AND p.generalOrder < :generalOrder AND p.id <> :excludedId")
+    Integer getPreviousOrderByOwnerId(Integer ownerId, Integer generalOrder, Integer excludedId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Project p SET p.generalOrder = p.generalOrder + 1, p.modifiedAt = :modifiedAt  WHERE p.owner.id = :ownerId AND p.parent.id = :parentId AND p.generalOrder >= :generalOrder")
-    void incrementGeneralOrderByOwnerIdAndParentIdAndGeneralOrderGreaterThanEqual(Integer ownerId, Integer parentId, Integer generalOrder, LocalDateTime modifiedAt);
+    @Query("SELECT max(p.generalOrder) FROM Project p WHERE p.owner.id = :ownerId AND p.parent.id = :parentId AND p.generalOrder < :generalOrder AND p.id <> :excludedId")
+    Integer getPreviousOrderByOwnerIdAndParentId(Integer ownerId, Integer parentId, Integer generalOrder, Integer excludedId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Project p SET p.generalOrder = p.generalOrder + 1, p.modifiedAt = :modifiedAt  WHERE p.owner.id = :ownerId AND p.parent.id = :parentId")
-    void incrementGeneralOrderByOwnerIdAndParentId(Integer ownerId, Integer parentId, LocalDateTime modifiedAt);
-
-    @Modifying
-    @Transactional
-    @Query("Update Project p SET p.generalOrder = p.generalOrder + 1, p.modifiedAt = :modifiedAt  WHERE p.owner.id = :ownerId AND p.parent IS NULL")
-    void incrementGeneralOrderByOwnerId(Integer ownerId, LocalDateTime modifiedAt);
+    List<Project> findByOwnerIdAndParentIsNullOrderByGeneralOrder(Integer ownerId);
+    List<Project> findByOwnerIdAndParentIdOrderByGeneralOrder(Integer ownerId, Integer parentId);
 
     List<Project> findByOwnerIdAndParentId(Integer ownerId, Integer parentId);
 
@@ -74,8 +67,10 @@ public interface ProjectRepository extends JpaRepository<Project, Integer> {
     boolean existsByIdAndOwnerId(Integer id, Integer ownerId);
 
     <T> List<T> findByOwnerIdAndModifiedAtAfter(Integer ownerId, LocalDateTime modifiedAt, Class<T> type);
+    <T> List<T> findProjectedByOwnerIdAndIdIn(Integer ownerId, List<Integer> ids, Class<T> type);
 
-    List<Integer> findIdByOwnerIdAndIdIn(Integer userId, List<Integer> ids);
+    @Query("SELECT p.id FROM Project p WHERE p.owner.id = :ownerId AND p.id IN :ids")
+    List<Integer> findIdByOwnerIdAndIdIn(Integer ownerId, List<Integer> ids);
     List<Project> findByOwnerIdAndIdIn(Integer userId, List<Integer> ids);
 
     @Query("SELECT case when count(u)> 0 then true else false end FROM Project p LEFT JOIN p.collaborators c LEFT JOIN c.owner u WHERE u.id = :userId AND p.id = :projectId AND c.accepted = true")
@@ -88,4 +83,33 @@ public interface ProjectRepository extends JpaRepository<Project, Integer> {
     boolean existsEditorCollaboratorById(Integer projectId, Integer userId);
 
     boolean existsByIdAndCollaborative(Integer id, boolean collaborative);
+
+    @Query(value = "WITH RECURSIVE subtree(id, name, parent_id, modified_at) AS (" +
+            "SELECT p.id, p.name, p.project_id, p.modified_at FROM project p WHERE p.id = :projectId AND p.user_account_id = :ownerId " +
+            "UNION ALL " +
+            "SELECT c.id, c.name, c.project_id, c.modified_at FROM project c JOIN subtree s ON c.project_id = s.id WHERE c.user_account_id = :ownerId) " +
+            "SELECT s.id AS \"id\", s.name AS \"name\", s.parent_id AS \"parentId\", s.modified_at AS \"modifiedAt\" FROM subtree s ORDER BY s.id",
+            nativeQuery = true)
+    List<ProjectTreeRow> findSubtreeByIdAndOwnerId(Integer projectId, Integer ownerId);
+
+    @Query("SELECT p.id AS id, p.name AS name, pp.id AS parentId, p.modifiedAt AS modifiedAt FROM Project p LEFT JOIN p.parent pp WHERE p.owner.id = :ownerId")
+    List<ProjectTreeRow> findTreeRowsByOwnerId(Integer ownerId);
+
+    @Query("SELECT count(p) AS rowCount, max(p.modifiedAt) AS lastModifiedAt, " +
+            "sum(CASE WHEN p.modifiedAt > :since THEN 1 ELSE 0 END) AS modifiedSince " +
+            "FROM Project p WHERE p.owner.id = :ownerId")
+    ModificationWatermark getWatermarkByOwnerId(Integer ownerId, LocalDateTime since);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p.id AS id, p.name AS name, p.color AS color, p.favorite AS favorite, p.archived AS archived, " +
+            "pa.id AS parentId, p.generalOrder AS generalOrder FROM Project p LEFT JOIN p.parent pa " +
+            "WHERE p.owner.id = :ownerId ORDER BY p.id")
+    Stream<ProjectExportRow> streamExportRowsByOwnerId(Integer ownerId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p.id AS id, p.name AS name, p.color AS color, p.favorite AS favorite, p.archived AS archived, " +
+            "p.collapsed AS collapsed, p.collaborative AS collaborative, pa.id AS parentId, p.generalOrder AS generalOrder, " +
+            "p.createdAt AS createdAt, p.modifiedAt AS modifiedAt FROM Project p LEFT JOIN p.parent pa " +
+            "WHERE p.owner.id = :ownerId ORDER BY p.id")
+    Stream<ProjectSnapshotRow> streamSnapshotRowsByOwnerId(Integer ownerId);
 }
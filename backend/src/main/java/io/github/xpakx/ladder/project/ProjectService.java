@@ -1,11 +1,14 @@
 package io.github.xpakx.ladder.project;
 
+import io.github.xpakx.ladder.collaboration.CollaboratorCache;
 import io.github.xpakx.ladder.common.error.NotFoundException;
 import io.github.xpakx.ladder.common.error.WrongOwnerException;
+import io.github.xpakx.ladder.common.order.SparseOrderService;
 import io.github.xpakx.ladder.notification.NotifyOnProjectChange;
 import io.github.xpakx.ladder.notification.NotifyOnProjectDeletion;
 import io.github.xpakx.ladder.project.dto.ProjectDetails;
 import io.github.xpakx.ladder.project.dto.ProjectRequest;
+import io.github.xpakx.ladder.stats.CompletionCountService;
 import io.github.xpakx.ladder.user.UserAccountRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -21,6 +24,8 @@ import static java.util.Objects.nonNull;
 public class ProjectService {
     private final ProjectRepository projectRepository;
     private final UserAccountRepository userRepository;
+    private final CollaboratorCache collaboratorCache;
+    private final CompletionCountService completionCounts;
 
     /**
      * Getting object with project's data from repository.
@@ -43,7 +48,7 @@ public class ProjectService {
     @NotifyOnProjectChange
     public Project addProject(ProjectRequest request, Integer userId) {
         Project projectToAdd = buildProjectToAddFromRequest(request, userId);
-        projectToAdd.setGeneralOrder(getMaxGeneralOrder(request, userId)+1);
+        projectToAdd.setGeneralOrder(getMaxGeneralOrder(request, userId) + SparseOrderService.GAP);
         return projectRepository.save(projectToAdd);
     }
 
@@ -125,6 +130,8 @@ public class ProjectService {
     @Transactional
     @NotifyOnProjectDeletion
     public void deleteProject(Integer projectId, Integer userId) {
+        completionCounts.projectDeleted(userId, projectId);
         projectRepository.deleteByIdAndOwnerId(projectId, userId);
+        collaboratorCache.invalidate(projectId);
     }
 }
@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Getter
@@ -21,8 +22,9 @@ public class FullProjectTree {
         this.name = project.getName();
     }
 
-    public FullProjectTree(ProjectMin project) {
-        this.id = project.getId();
-        this.name = project.getName();
+    public FullProjectTree(Integer id) {
+        this.id = id;
+        this.tasks = new ArrayList<>();
+        this.children = new ArrayList<>();
     }
 }
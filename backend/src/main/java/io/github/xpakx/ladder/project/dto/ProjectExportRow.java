@@ -0,0 +1,11 @@
+package io.github.xpakx.ladder.project.dto;
+
+public interface ProjectExportRow {
+    Integer getId();
+    String getName();
+    String getColor();
+    Boolean getFavorite();
+    Boolean getArchived();
+    Integer getParentId();
+    Integer getGeneralOrder();
+}
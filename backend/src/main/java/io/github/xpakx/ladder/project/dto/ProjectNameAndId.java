@@ -0,0 +1,11 @@
+package io.github.xpakx.ladder.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProjectNameAndId implements ProjectWithNameAndId {
+    Integer id;
+    String name;
+}
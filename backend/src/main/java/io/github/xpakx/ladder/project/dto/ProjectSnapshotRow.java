@@ -0,0 +1,17 @@
+package io.github.xpakx.ladder.project.dto;
+
+import java.time.LocalDateTime;
+
+public interface ProjectSnapshotRow {
+    Integer getId();
+    String getName();
+    String getColor();
+    Boolean getFavorite();
+    Boolean getArchived();
+    Boolean getCollapsed();
+    Boolean getCollaborative();
+    Integer getParentId();
+    Integer getGeneralOrder();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getModifiedAt();
+}
@@ -0,0 +1,10 @@
+package io.github.xpakx.ladder.project.dto;
+
+import java.time.LocalDateTime;
+
+public interface ProjectTreeRow {
+    Integer getId();
+    String getName();
+    Integer getParentId();
+    LocalDateTime getModifiedAt();
+}
@@ -0,0 +1,95 @@
+package io.github.xpakx.ladder.security;
+
+import io.github.xpakx.ladder.common.cache.ExpiringCache;
+import io.github.xpakx.ladder.user.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+
+/**
+ * Caches verified tokens and details of their users, so authenticated requests
+ * don't have to verify token signature and load user from repository every time.
+ * Tokens are never cached past their expiration date.
+ */
+@Component
+public class AuthenticationCache {
+    private final UserService userService;
+    private final ExpiringCache<String, String> verifiedTokens;
+    private final ExpiringCache<String, UserDetails> users;
+    private final long tokenTtlMillis;
+    private final long userTtlMillis;
+    private final AuthenticationCacheMetrics metrics = new AuthenticationCacheMetrics();
+    private static final Logger LOG = LoggerFactory.getLogger(AuthenticationCache.class);
+
+    public AuthenticationCache(UserService userService,
+                               @Value("${jwt.cache.max-size:10000}") int maxSize,
+                               @Value("${jwt.cache.token-ttl-ms:300000}") long tokenTtlMillis,
+                               @Value("${jwt.cache.user-ttl-ms:300000}") long userTtlMillis) {
+        this.userService = userService;
+        this.verifiedTokens = new ExpiringCache<>(maxSize);
+        this.users = new ExpiringCache<>(maxSize);
+        this.tokenTtlMillis = tokenTtlMillis;
+        this.userTtlMillis = userTtlMillis;
+    }
+
+    /**
+     * Get username from token which was already verified
+     * @param token JWT token
+     * @return Username, or null if token wasn't verified recently
+     */
+    public String getVerifiedUsername(String token) {
+        String username = verifiedTokens.get(token);
+        if(username != null) {
+            metrics.getTokenHits().incrementAndGet();
+        } else {
+            metrics.getTokenMisses().incrementAndGet();
+        }
+        return username;
+    }
+
+    public void putVerifiedToken(String token, String username, Date expiration) {
+        long expiresAt = Math.min(System.currentTimeMillis() + tokenTtlMillis, expiration.getTime());
+        verifiedTokens.putUntil(token, username, expiresAt);
+    }
+
+    /**
+     * Get user details, from cache if possible
+     * @param username Username (ID of the user)
+     * @return User details
+     */
+    public UserDetails getUserDetails(String username) {
+        UserDetails user = users.get(username);
+        if(user != null) {
+            metrics.getUserHits().incrementAndGet();
+            return user;
+        }
+        metrics.getUserMisses().incrementAndGet();
+        user = userService.loadUserByUsername(username);
+        users.put(username, user, userTtlMillis);
+        return user;
+    }
+
+    /**
+     * Remove cached user details and tokens of the user; should be called when account changes
+     * @param username Username (ID of the user)
+     */
+    public void invalidateUser(String username) {
+        metrics.getInvalidations().incrementAndGet();
+        users.remove(username);
+        verifiedTokens.removeIf((token, user) -> user.equals(username));
+    }
+
+    public AuthenticationCacheMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.cache.metrics-interval-ms:60000}")
+    public void logMetrics() {
+        LOG.info("Authentication cache: tokens={}, users={}, {}", verifiedTokens.size(), users.size(), metrics);
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.xpakx.ladder.security;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+public class AuthenticationCacheMetrics {
+    private final AtomicLong tokenHits = new AtomicLong();
+    private final AtomicLong tokenMisses = new AtomicLong();
+    private final AtomicLong userHits = new AtomicLong();
+    private final AtomicLong userMisses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Override
+    public String toString() {
+        return "tokenHits=" + tokenHits +
+                ", tokenMisses=" + tokenMisses +
+                ", userHits=" + userHits +
+                ", userMisses=" + userMisses +
+                ", invalidations=" + invalidations;
+    }
+}
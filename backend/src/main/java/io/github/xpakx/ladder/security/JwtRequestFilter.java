@@ -1,6 +1,6 @@
 package io.github.xpakx.ladder.security;
 
-import io.github.xpakx.ladder.user.UserService;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -18,12 +18,12 @@ import java.io.IOException;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
-    private final UserService userService;
+    private final AuthenticationCache authenticationCache;
     private final JwtTokenUtil jwtTokenUtil;
 
     @Autowired
-    public JwtRequestFilter(UserService userService, JwtTokenUtil jwtTokenUtil) {
-        this.userService = userService;
+    public JwtRequestFilter(AuthenticationCache authenticationCache, JwtTokenUtil jwtTokenUtil) {
+        this.authenticationCache = authenticationCache;
         this.jwtTokenUtil = jwtTokenUtil;
     }
 
@@ -33,35 +33,48 @@ public class JwtRequestFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         final String requestTokenHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwtToken = null;
-
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
-            try {
-                username = jwtTokenUtil.getUsernameFromToken(jwtToken);
-            } catch (IllegalArgumentException e) {
-                logger.warn("Unable to get JWT Token");
-            } catch (ExpiredJwtException e) {
-                logger.warn("JWT Token has expired");
+            String jwtToken = requestTokenHeader.substring(7);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                authenticate(request, jwtToken);
             }
         } else {
             logger.warn("JWT Token does not begin with Bearer String");
         }
+        filterChain.doFilter(request, response);
+    }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-
-            UserDetails userDetails = userService.loadUserByUsername(username);
-
-            if (jwtTokenUtil.validateToken(jwtToken, userDetails)) {
+    private void authenticate(HttpServletRequest request, String jwtToken) {
+        String username = authenticationCache.getVerifiedUsername(jwtToken);
+        UserDetails userDetails = username != null ? authenticationCache.getUserDetails(username) : verifyToken(jwtToken);
+        if (userDetails != null) {
+            UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities());
+            usernamePasswordAuthenticationToken
+                    .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+        }
+    }
 
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                usernamePasswordAuthenticationToken
-                        .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
-            }
+    private UserDetails verifyToken(String jwtToken) {
+        Claims claims;
+        try {
+            claims = jwtTokenUtil.getAllClaimsFromToken(jwtToken);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unable to get JWT Token");
+            return null;
+        } catch (ExpiredJwtException e) {
+            logger.warn("JWT Token has expired");
+            return null;
         }
-        filterChain.doFilter(request, response);
+        if (claims.getSubject() == null) {
+            return null;
+        }
+        UserDetails userDetails = authenticationCache.getUserDetails(claims.getSubject());
+        if (!jwtTokenUtil.validateClaims(claims, userDetails)) {
+            return null;
+        }
+        authenticationCache.putVerifiedToken(jwtToken, userDetails.getUsername(), claims.getExpiration());
+        return userDetails;
     }
 }
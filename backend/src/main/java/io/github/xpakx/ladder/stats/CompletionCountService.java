@@ -0,0 +1,257 @@
+package io.github.xpakx.ladder.stats;
+
+import io.github.xpakx.ladder.project.Project;
+import io.github.xpakx.ladder.project.ProjectRepository;
+import io.github.xpakx.ladder.project.dto.ProjectTreeRow;
+import io.github.xpakx.ladder.stats.dto.EntityDailyCount;
+import io.github.xpakx.ladder.stats.dto.TaskCompletion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps daily numbers of completed tasks and habit completions used by heat maps. Tasks are counted
+ * for their current project, and tasks without project aren't counted.
+ * Counts of an owner can be rebuilt from tasks and habit completions with {@link #recount(Integer)}.
+ * Services deleting tasks, projects or habits must remove their completions from counts before deleting them,
+ * and services moving tasks to another project must move their completions before moving them.
+ */
+@Service
+public class CompletionCountService {
+    private final TaskCompletionCountRepository taskCountRepository;
+    private final HabitCompletionCountRepository habitCountRepository;
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean backfillOnStartup;
+    private static final Logger LOG = LoggerFactory.getLogger(CompletionCountService.class);
+
+    public CompletionCountService(TaskCompletionCountRepository taskCountRepository,
+                                  HabitCompletionCountRepository habitCountRepository,
+                                  ProjectRepository projectRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${stats.counts.backfill-on-startup:true}") boolean backfillOnStartup) {
+        this.taskCountRepository = taskCountRepository;
+        this.habitCountRepository = habitCountRepository;
+        this.projectRepository = projectRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    /**
+     * Move task from the day it was completed on to the day it's completed on now
+     * @param ownerId ID of an owner of the task
+     * @param project Project of the task
+     * @param previous Previous completion date, or null if task wasn't completed
+     * @param current New completion date, or null if task was uncompleted
+     */
+    public void taskCompletionChanged(Integer ownerId, Project project, LocalDateTime previous, LocalDateTime current) {
+        tasksCompletionChanged(ownerId, project, Collections.singletonList(previous), current);
+    }
+
+    /**
+     * Move tasks of one project from days they were completed on to the day they're completed on now
+     * @param previous Previous completion dates, with null for every task which wasn't completed
+     */
+    public void tasksCompletionChanged(Integer ownerId, Project project, List<LocalDateTime> previous, LocalDateTime current) {
+        if(project == null) {
+            return;
+        }
+        addToTaskCounts(ownerId, project.getId(), previous, current);
+    }
+
+    private void addToTaskCounts(Integer ownerId, Integer projectId, List<LocalDateTime> previous, LocalDateTime current) {
+        Map<LocalDate, Integer> changes = new HashMap<>();
+        for(LocalDateTime date : previous) {
+            if(date != null) {
+                changes.merge(date.toLocalDate(), -1, Integer::sum);
+            }
+            if(current != null) {
+                changes.merge(current.toLocalDate(), 1, Integer::sum);
+            }
+        }
+        changes.forEach((date, delta) -> {
+            if(delta != 0) {
+                addToTaskCount(ownerId, projectId, date, delta);
+            }
+        });
+    }
+
+    /**
+     * Move completed task from counts of its current project to counts of the new one
+     * @param ownerId ID of an owner of the task
+     * @param previous Current project of the task
+     * @param current New project of the task
+     * @param completedAt Completion date, or null if task isn't completed
+     */
+    public void taskMoved(Integer ownerId, Project previous, Project current, LocalDateTime completedAt) {
+        Integer previousId = previous != null ? previous.getId() : null;
+        Integer currentId = current != null ? current.getId() : null;
+        if(completedAt == null || Objects.equals(previousId, currentId)) {
+            return;
+        }
+        if(previousId != null) {
+            addToTaskCount(ownerId, previousId, completedAt.toLocalDate(), -1);
+        }
+        if(currentId != null) {
+            addToTaskCount(ownerId, currentId, completedAt.toLocalDate(), 1);
+        }
+    }
+
+    /**
+     * Move completed tasks from counts of their current projects to counts of the new one;
+     * should be called before tasks are moved
+     * @param ownerId ID of an owner of tasks
+     * @param taskIds IDs of moved tasks
+     * @param project New project of tasks
+     */
+    public void tasksMoved(Integer ownerId, List<Integer> taskIds, Project project) {
+        if(taskIds.isEmpty()) {
+            return;
+        }
+        Integer projectId = project != null ? project.getId() : null;
+        Map<Integer, List<LocalDateTime>> removed = new HashMap<>();
+        List<LocalDateTime> added = new ArrayList<>();
+        for(TaskCompletion completion : taskCountRepository.findCompletionsByIdInAndOwnerId(taskIds, ownerId)) {
+            if(Objects.equals(completion.getProjectId(), projectId)) {
+                continue;
+            }
+            if(completion.getProjectId() != null) {
+                removed.computeIfAbsent(completion.getProjectId(), (a) -> new ArrayList<>())
+                        .add(completion.getCompletedAt());
+            }
+            added.add(completion.getCompletedAt());
+        }
+        removed.forEach((id, completions) -> addToTaskCounts(ownerId, id, completions, null));
+        if(projectId != null) {
+            added.stream()
+                    .collect(Collectors.groupingBy(LocalDateTime::toLocalDate, Collectors.counting()))
+                    .forEach((date, number) -> addToTaskCount(ownerId, projectId, date, number.intValue()));
+        }
+    }
+
+    /**
+     * Remove completed tasks of the subtree from counts; should be called before the task is deleted
+     * @param ownerId ID of an owner of the task
+     * @param taskId ID of the root of deleted subtree
+     */
+    public void taskDeleted(Integer ownerId, Integer taskId) {
+        Map<Integer, List<LocalDateTime>> completionsByProject = taskCountRepository
+                .findCompletionsInSubtreeByIdAndOwnerId(taskId, ownerId).stream()
+                .collect(Collectors.groupingBy(TaskCompletion::getProjectId,
+                        Collectors.mapping(TaskCompletion::getCompletedAt, Collectors.toList())));
+        completionsByProject.forEach((projectId, completions) -> addToTaskCounts(ownerId, projectId, completions, null));
+    }
+
+    /**
+     * Remove counts of the project, its subprojects and their habits; should be called before the project is deleted
+     * @param ownerId ID of an owner of the project
+     * @param projectId ID of the root of deleted subtree
+     */
+    public void projectDeleted(Integer ownerId, Integer projectId) {
+        List<Integer> projectIds = projectRepository.findSubtreeByIdAndOwnerId(projectId, ownerId).stream()
+                .map(ProjectTreeRow::getId)
+                .collect(Collectors.toList());
+        if(projectIds.isEmpty()) {
+            return;
+        }
+        taskCountRepository.deleteByOwnerIdAndProjectIdIn(ownerId, projectIds);
+        habitCountRepository.deleteByOwnerIdAndProjectIdIn(ownerId, projectIds);
+    }
+
+    /**
+     * Remove counts of the habit; should be called before the habit is deleted
+     * @param ownerId ID of an owner of the habit
+     * @param habitId ID of deleted habit
+     */
+    public void habitDeleted(Integer ownerId, Integer habitId) {
+        habitCountRepository.deleteByOwnerIdAndHabitId(ownerId, habitId);
+    }
+
+    public void habitCompleted(Integer ownerId, Integer habitId, LocalDateTime date) {
+        if(habitCountRepository.addToNumber(ownerId, habitId, date.toLocalDate(), 1) == 0) {
+            habitCountRepository.save(HabitCompletionCount.builder()
+                    .ownerId(ownerId)
+                    .habitId(habitId)
+                    .date(date.toLocalDate())
+                    .number(1)
+                    .build());
+        }
+    }
+
+    private void addToTaskCount(Integer ownerId, Integer projectId, LocalDate date, int delta) {
+        // negative counts come from completions made before counts were built, and would hide later ones
+        if(taskCountRepository.addToNumber(ownerId, projectId, date, delta) == 0 && delta > 0) {
+            taskCountRepository.save(TaskCompletionCount.builder()
+                    .ownerId(ownerId)
+                    .projectId(projectId)
+                    .date(date)
+                    .number(delta)
+                    .build());
+        }
+    }
+
+    /**
+     * Rebuild all counts of an owner from completed tasks and habit completions
+     * @param ownerId ID of an owner
+     */
+    public void recount(Integer ownerId) {
+        transactionTemplate.executeWithoutResult((status) -> {
+            taskCountRepository.deleteByOwnerId(ownerId);
+            habitCountRepository.deleteByOwnerId(ownerId);
+            taskCountRepository.saveAll(toCounts(taskCountRepository.countCompletedTasksByOwnerId(ownerId),
+                    (a) -> TaskCompletionCount.builder()
+                            .ownerId(ownerId)
+                            .projectId(a.getEntityId())
+                            .date(a.getDate())
+                            .number(a.getNumber().intValue())
+                            .build()));
+            habitCountRepository.saveAll(toCounts(habitCountRepository.countHabitCompletionsByOwnerId(ownerId),
+                    (a) -> HabitCompletionCount.builder()
+                            .ownerId(ownerId)
+                            .habitId(a.getEntityId())
+                            .date(a.getDate())
+                            .number(a.getNumber().intValue())
+                            .build()));
+        });
+    }
+
+    private <T> List<T> toCounts(List<EntityDailyCount> rows, Function<EntityDailyCount, T> mapper) {
+        return rows.stream()
+                .map(mapper)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Build counts for owners who have completions but no counts, i.e. for data created before counts were kept
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if(!backfillOnStartup) {
+            return;
+        }
+        Set<Integer> ownerIds = new TreeSet<>(taskCountRepository.findOwnerIdsWithoutCounts());
+        ownerIds.addAll(habitCountRepository.findOwnerIdsWithoutCounts());
+        if(ownerIds.isEmpty()) {
+            return;
+        }
+        LOG.info("Building completion counts for {} users", ownerIds.size());
+        for(Integer ownerId : ownerIds) {
+            try {
+                recount(ownerId);
+            } catch(RuntimeException ex) {
+                LOG.error("Couldn't build completion counts for user {}", ownerId, ex);
+            }
+        }
+        LOG.info("Completion counts built");
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.xpakx.ladder.stats;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Number of completions of a habit recorded on given day
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = {
+        @Index(name = "habit_completion_count_idx", columnList = "ownerId, habitId, date", unique = true)
+})
+public class HabitCompletionCount {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "habit_completion_count_seq")
+    @SequenceGenerator(name = "habit_completion_count_seq", sequenceName = "habit_completion_count_seq", allocationSize = 50)
+    private Long id;
+
+    private Integer ownerId;
+    private Integer habitId;
+    private LocalDate date;
+    private int number;
+}
@@ -0,0 +1,60 @@
+package io.github.xpakx.ladder.stats;
+
+import io.github.xpakx.ladder.stats.dto.DailyCount;
+import io.github.xpakx.ladder.stats.dto.EntityDailyCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface HabitCompletionCountRepository extends JpaRepository<HabitCompletionCount, Long> {
+    @Modifying
+    @Transactional
+    @Query("UPDATE HabitCompletionCount c SET c.number = c.number + :delta " +
+            "WHERE c.ownerId = :ownerId AND c.habitId = :habitId AND c.date = :date")
+    int addToNumber(Integer ownerId, Integer habitId, LocalDate date, int delta);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM HabitCompletionCount c WHERE c.ownerId = :ownerId")
+    int deleteByOwnerId(Integer ownerId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM HabitCompletionCount c WHERE c.ownerId = :ownerId AND c.habitId = :habitId")
+    int deleteByOwnerIdAndHabitId(Integer ownerId, Integer habitId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM HabitCompletionCount c " +
+            "WHERE c.ownerId = :ownerId AND c.habitId IN (SELECT h.id FROM Habit h WHERE h.project.id IN :projectIds)")
+    int deleteByOwnerIdAndProjectIdIn(Integer ownerId, List<Integer> projectIds);
+
+    @Query("SELECT c.date AS date, SUM(c.number) AS number FROM HabitCompletionCount c " +
+            "WHERE c.ownerId = :ownerId AND c.habitId IN (SELECT h.id FROM Habit h WHERE h.project.id = :projectId) " +
+            "AND c.date BETWEEN :from AND :to GROUP BY c.date HAVING SUM(c.number) > 0 ORDER BY c.date")
+    List<DailyCount> getByOwnerIdAndProjectIdAndDateBetween(Integer ownerId, Integer projectId, LocalDate from, LocalDate to);
+
+    @Query("SELECT c.date AS date, SUM(c.number) AS number FROM HabitCompletionCount c " +
+            "WHERE c.ownerId = :ownerId AND c.habitId IN (SELECT h.id FROM Habit h WHERE h.project.id = :projectId) " +
+            "AND month(c.date) = :month GROUP BY c.date HAVING SUM(c.number) > 0 ORDER BY c.date")
+    List<DailyCount> getByOwnerIdAndProjectIdAndMonth(Integer ownerId, Integer projectId, Integer month);
+
+    @Query("SELECT c.date AS date, SUM(c.number) AS number FROM HabitCompletionCount c " +
+            "WHERE c.ownerId = :ownerId AND c.habitId = :habitId AND c.date BETWEEN :from AND :to " +
+            "GROUP BY c.date HAVING SUM(c.number) > 0 ORDER BY c.date")
+    List<DailyCount> getByOwnerIdAndHabitIdAndDateBetween(Integer ownerId, Integer habitId, LocalDate from, LocalDate to);
+
+    @Query("SELECT c.habit.id AS entityId, cast(c.date as LocalDate) AS date, COUNT(c) AS number FROM HabitCompletion c " +
+            "WHERE c.owner.id = :ownerId GROUP BY c.habit.id, cast(c.date as LocalDate)")
+    List<EntityDailyCount> countHabitCompletionsByOwnerId(Integer ownerId);
+
+    @Query("SELECT DISTINCT c.owner.id FROM HabitCompletion c " +
+            "WHERE NOT EXISTS (SELECT n.id FROM HabitCompletionCount n WHERE n.ownerId = c.owner.id)")
+    List<Integer> findOwnerIdsWithoutCounts();
+}
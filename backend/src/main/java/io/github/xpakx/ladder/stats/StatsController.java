@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.RestController;
 @AllArgsConstructor
 public class StatsController {
     private final StatsService statsService;
+    private final CompletionCountService completionCountService;
 
     @PreAuthorize("#userId.toString() == authentication.principal.username")
     @GetMapping("/project/{projectId}/year/{year}/tasks")
@@ -55,4 +57,11 @@ public class StatsController {
                                                          @PathVariable Integer year) {
         return new ResponseEntity<>(statsService.getHabitHeatMapByYearForSingleHabit(year, habitId, userId), HttpStatus.OK);
     }
+
+    @PreAuthorize("#userId.toString() == authentication.principal.username")
+    @PostMapping("/recount")
+    public ResponseEntity<?> recountCompletions(@PathVariable Integer userId) {
+        completionCountService.recount(userId);
+        return new ResponseEntity<>(HttpStatus.OK);
+    }
 }
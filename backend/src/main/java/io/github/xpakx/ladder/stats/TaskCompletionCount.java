@@ -0,0 +1,30 @@
+package io.github.xpakx.ladder.stats;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Number of tasks of a project completed on given day
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = {
+        @Index(name = "task_completion_count_idx", columnList = "ownerId, projectId, date", unique = true)
+})
+public class TaskCompletionCount {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_completion_count_seq")
+    @SequenceGenerator(name = "task_completion_count_seq", sequenceName = "task_completion_count_seq", allocationSize = 50)
+    private Long id;
+
+    private Integer ownerId;
+    private Integer projectId;
+    private LocalDate date;
+    private int number;
+}
@@ -0,0 +1,64 @@
+package io.github.xpakx.ladder.stats;
+
+import io.github.xpakx.ladder.stats.dto.DailyCount;
+import io.github.xpakx.ladder.stats.dto.EntityDailyCount;
+import io.github.xpakx.ladder.stats.dto.TaskCompletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TaskCompletionCountRepository extends JpaRepository<TaskCompletionCount, Long> {
+    @Modifying
+    @Transactional
+    @Query("UPDATE TaskCompletionCount c SET c.number = c.number + :delta " +
+            "WHERE c.ownerId = :ownerId AND c.projectId = :projectId AND c.date = :date")
+    int addToNumber(Integer ownerId, Integer projectId, LocalDate date, int delta);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TaskCompletionCount c WHERE c.ownerId = :ownerId")
+    int deleteByOwnerId(Integer ownerId);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM TaskCompletionCount c WHERE c.ownerId = :ownerId AND c.projectId IN :projectIds")
+    int deleteByOwnerIdAndProjectIdIn(Integer ownerId, List<Integer> projectIds);
+
+    @Query("SELECT c.date AS date, SUM(c.number) AS number FROM TaskCompletionCount c " +
+            "WHERE c.ownerId = :ownerId AND c.projectId = :projectId AND c.date BETWEEN :from AND :to " +
+            "GROUP BY c.date HAVING SUM(c.number) > 0 ORDER BY c.date")
+    List<DailyCount> getByOwnerIdAndProjectIdAndDateBetween(Integer ownerId, Integer projectId, LocalDate from, LocalDate to);
+
+    @Query("SELECT c.date AS date, SUM(c.number) AS number FROM TaskCompletionCount c " +
+            "WHERE c.ownerId = :ownerId AND c.projectId = :projectId AND month(c.date) = :month " +
+            "GROUP BY c.date HAVING SUM(c.number) > 0 ORDER BY c.date")
+    List<DailyCount> getByOwnerIdAndProjectIdAndMonth(Integer ownerId, Integer projectId, Integer month);
+
+    @Query("SELECT t.project.id AS entityId, cast(t.completedAt as LocalDate) AS date, COUNT(t) AS number FROM Task t " +
+            "WHERE t.owner.id = :ownerId AND t.project IS NOT NULL AND t.completedAt IS NOT NULL " +
+            "GROUP BY t.project.id, cast(t.completedAt as LocalDate)")
+    List<EntityDailyCount> countCompletedTasksByOwnerId(Integer ownerId);
+
+    @Query(value = "WITH RECURSIVE subtree(id) AS (" +
+            "SELECT t.id FROM task t WHERE t.id = :taskId AND t.user_account_id = :ownerId " +
+            "UNION ALL " +
+            "SELECT c.id FROM task c JOIN subtree s ON c.parent_id = s.id) " +
+            "SELECT t.project_id AS \"projectId\", t.completed_at AS \"completedAt\" FROM task t " +
+            "WHERE t.id IN (SELECT s.id FROM subtree s) AND t.project_id IS NOT NULL AND t.completed_at IS NOT NULL",
+            nativeQuery = true)
+    List<TaskCompletion> findCompletionsInSubtreeByIdAndOwnerId(Integer taskId, Integer ownerId);
+
+    @Query("SELECT p.id AS projectId, t.completedAt AS completedAt FROM Task t LEFT JOIN t.project p " +
+            "WHERE t.id IN :ids AND t.owner.id = :ownerId AND t.completedAt IS NOT NULL")
+    List<TaskCompletion> findCompletionsByIdInAndOwnerId(List<Integer> ids, Integer ownerId);
+
+    @Query("SELECT DISTINCT t.owner.id FROM Task t WHERE t.project IS NOT NULL AND t.completedAt IS NOT NULL " +
+            "AND NOT EXISTS (SELECT c.id FROM TaskCompletionCount c WHERE c.ownerId = t.owner.id)")
+    List<Integer> findOwnerIdsWithoutCounts();
+}
@@ -0,0 +1,8 @@
+package io.github.xpakx.ladder.stats.dto;
+
+import java.time.LocalDate;
+
+public interface DailyCount {
+    LocalDate getDate();
+    Long getNumber();
+}
@@ -0,0 +1,12 @@
+package io.github.xpakx.ladder.stats.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Number of completions of a project's tasks or of a habit on given day
+ */
+public interface EntityDailyCount {
+    Integer getEntityId();
+    LocalDate getDate();
+    Long getNumber();
+}
@@ -0,0 +1,11 @@
+package io.github.xpakx.ladder.stats.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Completion date of a task together with the project it is counted for
+ */
+public interface TaskCompletion {
+    Integer getProjectId();
+    LocalDateTime getCompletedAt();
+}
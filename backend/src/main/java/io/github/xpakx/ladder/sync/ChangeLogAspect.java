@@ -0,0 +1,229 @@
+package io.github.xpakx.ladder.sync;
+
+import io.github.xpakx.ladder.collaboration.Collaboration;
+import io.github.xpakx.ladder.collaboration.CollaboratorCache;
+import io.github.xpakx.ladder.common.dto.BooleanRequest;
+import io.github.xpakx.ladder.project.ProjectRepository;
+import io.github.xpakx.ladder.task.TaskRepository;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Writes entries to the change journal in the same transaction as the annotated operation.
+ * Every entity changed by the operation is reported by {@link ChangeLogListener} and gets its own entry,
+ * owner's entries for tasks are copied to collaborators of task's project.
+ * Runs inside {@link io.github.xpakx.ladder.notification.NotificationAspect}, so notifications
+ * are sent only after the journal is committed.
+ */
+@Aspect
+@Service
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class ChangeLogAspect {
+    private final ChangeLogService changeLog;
+    private final CollaboratorCache collaboratorCache;
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public ChangeLogAspect(ChangeLogService changeLog, CollaboratorCache collaboratorCache,
+                           ProjectRepository projectRepository, TaskRepository taskRepository,
+                           EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.changeLog = changeLog;
+        this.collaboratorCache = collaboratorCache;
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Around("@annotation(io.github.xpakx.ladder.notification.NotifyOnProjectChange)")
+    public Object logProjectChange(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceedAndLog(joinPoint, (result, changes) -> {});
+    }
+
+    @Around(value="@annotation(io.github.xpakx.ladder.notification.NotifyOnProjectDeletion) && args(projectId, userId)", argNames = "projectId,userId")
+    public Object logProjectDeletion(ProceedingJoinPoint joinPoint, Integer projectId, Integer userId) throws Throwable {
+        List<Integer> collaborators = collaboratorCache.getCollaboratorIds(projectId);
+        return proceedAndLog(joinPoint, (result, changes) -> {
+            changes.record(userId, ChangeType.PROJECT, projectId, true);
+            changes.record(collaborators, ChangeType.COLLABORATION, projectId, true);
+        });
+    }
+
+    @Around("@annotation(io.github.xpakx.ladder.notification.NotifyOnTaskChange)")
+    public Object logTaskChange(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceedAndLog(joinPoint, (result, changes) -> {});
+    }
+
+    @Around("@annotation(io.github.xpakx.ladder.notification.NotifyOnTasksChange)")
+    public Object logTasksChange(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceedAndLog(joinPoint, (result, changes) -> {});
+    }
+
+    @Around(value="@annotation(io.github.xpakx.ladder.notification.NotifyOnTaskDeletion) && args(taskId, userId)", argNames = "taskId,userId")
+    public Object logTaskDeletion(ProceedingJoinPoint joinPoint, Integer taskId, Integer userId) throws Throwable {
+        List<Integer> collab = collaboratorCache.getCollaboratorIdsByTaskId(taskId);
+        return proceedAndLog(joinPoint, (result, changes) -> {
+            changes.record(userId, ChangeType.TASK, taskId, true);
+            changes.record(collab, ChangeType.COLLAB_TASK, taskId, true);
+        });
+    }
+
+    @Around("@annotation(io.github.xpakx.ladder.notification.NotifyOnLabelChange)")
+    public Object logLabelChange(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceedAndLog(joinPoint, (result, changes) -> {});
+    }
+
+    @Around(value="@annotation(io.github.xpakx.ladder.notification.NotifyOnLabelDeletion) && args(labelId, userId)", argNames = "labelId,userId")
+    public Object logLabelDeletion(ProceedingJoinPoint joinPoint, Integer labelId, Integer userId) throws Throwable {
+        return proceedAndLog(joinPoint, (result, changes) ->
+                changes.record(userId, ChangeType.LABEL, labelId, true)
+        );
+    }
+
+    @Around("@annotation(io.github.xpakx.ladder.notification.NotifyOnHabitChange)")
+    public Object logHabitChange(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceedAndLog(joinPoint, (result, changes) -> {});
+    }
+
+    @Around(value="@annotation(io.github.xpakx.ladder.notification.NotifyOnHabitDeletion) && args(habitId, userId)", argNames = "habitId,userId")
+    public Object logHabitDeletion(ProceedingJoinPoint joinPoint, Integer habitId, Integer userId) throws Throwable {
+        return proceedAndLog(joinPoint, (result, changes) ->
+                changes.record(userId, ChangeType.HABIT, habitId, true)
+        );
+    }
+
+    @Around("@annotation(io.github.xpakx.ladder.notification.NotifyOnHabitCompletion)")
+    public Object logHabitCompletion(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceedAndLog(joinPoint, (result, changes) -> {});
+    }
+
+    @Around("@annotation(io.github.xpakx.ladder.notification.NotifyOnFilterChange)")
+    public Object logFilterChange(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceedAndLog(joinPoint, (result, changes) -> {});
+    }
+
+    @Around(value="@annotation(io.github.xpakx.ladder.notification.NotifyOnFilterDeletion) && args(filterId, userId)", argNames = "filterId,userId")
+    public Object logFilterDeletion(ProceedingJoinPoint joinPoint, Integer filterId, Integer userId) throws Throwable {
+        return proceedAndLog(joinPoint, (result, changes) ->
+                changes.record(userId, ChangeType.FILTER, filterId, true)
+        );
+    }
+
+    @Around(value="@annotation(io.github.xpakx.ladder.notification.NotifyOnImport) && args(userId, ..)", argNames = "userId")
+    public Object logImport(ProceedingJoinPoint joinPoint, Integer userId) throws Throwable {
+        return proceedAndLog(joinPoint, (result, changes) ->
+                changes.record(userId, ChangeType.ALL, null, false)
+        );
+    }
+
+    @Around("@annotation(io.github.xpakx.ladder.notification.NotifyOnCollaborationChange)")
+    public Object logCollabChange(ProceedingJoinPoint joinPoint) throws Throwable {
+        return proceedAndLog(joinPoint, (result, changes) -> {
+            if(result instanceof Collaboration) {
+                Collaboration collab = (Collaboration) result;
+                changes.record(collab.getOwner().getId(), ChangeType.COLLABORATION, collab.getProject().getId(), false);
+            }
+        });
+    }
+
+    @Around(value="@annotation(io.github.xpakx.ladder.notification.NotifyOnCollaborationDeletion) && args(collabId, projectId, ownerId)", argNames = "collabId,projectId,ownerId")
+    public Object logCollabDeletion(ProceedingJoinPoint joinPoint, Integer collabId, Integer projectId, Integer ownerId) throws Throwable {
+        return proceedAndLog(joinPoint, (result, changes) -> {
+            changes.record(ownerId, ChangeType.PROJECT, projectId, false);
+            changes.record(collabId, ChangeType.COLLABORATION, projectId, true);
+        });
+    }
+
+    @Around(value="@annotation(io.github.xpakx.ladder.notification.NotifyOnCollaborationAcceptation) && args(request, userId, collabId)", argNames = "request,userId,collabId")
+    public Object logCollabAcceptation(ProceedingJoinPoint joinPoint, BooleanRequest request, Integer userId, Integer collabId) throws Throwable {
+        return proceedAndLog(joinPoint, (result, changes) -> {
+            Optional<Integer> projectId = projectRepository.getIdByCollaborationId(collabId);
+            projectId.ifPresent((id) -> logCollabSubscription(changes, userId, id, request.isFlag()));
+        });
+    }
+
+    @Around(value="@annotation(io.github.xpakx.ladder.notification.NotifyOnCollaborationUnsubscription) && args(request, userId, projectId)", argNames = "request,userId,projectId")
+    public Object logCollabUnsubscription(ProceedingJoinPoint joinPoint, BooleanRequest request, Integer userId, Integer projectId) throws Throwable {
+        return proceedAndLog(joinPoint, (result, changes) ->
+                logCollabSubscription(changes, userId, projectId, request.isFlag())
+        );
+    }
+
+    private void logCollabSubscription(JournalChanges changes, Integer userId, Integer projectId, boolean subscribed) {
+        changes.record(userId, ChangeType.COLLABORATION, projectId, !subscribed);
+        if(subscribed) {
+            for(Integer taskId : taskRepository.findIdByProjectIdAndArchived(projectId, false)) {
+                changes.record(userId, ChangeType.COLLAB_TASK, taskId, false);
+            }
+        }
+    }
+
+    private void logEntityChanges(JournalChanges changes) {
+        for(JournalChanges.ChangedEntity entity : new ArrayList<>(changes.getEntities())) {
+            changes.record(entity.getOwnerId(), entity.getType(), entity.getId(), entity.isDeleted());
+            if(entity.getType() == ChangeType.TASK) {
+                changes.record(collaboratorCache.getCollaboratorIds(entity.getProjectId()), ChangeType.COLLAB_TASK, entity.getId(), entity.isDeleted());
+            } else if(entity.getType() == ChangeType.PROJECT && !entity.isDeleted()) {
+                changes.record(collaboratorCache.getCollaboratorIds(entity.getId()), ChangeType.COLLABORATION, entity.getId(), false);
+            }
+        }
+    }
+
+    /**
+     * Run operation in a transaction and write its changes to the journal before commit.
+     * Nested operations add their changes to the outermost one, which writes all of them at once.
+     */
+    private Object proceedAndLog(ProceedingJoinPoint joinPoint, JournalWriter writer) throws Throwable {
+        try {
+            return transactionTemplate.execute((status) -> {
+                boolean outermost = JournalChanges.current() == null;
+                JournalChanges changes = outermost ? JournalChanges.bind() : JournalChanges.current();
+                try {
+                    Object result = proceed(joinPoint);
+                    writer.write(result, changes);
+                    if(outermost) {
+                        entityManager.flush();
+                        logEntityChanges(changes);
+                        changeLog.write(changes.getEntries());
+                    }
+                    return result;
+                } finally {
+                    if(outermost) {
+                        JournalChanges.unbind();
+                    }
+                }
+            });
+        } catch (UndeclaredThrowableException e) {
+            throw e.getUndeclaredThrowable();
+        }
+    }
+
+    private Object proceed(ProceedingJoinPoint joinPoint) {
+        try {
+            return joinPoint.proceed();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new UndeclaredThrowableException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface JournalWriter {
+        void write(Object result, JournalChanges changes);
+    }
+}
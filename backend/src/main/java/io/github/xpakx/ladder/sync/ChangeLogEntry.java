@@ -0,0 +1,32 @@
+package io.github.xpakx.ladder.sync;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(indexes = {
+        @Index(name = "change_log_user_seq_idx", columnList = "userId, seq", unique = true),
+        @Index(name = "change_log_created_at_idx", columnList = "createdAt")
+})
+public class ChangeLogEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Integer userId;
+    private Long seq;
+
+    @Enumerated(EnumType.STRING)
+    private ChangeType type;
+
+    private Integer entityId;
+    private boolean deleted;
+    private LocalDateTime createdAt;
+}
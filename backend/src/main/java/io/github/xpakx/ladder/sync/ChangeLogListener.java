@@ -0,0 +1,61 @@
+package io.github.xpakx.ladder.sync;
+
+import io.github.xpakx.ladder.filter.Filter;
+import io.github.xpakx.ladder.habit.Habit;
+import io.github.xpakx.ladder.habit.HabitCompletion;
+import io.github.xpakx.ladder.label.Label;
+import io.github.xpakx.ladder.project.Project;
+import io.github.xpakx.ladder.task.Task;
+import io.github.xpakx.ladder.user.UserAccount;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Reports every inserted, updated and removed entity to the changes of the current transaction,
+ * so the journal gets IDs of all entities changed by an operation, subtasks and siblings included.
+ */
+public class ChangeLogListener {
+    @PostPersist
+    @PostUpdate
+    public void entityChanged(Object entity) {
+        report(entity, false);
+    }
+
+    @PostRemove
+    public void entityRemoved(Object entity) {
+        report(entity, true);
+    }
+
+    private void report(Object entity, boolean deleted) {
+        JournalChanges changes = JournalChanges.current();
+        if(changes == null) {
+            return;
+        }
+        if(entity instanceof Task) {
+            Task task = (Task) entity;
+            Integer projectId = task.getProject() != null ? task.getProject().getId() : null;
+            changes.entityChanged(ChangeType.TASK, task.getId(), getId(task.getOwner()), projectId, deleted);
+        } else if(entity instanceof Project) {
+            Project project = (Project) entity;
+            changes.entityChanged(ChangeType.PROJECT, project.getId(), getId(project.getOwner()), project.getId(), deleted);
+        } else if(entity instanceof Label) {
+            Label label = (Label) entity;
+            changes.entityChanged(ChangeType.LABEL, label.getId(), getId(label.getOwner()), null, deleted);
+        } else if(entity instanceof Habit) {
+            Habit habit = (Habit) entity;
+            changes.entityChanged(ChangeType.HABIT, habit.getId(), getId(habit.getOwner()), null, deleted);
+        } else if(entity instanceof HabitCompletion) {
+            HabitCompletion completion = (HabitCompletion) entity;
+            changes.entityChanged(ChangeType.HABIT_COMPLETION, completion.getId(), getId(completion.getOwner()), null, deleted);
+        } else if(entity instanceof Filter) {
+            Filter filter = (Filter) entity;
+            changes.entityChanged(ChangeType.FILTER, filter.getId(), getId(filter.getOwner()), null, deleted);
+        }
+    }
+
+    private Integer getId(UserAccount user) {
+        return user != null ? user.getId() : null;
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.xpakx.ladder.sync;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+    List<ChangeLogEntry> findByUserIdAndSeqGreaterThanAndSeqLessThanEqualOrderBySeqAsc(Integer userId, Long from, Long to);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ChangeLogEntry e WHERE e.createdAt < :date")
+    int deleteCreatedBefore(LocalDateTime date);
+}
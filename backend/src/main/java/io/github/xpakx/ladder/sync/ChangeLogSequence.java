@@ -0,0 +1,22 @@
+package io.github.xpakx.ladder.sync;
+
+import lombok.*;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * Last journal sequence number assigned to a user. The row is locked by the update that reserves
+ * new numbers and stays locked until the transaction commits, so user's entries are committed
+ * in the order of their sequence numbers.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeLogSequence {
+    @Id
+    private Integer userId;
+    private Long lastValue;
+}
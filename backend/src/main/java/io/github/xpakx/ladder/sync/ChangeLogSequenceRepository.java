@@ -0,0 +1,23 @@
+package io.github.xpakx.ladder.sync;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface ChangeLogSequenceRepository extends JpaRepository<ChangeLogSequence, Integer> {
+    @Query("SELECT s.lastValue FROM ChangeLogSequence s WHERE s.userId = :userId")
+    Optional<Long> getLastValueByUserId(Integer userId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ChangeLogSequence s SET s.lastValue = s.lastValue + :count WHERE s.userId = :userId")
+    int increment(Integer userId, long count);
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO change_log_sequence (user_id, last_value) VALUES (:userId, 0)", nativeQuery = true)
+    int create(Integer userId);
+}
@@ -0,0 +1,112 @@
+package io.github.xpakx.ladder.sync;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+public class ChangeLogService {
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeLogSequenceRepository sequenceRepository;
+    private final TransactionTemplate newTransaction;
+    private final int retentionDays;
+    private final int maxEntries;
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeLogService.class);
+
+    public ChangeLogService(ChangeLogRepository changeLogRepository,
+                            ChangeLogSequenceRepository sequenceRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${sync.journal.retention-days:7}") int retentionDays,
+                            @Value("${sync.journal.max-entries:10000}") int maxEntries) {
+        this.changeLogRepository = changeLogRepository;
+        this.sequenceRepository = sequenceRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.retentionDays = retentionDays;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Append entries to the journal. Must be called inside a transaction. Every user's sequence
+     * stays locked until the transaction commits, so concurrent writes for the same user
+     * are serialized and sequence numbers follow commit order. Sequences are locked
+     * in order of user IDs to avoid deadlocks.
+     * @param entries Entries to write, without sequence numbers
+     */
+    public void write(Collection<ChangeLogEntry> entries) {
+        Map<Integer, List<ChangeLogEntry>> entriesByUser = entries.stream()
+                .collect(Collectors.groupingBy(ChangeLogEntry::getUserId, TreeMap::new, Collectors.toList()));
+        LocalDateTime now = LocalDateTime.now();
+        List<ChangeLogEntry> toSave = new ArrayList<>();
+        entriesByUser.forEach((userId, userEntries) -> {
+            long seq = reserve(userId, userEntries.size()) - userEntries.size();
+            for(ChangeLogEntry entry : userEntries) {
+                entry.setSeq(++seq);
+                entry.setCreatedAt(now);
+                toSave.add(entry);
+            }
+        });
+        if(toSave.size() > 0) {
+            changeLogRepository.saveAll(toSave);
+        }
+    }
+
+    private long reserve(Integer userId, int count) {
+        if(sequenceRepository.increment(userId, count) == 0) {
+            createSequence(userId);
+            sequenceRepository.increment(userId, count);
+        }
+        return sequenceRepository.getLastValueByUserId(userId)
+                .orElseThrow(() -> new IllegalStateException("No journal sequence for user " + userId));
+    }
+
+    private void createSequence(Integer userId) {
+        try {
+            newTransaction.executeWithoutResult((status) -> sequenceRepository.create(userId));
+        } catch (DataIntegrityViolationException e) {
+            // created concurrently by another transaction
+        }
+    }
+
+    /**
+     * Get cursor of the newest committed entry for user.
+     * @param userId ID of a user
+     * @return Sequence number of the newest entry, 0 if there are no entries
+     */
+    public Long getCurrentCursor(Integer userId) {
+        return sequenceRepository.getLastValueByUserId(userId).orElse(0L);
+    }
+
+    /**
+     * Get journal entries for user after given cursor up to current cursor.
+     * @param userId ID of a user
+     * @param cursor Last sequence number known to the client
+     * @param current Current cursor of the user
+     * @return Entries in order of sequence numbers, or empty if cursor is unknown, there are
+     * too many entries to sync them one by one, or some of them were already compacted
+     */
+    public Optional<List<ChangeLogEntry>> getEntriesBetween(Integer userId, Long cursor, Long current) {
+        if(cursor == null || cursor < 0 || cursor > current || current - cursor > maxEntries) {
+            return Optional.empty();
+        }
+        List<ChangeLogEntry> entries = changeLogRepository
+                .findByUserIdAndSeqGreaterThanAndSeqLessThanEqualOrderBySeqAsc(userId, cursor, current);
+        return entries.size() == current - cursor ? Optional.of(entries) : Optional.empty();
+    }
+
+    @Scheduled(cron = "${sync.journal.compaction-cron:0 0 3 * * *}")
+    public void compact() {
+        int deleted = changeLogRepository.deleteCreatedBefore(LocalDateTime.now().minusDays(retentionDays));
+        LOG.info("Compacted change log. Deleted {} entries", deleted);
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.xpakx.ladder.sync;
+
+public enum ChangeType {
+    PROJECT,
+    TASK,
+    LABEL,
+    HABIT,
+    HABIT_COMPLETION,
+    FILTER,
+    COLLABORATION,
+    COLLAB_TASK,
+    ALL
+}
@@ -0,0 +1,110 @@
+package io.github.xpakx.ladder.sync;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Changes made in the current transaction which should be written to the journal.
+ * Bound to the transaction by {@link ChangeLogAspect}, entities report their changes
+ * through {@link ChangeLogListener}.
+ */
+public class JournalChanges {
+    private final List<ChangedEntity> entities = new ArrayList<>();
+    private final Map<List<Object>, ChangeLogEntry> entries = new LinkedHashMap<>();
+
+    static JournalChanges current() {
+        return (JournalChanges) TransactionSynchronizationManager.getResource(JournalChanges.class);
+    }
+
+    static JournalChanges bind() {
+        JournalChanges changes = new JournalChanges();
+        TransactionSynchronizationManager.bindResource(JournalChanges.class, changes);
+        return changes;
+    }
+
+    static void unbind() {
+        TransactionSynchronizationManager.unbindResourceIfPossible(JournalChanges.class);
+    }
+
+    /**
+     * Report tasks changed with bulk queries, which don't trigger entity callbacks.
+     * Ignored outside of journaled operations.
+     * @param ids IDs of changed tasks
+     * @param ownerId ID of an owner of tasks
+     * @param projectId ID of a project of tasks
+     */
+    public static void tasksChanged(Collection<Integer> ids, Integer ownerId, Integer projectId) {
+        JournalChanges changes = current();
+        if(changes == null) {
+            return;
+        }
+        for(Integer id : ids) {
+            changes.entityChanged(ChangeType.TASK, id, ownerId, projectId, false);
+        }
+    }
+
+    void entityChanged(ChangeType type, Integer id, Integer ownerId, Integer projectId, boolean deleted) {
+        entities.add(new ChangedEntity(type, id, ownerId, projectId, deleted));
+    }
+
+    List<ChangedEntity> getEntities() {
+        return entities;
+    }
+
+    /**
+     * Add entries for given users. Repeated entries are written once, deletion takes precedence over change.
+     * @param userIds IDs of users whose data changed
+     * @param type Type of changed entity
+     * @param entityId ID of changed entity, null only for {@link ChangeType#ALL}
+     * @param deleted True if entity was deleted
+     */
+    void record(Collection<Integer> userIds, ChangeType type, Integer entityId, boolean deleted) {
+        for(Integer userId : userIds) {
+            if(userId == null) {
+                continue;
+            }
+            ChangeLogEntry entry = entries.computeIfAbsent(
+                    Arrays.asList(userId, type, entityId),
+                    (key) -> ChangeLogEntry.builder()
+                            .userId(userId)
+                            .type(type)
+                            .entityId(entityId)
+                            .build()
+            );
+            entry.setDeleted(entry.isDeleted() || deleted);
+        }
+    }
+
+    void record(Integer userId, ChangeType type, Integer entityId, boolean deleted) {
+        record(Collections.singletonList(userId), type, entityId, deleted);
+    }
+
+    /**
+     * Get entries to write. Users with {@link ChangeType#ALL} entry get only that entry,
+     * as they will fetch all their data anyway.
+     * @return Entries without repetitions
+     */
+    Collection<ChangeLogEntry> getEntries() {
+        Set<Integer> syncingAll = entries.values().stream()
+                .filter((a) -> a.getType() == ChangeType.ALL)
+                .map(ChangeLogEntry::getUserId)
+                .collect(Collectors.toSet());
+        return entries.values().stream()
+                .filter((a) -> a.getType() == ChangeType.ALL || !syncingAll.contains(a.getUserId()))
+                .collect(Collectors.toList());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class ChangedEntity {
+        private final ChangeType type;
+        private final Integer id;
+        private final Integer ownerId;
+        private final Integer projectId;
+        private final boolean deleted;
+    }
+}
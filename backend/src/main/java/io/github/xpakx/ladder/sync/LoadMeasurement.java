@@ -0,0 +1,62 @@
+package io.github.xpakx.ladder.sync;
+
+import com.sun.management.ThreadMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time to first byte, total time and bytes allocated while loading all user's data. Both endpoints
+ * loading all data log it in the same format, so the buffered and the streamed response can be compared.
+ */
+class LoadMeasurement {
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final Logger LOG = LoggerFactory.getLogger(LoadMeasurement.class);
+
+    private final String endpoint;
+    private final Integer userId;
+    private final long start = System.nanoTime();
+    private final AtomicLong allocated = new AtomicLong();
+    private long firstByte = -1;
+
+    LoadMeasurement(String endpoint, Integer userId) {
+        this.endpoint = endpoint;
+        this.userId = userId;
+    }
+
+    /**
+     * Bytes allocated so far by the current thread, or 0 if the JVM doesn't measure it
+     */
+    static long getAllocatedBytes() {
+        if (!THREADS.isThreadAllocatedMemorySupported() || !THREADS.isThreadAllocatedMemoryEnabled()) {
+            return 0;
+        }
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Add bytes allocated by one of the threads loading the data
+     */
+    void addAllocatedBytes(long bytes) {
+        allocated.addAndGet(bytes);
+    }
+
+    void firstByteWritten() {
+        if (firstByte < 0) {
+            firstByte = System.nanoTime();
+        }
+    }
+
+    void finish() {
+        long end = System.nanoTime();
+        LOG.info("Loaded data for user {} from {}. Time to first byte: {}ms, total time: {}ms, allocated: {}MB",
+                userId,
+                endpoint,
+                firstByte < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(firstByte - start),
+                TimeUnit.NANOSECONDS.toMillis(end - start),
+                allocated.get() / (1024 * 1024));
+    }
+}
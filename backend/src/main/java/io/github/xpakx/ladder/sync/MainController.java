@@ -1,15 +1,20 @@
 package io.github.xpakx.ladder.sync;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import io.github.xpakx.ladder.collaboration.dto.CollabTaskDetails;
 import io.github.xpakx.ladder.common.dto.IdCollectionRequest;
+import io.github.xpakx.ladder.sync.dto.CursorRequest;
+import io.github.xpakx.ladder.sync.dto.JournalSyncData;
 import io.github.xpakx.ladder.sync.dto.NotificationDateRequest;
 import io.github.xpakx.ladder.sync.dto.SyncData;
-import io.github.xpakx.ladder.sync.dto.UserWithData;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -18,11 +23,20 @@ import java.util.List;
 @AllArgsConstructor
 public class MainController {
     private final MainService service;
+    private final MainStreamService streamService;
 
     @PreAuthorize("#userId.toString() == authentication.principal.username")
-    @GetMapping("/all")
-    public ResponseEntity<UserWithData> getListOfProjectsTasksAndLabels(@PathVariable Integer userId) {
-        return new ResponseEntity<>(service.getAll(userId), HttpStatus.OK);
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getListOfProjectsTasksAndLabels(@PathVariable Integer userId) throws JsonProcessingException {
+        return new ResponseEntity<>(service.getAllAsJson(userId), HttpStatus.OK);
+    }
+
+    @PreAuthorize("#userId.toString() == authentication.principal.username")
+    @GetMapping(value = "/all/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamListOfProjectsTasksAndLabels(@PathVariable Integer userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return new ResponseEntity<>(streamService.streamAll(userId), headers, HttpStatus.OK);
     }
 
     @PreAuthorize("#userId.toString() == authentication.principal.username")
@@ -31,6 +45,12 @@ public class MainController {
         return new ResponseEntity<>(service.sync(time, userId), HttpStatus.OK);
     }
 
+    @PreAuthorize("#userId.toString() == authentication.principal.username")
+    @PostMapping("/sync/journal")
+    public ResponseEntity<JournalSyncData> syncByCursor(@RequestBody CursorRequest cursor, @PathVariable Integer userId) {
+        return new ResponseEntity<>(service.syncByCursor(cursor, userId), HttpStatus.OK);
+    }
+
     @PreAuthorize("#userId.toString() == authentication.principal.username")
     @PostMapping("/sync/collab/tasks")
     public ResponseEntity<List<CollabTaskDetails>> sync(@RequestBody IdCollectionRequest projectIds, @PathVariable Integer userId) {
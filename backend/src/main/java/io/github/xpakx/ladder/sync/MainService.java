@@ -1,9 +1,14 @@
 package io.github.xpakx.ladder.sync;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.xpakx.ladder.collaboration.CollaborationRepository;
 import io.github.xpakx.ladder.collaboration.dto.CollabTaskDetails;
 import io.github.xpakx.ladder.collaboration.dto.CollaborationWithProject;
 import io.github.xpakx.ladder.common.dto.IdCollectionRequest;
+import io.github.xpakx.ladder.sync.dto.CursorRequest;
+import io.github.xpakx.ladder.sync.dto.DeletedEntity;
+import io.github.xpakx.ladder.sync.dto.JournalSyncData;
 import io.github.xpakx.ladder.sync.dto.NotificationDateRequest;
 import io.github.xpakx.ladder.sync.dto.SyncData;
 import io.github.xpakx.ladder.common.error.NotFoundException;
@@ -25,7 +30,7 @@ import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
@@ -39,10 +44,29 @@ public class MainService {
     private final FilterRepository filterRepository;
     private final HabitCompletionRepository habitCompletionRepository;
     private final CollaborationRepository collaborationRepository;
+    private final ChangeLogService changeLogService;
+    private final ObjectMapper mapper;
+
+    /**
+     * Get all user's data serialized to JSON, measured the same way as {@link MainStreamService#streamAll(Integer)}.
+     * The whole body is written at once, so time to first byte is the time it takes to build it.
+     * @param userId ID of a user
+     * @return JSON of {@link UserWithData}
+     */
+    public byte[] getAllAsJson(Integer userId) throws JsonProcessingException {
+        LoadMeasurement measurement = new LoadMeasurement("/all", userId);
+        long allocatedBefore = LoadMeasurement.getAllocatedBytes();
+        byte[] body = mapper.writeValueAsBytes(getAll(userId));
+        measurement.addAllocatedBytes(LoadMeasurement.getAllocatedBytes() - allocatedBefore);
+        measurement.firstByteWritten();
+        measurement.finish();
+        return body;
+    }
 
     public UserWithData getAll(Integer userId) {
         UserWithData result = new UserWithData();
         result.setId(userId);
+        result.setCursor(changeLogService.getCurrentCursor(userId));
         result.setUsername(userAccountRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("No user with id " + userId)).getUsername());
         result.setProjectCollapsed(true);
@@ -63,15 +87,18 @@ public class MainService {
                 CollabTaskDetails.class
         ));
 
-        LocalDateTime today = LocalDateTime.now();
-        today = today.minusHours(today.getHour())
-                    .minusMinutes(today.getMinute())
-                    .minusSeconds(today.getSecond());
-        result.setTodayHabitCompletions(habitCompletionRepository.findByOwnerIdAndDateAfter(userId, today, HabitCompletionDetails.class));
+        result.setTodayHabitCompletions(habitCompletionRepository.findByOwnerIdAndDateAfter(userId, getStartOfToday(), HabitCompletionDetails.class));
 
         return result;
     }
 
+    static LocalDateTime getStartOfToday() {
+        LocalDateTime today = LocalDateTime.now();
+        return today.minusHours(today.getHour())
+                .minusMinutes(today.getMinute())
+                .minusSeconds(today.getSecond());
+    }
+
     public SyncData sync(NotificationDateRequest time, Integer userId) {
         SyncData result = new SyncData();
         result.setProjects(
@@ -111,6 +138,91 @@ public class MainService {
         return result;
     }
 
+    /**
+     * Get changes recorded in the journal after given cursor. If some of the entries
+     * after the cursor were already compacted, or the journal requires it, all user's data is returned.
+     * @param request Request with last cursor known to the client
+     * @param userId ID of a user
+     * @return Changed entities, deleted entities and new cursor
+     */
+    public JournalSyncData syncByCursor(CursorRequest request, Integer userId) {
+        JournalSyncData result = new JournalSyncData();
+        Long cursor = changeLogService.getCurrentCursor(userId);
+        Optional<List<ChangeLogEntry>> entries = changeLogService.getEntriesBetween(userId, request.getCursor(), cursor);
+        if(entries.isEmpty() || entries.get().stream().anyMatch((a) -> a.getType() == ChangeType.ALL)) {
+            return fullSync(result, userId);
+        }
+        result.setCursor(cursor);
+        result.setFullSync(false);
+        result.setDeleted(
+                entries.get().stream()
+                        .filter(ChangeLogEntry::isDeleted)
+                        .map((a) -> new DeletedEntity(a.getType(), a.getEntityId()))
+                        .collect(Collectors.toList())
+        );
+        result.setChanges(getChanges(entries.get(), userId));
+        return result;
+    }
+
+    private JournalSyncData fullSync(JournalSyncData result, Integer userId) {
+        UserWithData all = getAll(userId);
+        result.setFullSync(true);
+        result.setAll(all);
+        result.setCursor(all.getCursor());
+        result.setDeleted(new ArrayList<>());
+        return result;
+    }
+
+    private SyncData getChanges(List<ChangeLogEntry> entries, Integer userId) {
+        Map<ChangeType, List<Integer>> ids = entries.stream()
+                .filter((a) -> !a.isDeleted() && a.getEntityId() != null)
+                .collect(Collectors.groupingBy(
+                        ChangeLogEntry::getType,
+                        () -> new EnumMap<>(ChangeType.class),
+                        Collectors.mapping(ChangeLogEntry::getEntityId, Collectors.collectingAndThen(Collectors.toSet(), ArrayList::new))
+                ));
+        SyncData result = new SyncData();
+        result.setProjects(ids.containsKey(ChangeType.PROJECT) ?
+                projectRepository.findProjectedByOwnerIdAndIdIn(userId, ids.get(ChangeType.PROJECT), ProjectDetails.class) :
+                new ArrayList<>());
+        result.setTasks(ids.containsKey(ChangeType.TASK) ?
+                taskRepository.findProjectedByOwnerIdAndIdIn(userId, ids.get(ChangeType.TASK), TaskDetails.class) :
+                new ArrayList<>());
+        result.setLabels(ids.containsKey(ChangeType.LABEL) ?
+                labelRepository.findProjectedByOwnerIdAndIdIn(userId, ids.get(ChangeType.LABEL), LabelDetails.class) :
+                new ArrayList<>());
+        result.setHabits(ids.containsKey(ChangeType.HABIT) ?
+                habitRepository.findProjectedByOwnerIdAndIdIn(userId, ids.get(ChangeType.HABIT), HabitDetails.class) :
+                new ArrayList<>());
+        result.setHabitCompletions(ids.containsKey(ChangeType.HABIT_COMPLETION) ?
+                habitCompletionRepository.findProjectedByOwnerIdAndIdIn(userId, ids.get(ChangeType.HABIT_COMPLETION), HabitCompletionDetails.class) :
+                new ArrayList<>());
+        result.setFilters(ids.containsKey(ChangeType.FILTER) ?
+                filterRepository.findProjectedByOwnerIdAndIdIn(userId, ids.get(ChangeType.FILTER), FilterDetails.class) :
+                new ArrayList<>());
+        List<CollaborationWithProject> collabProjects = new ArrayList<>();
+        if(ids.containsKey(ChangeType.COLLABORATION) || ids.containsKey(ChangeType.COLLAB_TASK)) {
+            collabProjects = collaborationRepository.findCollabsByUserIdAndNotArchived(userId, CollaborationWithProject.class);
+        }
+        List<Integer> collabProjectIds = collabProjects.stream()
+                .filter((a) -> a.getProject() != null)
+                .map((a) -> a.getProject().getId())
+                .collect(Collectors.toList());
+        Set<Integer> changedCollabs = new HashSet<>(ids.getOrDefault(ChangeType.COLLABORATION, List.of()));
+        result.setCollabs(collabProjects.stream()
+                .filter((a) -> a.getProject() != null && changedCollabs.contains(a.getProject().getId()))
+                .collect(Collectors.toList()));
+        result.setCollabTasks(ids.containsKey(ChangeType.COLLAB_TASK) && collabProjectIds.size() > 0 ?
+                taskRepository.findByIdInAndProjectIdInAndArchived(
+                        ids.get(ChangeType.COLLAB_TASK),
+                        collabProjectIds,
+                        false,
+                        CollabTaskDetails.class
+                ) :
+                new ArrayList<>());
+        return result;
+    }
+
     public List<CollabTaskDetails> syncCollabTasks(IdCollectionRequest ids, Integer userId) {
         return  taskRepository.getTasksInProjectsForCollaborator(
                 ids.getIds(),
@@ -0,0 +1,188 @@
+package io.github.xpakx.ladder.sync;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.xpakx.ladder.collaboration.CollaborationRepository;
+import io.github.xpakx.ladder.collaboration.dto.CollabTaskDetails;
+import io.github.xpakx.ladder.collaboration.dto.CollaborationWithProject;
+import io.github.xpakx.ladder.common.error.NotFoundException;
+import io.github.xpakx.ladder.filter.FilterRepository;
+import io.github.xpakx.ladder.filter.dto.FilterDetails;
+import io.github.xpakx.ladder.habit.HabitCompletionRepository;
+import io.github.xpakx.ladder.habit.HabitRepository;
+import io.github.xpakx.ladder.habit.dto.HabitCompletionDetails;
+import io.github.xpakx.ladder.habit.dto.HabitDetails;
+import io.github.xpakx.ladder.label.LabelRepository;
+import io.github.xpakx.ladder.label.dto.LabelDetails;
+import io.github.xpakx.ladder.project.ProjectRepository;
+import io.github.xpakx.ladder.project.dto.ProjectDetails;
+import io.github.xpakx.ladder.task.TaskRepository;
+import io.github.xpakx.ladder.task.dto.TaskDetails;
+import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.user.UserAccountRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Service
+public class MainStreamService {
+    private final UserAccountRepository userAccountRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final LabelRepository labelRepository;
+    private final HabitRepository habitRepository;
+    private final FilterRepository filterRepository;
+    private final HabitCompletionRepository habitCompletionRepository;
+    private final CollaborationRepository collaborationRepository;
+    private final ChangeLogService changeLogService;
+    private final ObjectMapper mapper;
+    private final ExecutorService executor;
+    private static final Logger LOG = LoggerFactory.getLogger(MainStreamService.class);
+    private static final int SECTIONS = 8;
+
+    public MainStreamService(UserAccountRepository userAccountRepository, ProjectRepository projectRepository,
+                             TaskRepository taskRepository, LabelRepository labelRepository,
+                             HabitRepository habitRepository, FilterRepository filterRepository,
+                             HabitCompletionRepository habitCompletionRepository,
+                             CollaborationRepository collaborationRepository,
+                             ChangeLogService changeLogService, ObjectMapper mapper,
+                             @Value("${sync.stream.threads:4}") int threads,
+                             @Value("${sync.stream.queue:256}") int queueCapacity) {
+        this.userAccountRepository = userAccountRepository;
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.labelRepository = labelRepository;
+        this.habitRepository = habitRepository;
+        this.filterRepository = filterRepository;
+        this.habitCompletionRepository = habitCompletionRepository;
+        this.collaborationRepository = collaborationRepository;
+        this.changeLogService = changeLogService;
+        this.mapper = mapper;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Get all user's data as a stream. Queries are executed concurrently and every
+     * section is written to the response as soon as it is ready. If a query fails, the remaining
+     * sections are skipped and an {@code error} field closes the response.
+     * @param userId ID of a user
+     * @return Response body with the same fields as {@link UserWithData}
+     */
+    public StreamingResponseBody streamAll(Integer userId) {
+        LoadMeasurement measurement = new LoadMeasurement("/all/stream", userId);
+        long allocatedBefore = LoadMeasurement.getAllocatedBytes();
+        UserAccount user = userAccountRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException("No user with id " + userId));
+        Long cursor = changeLogService.getCurrentCursor(userId);
+        measurement.addAllocatedBytes(LoadMeasurement.getAllocatedBytes() - allocatedBefore);
+        CompletionService<Section> sections = new ExecutorCompletionService<>(executor);
+        submitIndependentQueries(sections, userId);
+        return (out) -> writeResponse(out, user, cursor, sections, measurement);
+    }
+
+    private void submitIndependentQueries(CompletionService<Section> sections, Integer userId) {
+        sections.submit(section("projects",
+                () -> projectRepository.findByOwnerIdAndArchived(userId, false, ProjectDetails.class)));
+        sections.submit(section("tasks",
+                () -> taskRepository.findByOwnerIdAndArchived(userId, false, TaskDetails.class)));
+        sections.submit(section("labels",
+                () -> labelRepository.findByOwnerId(userId, LabelDetails.class)));
+        sections.submit(section("habits",
+                () -> habitRepository.findByOwnerIdAndArchived(userId, false, HabitDetails.class)));
+        sections.submit(section("filters",
+                () -> filterRepository.findByOwnerId(userId, FilterDetails.class)));
+        sections.submit(section("todayHabitCompletions",
+                () -> habitCompletionRepository.findByOwnerIdAndDateAfter(userId, MainService.getStartOfToday(), HabitCompletionDetails.class)));
+        sections.submit(section("collabs",
+                () -> collaborationRepository.findCollabsByUserIdAndNotArchived(userId, CollaborationWithProject.class)));
+    }
+
+    private void submitCollabTasksQuery(CompletionService<Section> sections, List<?> collabs) {
+        List<Integer> projectIds = collabs.stream()
+                .map((a) -> (CollaborationWithProject) a)
+                .filter((a) -> a.getProject() != null)
+                .map((a) -> a.getProject().getId())
+                .collect(Collectors.toList());
+        sections.submit(section("collabTasks",
+                () -> taskRepository.findByProjectIdInAndArchived(projectIds, false, CollabTaskDetails.class)));
+    }
+
+    /**
+     * Wrap a query so that the resulting section carries the number of bytes allocated
+     * by the thread that executed it.
+     */
+    private Callable<Section> section(String name, Supplier<List<?>> query) {
+        return () -> {
+            long before = LoadMeasurement.getAllocatedBytes();
+            List<?> content = query.get();
+            return new Section(name, content, LoadMeasurement.getAllocatedBytes() - before);
+        };
+    }
+
+    private void writeResponse(OutputStream out, UserAccount user, Long cursor,
+                               CompletionService<Section> sections, LoadMeasurement measurement) throws IOException {
+        long writerBefore = LoadMeasurement.getAllocatedBytes();
+        try (JsonGenerator generator = mapper.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeNumberField("id", user.getId());
+            generator.writeNumberField("cursor", cursor);
+            generator.writeStringField("username", user.getUsername());
+            generator.writeBooleanField("projectCollapsed", true);
+            try {
+                for (int written = 0; written < SECTIONS; written++) {
+                    Section section = takeSection(sections);
+                    measurement.addAllocatedBytes(section.getAllocatedBytes());
+                    if ("collabs".equals(section.getName())) {
+                        submitCollabTasksQuery(sections, section.getContent());
+                    }
+                    generator.writeFieldName(section.getName());
+                    generator.writeObject(section.getContent());
+                    generator.flush();
+                    measurement.firstByteWritten();
+                }
+            } catch (ExecutionException e) {
+                LOG.error("Cannot load data for user {}", user.getId(), e.getCause());
+                generator.writeStringField("error", "Cannot load data");
+            }
+            generator.writeEndObject();
+        }
+        measurement.addAllocatedBytes(LoadMeasurement.getAllocatedBytes() - writerBefore);
+        measurement.finish();
+    }
+
+    private Section takeSection(CompletionService<Section> sections) throws IOException, ExecutionException {
+        try {
+            return sections.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading data", e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Section {
+        private final String name;
+        private final List<?> content;
+        private final long allocatedBytes;
+    }
+}
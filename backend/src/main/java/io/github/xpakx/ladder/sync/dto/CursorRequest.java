@@ -0,0 +1,10 @@
+package io.github.xpakx.ladder.sync.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CursorRequest {
+    private Long cursor;
+}
@@ -0,0 +1,16 @@
+package io.github.xpakx.ladder.sync.dto;
+
+import io.github.xpakx.ladder.sync.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeletedEntity {
+    private ChangeType type;
+    private Integer id;
+}
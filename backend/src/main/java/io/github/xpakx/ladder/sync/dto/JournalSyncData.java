@@ -0,0 +1,16 @@
+package io.github.xpakx.ladder.sync.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class JournalSyncData {
+    private Long cursor;
+    private boolean fullSync;
+    private UserWithData all;
+    private SyncData changes;
+    private List<DeletedEntity> deleted;
+}
@@ -17,6 +17,7 @@ import java.util.List;
 @Getter
 public class UserWithData {
     private Integer id;
+    private Long cursor;
     private String username;
     private boolean projectCollapsed;
     private List<ProjectDetails> projects;
@@ -5,14 +5,17 @@ import io.github.xpakx.ladder.label.Label;
 import io.github.xpakx.ladder.comment.TaskComment;
 import io.github.xpakx.ladder.user.UserAccount;
 import io.github.xpakx.ladder.project.Project;
+import io.github.xpakx.ladder.sync.ChangeLogListener;
 import lombok.*;
 
 import javax.persistence.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 
 @Entity
+@EntityListeners(ChangeLogListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,15 +31,31 @@ import java.util.Set;
 				              @NamedAttributeNode("assigned")}
     )
 })
+@Table(indexes = {
+        @Index(name = "task_daily_view_idx", columnList = "user_account_id, dueDay, dailyViewOrder"),
+        @Index(name = "task_owner_modified_at_idx", columnList = "user_account_id, modifiedAt"),
+        @Index(name = "task_owner_archived_idx", columnList = "user_account_id, archived"),
+        @Index(name = "task_project_parent_idx", columnList = "project_id, parent_id, projectOrder"),
+        @Index(name = "task_owner_parent_idx", columnList = "user_account_id, parent_id, projectOrder"),
+        @Index(name = "task_parent_idx", columnList = "parent_id")
+})
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Integer id;
 
     private String title;
     private String description;
 
     private LocalDateTime due;
+
+    /**
+     * Calendar day of due date, kept by the entity to find tasks of a day with an index
+     */
+    @JsonIgnore
+    private LocalDate dueDay;
+
     private boolean timeboxed;
     private LocalDateTime completedAt;
     private boolean completed;
@@ -87,4 +106,10 @@ public class Task {
     @ManyToOne
     @JoinColumn(name = "assigned_user_id")
     private UserAccount assigned;
+
+    @PrePersist
+    @PreUpdate
+    void updateDueDay() {
+        this.dueDay = due != null ? due.toLocalDate() : null;
+    }
 }
@@ -0,0 +1,28 @@
+package io.github.xpakx.ladder.task;
+
+import io.github.xpakx.ladder.task.dto.BulkTaskRequest;
+import io.github.xpakx.ladder.task.dto.TaskUpdateDto;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/{userId}")
+@AllArgsConstructor
+public class TaskBulkController {
+    private final TaskBulkService taskService;
+
+    @PreAuthorize("#userId.toString() == authentication.principal.username")
+    @PutMapping("/tasks/bulk")
+    public ResponseEntity<List<TaskUpdateDto>> updateTasks(@RequestBody BulkTaskRequest request, @PathVariable Integer userId) {
+        return new ResponseEntity<>(
+                taskService.updateTasks(request, userId).stream().map(TaskUpdateDto::from).collect(Collectors.toList()),
+                HttpStatus.OK
+        );
+    }
+}
@@ -0,0 +1,251 @@
+package io.github.xpakx.ladder.task;
+
+import io.github.xpakx.ladder.common.error.NotFoundException;
+import io.github.xpakx.ladder.common.error.WrongBulkOperationException;
+import io.github.xpakx.ladder.common.order.SparseOrderService;
+import io.github.xpakx.ladder.label.Label;
+import io.github.xpakx.ladder.notification.NotifyOnTasksChange;
+import io.github.xpakx.ladder.project.Project;
+import io.github.xpakx.ladder.project.ProjectRepository;
+import io.github.xpakx.ladder.stats.CompletionCountService;
+import io.github.xpakx.ladder.task.dto.BulkTaskRequest;
+import io.github.xpakx.ladder.task.dto.ProjectMaxOrder;
+import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.user.UserAccountRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.nonNull;
+
+/**
+ * Applies one change to many tasks at once. Tasks are loaded with one query, saved in one batch,
+ * and clients get one notification for the whole batch.
+ */
+@Service
+@AllArgsConstructor
+public class TaskBulkService {
+    private final TaskRepository taskRepository;
+    private final UserAccountRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskUpdateUtilsService utils;
+    private final CompletionCountService completionCounts;
+
+    /**
+     * Apply operation to all tasks from request. Operations on subtrees (completing tasks outside
+     * collaborative projects, archiving and moving to another project) change all subtasks too.
+     * @param request Request with ids of tasks, operation and its arguments
+     * @param userId ID of an owner of tasks
+     * @return All updated tasks
+     */
+    @Transactional
+    @NotifyOnTasksChange
+    public List<Task> updateTasks(BulkTaskRequest request, Integer userId) {
+        if(request.getOperation() == null) {
+            throw new WrongBulkOperationException("No operation!");
+        }
+        List<Integer> ids = getDistinctIds(request);
+        if(ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> updated;
+        switch(request.getOperation()) {
+            case COMPLETE:
+                updated = completeTasks(request.isFlag(), ids, userId, now);
+                break;
+            case MOVE_TO_PROJECT:
+                updated = moveTasksToProject(request.getProjectId(), ids, userId, now);
+                break;
+            case SET_DUE:
+                updated = updateDueDate(request, getTasksInRequestOrder(ids, userId), userId, now);
+                break;
+            case SET_LABELS:
+                updated = updateLabels(request.getLabelIds(), getTasksFromDb(ids, userId), userId, now);
+                break;
+            case SET_PRIORITY:
+                updated = updatePriority(request.getPriority(), getTasksFromDb(ids, userId), now);
+                break;
+            case ARCHIVE:
+                updated = archiveTasks(request.isFlag(), ids, userId, now);
+                break;
+            default:
+                throw new WrongBulkOperationException("Unknown operation!");
+        }
+        return taskRepository.saveAll(updated);
+    }
+
+    private List<Integer> getDistinctIds(BulkTaskRequest request) {
+        return request.getIds() != null ?
+                request.getIds().stream().filter(Objects::nonNull).distinct().collect(Collectors.toList()) :
+                new ArrayList<>();
+    }
+
+    private List<Task> getTasksFromDb(List<Integer> ids, Integer userId) {
+        List<Task> tasks = taskRepository.findByOwnerIdAndIdIn(userId, ids);
+        if(tasks.size() != ids.size()) {
+            throw new NotFoundException("No such task!");
+        }
+        return tasks;
+    }
+
+    private List<Task> getTasksInRequestOrder(List<Integer> ids, Integer userId) {
+        Map<Integer, Task> tasksById = getTasksFromDb(ids, userId).stream()
+                .collect(Collectors.toMap(Task::getId, (a) -> a));
+        return ids.stream()
+                .map(tasksById::get)
+                .collect(Collectors.toList());
+    }
+
+    private List<Task> getSubtreesFromDb(List<Integer> ids, Integer userId) {
+        List<Task> tasks = taskRepository.findSubtreesByIdInAndOwnerId(ids, userId);
+        Set<Integer> found = tasks.stream()
+                .map(Task::getId)
+                .collect(Collectors.toSet());
+        if(!found.containsAll(ids)) {
+            throw new NotFoundException("No such task!");
+        }
+        return tasks;
+    }
+
+    private List<Task> completeTasks(boolean completed, List<Integer> ids, Integer userId, LocalDateTime now) {
+        List<Task> tasks = completed ? getTasksToComplete(ids, userId) : getTasksFromDb(ids, userId);
+        LocalDateTime completedAt = completed ? now : null;
+        Map<Integer, List<Task>> tasksByProject = tasks.stream()
+                .filter((a) -> nonNull(a.getProject()))
+                .collect(Collectors.groupingBy((a) -> a.getProject().getId()));
+        tasksByProject.values().forEach((projectTasks) -> completionCounts.tasksCompletionChanged(
+                userId,
+                projectTasks.get(0).getProject(),
+                projectTasks.stream().map(Task::getCompletedAt).collect(Collectors.toList()),
+                completedAt
+        ));
+        UserAccount user = completed ? userRepository.getById(userId) : null;
+        Set<Integer> selected = new HashSet<>(ids);
+        for(Task task : tasks) {
+            if(completed && selected.contains(task.getId())) {
+                task.setAssigned(user);
+            }
+            task.setCompleted(completed);
+            task.setCompletedAt(completedAt);
+            task.setModifiedAt(now);
+        }
+        return tasks;
+    }
+
+    private List<Task> getTasksToComplete(List<Integer> ids, Integer userId) {
+        Set<Integer> selected = new HashSet<>(ids);
+        List<Task> subtrees = getSubtreesFromDb(ids, userId);
+        Map<Integer, Task> tasksById = subtrees.stream()
+                .collect(Collectors.toMap(Task::getId, (a) -> a));
+        return subtrees.stream()
+                .filter((a) -> selected.contains(a.getId()) || hasSelectedAncestorOutsideCollaboration(a, selected, tasksById))
+                .collect(Collectors.toList());
+    }
+
+    private boolean hasSelectedAncestorOutsideCollaboration(Task task, Set<Integer> selected, Map<Integer, Task> tasksById) {
+        Task ancestor = getNearestSelectedAncestor(task, selected, tasksById);
+        return ancestor != null && !isTaskInCollaborativeProject(ancestor);
+    }
+
+    private boolean hasSelectedAncestor(Task task, Set<Integer> selected, Map<Integer, Task> tasksById) {
+        return getNearestSelectedAncestor(task, selected, tasksById) != null;
+    }
+
+    private Task getNearestSelectedAncestor(Task task, Set<Integer> selected, Map<Integer, Task> tasksById) {
+        Task parent = task.getParent() != null ? tasksById.get(task.getParent().getId()) : null;
+        while(parent != null) {
+            if(selected.contains(parent.getId())) {
+                return parent;
+            }
+            parent = parent.getParent() != null ? tasksById.get(parent.getParent().getId()) : null;
+        }
+        return null;
+    }
+
+    private boolean isTaskInCollaborativeProject(Task task) {
+        return nonNull(task.getProject()) && task.getProject().isCollaborative();
+    }
+
+    private List<Task> moveTasksToProject(Integer projectId, List<Integer> ids, Integer userId, LocalDateTime now) {
+        Project project = nonNull(projectId) ? projectRepository.findByIdAndOwnerId(projectId, userId)
+                .orElseThrow(() -> new NotFoundException("No such project!")) : null;
+        List<Task> tasks = getSubtreesFromDb(ids, userId);
+        completionCounts.tasksMoved(userId, tasks.stream().map(Task::getId).collect(Collectors.toList()), project);
+        int order = (nonNull(projectId) ? taskRepository.getMaxOrderByOwnerIdAndProjectId(userId, projectId) :
+                taskRepository.getMaxOrderByOwnerId(userId)) + SparseOrderService.GAP;
+        Set<Integer> selected = new HashSet<>(ids);
+        Map<Integer, Task> tasksById = tasks.stream()
+                .collect(Collectors.toMap(Task::getId, (a) -> a));
+        for(Task task : tasks) {
+            if(selected.contains(task.getId()) && !hasSelectedAncestor(task, selected, tasksById)) {
+                task.setParent(null);
+                task.setProjectOrder(order);
+                order += SparseOrderService.GAP;
+            }
+            task.setProject(project);
+            task.setModifiedAt(now);
+        }
+        return tasks;
+    }
+
+    private List<Task> updateDueDate(BulkTaskRequest request, List<Task> tasks, Integer userId, LocalDateTime now) {
+        int order = utils.getMaxDailyOrder(request.getDate(), userId) + SparseOrderService.GAP;
+        for(Task task : tasks) {
+            if(utils.haveDifferentDueDate(request.getDate(), task.getDue())) {
+                task.setDailyViewOrder(order);
+                order += SparseOrderService.GAP;
+            }
+            task.setDue(request.getDate());
+            task.setTimeboxed(request.isTimeboxed());
+            task.setModifiedAt(now);
+        }
+        return tasks;
+    }
+
+    private List<Task> updateLabels(List<Integer> labelIds, List<Task> tasks, Integer userId, LocalDateTime now) {
+        Set<Label> labels = utils.transformLabelIdsToLabelReferences(labelIds, userId);
+        for(Task task : tasks) {
+            task.setLabels(new HashSet<>(labels));
+            task.setModifiedAt(now);
+        }
+        return tasks;
+    }
+
+    private List<Task> updatePriority(Integer priority, List<Task> tasks, LocalDateTime now) {
+        for(Task task : tasks) {
+            task.setPriority(priority);
+            task.setModifiedAt(now);
+        }
+        return tasks;
+    }
+
+    private List<Task> archiveTasks(boolean archived, List<Integer> ids, Integer userId, LocalDateTime now) {
+        List<Task> tasks = getSubtreesFromDb(ids, userId);
+        Set<Integer> selected = new HashSet<>(ids);
+        Map<Integer, Integer> maxOrders = archived ? new HashMap<>() : getMaxOrdersByProject(userId);
+        for(Task task : tasks) {
+            if(!archived && selected.contains(task.getId())) {
+                Integer projectId = nonNull(task.getProject()) ? task.getProject().getId() : null;
+                int order = maxOrders.getOrDefault(projectId, 0) + SparseOrderService.GAP;
+                task.setProjectOrder(order);
+                maxOrders.put(projectId, order);
+            }
+            task.setArchived(archived);
+            task.setModifiedAt(now);
+        }
+        return tasks;
+    }
+
+    private Map<Integer, Integer> getMaxOrdersByProject(Integer userId) {
+        Map<Integer, Integer> maxOrders = new HashMap<>();
+        for(ProjectMaxOrder row : taskRepository.getMaxOrdersByOwnerId(userId)) {
+            maxOrders.put(row.getProjectId(), row.getMaxOrder());
+        }
+        return maxOrders;
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.xpakx.ladder.task;
+
+import io.github.xpakx.ladder.common.order.SparseOrderService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+public class TaskDailyOrderService extends SparseOrderService<Task> {
+    private final TaskRepository taskRepository;
+
+    @Override
+    protected Integer getId(Task entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected Integer getOrder(Task entity) {
+        return entity.getDailyViewOrder();
+    }
+
+    @Override
+    protected void setOrder(Task entity, Integer order, LocalDateTime modifiedAt) {
+        entity.setDailyViewOrder(order);
+        entity.setModifiedAt(modifiedAt);
+    }
+
+    @Override
+    protected Integer getNextOrder(Integer userId, Task sibling, Integer order, Integer excludedId) {
+        return taskRepository.getNextDailyOrderByOwnerIdAndDate(userId, getDueDay(sibling), order, excludedId);
+    }
+
+    @Override
+    protected Integer getPreviousOrder(Integer userId, Task sibling, Integer order, Integer excludedId) {
+        return taskRepository.getPreviousDailyOrderByOwnerIdAndDate(userId, getDueDay(sibling), order, excludedId);
+    }
+
+    @Override
+    protected List<Task> getSiblings(Integer userId, Task sibling) {
+        return taskRepository.findByOwnerIdAndDateOrderByDailyViewOrder(userId, getDueDay(sibling));
+    }
+
+    private LocalDate getDueDay(Task task) {
+        return task.getDue() != null ? task.getDue().toLocalDate() : null;
+    }
+
+    @Override
+    protected List<Task> saveAll(List<Task> entities) {
+        return taskRepository.saveAll(entities);
+    }
+}
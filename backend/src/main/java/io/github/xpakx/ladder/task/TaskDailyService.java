@@ -4,6 +4,7 @@ import io.github.xpakx.ladder.notification.NotifyOnTaskChange;
 import io.github.xpakx.ladder.notification.NotifyOnTasksChange;
 import io.github.xpakx.ladder.common.dto.DateRequest;
 import io.github.xpakx.ladder.common.dto.IdRequest;
+import io.github.xpakx.ladder.common.order.SparseOrderService;
 import io.github.xpakx.ladder.common.error.NotFoundException;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -17,6 +18,7 @@ import java.util.Optional;
 public class TaskDailyService {
     private final TaskRepository taskRepository;
     private final TaskUpdateUtilsService utils;
+    private final TaskDailyOrderService orderService;
 
     /**
      * Move task at first position in today's list
@@ -28,12 +30,7 @@ public class TaskDailyService {
     public Task moveTaskAsFirstInDailyView(Integer userId, Integer taskToMoveId) {
         Task taskToMove = taskRepository.findByIdAndOwnerId(taskToMoveId, userId)
                 .orElseThrow(() -> new NotFoundException("Cannot move non-existent task!"));
-        taskToMove.setDailyViewOrder(1);
-        taskRepository.incrementOrderByOwnerIdAndDate(
-                userId,
-                taskToMove.getDue(),
-                LocalDateTime.now()
-        );
+        taskToMove.setDailyViewOrder(orderService.getFirstOrder(userId, taskToMove, taskToMoveId));
         taskToMove.setModifiedAt(LocalDateTime.now());
         return taskRepository.save(taskToMove);
     }
@@ -49,13 +46,8 @@ public class TaskDailyService {
     public Task moveTaskAsFirstForDate(Integer userId, Integer taskToMoveId, DateRequest request) {
         Task taskToMove = taskRepository.findByIdAndOwnerId(taskToMoveId, userId)
                 .orElseThrow(() -> new NotFoundException("Cannot move non-existent task!"));
-        taskToMove.setDailyViewOrder(1);
         taskToMove.setDue(request.getDate());
-        taskRepository.incrementOrderByOwnerIdAndDate(
-                userId,
-                taskToMove.getDue(),
-                LocalDateTime.now()
-        );
+        taskToMove.setDailyViewOrder(orderService.getFirstOrder(userId, taskToMove, taskToMoveId));
         taskToMove.setModifiedAt(LocalDateTime.now());
         return taskRepository.save(taskToMove);
     }
@@ -74,8 +66,7 @@ public class TaskDailyService {
         Task afterTask = findIdFromIdRequest(request)
                 .orElseThrow(() -> new NotFoundException("Cannot move anything after non-existent task!"));
         taskToMove.setDue(afterTask.getDue());
-        taskToMove.setDailyViewOrder(afterTask.getDailyViewOrder()+1);
-        incrementDailyOrderOfTasksAfter(userId, afterTask);
+        taskToMove.setDailyViewOrder(orderService.getOrderAfter(userId, afterTask, taskToMoveId));
         taskToMove.setModifiedAt(LocalDateTime.now());
         return taskRepository.save(taskToMove);
     }
@@ -88,17 +79,6 @@ public class TaskDailyService {
         return request.getId() != null;
     }
 
-    private void incrementDailyOrderOfTasksAfter(Integer userId, Task task) {
-        if(task.getDue() != null) {
-            taskRepository.incrementOrderByOwnerIdAndDateAndOrderGreaterThan(
-                    userId,
-                    task.getDue(),
-                    task.getDailyViewOrder(),
-                    LocalDateTime.now()
-            );
-        }
-    }
-
     /**
      * Change due date for all overdue tasks and append them at the end of list for given day.
      * @param request Request with new date
@@ -111,7 +91,7 @@ public class TaskDailyService {
         LocalDateTime today = now.minusHours(now.getHour()).minusMinutes(now.getMinute()).minusSeconds(now.getSecond());
         List<Task> tasksToUpdate = taskRepository.findByOwnerIdAndDueBeforeAndCompletedIsFalse(userId, today);
         if(request.getDate() != null) {
-            updateOverdueTasksWithNewDueDate(request, now, tasksToUpdate, utils.getMaxDailyOrder(request, userId) + 1);
+            updateOverdueTasksWithNewDueDate(request, now, tasksToUpdate, utils.getMaxDailyOrder(request, userId) + SparseOrderService.GAP);
         } else {
             updateOverdueTasksWithoutNewDueDate(now, tasksToUpdate);
         }
@@ -131,7 +111,8 @@ public class TaskDailyService {
             task.setDue(request.getDate());
             task.setTimeboxed(false);
             task.setModifiedAt(now);
-            task.setDailyViewOrder(order++);
+            task.setDailyViewOrder(order);
+            order += SparseOrderService.GAP;
         }
     }
 }
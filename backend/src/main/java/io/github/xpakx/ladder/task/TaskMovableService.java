@@ -1,17 +1,22 @@
 package io.github.xpakx.ladder.task;
 
 import io.github.xpakx.ladder.notification.NotifyOnTaskChange;
-import io.github.xpakx.ladder.project.Project;
 import io.github.xpakx.ladder.task.dto.AddTaskRequest;
 import io.github.xpakx.ladder.common.dto.IdRequest;
+import io.github.xpakx.ladder.common.order.SparseOrderService;
 import io.github.xpakx.ladder.task.dto.TaskDetails;
 import io.github.xpakx.ladder.common.error.NotFoundException;
+import io.github.xpakx.ladder.tree.ProjectTreeCache;
 import io.github.xpakx.ladder.user.UserAccountRepository;
 import lombok.AllArgsConstructor;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -23,6 +28,10 @@ public class TaskMovableService {
     private final TaskRepository taskRepository;
     private final UserAccountRepository userRepository;
     private final TaskUpdateUtilsService utils;
+    private final TaskOrderService orderService;
+    private final TaskDailyOrderService dailyOrderService;
+    private final ProjectTreeCache treeCache;
+    private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
 
     /**
      * Duplicate given task, and its subtasks
@@ -30,71 +39,62 @@ public class TaskMovableService {
      * @param userId ID of an owner of the task
      * @return All created tasks
      */
+    @Transactional
     public List<TaskDetails> duplicate(Integer taskId, Integer userId) {
-        Task taskToDuplicate = getTaskFromDb(taskId, userId);
-        List<Task> tasks = getAllTasksFromProject(userId, taskToDuplicate.getProject());
+        List<Task> tasks = taskRepository.findSubtreeByIdAndOwnerId(taskId, userId);
+        Task taskToDuplicate = tasks.stream()
+                .filter((a) -> a.getId().equals(taskId))
+                .findAny()
+                .orElseThrow(() -> new NotFoundException("No task with id " + taskId));
         Task duplicatedTask = duplicate(taskToDuplicate, taskToDuplicate.getParent());
-        List<Task> allDuplicated = duplicateChildren(generateTaskMapForUser(tasks), duplicatedTask);
-        updateOrders(userId, duplicatedTask);
-        List<Integer> ids = taskRepository.saveAll(allDuplicated).stream()
-                .map(Task::getId)
+        updateOrders(userId, taskToDuplicate, duplicatedTask);
+        List<Task> allDuplicated = duplicateChildren(generateTaskMapForSubtree(tasks), taskToDuplicate, duplicatedTask);
+        List<Task> savedTasks = taskRepository.saveAll(allDuplicated);
+        treeCache.tasksSaved(savedTasks);
+        return savedTasks.stream()
+                .map((a) -> projectionFactory.createProjection(TaskDetails.class, a))
                 .collect(Collectors.toList());
-        return taskRepository.findByIdIn(ids);
-    }
-
-    private List<Task> getAllTasksFromProject(Integer userId, Project project) {
-        return taskRepository.findByOwnerIdAndProjectId(userId,
-                project != null ? project.getId() : null);
     }
 
-    private Task getTaskFromDb(Integer taskId, Integer userId) {
-        return taskRepository.findByIdAndOwnerId(taskId, userId)
-                .orElseThrow(() -> new NotFoundException("No task with id " + taskId));
-    }
-
-    private void updateOrders(Integer userId, Task duplicatedTask) {
-        incrementOrderOfTasksAfter(userId, duplicatedTask);
-        duplicatedTask.setProjectOrder(duplicatedTask.getProjectOrder()+1);
-        incrementDailyOrderOfTasksAfter(userId, duplicatedTask);
-        duplicatedTask.setDailyViewOrder(duplicatedTask.getDailyViewOrder()+1);
+    private void updateOrders(Integer userId, Task taskToDuplicate, Task duplicatedTask) {
+        duplicatedTask.setProjectOrder(orderService.getOrderAfter(userId, taskToDuplicate, null));
+        if(taskToDuplicate.getDue() != null) {
+            duplicatedTask.setDailyViewOrder(dailyOrderService.getOrderAfter(userId, taskToDuplicate, null));
+        }
     }
 
-    private List<Task> duplicateChildren(Map<Integer, List<Task>> tasksByParent, Task duplicatedTask) {
-        List<Task> toDuplicate = List.of(duplicatedTask);
+    private List<Task> duplicateChildren(Map<Integer, List<Task>> tasksByParent, Task taskToDuplicate, Task duplicatedTask) {
+        List<Task> originals = new ArrayList<>();
+        originals.add(taskToDuplicate);
         List<Task> allDuplicated = new ArrayList<>();
         allDuplicated.add(duplicatedTask);
-        while(toDuplicate.size() > 0) {
-            List<Task> newToDuplicate = new ArrayList<>();
-            for (Task parent : toDuplicate) {
-                List<Task> children = tasksByParent.getOrDefault(parent.getId(), new ArrayList<>());
-                parent.setId(null);
-                children = children.stream()
-                        .map((a) -> duplicate(a, parent))
-                        .collect(Collectors.toList());
-                parent.setChildren(children);
-                newToDuplicate.addAll(children);
+        for(int i = 0; i < originals.size(); i++) {
+            Task parent = allDuplicated.get(i);
+            List<Task> children = tasksByParent.getOrDefault(originals.get(i).getId(), List.of());
+            for(Task child : children) {
+                originals.add(child);
+                allDuplicated.add(duplicate(child, parent));
             }
-            toDuplicate = newToDuplicate;
-            allDuplicated.addAll(newToDuplicate);
         }
         return allDuplicated;
     }
 
-    private Map<Integer, List<Task>> generateTaskMapForUser(List<Task> tasks) {
+    private Map<Integer, List<Task>> generateTaskMapForSubtree(List<Task> tasks) {
         return tasks.stream()
                 .filter((a) -> a.getParent() != null)
                 .collect(Collectors.groupingBy((a) -> a.getParent().getId()));
     }
 
     private Task duplicate(Task originalTask, Task parent) {
+        LocalDateTime now = LocalDateTime.now();
         return Task.builder()
-                .id(originalTask.getId())
                 .title(originalTask.getTitle())
                 .description(originalTask.getDescription())
                 .projectOrder(originalTask.getProjectOrder())
                 .dailyViewOrder(originalTask.getDailyViewOrder())
                 .project(originalTask.getProject())
-                .createdAt(LocalDateTime.now())
+                .createdAt(now)
+                .modifiedAt(now)
                 .due(originalTask.getDue())
                 .timeboxed(originalTask.isTimeboxed())
                 .priority(originalTask.getPriority())
@@ -102,20 +102,10 @@ public class TaskMovableService {
                 .completed(false)
                 .archived(false)
                 .parent(parent)
+                .labels(new HashSet<>())
                 .build();
     }
 
-    private void incrementDailyOrderOfTasksAfter(Integer userId, Task task) {
-        if(task.getDue() != null) {
-            taskRepository.incrementOrderByOwnerIdAndDateAndOrderGreaterThan(
-                    userId,
-                    task.getDue(),
-                    task.getDailyViewOrder(),
-                    LocalDateTime.now()
-            );
-        }
-    }
-
     /**
      * Move task after given task
      * @param request Request with id of the task which should be before moved task
@@ -130,8 +120,7 @@ public class TaskMovableService {
         Task afterTask = findIdFromIdRequest(request)
                 .orElseThrow(() -> new NotFoundException("Cannot move anything after non-existent task!"));
         taskToMove.setParent(afterTask.getParent());
-        taskToMove.setProjectOrder(afterTask.getProjectOrder()+1);
-        incrementOrderOfTasksAfter(userId, afterTask);
+        taskToMove.setProjectOrder(orderService.getOrderAfter(userId, afterTask, taskToMove.getId()));
         taskToMove.setModifiedAt(LocalDateTime.now());
         return taskRepository.save(taskToMove);
     }
@@ -144,10 +133,6 @@ public class TaskMovableService {
         return request.getId() != null;
     }
 
-    private boolean hasParent(Task task) {
-        return task.getParent() != null;
-    }
-
     /**
      * Move task as first child of given task.
      * @param request Request with id of the new parent for moved task. If ID is null task is moved at first position.
@@ -162,33 +147,11 @@ public class TaskMovableService {
         Task parentTask = findIdFromIdRequest(request)
                 .orElse(null);
         taskToMove.setParent(parentTask);
-        taskToMove.setProjectOrder(1);
-        incrementTasksOrder(request, userId, taskToMove.getProject());
+        taskToMove.setProjectOrder(orderService.getFirstOrder(userId, taskToMove, taskToMove.getId()));
         taskToMove.setModifiedAt(LocalDateTime.now());
         return taskRepository.save(taskToMove);
     }
 
-    private void incrementTasksOrder(IdRequest request, Integer userId, Project project) {
-        if(request.getId() != null) {
-            taskRepository.incrementGeneralOrderByOwnerIdAndParentId(
-                    userId,
-                    request.getId(),
-                    LocalDateTime.now()
-            );
-        } else if(project != null) {
-            taskRepository.incrementGeneralOrderByOwnerIdAndProjectId(
-                    userId,
-                    project.getId(),
-                    LocalDateTime.now()
-            );
-        } else {
-            taskRepository.incrementGeneralOrderByOwnerId(
-                    userId,
-                    LocalDateTime.now()
-            );
-        }
-    }
-
     /**
      * Move task at first position
      * @param userId ID of an owner of task
@@ -209,7 +172,7 @@ public class TaskMovableService {
                 .createdAt(LocalDateTime.now())
                 .due(request.getDue())
                 .priority(request.getPriority())
-                .dailyViewOrder(utils.getMaxDailyOrder(request, userId)+1)
+                .dailyViewOrder(utils.getMaxDailyOrder(request, userId) + SparseOrderService.GAP)
                 .completed(false)
                 .collapsed(false)
                 .archived(false)
@@ -229,9 +192,8 @@ public class TaskMovableService {
     public Task addTaskAfter(AddTaskRequest request, Integer userId, Integer afterId) {
         Task afterTask = taskRepository.findByIdAndOwnerId(afterId, userId)
                 .orElseThrow(() -> new NotFoundException("Cannot add nothing after non-existent task!"));
-        Task taskToAdd = buildTaskFromRequestWithSiblingAndOrder(request, afterTask.getProjectOrder()+1,
+        Task taskToAdd = buildTaskFromRequestWithSiblingAndOrder(request, orderService.getOrderAfter(userId, afterTask, null),
                 afterTask, userId);
-        incrementOrderOfTasksAfter(userId, afterTask);
         taskToAdd.setModifiedAt(LocalDateTime.now());
         return taskRepository.save(taskToAdd);
     }
@@ -247,9 +209,8 @@ public class TaskMovableService {
     public Task addTaskBefore(AddTaskRequest request, Integer userId, Integer beforeId) {
         Task beforeTask = taskRepository.findByIdAndOwnerId(beforeId, userId)
                 .orElseThrow(() -> new NotFoundException("Cannot add nothing before non-existent task!"));
-        Task taskToAdd = buildTaskFromRequestWithSiblingAndOrder(request, beforeTask.getProjectOrder(),
+        Task taskToAdd = buildTaskFromRequestWithSiblingAndOrder(request, orderService.getOrderBefore(userId, beforeTask, null),
                 beforeTask, userId);
-        incrementOrderOfTasksBefore(userId, beforeTask);
         taskToAdd.setModifiedAt(LocalDateTime.now());
         return taskRepository.save(taskToAdd);
     }
@@ -276,7 +237,7 @@ public class TaskMovableService {
         taskToAdd.setParent(parent);
         taskToAdd.setProject(parent.getProject());
         taskToAdd.setProjectOrder(
-                taskRepository.getMaxOrderByOwnerIdAndParentId(userId, parent.getId())+1
+                taskRepository.getMaxOrderByOwnerIdAndParentId(userId, parent.getId()) + SparseOrderService.GAP
         );
         return taskToAdd;
     }
@@ -288,57 +249,4 @@ public class TaskMovableService {
         taskToAdd.setProject(sibling.getProject());
         taskToAdd.setProjectOrder(order);
         return taskToAdd;
-    }
-
-    private boolean hasProject(Task task) {
-        return task.getProject() != null;
-    }
-
-    private void incrementOrderOfTasksAfter(Integer userId, Task task) {
-        if(hasParent(task)) {
-            taskRepository.incrementOrderByOwnerIdAndParentIdAndOrderGreaterThan(
-                    userId,
-                    task.getParent().getId(),
-                    task.getProjectOrder(),
-                    LocalDateTime.now()
-            );
-        } else if(hasProject(task)) {
-            taskRepository.incrementOrderByOwnerIdAndProjectIdAndOrderGreaterThan(
-                    userId,
-                    task.getProject().getId(),
-                    task.getProjectOrder(),
-                    LocalDateTime.now()
-            );
-        } else {
-            taskRepository.incrementOrderByOwnerIdAndOrderGreaterThan(
-                    userId,
-                    task.getProjectOrder(),
-                    LocalDateTime.now()
-            );
-        }
-    }
-
-    private void incrementOrderOfTasksBefore(Integer userId, Task task) {
-        if(hasParent(task)) {
-            taskRepository.incrementOrderByOwnerIdAndParentIdAndOrderGreaterThanEqual(
-                    userId,
-                    task.getParent().getId(),
-                    task.getProjectOrder(),
-                    LocalDateTime.now()
-            );
-        } else if(hasProject(task)) {
-            taskRepository.incrementOrderByOwnerIdAndProjectIdAndOrderGreaterThanEqual(
-                    userId,
-                    task.getProject().getId(),
-                    task.getProjectOrder(),
-                    LocalDateTime.now()
-            );
-        } else {
-            taskRepository.incrementOrderByOwnerIdAndOrderGreaterThanEqual(
-                    userId,
-                    task.getProjectOrder(),
-                    LocalDateTime.now()
-            );
-        }
-    }
-}
+    }}
@@ -0,0 +1,68 @@
+package io.github.xpakx.ladder.task;
+
+import io.github.xpakx.ladder.common.order.SparseOrderService;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@AllArgsConstructor
+public class TaskOrderService extends SparseOrderService<Task> {
+    private final TaskRepository taskRepository;
+
+    @Override
+    protected Integer getId(Task entity) {
+        return entity.getId();
+    }
+
+    @Override
+    protected Integer getOrder(Task entity) {
+        return entity.getProjectOrder();
+    }
+
+    @Override
+    protected void setOrder(Task entity, Integer order, LocalDateTime modifiedAt) {
+        entity.setProjectOrder(order);
+        entity.setModifiedAt(modifiedAt);
+    }
+
+    @Override
+    protected Integer getNextOrder(Integer userId, Task sibling, Integer order, Integer excludedId) {
+        if(sibling.getParent() != null) {
+            return taskRepository.getNextOrderByOwnerIdAndParentId(userId, sibling.getParent().getId(), order, excludedId);
+        } else if(sibling.getProject() != null) {
+            return taskRepository.getNextOrderByOwnerIdAndProjectId(userId, sibling.getProject().getId(), order, excludedId);
+        } else {
+            return taskRepository.getNextOrderByOwnerId(userId, order, excludedId);
+        }
+    }
+
+    @Override
+    protected Integer getPreviousOrder(Integer userId, Task sibling, Integer order, Integer excludedId) {
+        if(sibling.getParent() != null) {
+            return taskRepository.getPreviousOrderByOwnerIdAndParentId(userId, sibling.getParent().getId(), order, excludedId);
+        } else if(sibling.getProject() != null) {
+            return taskRepository.getPreviousOrderByOwnerIdAndProjectId(userId, sibling.getProject().getId(), order, excludedId);
+        } else {
+            return taskRepository.getPreviousOrderByOwnerId(userId, order, excludedId);
+        }
+    }
+
+    @Override
+    protected List<Task> getSiblings(Integer userId, Task sibling) {
+        if(sibling.getParent() != null) {
+            return taskRepository.findByOwnerIdAndParentIdOrderByProjectOrder(userId, sibling.getParent().getId());
+        } else if(sibling.getProject() != null) {
+            return taskRepository.findByOwnerIdAndProjectIdAndParentIsNullOrderByProjectOrder(userId, sibling.getProject().getId());
+        } else {
+            return taskRepository.findByOwnerIdAndProjectIsNullAndParentIsNullOrderByProjectOrder(userId);
+        }
+    }
+
+    @Override
+    protected List<Task> saveAll(List<Task> entities) {
+        return taskRepository.saveAll(entities);
+    }
+}
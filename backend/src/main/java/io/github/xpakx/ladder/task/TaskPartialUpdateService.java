@@ -8,13 +8,14 @@ import io.github.xpakx.ladder.common.error.NotFoundException;
 import io.github.xpakx.ladder.common.error.WrongOwnerException;
 import io.github.xpakx.ladder.project.ProjectRepository;
 import io.github.xpakx.ladder.user.UserAccountRepository;
+import io.github.xpakx.ladder.common.order.SparseOrderService;
+import io.github.xpakx.ladder.stats.CompletionCountService;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static java.util.Objects.nonNull;
 
@@ -25,6 +26,7 @@ public class TaskPartialUpdateService {
     private final UserAccountRepository userRepository;
     private final ProjectRepository projectRepository;
     private final TaskUpdateUtilsService utils;
+    private final CompletionCountService completionCounts;
 
     private Task getTaskFromDb(Integer taskId, Integer userId) {
         return taskRepository.findByIdAndOwnerId(taskId, userId)
@@ -38,11 +40,11 @@ public class TaskPartialUpdateService {
      * @param userId ID of an owner of the task
      * @return Updated task
      */
-    @NotifyOnTaskChange
+    @NotifyOnTaskChange(payload = true)
     public Task updateTaskDueDate(DateRequest request, Integer taskId, Integer userId) {
         Task taskToUpdate = getTaskFromDb(taskId, userId);
         if(utils.haveDifferentDueDate(request.getDate(), taskToUpdate.getDue())) {
-            taskToUpdate.setDailyViewOrder(utils.getMaxDailyOrder(request, userId)+1);
+            taskToUpdate.setDailyViewOrder(utils.getMaxDailyOrder(request, userId) + SparseOrderService.GAP);
         }
         taskToUpdate.setDue(request.getDate());
         taskToUpdate.setModifiedAt(LocalDateTime.now());
@@ -57,7 +59,7 @@ public class TaskPartialUpdateService {
      * @param userId ID of an owner of the task
      * @return Updated task
      */
-    @NotifyOnTaskChange
+    @NotifyOnTaskChange(payload = true)
     public Task updateTaskPriority(PriorityRequest request, Integer taskId, Integer userId) {
         Task taskToUpdate = getTaskFromDb(taskId, userId);
         taskToUpdate.setPriority(request.getPriority());
@@ -72,42 +74,52 @@ public class TaskPartialUpdateService {
      * @param userId ID of an owner of the task
      * @return Updated task
      */
+    @Transactional
     @NotifyOnTaskChange
     public Task completeTask(BooleanRequest request, Integer taskId, Integer userId) {
         Task taskToUpdate = taskRepository.getByIdAndOwnerId(taskId, userId)
                 .orElseThrow(() -> new NotFoundException("No task with id " + taskId));
-        return request.isFlag() ? makeTaskCompleted(taskId, userId, taskToUpdate) : makeTaskUncompleted(taskToUpdate);
+        return request.isFlag() ? makeTaskCompleted(userId, taskToUpdate) : makeTaskUncompleted(taskToUpdate);
     }
 
     private Task makeTaskUncompleted(Task taskToUpdate) {
+        completionCounts.taskCompletionChanged(taskToUpdate.getOwner().getId(), taskToUpdate.getProject(),
+                taskToUpdate.getCompletedAt(), null);
         taskToUpdate.setCompleted(false);
         taskToUpdate.setCompletedAt(null);
         taskToUpdate.setModifiedAt(LocalDateTime.now());
         return taskRepository.save(taskToUpdate);
     }
 
-    private Task makeTaskCompleted(Integer taskId, Integer userId, Task taskToUpdate) {
+    private Task makeTaskCompleted(Integer userId, Task taskToUpdate) {
         taskToUpdate.setAssigned(userRepository.getById(userId));
         if(isTaskInCollaborativeProject(taskToUpdate)) {
             return saveCompletedTask(taskToUpdate);
         } else {
-            return saveCompletedTaskAndSubtasks(taskId, userId, taskToUpdate);
+            return saveCompletedTaskAndSubtasks(userId, taskToUpdate);
         }
     }
 
     private Task saveCompletedTask(Task taskToUpdate) {
         LocalDateTime now = LocalDateTime.now();
+        completionCounts.taskCompletionChanged(taskToUpdate.getOwner().getId(), taskToUpdate.getProject(),
+                taskToUpdate.getCompletedAt(), now);
         taskToUpdate.setCompleted(true);
         taskToUpdate.setCompletedAt(now);
         taskToUpdate.setModifiedAt(now);
         return taskRepository.save(taskToUpdate);
     }
 
-    private Task saveCompletedTaskAndSubtasks(Integer taskId, Integer userId, Task taskToUpdate) {
-        return taskRepository.saveAll(completeTask(userId, taskToUpdate)).stream()
-                .filter((a) -> a.getId().equals(taskId))
-                .findAny()
-                .orElse(null);
+    private Task saveCompletedTaskAndSubtasks(Integer userId, Task taskToUpdate) {
+        LocalDateTime now = LocalDateTime.now();
+        List<LocalDateTime> previous = new ArrayList<>();
+        previous.add(taskToUpdate.getCompletedAt());
+        previous.addAll(utils.completeChildren(taskToUpdate, userId, now));
+        completionCounts.tasksCompletionChanged(userId, taskToUpdate.getProject(), previous, now);
+        taskToUpdate.setCompleted(true);
+        taskToUpdate.setCompletedAt(now);
+        taskToUpdate.setModifiedAt(now);
+        return taskRepository.save(taskToUpdate);
     }
 
     private boolean isTaskInCollaborativeProject(Task task) {
@@ -118,42 +130,6 @@ public class TaskPartialUpdateService {
         return nonNull(task.getProject());
     }
 
-    private List<Task> completeTask(Integer userId, Task task) {
-        Map<Integer, List<Task>> tasksByParent = generateMapOfTasksByParentId(
-                taskRepository.findByOwnerIdAndProjectId(userId, getProjectId(task))
-        );
-        return transformAllSubtasksToCompleted(task, tasksByParent);
-    }
-
-    private List<Task> transformAllSubtasksToCompleted(Task task, Map<Integer, List<Task>> tasksByParent) {
-        List<Task> toComplete = List.of(task);
-        List<Task> toReturn = new ArrayList<>();
-        LocalDateTime now = LocalDateTime.now();
-        while(toComplete.size() > 0) {
-            List<Task> newToComplete = new ArrayList<>();
-            for (Task parent : toComplete) {
-                List<Task> children = tasksByParent.getOrDefault(parent.getId(), new ArrayList<>());
-                parent.setCompleted(true);
-                parent.setCompletedAt(now);
-                parent.setModifiedAt(now);
-                toReturn.add(parent);
-                newToComplete.addAll(children);
-            }
-            toComplete = newToComplete;
-        }
-        return toReturn;
-    }
-
-    private Integer getProjectId(Task task) {
-        return hasProject(task) ? task.getProject().getId() : null;
-    }
-
-    private Map<Integer, List<Task>> generateMapOfTasksByParentId(List<Task> tasks) {
-        return tasks.stream()
-                .filter((a) -> a.getParent() != null)
-                .collect(Collectors.groupingBy((a) -> a.getParent().getId()));
-    }
-
     /**
      * Change task collapsed state.
      * @param request Request with collapsed state
@@ -161,7 +137,7 @@ public class TaskPartialUpdateService {
      * @param userId ID of an owner of the task
      * @return Updated task
      */
-    @NotifyOnTaskChange
+    @NotifyOnTaskChange(payload = true)
     public Task updateTaskCollapsedState(BooleanRequest request, Integer taskId, Integer userId) {
         Task taskToUpdate = getTaskFromDb(taskId, userId);
         taskToUpdate.setCollapsed(request.isFlag());
@@ -176,7 +152,7 @@ public class TaskPartialUpdateService {
      * @param userId ID of an owner of the task
      * @return Updated task
      */
-    @NotifyOnTaskChange
+    @NotifyOnTaskChange(payload = true)
     public Task updateTaskLabels(IdCollectionRequest request, Integer taskId, Integer userId) {
         Task taskToUpdate = getTaskFromDb(taskId, userId);
         taskToUpdate.setLabels(utils.transformLabelIdsToLabelReferences(request.getIds(), userId));
@@ -192,7 +168,7 @@ public class TaskPartialUpdateService {
      * @return Updated task
      */
     @Transactional
-    @NotifyOnTaskChange
+    @NotifyOnTaskChange(payload = true)
     public Task updateAssigned(IdRequest request, Integer taskId, Integer userId) {
         Task taskToUpdate = taskRepository.findByIdAndOwnerId(taskId, userId)
                 .orElseThrow(() -> new NotFoundException("No such project!"));
@@ -222,17 +198,18 @@ public class TaskPartialUpdateService {
      * @param userId ID of an owner of the task
      * @return Updated task
      */
+    @Transactional
     @NotifyOnTaskChange
     public Task updateTaskProject(IdRequest request, Integer taskId, Integer userId) {
         Task taskToUpdate = getTaskFromDb(taskId, userId);
         Project project = getProjectFromDb(request, userId);
         if(!utils.haveSameProject(taskToUpdate, project)) {
-            List<Task> childrenWithUpdatedProject = utils.updateChildrenProject(project, taskToUpdate, userId);
-            taskRepository.saveAll(childrenWithUpdatedProject);
+            utils.updateChildrenProject(project, taskToUpdate, userId);
+            completionCounts.taskMoved(userId, taskToUpdate.getProject(), project, taskToUpdate.getCompletedAt());
         }
         taskToUpdate.setParent(null);
         taskToUpdate.setProject(project);
-        taskToUpdate.setProjectOrder(getMaxProjectOrder(request, userId)+1);
+        taskToUpdate.setProjectOrder(getMaxProjectOrder(request, userId) + SparseOrderService.GAP);
         taskToUpdate.setModifiedAt(LocalDateTime.now());
         return taskRepository.save(taskToUpdate);
     }
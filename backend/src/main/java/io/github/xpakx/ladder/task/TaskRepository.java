@@ -1,17 +1,31 @@
 package io.github.xpakx.ladder.task;
 
+import io.github.xpakx.ladder.common.dto.ModificationWatermark;
+import io.github.xpakx.ladder.label.dto.LabelLink;
+import io.github.xpakx.ladder.project.Project;
 import io.github.xpakx.ladder.task.Task;
+import io.github.xpakx.ladder.task.dto.ProjectMaxOrder;
 import io.github.xpakx.ladder.task.dto.TaskDetails;
+import io.github.xpakx.ladder.task.dto.TaskExportRow;
+import io.github.xpakx.ladder.task.dto.TaskSnapshotRow;
+import io.github.xpakx.ladder.task.dto.TaskTreeRow;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Integer> {
@@ -19,6 +33,10 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
     Optional<Task> getByIdAndOwnerId(Integer taskId, Integer ownerId);
     Optional<Task> findByIdAndOwnerId(Integer taskId, Integer ownerId);
     <T> Optional<T> findProjectedByIdAndOwnerId(Integer id, Integer ownerId, Class<T> type);
+
+    @Query("SELECT t.project.id FROM Task t WHERE t.id = :taskId")
+    Optional<Integer> findProjectIdById(Integer taskId);
+
     List<Task> getByOwnerIdAndProjectIsNotNull(Integer userId);
 
     @EntityGraph("task-with-labels")
@@ -47,91 +65,59 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
     @Query("SELECT coalesce(max(p.projectOrder), 0) FROM Task p WHERE p.owner.id = :ownerId AND p.project.id = :projectId AND p.parent.id = :parentId")
     Integer getMaxOrderByOwnerIdAndProjectIdAndParentId(Integer ownerId, Integer projectId, Integer parentId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Task t SET t.projectOrder = t.projectOrder + 1, t.modifiedAt = :modifiedAt WHERE t.owner.id = :ownerId AND t.parent.id = :parentId AND t.projectOrder > :projectOrder")
-    void incrementOrderByOwnerIdAndParentIdAndOrderGreaterThan(Integer ownerId, Integer parentId, Integer projectOrder, LocalDateTime modifiedAt);
+    @Query("SELECT min(t.projectOrder) FROM Task t WHERE t.owner.id = :ownerId AND t.parent.id = :parentId AND t.projectOrder > :projectOrder AND t.id <> :excludedId")
+    Integer getNextOrderByOwnerIdAndParentId(Integer ownerId, Integer parentId, Integer projectOrder, Integer excludedId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Task t SET t.projectOrder = t.projectOrder + 1, t.modifiedAt = :modifiedAt WHERE t.owner.id = :ownerId AND t.parent IS NULL AND t.project.id = :projectId AND t.projectOrder > :projectOrder")
-    void incrementOrderByOwnerIdAndProjectIdAndOrderGreaterThan(Integer ownerId, Integer projectId, Integer projectOrder, LocalDateTime modifiedAt);
+    @Query("SELECT min(t.projectOrder) FROM Task t WHERE t.owner.id = :ownerId AND t.parent IS NULL AND t.project.id = :projectId AND t.projectOrder > :projectOrder AND t.id <> :excludedId")
+    Integer getNextOrderByOwnerIdAndProjectId(Integer ownerId, Integer projectId, Integer projectOrder, Integer excludedId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Task t SET t.projectOrder = t.projectOrder + 1, t.modifiedAt = :modifiedAt WHERE t.owner.id = :ownerId AND t.parent IS NULL AND t.project IS NULL AND t.projectOrder >= :projectOrder")
-    void incrementOrderByOwnerIdAndOrderGreaterThanEqual(Integer ownerId, Integer projectOrder, LocalDateTime modifiedAt);
+    @Query("SELECT min(t.projectOrder) FROM Task t WHERE t.owner.id = :ownerId AND t.parent IS NULL AND t.project IS NULL AND t.projectOrder > :projectOrder AND t.id <> :excludedId")
+    Integer getNextOrderByOwnerId(Integer ownerId, Integer projectOrder, Integer excludedId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Task t SET t.projectOrder = t.projectOrder + 1, t.modifiedAt = :modifiedAt WHERE t.owner.id = :ownerId AND t.parent.id = :parentId AND t.projectOrder >= :projectOrder")
-    void incrementOrderByOwnerIdAndParentIdAndOrderGreaterThanEqual(Integer ownerId, Integer parentId, Integer projectOrder, LocalDateTime modifiedAt);
+    @Query("SELECT max(t.projectOrder) FROM Task t WHERE t.owner.id = :ownerId AND t.parent.id = :parentId AND t.projectOrder < :projectOrder AND t.id <> :excludedId")
+    Integer getPreviousOrderByOwnerIdAndParentId(Integer ownerId, Integer parentId, Integer projectOrder, Integer excludedId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Task t SET t.projectOrder = t.projectOrder + 1, t.modifiedAt = :modifiedAt WHERE t.owner.id = :ownerId AND t.parent IS NULL AND t.project.id = :projectId AND t.projectOrder >= :projectOrder")
-    void incrementOrderByOwnerIdAndProjectIdAndOrderGreaterThanEqual(Integer ownerId, Integer projectId, Integer projectOrder, LocalDateTime modifiedAt);
+    @Query("SELECT max(t.projectOrder) FROM Task t WHERE t.owner.id = :ownerId AND t.parent IS NULL AND t.project.id = :projectId AND t.projectOrder < :projectOrder AND t.id <> :excludedId")
+    Integer getPreviousOrderByOwnerIdAndProjectId(Integer ownerId, Integer projectId, Integer projectOrder, Integer excludedId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Task t SET t.projectOrder = t.projectOrder + 1, t.modifiedAt = :modifiedAt WHERE t.owner.id = :ownerId AND t.parent IS NULL AND t.project IS NULL AND t.projectOrder > :projectOrder")
-    void incrementOrderByOwnerIdAndOrderGreaterThan(Integer ownerId, Integer projectOrder, LocalDateTime modifiedAt);
+    @Query("SELECT max(t.projectOrder) FROM Task t WHERE t.owner.id = :ownerId AND t.parent IS NULL AND t.project IS NULL AND t.projectOrder < :projectOrder AND t.id <> :excludedId")
+    Integer getPreviousOrderByOwnerId(Integer ownerId, Integer projectOrder, Integer excludedId);
 
-    @Query("SELECT coalesce(max(t.dailyViewOrder), 0) FROM Task t WHERE t.owner.id = :ownerId AND date_part('day', t.due - :date) = 0")
-    Integer getMaxOrderByOwnerIdAndDate(Integer ownerId, LocalDateTime date);
+    List<Task> findByOwnerIdAndParentIdOrderByProjectOrder(Integer ownerId, Integer parentId);
+    List<Task> findByOwnerIdAndProjectIdAndParentIsNullOrderByProjectOrder(Integer ownerId, Integer projectId);
+    List<Task> findByOwnerIdAndProjectIsNullAndParentIsNullOrderByProjectOrder(Integer ownerId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Task t SET t.dailyViewOrder = t.dailyViewOrder + 1, t.modifiedAt = :modifiedAt WHERE t.owner.id = :ownerId AND date_part('day', t.due - :date) = 0 AND t.dailyViewOrder > :dailyOrder")
-    void incrementOrderByOwnerIdAndDateAndOrderGreaterThan(Integer ownerId, LocalDateTime date, Integer dailyOrder, LocalDateTime modifiedAt);
+    @Query("SELECT coalesce(max(t.dailyViewOrder), 0) FROM Task t WHERE t.owner.id = :ownerId AND t.dueDay = :date")
+    Integer getMaxOrderByOwnerIdAndDate(Integer ownerId, LocalDate date);
 
-    @Modifying
-    @Transactional
-    @Query("Update Task t SET t.dailyViewOrder = t.dailyViewOrder + 1, t.modifiedAt = :modifiedAt WHERE t.owner.id = :ownerId AND date_part('day', t.due - :date) = 0 AND t.dailyViewOrder >= :dailyOrder")
-    void incrementOrderByOwnerIdAndDateAndOrderGreaterThanEqual(Integer ownerId, LocalDateTime date, Integer dailyOrder, LocalDateTime modifiedAt);
+    @Query("SELECT min(t.dailyViewOrder) FROM Task t WHERE t.owner.id = :ownerId AND t.dueDay = :date AND t.dailyViewOrder > :dailyOrder AND t.id <> :excludedId")
+    Integer getNextDailyOrderByOwnerIdAndDate(Integer ownerId, LocalDate date, Integer dailyOrder, Integer excludedId);
 
-    @Modifying
-    @Transactional
-    @Query("Update Task t SET t.dailyViewOrder = t.dailyViewOrder + 1, t.modifiedAt = :modifiedAt WHERE t.owner.id = :ownerId AND date_part('day', t.due - :date) = 0")
-    void incrementOrderByOwnerIdAndDate(Integer ownerId, LocalDateTime date, LocalDateTime modifiedAt);
+    @Query("SELECT max(t.dailyViewOrder) FROM Task t WHERE t.owner.id = :ownerId AND t.dueDay = :date AND t.dailyViewOrder < :dailyOrder AND t.id <> :excludedId")
+    Integer getPreviousDailyOrderByOwnerIdAndDate(Integer ownerId, LocalDate date, Integer dailyOrder, Integer excludedId);
+
+    @Query("SELECT t FROM Task t WHERE t.owner.id = :ownerId AND t.dueDay = :date ORDER BY t.dailyViewOrder")
+    List<Task> findByOwnerIdAndDateOrderByDailyViewOrder(Integer ownerId, LocalDate date);
 
     @EntityGraph("task-with-labels")
     List<TaskDetails> findByIdIn(List<Integer> ids);
 
-    @Modifying
-    @Transactional
-    @Query("Update Task t SET t.projectOrder = t.projectOrder + 1, t.modifiedAt = :modifiedAt WHERE t.owner.id = :ownerId AND t.parent.id = :parentId")
-    void incrementGeneralOrderByOwnerIdAndParentId(Integer ownerId, Integer parentId, LocalDateTime modifiedAt);
-
-    @Modifying
-    @Transactional
-    @Query("Update Task t SET t.projectOrder = t.projectOrder + 1, t.modifiedAt = :modifiedAt WHERE t.owner.id = :ownerId AND t.parent IS NULL AND t.project.id = :projectId")
-    void incrementGeneralOrderByOwnerIdAndProjectId(Integer ownerId, Integer projectId, LocalDateTime modifiedAt);
-
-    @Modifying
-    @Transactional
-    @Query("Update Task t SET t.projectOrder = t.projectOrder + 1, t.modifiedAt = :modifiedAt WHERE t.owner.id = :ownerId AND t.parent IS NULL AND t.project IS NULL")
-    void incrementGeneralOrderByOwnerId(Integer ownerId, LocalDateTime modifiedAt);
-
     @EntityGraph("task-with-labels")
     List<Task> findByProjectIdInAndArchived(List<Integer> ids, boolean archived);
 
     @EntityGraph("task-with-labels")
     <T> List<T> findByOwnerIdAndModifiedAtAfter(Integer ownerId, LocalDateTime modifiedAt, Class<T> type);
+    @EntityGraph("task-with-labels")
+    <T> List<T> findProjectedByOwnerIdAndIdIn(Integer ownerId, List<Integer> ids, Class<T> type);
 
     List<Task> findByOwnerIdAndDueBeforeAndCompletedIsFalse(Integer ownerId, LocalDateTime due);
 
-    @Query("SELECT t FROM Task t WHERE t.owner.id = :ownerId AND t.project.id = :projectId AND date_part('year', t.completedAt) = :year")
-    List<Task> getByOwnerIdAndProjectIdAndYear(Integer ownerId, Integer projectId, Integer year);
-
-    @Query("SELECT t FROM Task t WHERE t.owner.id = :ownerId AND t.project.id = :projectId AND date_part('month', t.completedAt) = :month")
-    List<Task> getByOwnerIdAndProjectIdAndMonth(Integer ownerId, Integer projectId, Integer month);
-
     @EntityGraph("task-with-labels")
     <T> List<T> findByOwnerIdAndProjectId(Integer ownerId, Integer projectId, Class<T> type);
     @EntityGraph("task-with-labels")
     <T> List<T> findByOwnerIdAndProjectIdAndArchived(Integer ownerId, Integer projectId, boolean archived, Class<T> type);
 
+    @Query("SELECT t.id FROM Task t WHERE t.owner.id = :ownerId AND t.id IN :ids")
     List<Integer> findIdByOwnerIdAndIdIn(Integer ownerId, List<Integer> ids);
     List<Task> findByOwnerIdAndIdIn(Integer ownerId, List<Integer> ids);
 
@@ -146,8 +132,147 @@ public interface TaskRepository extends JpaRepository<Task, Integer> {
 
     <T> List<T> findByProjectIdInAndArchived(List<Integer> projectIds, boolean archived, Class<T> type);
     <T> List<T> findByProjectIdInAndArchivedAndModifiedAtAfter(List<Integer> projectIds, boolean archived, Class<T> type, LocalDateTime modifiedAt);
+    <T> List<T> findByIdInAndProjectIdInAndArchived(List<Integer> ids, List<Integer> projectIds, boolean archived, Class<T> type);
+
+    @Query("SELECT t.id FROM Task t WHERE t.project.id = :projectId AND t.archived = :archived")
+    List<Integer> findIdByProjectIdAndArchived(Integer projectId, boolean archived);
 
     @Query("select t from Task t LEFT JOIN t.project.collaborators c LEFT JOIN c.owner u where t.project.id in :projectIds and t.archived = false and u.id = :collaboratorId AND c.accepted = true")
     <T> List<T> getTasksInProjectsForCollaborator(List<Integer> projectIds, Integer collaboratorId, Class<T> type);
     List<Task> findByAssignedIdAndProjectId(Integer assignedId, Integer projectId);
+
+    @Query(value = "WITH RECURSIVE subtree(id) AS (" +
+            "SELECT t.id FROM task t WHERE t.id = :taskId AND t.user_account_id = :ownerId " +
+            "UNION ALL " +
+            "SELECT c.id FROM task c JOIN subtree s ON c.parent_id = s.id) " +
+            "SELECT t.* FROM task t WHERE t.id IN (SELECT s.id FROM subtree s) ORDER BY t.id",
+            nativeQuery = true)
+    List<Task> findSubtreeByIdAndOwnerId(Integer taskId, Integer ownerId);
+
+    @Query(value = "WITH RECURSIVE subtree(id) AS (" +
+            "SELECT t.id FROM task t WHERE t.id IN (:taskIds) AND t.user_account_id = :ownerId " +
+            "UNION ALL " +
+            "SELECT c.id FROM task c JOIN subtree s ON c.parent_id = s.id) " +
+            "SELECT t.* FROM task t WHERE t.id IN (SELECT s.id FROM subtree s) ORDER BY t.id",
+            nativeQuery = true)
+    List<Task> findSubtreesByIdInAndOwnerId(List<Integer> taskIds, Integer ownerId);
+
+    @Query(value = "WITH RECURSIVE subtree(id) AS (" +
+            "SELECT t.id FROM task t WHERE t.parent_id = :taskId AND t.user_account_id = :ownerId " +
+            "UNION ALL " +
+            "SELECT c.id FROM task c JOIN subtree s ON c.parent_id = s.id) " +
+            "SELECT s.id FROM subtree s",
+            nativeQuery = true)
+    List<Integer> findSubtaskIdsByIdAndOwnerId(Integer taskId, Integer ownerId);
+
+    @Query("SELECT t.completedAt FROM Task t WHERE t.id IN :ids")
+    List<LocalDateTime> findCompletedAtByIdIn(List<Integer> ids);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Task t SET t.project = :project, t.modifiedAt = :modifiedAt WHERE t.id IN :ids")
+    int updateProjectByIdIn(List<Integer> ids, Project project, LocalDateTime modifiedAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Task t SET t.archived = :archived, t.modifiedAt = :modifiedAt WHERE t.id IN :ids")
+    int updateArchivedByIdIn(List<Integer> ids, boolean archived, LocalDateTime modifiedAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Task t SET t.completed = true, t.completedAt = :completedAt, t.modifiedAt = :completedAt WHERE t.id IN :ids")
+    int updateCompletedAtByIdIn(List<Integer> ids, LocalDateTime completedAt);
+
+    @Query("SELECT t.project.id AS projectId, coalesce(max(t.projectOrder), 0) AS maxOrder FROM Task t " +
+            "WHERE t.owner.id = :ownerId AND t.parent IS NULL GROUP BY t.project.id")
+    List<ProjectMaxOrder> getMaxOrdersByOwnerId(Integer ownerId);
+
+    @Query(value = "WITH RECURSIVE subtree(id, title, description, project_id, parent_id, modified_at) AS (" +
+            "SELECT t.id, t.title, t.description, t.project_id, t.parent_id, t.modified_at FROM task t " +
+            "WHERE t.project_id IN (:projectIds) AND t.parent_id IS NULL AND t.user_account_id = :ownerId " +
+            "UNION ALL " +
+            "SELECT c.id, c.title, c.description, c.project_id, c.parent_id, c.modified_at FROM task c JOIN subtree s ON c.parent_id = s.id " +
+            "WHERE c.user_account_id = :ownerId) " +
+            "SELECT s.id AS \"id\", s.title AS \"title\", s.description AS \"description\", " +
+            "s.project_id AS \"projectId\", p.name AS \"projectName\", s.parent_id AS \"parentId\", s.modified_at AS \"modifiedAt\" " +
+            "FROM subtree s LEFT JOIN project p ON s.project_id = p.id ORDER BY s.id",
+            nativeQuery = true)
+    Stream<TaskTreeRow> streamSubtreeByProjectIdInAndOwnerId(List<Integer> projectIds, Integer ownerId);
+
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description, p.id AS projectId, " +
+            "p.name AS projectName, pa.id AS parentId, t.modifiedAt AS modifiedAt FROM Task t LEFT JOIN t.project p LEFT JOIN t.parent pa WHERE t.owner.id = :ownerId")
+    List<TaskTreeRow> findTreeRowsByOwnerId(Integer ownerId);
+
+    @Query("SELECT count(t) AS rowCount, max(t.modifiedAt) AS lastModifiedAt, " +
+            "sum(CASE WHEN t.modifiedAt > :since THEN 1 ELSE 0 END) AS modifiedSince " +
+            "FROM Task t WHERE t.owner.id = :ownerId")
+    ModificationWatermark getWatermarkByOwnerId(Integer ownerId, LocalDateTime since);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description, pa.id AS parentId, t.due AS due, " +
+            "t.completed AS completed, t.collapsed AS collapsed, t.archived AS archived, t.projectOrder AS projectOrder, " +
+            "t.dailyViewOrder AS dailyViewOrder, t.priority AS priority, p.id AS projectId, p.name AS projectName, " +
+            "l.name AS label FROM Task t LEFT JOIN t.parent pa LEFT JOIN t.project p LEFT JOIN t.labels l " +
+            "WHERE t.owner.id = :ownerId ORDER BY t.id, l.id")
+    Stream<TaskExportRow> streamExportRowsByOwnerId(Integer ownerId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description, pa.id AS parentId, t.due AS due, " +
+            "t.completed AS completed, t.collapsed AS collapsed, t.archived AS archived, t.projectOrder AS projectOrder, " +
+            "t.dailyViewOrder AS dailyViewOrder, t.priority AS priority, p.id AS projectId, p.name AS projectName, " +
+            "l.name AS label FROM Task t LEFT JOIN t.parent pa LEFT JOIN t.project p LEFT JOIN t.labels l " +
+            "WHERE t.owner.id = :ownerId AND p.id = :projectId ORDER BY t.id, l.id")
+    Stream<TaskExportRow> streamExportRowsByOwnerIdAndProjectId(Integer ownerId, Integer projectId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(value = "WITH RECURSIVE tree(id, depth, path) AS (" +
+            "SELECT t.id, 0, CAST(" +
+            "LPAD(CAST(CAST(COALESCE(t.project_order, 0) AS BIGINT) + 2147483648 AS VARCHAR(10)), 10, '0') || " +
+            "LPAD(CAST(t.id AS VARCHAR(10)), 10, '0') AS VARCHAR(4000)) " +
+            "FROM task t WHERE t.parent_id IS NULL AND t.user_account_id = :ownerId " +
+            "UNION ALL " +
+            "SELECT c.id, s.depth + 1, CAST(s.path || " +
+            "LPAD(CAST(CAST(COALESCE(c.project_order, 0) AS BIGINT) + 2147483648 AS VARCHAR(10)), 10, '0') || " +
+            "LPAD(CAST(c.id AS VARCHAR(10)), 10, '0') AS VARCHAR(4000)) " +
+            "FROM task c JOIN tree s ON c.parent_id = s.id WHERE c.user_account_id = :ownerId) " +
+            "SELECT t.id AS \"id\", t.title AS \"title\", t.description AS \"description\", t.due AS \"due\", " +
+            "t.completed AS \"completed\", t.priority AS \"priority\", p.name AS \"projectName\", l.name AS \"label\", " +
+            "s.depth AS \"depth\" FROM tree s JOIN task t ON t.id = s.id LEFT JOIN project p ON t.project_id = p.id " +
+            "LEFT JOIN task_label tl ON tl.task_id = t.id LEFT JOIN label l ON l.id = tl.label_id " +
+            "ORDER BY CASE WHEN t.project_id IS NULL THEN 0 ELSE 1 END, t.project_id, s.path, l.id",
+            nativeQuery = true)
+    Stream<TaskExportRow> streamTreeExportRowsByOwnerId(Integer ownerId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(value = "WITH RECURSIVE tree(id, depth, path) AS (" +
+            "SELECT t.id, 0, CAST(" +
+            "LPAD(CAST(CAST(COALESCE(t.project_order, 0) AS BIGINT) + 2147483648 AS VARCHAR(10)), 10, '0') || " +
+            "LPAD(CAST(t.id AS VARCHAR(10)), 10, '0') AS VARCHAR(4000)) " +
+            "FROM task t WHERE t.project_id = :projectId AND t.parent_id IS NULL AND t.user_account_id = :ownerId " +
+            "UNION ALL " +
+            "SELECT c.id, s.depth + 1, CAST(s.path || " +
+            "LPAD(CAST(CAST(COALESCE(c.project_order, 0) AS BIGINT) + 2147483648 AS VARCHAR(10)), 10, '0') || " +
+            "LPAD(CAST(c.id AS VARCHAR(10)), 10, '0') AS VARCHAR(4000)) " +
+            "FROM task c JOIN tree s ON c.parent_id = s.id WHERE c.user_account_id = :ownerId) " +
+            "SELECT t.id AS \"id\", t.title AS \"title\", t.description AS \"description\", t.due AS \"due\", " +
+            "t.completed AS \"completed\", t.priority AS \"priority\", p.name AS \"projectName\", l.name AS \"label\", " +
+            "s.depth AS \"depth\" FROM tree s JOIN task t ON t.id = s.id LEFT JOIN project p ON t.project_id = p.id " +
+            "LEFT JOIN task_label tl ON tl.task_id = t.id LEFT JOIN label l ON l.id = tl.label_id " +
+            "ORDER BY CASE WHEN t.project_id IS NULL THEN 0 ELSE 1 END, t.project_id, s.path, l.id",
+            nativeQuery = true)
+    Stream<TaskExportRow> streamTreeExportRowsByOwnerIdAndProjectId(Integer ownerId, Integer projectId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description, pa.id AS parentId, p.id AS projectId, " +
+            "t.due AS due, t.timeboxed AS timeboxed, t.completed AS completed, t.completedAt AS completedAt, " +
+            "t.collapsed AS collapsed, t.archived AS archived, t.projectOrder AS projectOrder, " +
+            "t.dailyViewOrder AS dailyViewOrder, t.priority AS priority, a.id AS assignedId, " +
+            "t.createdAt AS createdAt, t.modifiedAt AS modifiedAt " +
+            "FROM Task t LEFT JOIN t.parent pa LEFT JOIN t.project p LEFT JOIN t.assigned a " +
+            "WHERE t.owner.id = :ownerId ORDER BY t.id")
+    Stream<TaskSnapshotRow> streamSnapshotRowsByOwnerId(Integer ownerId);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t.id AS entityId, l.id AS labelId FROM Task t JOIN t.labels l WHERE t.owner.id = :ownerId ORDER BY t.id, l.id")
+    Stream<LabelLink> streamLabelLinksByOwnerId(Integer ownerId);
 }
@@ -8,6 +8,8 @@ import io.github.xpakx.ladder.project.ProjectRepository;
 import io.github.xpakx.ladder.user.UserAccountRepository;
 import io.github.xpakx.ladder.task.dto.AddTaskRequest;
 import io.github.xpakx.ladder.task.dto.TaskDetails;
+import io.github.xpakx.ladder.common.order.SparseOrderService;
+import io.github.xpakx.ladder.stats.CompletionCountService;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +26,7 @@ public class TaskService {
     private final ProjectRepository projectRepository;
     private final UserAccountRepository userRepository;
     private final TaskUpdateUtilsService utils;
+    private final CompletionCountService completionCounts;
 
     /**
      * Delete task from repository.
@@ -33,6 +36,7 @@ public class TaskService {
     @Transactional
     @NotifyOnTaskDeletion
     public void deleteTask(Integer taskId, Integer userId) {
+        completionCounts.taskDeleted(userId, taskId);
         this.taskRepository.deleteByIdAndOwnerId(taskId, userId);
     }
 
@@ -55,6 +59,7 @@ public class TaskService {
      * @param userId ID of an owner of the task
      * @return Task with updated data
      */
+    @Transactional
     @NotifyOnTaskChange
     public Task updateTask(AddTaskRequest request, Integer taskId, Integer userId) {
         Project project = getProjectFromRequest(request, userId);
@@ -81,8 +86,8 @@ public class TaskService {
     private void changeProject(AddTaskRequest request, Integer userId, Project project, Task taskToUpdate) {
         taskToUpdate.setProjectOrder(request.getProjectOrder());
         if(!utils.haveSameProject(taskToUpdate, project)) {
-            List<Task> childrenWithUpdatedProject = utils.updateChildrenProject(project, taskToUpdate, userId);
-            taskRepository.saveAll(childrenWithUpdatedProject);
+            utils.updateChildrenProject(project, taskToUpdate, userId);
+            completionCounts.taskMoved(userId, taskToUpdate.getProject(), project, taskToUpdate.getCompletedAt());
             taskToUpdate.setParent(null);
         }
         taskToUpdate.setProject(project);
@@ -90,7 +95,7 @@ public class TaskService {
 
     private void changeDate(AddTaskRequest request, Integer userId, Task taskToUpdate) {
         if(utils.haveDifferentDueDate(request.getDue(), taskToUpdate.getDue())) {
-            taskToUpdate.setDailyViewOrder(utils.getMaxDailyOrder(request, userId)+1);
+            taskToUpdate.setDailyViewOrder(utils.getMaxDailyOrder(request, userId) + SparseOrderService.GAP);
         }
         taskToUpdate.setDue(request.getDue());
         taskToUpdate.setTimeboxed(request.isTimeboxed());
@@ -103,7 +108,7 @@ public class TaskService {
      * @param userId ID of an owner of the task
      * @return Task with updated data
      */
-    @NotifyOnTaskChange
+    @NotifyOnTaskChange(payload = true)
     public Task updateTaskWithoutProjectChange(AddTaskRequest request, Integer taskId, Integer userId) {
         Task taskToUpdate = getTaskFromDb(taskId, userId);
         updateFieldsWithoutProjectChange(request, userId, taskToUpdate);
@@ -116,6 +121,8 @@ public class TaskService {
         taskToUpdate.setTitle(request.getTitle());
         taskToUpdate.setDescription(request.getDescription());
         taskToUpdate.setPriority(request.getPriority());
+        completionCounts.taskCompletionChanged(userId, taskToUpdate.getProject(), taskToUpdate.getCompletedAt(),
+                request.getCompletedAt());
         taskToUpdate.setCompletedAt(request.getCompletedAt());
         taskToUpdate.setPriority(request.getPriority());
         taskToUpdate.setOwner(userRepository.getById(userId));
@@ -130,12 +137,12 @@ public class TaskService {
      * @param userId ID of an owner of the project and newly created task
      * @return Newly created task
      */
-    @NotifyOnTaskChange
+    @NotifyOnTaskChange(payload = true)
     public Task addTask(AddTaskRequest request, Integer projectId, Integer userId) {
         Project project = projectId != null ? checkProjectOwnerAndGetReference(projectId, userId)
                 .orElseThrow(() -> new NotFoundException("No such project!")) : null;
         Task taskToAdd = buildTaskToAddFromRequest(request, userId, project);
-        taskToAdd.setProjectOrder(getMaxProjectOrder(request, userId)+1);
+        taskToAdd.setProjectOrder(getMaxProjectOrder(request, userId) + SparseOrderService.GAP);
         return taskRepository.save(taskToAdd);
     }
 
@@ -157,7 +164,7 @@ public class TaskService {
                 .modifiedAt(now)
                 .due(request.getDue())
                 .timeboxed(request.isTimeboxed())
-                .dailyViewOrder(utils.getMaxDailyOrder(request, userId)+1)
+                .dailyViewOrder(utils.getMaxDailyOrder(request, userId) + SparseOrderService.GAP)
                 .parent(getParentFromAddTaskRequest(request))
                 .priority(request.getPriority())
                 .completed(false)
@@ -6,6 +6,9 @@ import io.github.xpakx.ladder.task.dto.AddTaskRequest;
 import io.github.xpakx.ladder.common.dto.DateRequest;
 import io.github.xpakx.ladder.common.error.NotFoundException;
 import io.github.xpakx.ladder.label.LabelRepository;
+import io.github.xpakx.ladder.stats.CompletionCountService;
+import io.github.xpakx.ladder.tree.ProjectTreeCache;
+import io.github.xpakx.ladder.sync.JournalChanges;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -14,6 +17,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static java.util.Objects.isNull;
@@ -23,6 +27,9 @@ import static java.util.Objects.isNull;
 public class TaskUpdateUtilsService {
     private final TaskRepository taskRepository;
     private final LabelRepository labelRepository;
+    private final ProjectTreeCache treeCache;
+    private final CompletionCountService completionCounts;
+    private static final int MAX_IDS_PER_UPDATE = 10_000;
 
     private boolean bothNull(Object a, Object b) {
         return isNull(a) && isNull(b);
@@ -52,11 +59,17 @@ public class TaskUpdateUtilsService {
         return getMaxDailyOrder(request.getDue(), userId);
     }
 
-    private Integer getMaxDailyOrder(LocalDateTime date, Integer userId) {
+    /**
+     * Gat maximal daily order for given date and user
+     * @param date Due date, may be null
+     * @param userId ID of an owner of the task
+     * @return Maximal daily order, or 0 if there's no date
+     */
+    public Integer getMaxDailyOrder(LocalDateTime date, Integer userId) {
         if(date == null) {
             return 0;
         } else {
-            return taskRepository.getMaxOrderByOwnerIdAndDate(userId, date);
+            return taskRepository.getMaxOrderByOwnerIdAndDate(userId, date.toLocalDate());
         }
     }
 
@@ -103,36 +116,68 @@ public class TaskUpdateUtilsService {
     }
 
     /**
-     * Reassign task's children to new project.
+     * Reassign task's subtasks to new project with one update per chunk of ids
      * @param project New project for tasks
-     * @param parent Task  which children should be updated
+     * @param parent Task  which subtasks should be updated
      * @param userId ID of an owner of the task
-     * @return Maximal daily order
+     * @return IDs of updated subtasks
      */
-    public List<Task> updateChildrenProject(Project project, Task parent, Integer userId) {
-        List<Task> tasksForProject = getTasksForProjectOrInbox(parent, userId)
-                .stream().filter((a) -> a.getParent() != null)
-                .collect(Collectors.toList());
-        List<Task> children = getImminentChildren(List.of(parent), tasksForProject);
-        List<Task> toUpdate = new ArrayList<>();
-        while(children.size() > 0) {
-            children.forEach((a) -> a.setProject(project));
-            toUpdate.addAll(children);
-            children = getImminentChildren(children, tasksForProject);
-        }
-        return toUpdate;
+    public List<Integer> updateChildrenProject(Project project, Task parent, Integer userId) {
+        List<Integer> ids = taskRepository.findSubtaskIdsByIdAndOwnerId(parent.getId(), userId);
+        LocalDateTime now = LocalDateTime.now();
+        forEachChunk(ids, (chunk) -> {
+            completionCounts.tasksMoved(userId, chunk, project);
+            taskRepository.updateProjectByIdIn(chunk, project, now);
+        });
+        treeCache.tasksMoved(ids, project != null ? project.getId() : null, userId, now);
+        JournalChanges.tasksChanged(ids, userId, project != null ? project.getId() : null);
+        return ids;
     }
 
-    private List<Task> getTasksForProjectOrInbox(Task parent, Integer userId) {
-        return parent.getProject() != null ? taskRepository.findByOwnerIdAndProjectId(userId, parent.getProject().getId()) :
-                taskRepository.findByOwnerIdAndProjectIsNull(userId);
+    /**
+     * Change archived state of all task's subtasks
+     * @param parent Task which subtasks should be updated
+     * @param userId ID of an owner of the task
+     * @param archived New archived state
+     * @param now Modification time
+     * @return IDs of updated subtasks
+     */
+    public List<Integer> archiveChildren(Task parent, Integer userId, boolean archived, LocalDateTime now) {
+        List<Integer> ids = taskRepository.findSubtaskIdsByIdAndOwnerId(parent.getId(), userId);
+        forEachChunk(ids, (chunk) -> taskRepository.updateArchivedByIdIn(chunk, archived, now));
+        treeCache.tasksTouched(ids, userId, now);
+        JournalChanges.tasksChanged(ids, userId, getProjectId(parent));
+        return ids;
     }
 
-    private List<Task> getImminentChildren(List<Task> parentList, List<Task> tasksForProject) {
-        List<Integer> ids = parentList.stream().map(Task::getId).collect(Collectors.toList());
-        return tasksForProject.stream()
-                .filter((a) -> ids.contains(a.getParent().getId()))
-                .collect(Collectors.toList());
+    /**
+     * Mark all task's subtasks as completed
+     * @param parent Task which subtasks should be updated
+     * @param userId ID of an owner of the task
+     * @param completedAt Completion time
+     * @return Previous completion dates of subtasks, with null for every subtask which wasn't completed
+     */
+    public List<LocalDateTime> completeChildren(Task parent, Integer userId, LocalDateTime completedAt) {
+        List<Integer> ids = taskRepository.findSubtaskIdsByIdAndOwnerId(parent.getId(), userId);
+        List<LocalDateTime> previous = new ArrayList<>();
+        forEachChunk(ids, (chunk) -> {
+            previous.addAll(taskRepository.findCompletedAtByIdIn(chunk));
+            taskRepository.updateCompletedAtByIdIn(chunk, completedAt);
+        });
+        treeCache.tasksTouched(ids, userId, completedAt);
+        JournalChanges.tasksChanged(ids, userId, getProjectId(parent));
+        return previous;
+    }
+
+    private Integer getProjectId(Task task) {
+        return task.getProject() != null ? task.getProject().getId() : null;
+    }
+
+    // keeps number of bound parameters below driver limits for very large subtrees
+    private void forEachChunk(List<Integer> ids, Consumer<List<Integer>> action) {
+        for(int i = 0; i < ids.size(); i += MAX_IDS_PER_UPDATE) {
+            action.accept(ids.subList(i, Math.min(i + MAX_IDS_PER_UPDATE, ids.size())));
+        }
     }
 
     /**
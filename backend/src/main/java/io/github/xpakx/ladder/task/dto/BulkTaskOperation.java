@@ -0,0 +1,10 @@
+package io.github.xpakx.ladder.task.dto;
+
+public enum BulkTaskOperation {
+    COMPLETE,
+    MOVE_TO_PROJECT,
+    SET_DUE,
+    SET_LABELS,
+    SET_PRIORITY,
+    ARCHIVE
+}
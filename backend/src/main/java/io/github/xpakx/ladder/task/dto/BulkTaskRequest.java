@@ -0,0 +1,20 @@
+package io.github.xpakx.ladder.task.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+public class BulkTaskRequest {
+    private List<Integer> ids;
+    private BulkTaskOperation operation;
+    private boolean flag;
+    private Integer projectId;
+    private LocalDateTime date;
+    private boolean timeboxed;
+    private Integer priority;
+    private List<Integer> labelIds;
+}
@@ -0,0 +1,6 @@
+package io.github.xpakx.ladder.task.dto;
+
+public interface ProjectMaxOrder {
+    Integer getProjectId();
+    Integer getMaxOrder();
+}
@@ -0,0 +1,24 @@
+package io.github.xpakx.ladder.task.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Task with one of its labels, tasks with many labels are returned in many consecutive rows
+ */
+public interface TaskExportRow {
+    Integer getId();
+    String getTitle();
+    String getDescription();
+    Integer getParentId();
+    LocalDateTime getDue();
+    Boolean getCompleted();
+    Boolean getCollapsed();
+    Boolean getArchived();
+    Integer getProjectOrder();
+    Integer getDailyViewOrder();
+    Integer getPriority();
+    Integer getProjectId();
+    String getProjectName();
+    String getLabel();
+    Integer getDepth();
+}
@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Getter
@@ -23,4 +24,9 @@ public class TaskForTree {
         this.description = task.getDescription();
         this.project = task.getProject();
     }
+
+    public TaskForTree(Integer id) {
+        this.id = id;
+        this.children = new ArrayList<>();
+    }
 }
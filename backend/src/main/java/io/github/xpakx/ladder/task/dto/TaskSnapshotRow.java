@@ -0,0 +1,23 @@
+package io.github.xpakx.ladder.task.dto;
+
+import java.time.LocalDateTime;
+
+public interface TaskSnapshotRow {
+    Integer getId();
+    String getTitle();
+    String getDescription();
+    Integer getParentId();
+    Integer getProjectId();
+    LocalDateTime getDue();
+    Boolean getTimeboxed();
+    Boolean getCompleted();
+    LocalDateTime getCompletedAt();
+    Boolean getCollapsed();
+    Boolean getArchived();
+    Integer getProjectOrder();
+    Integer getDailyViewOrder();
+    Integer getPriority();
+    Integer getAssignedId();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getModifiedAt();
+}
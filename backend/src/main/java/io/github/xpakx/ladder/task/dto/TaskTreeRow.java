@@ -0,0 +1,13 @@
+package io.github.xpakx.ladder.task.dto;
+
+import java.time.LocalDateTime;
+
+public interface TaskTreeRow {
+    Integer getId();
+    String getTitle();
+    String getDescription();
+    Integer getProjectId();
+    String getProjectName();
+    Integer getParentId();
+    LocalDateTime getModifiedAt();
+}
@@ -0,0 +1,58 @@
+package io.github.xpakx.ladder.tree;
+
+import io.github.xpakx.ladder.project.Project;
+import io.github.xpakx.ladder.task.Task;
+import lombok.AllArgsConstructor;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Applies projects and tasks returned by annotated operations to cached trees.
+ * Operations changing more rows than they return report them to {@link ProjectTreeCache} directly.
+ */
+@Aspect
+@Service
+@Order(Ordered.LOWEST_PRECEDENCE - 3)
+@AllArgsConstructor
+public class ProjectTreeAspect {
+    private final ProjectTreeCache treeCache;
+
+    @AfterReturning(value="@annotation(io.github.xpakx.ladder.notification.NotifyOnProjectChange)", returning="response")
+    public void updateOnProjectChange(Project response) {
+        treeCache.projectSaved(response);
+    }
+
+    @AfterReturning(value="@annotation(io.github.xpakx.ladder.notification.NotifyOnProjectDeletion) && args(projectId, userId)", argNames = "projectId,userId")
+    public void updateOnProjectDeletion(Integer projectId, Integer userId) {
+        treeCache.projectDeleted(projectId, userId);
+    }
+
+    @AfterReturning(value="@annotation(io.github.xpakx.ladder.notification.NotifyOnTaskChange)", returning="response")
+    public void updateOnTaskChange(Task response) {
+        treeCache.taskSaved(response);
+    }
+
+    @AfterReturning(value="@annotation(io.github.xpakx.ladder.notification.NotifyOnTasksChange)", returning="response")
+    public void updateOnTasksChange(List<?> response) {
+        treeCache.tasksSaved(response.stream()
+                .filter((a) -> a instanceof Task)
+                .map((a) -> (Task) a)
+                .collect(Collectors.toList()));
+    }
+
+    @AfterReturning(value="@annotation(io.github.xpakx.ladder.notification.NotifyOnTaskDeletion) && args(taskId, userId)", argNames = "taskId,userId")
+    public void updateOnTaskDeletion(Integer taskId, Integer userId) {
+        treeCache.taskDeleted(taskId, userId);
+    }
+
+    @AfterReturning(value="@annotation(io.github.xpakx.ladder.notification.NotifyOnImport) && args(userId, ..)", argNames = "userId")
+    public void updateOnImport(Integer userId) {
+        treeCache.invalidate(userId);
+    }
+}
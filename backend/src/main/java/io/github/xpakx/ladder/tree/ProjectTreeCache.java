@@ -0,0 +1,179 @@
+package io.github.xpakx.ladder.tree;
+
+import io.github.xpakx.ladder.common.cache.ExpiringCache;
+import io.github.xpakx.ladder.common.dto.ModificationWatermark;
+import io.github.xpakx.ladder.project.Project;
+import io.github.xpakx.ladder.project.ProjectRepository;
+import io.github.xpakx.ladder.task.Task;
+import io.github.xpakx.ladder.task.TaskRepository;
+import io.github.xpakx.ladder.tree.ProjectTreeIndex.ProjectNode;
+import io.github.xpakx.ladder.tree.ProjectTreeIndex.TaskNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Caches trees of projects and tasks for recently active users. Services changing projects
+ * or tasks report the changes, and cached trees are updated in place after the transaction commits.
+ * Before a tree is used, it's compared with the modification watermark of user's projects and tasks,
+ * so changes that weren't reported (e.g. made on other instances) cause a reload.
+ */
+@Service
+public class ProjectTreeCache {
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final ExpiringCache<Integer, ProjectTreeIndex> trees;
+    private final long ttlMillis;
+    private final ProjectTreeCacheMetrics metrics = new ProjectTreeCacheMetrics();
+    private static final Logger LOG = LoggerFactory.getLogger(ProjectTreeCache.class);
+
+    public ProjectTreeCache(ProjectRepository projectRepository, TaskRepository taskRepository,
+                            @Value("${tree.cache.max-users:1000}") int maxUsers,
+                            @Value("${tree.cache.ttl-ms:3600000}") long ttlMillis) {
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.trees = new ExpiringCache<>(maxUsers);
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Get up-to-date tree of user's projects and tasks, loading it if it isn't cached or is stale
+     * @param userId ID of the user
+     * @return Tree of projects and tasks
+     */
+    @Transactional(readOnly = true)
+    public ProjectTreeIndex getTree(Integer userId) {
+        ProjectTreeIndex cached = trees.get(userId);
+        if(cached != null && isCurrent(cached, userId)) {
+            metrics.getHits().incrementAndGet();
+            return cached;
+        }
+        if(cached == null) {
+            metrics.getMisses().incrementAndGet();
+        } else {
+            metrics.getStaleReloads().incrementAndGet();
+        }
+        ProjectTreeIndex tree = load(userId);
+        trees.put(userId, tree, ttlMillis);
+        return tree;
+    }
+
+    private boolean isCurrent(ProjectTreeIndex tree, Integer userId) {
+        return tree.isCurrent(
+                projectRepository.getWatermarkByOwnerId(userId, tree.getProjectsLoadedAt()),
+                taskRepository.getWatermarkByOwnerId(userId, tree.getTasksLoadedAt())
+        );
+    }
+
+    private ProjectTreeIndex load(Integer userId) {
+        ModificationWatermark projectWatermark = projectRepository.getWatermarkByOwnerId(userId, TableWatermark.NONE);
+        ModificationWatermark taskWatermark = taskRepository.getWatermarkByOwnerId(userId, TableWatermark.NONE);
+        return new ProjectTreeIndex(
+                projectRepository.findTreeRowsByOwnerId(userId),
+                taskRepository.findTreeRowsByOwnerId(userId),
+                projectWatermark,
+                taskWatermark
+        );
+    }
+
+    public void projectSaved(Project project) {
+        projectsSaved(List.of(project));
+    }
+
+    public void projectsSaved(List<Project> projects) {
+        for(Project project : projects) {
+            ProjectNode node = new ProjectNode(
+                    project.getId(),
+                    project.getName(),
+                    project.getParent() != null ? project.getParent().getId() : null
+            );
+            LocalDateTime modifiedAt = project.getModifiedAt();
+            update(project.getOwner().getId(), (tree) -> tree.putProject(node, modifiedAt));
+        }
+    }
+
+    public void taskSaved(Task task) {
+        tasksSaved(List.of(task));
+    }
+
+    public void tasksSaved(List<Task> tasks) {
+        for(Task task : tasks) {
+            TaskNode node = new TaskNode(
+                    task.getId(),
+                    task.getTitle(),
+                    task.getDescription(),
+                    task.getProject() != null ? task.getProject().getId() : null,
+                    task.getParent() != null ? task.getParent().getId() : null
+            );
+            LocalDateTime modifiedAt = task.getModifiedAt();
+            update(task.getOwner().getId(), (tree) -> tree.putTask(node, modifiedAt));
+        }
+    }
+
+    public void tasksMoved(List<Integer> taskIds, Integer projectId, Integer userId, LocalDateTime modifiedAt) {
+        update(userId, (tree) -> tree.moveTasks(taskIds, projectId, modifiedAt));
+    }
+
+    public void tasksTouched(List<Integer> taskIds, Integer userId, LocalDateTime modifiedAt) {
+        update(userId, (tree) -> tree.touchTasks(taskIds, modifiedAt));
+    }
+
+    public void projectDeleted(Integer projectId, Integer userId) {
+        update(userId, (tree) -> tree.removeProject(projectId));
+    }
+
+    public void taskDeleted(Integer taskId, Integer userId) {
+        update(userId, (tree) -> tree.removeTask(taskId));
+    }
+
+    /**
+     * Remove cached tree of the user, for changes too large to apply in place
+     * @param userId ID of the user
+     */
+    public void invalidate(Integer userId) {
+        metrics.getInvalidations().incrementAndGet();
+        trees.remove(userId);
+        afterCommit(() -> trees.remove(userId));
+    }
+
+    private void update(Integer userId, Consumer<ProjectTreeIndex> change) {
+        afterCommit(() -> {
+            ProjectTreeIndex tree = trees.get(userId);
+            if(tree != null) {
+                metrics.getUpdates().incrementAndGet();
+                change.accept(tree);
+            }
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public ProjectTreeCacheMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Scheduled(fixedDelayString = "${tree.cache.metrics-interval-ms:60000}")
+    public void logMetrics() {
+        LOG.info("Project tree cache: users={}, {}", trees.size(), metrics);
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.xpakx.ladder.tree;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+public class ProjectTreeCacheMetrics {
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong staleReloads = new AtomicLong();
+    private final AtomicLong updates = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public double getHitRatio() {
+        long total = hits.get() + misses.get() + staleReloads.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + hits +
+                ", misses=" + misses +
+                ", staleReloads=" + staleReloads +
+                ", hitRatio=" + String.format("%.3f", getHitRatio()) +
+                ", updates=" + updates +
+                ", invalidations=" + invalidations;
+    }
+}
@@ -0,0 +1,265 @@
+package io.github.xpakx.ladder.tree;
+
+import io.github.xpakx.ladder.common.dto.ModificationWatermark;
+import io.github.xpakx.ladder.project.dto.FullProjectTree;
+import io.github.xpakx.ladder.project.dto.ProjectNameAndId;
+import io.github.xpakx.ladder.project.dto.ProjectTreeRow;
+import io.github.xpakx.ladder.project.dto.ProjectWithNameAndId;
+import io.github.xpakx.ladder.task.dto.TaskForTree;
+import io.github.xpakx.ladder.task.dto.TaskTreeRow;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * In-memory tree of all projects and tasks of one user. Keeps only fields needed to build
+ * project trees, with children ordered by id like in the database.
+ */
+public class ProjectTreeIndex {
+    private final Map<Integer, ProjectNode> projects = new HashMap<>();
+    private final Map<Integer, TaskNode> tasks = new HashMap<>();
+    private final Map<Integer, SortedSet<Integer>> projectsByParent = new HashMap<>();
+    private final Map<Integer, SortedSet<Integer>> tasksByParent = new HashMap<>();
+    private final Map<Integer, SortedSet<Integer>> tasksByProject = new HashMap<>();
+    private final TableWatermark projectWatermark;
+    private final TableWatermark taskWatermark;
+
+    public ProjectTreeIndex(List<ProjectTreeRow> projects, List<TaskTreeRow> tasks,
+                            ModificationWatermark projectWatermark, ModificationWatermark taskWatermark) {
+        this.projectWatermark = new TableWatermark(projectWatermark.getLastModifiedAt());
+        this.taskWatermark = new TableWatermark(taskWatermark.getLastModifiedAt());
+        for(ProjectTreeRow project : projects) {
+            addProject(new ProjectNode(project.getId(), project.getName(), project.getParentId()));
+            this.projectWatermark.put(project.getId(), project.getModifiedAt());
+        }
+        for(TaskTreeRow task : tasks) {
+            addTask(new TaskNode(task.getId(), task.getTitle(), task.getDescription(), task.getProjectId(), task.getParentId()));
+            this.taskWatermark.put(task.getId(), task.getModifiedAt());
+        }
+    }
+
+    LocalDateTime getProjectsLoadedAt() {
+        return projectWatermark.getSince();
+    }
+
+    LocalDateTime getTasksLoadedAt() {
+        return taskWatermark.getSince();
+    }
+
+    synchronized boolean isCurrent(ModificationWatermark projectWatermark, ModificationWatermark taskWatermark) {
+        return this.projectWatermark.matches(projectWatermark, projects.size())
+                && this.taskWatermark.matches(taskWatermark, tasks.size());
+    }
+
+    synchronized void putProject(ProjectNode project, LocalDateTime modifiedAt) {
+        ProjectNode old = projects.get(project.getId());
+        if(old != null) {
+            removeFromGroup(projectsByParent, old.getParentId(), old.getId());
+        }
+        addProject(project);
+        projectWatermark.put(project.getId(), modifiedAt);
+    }
+
+    synchronized void putTask(TaskNode task, LocalDateTime modifiedAt) {
+        TaskNode old = tasks.get(task.getId());
+        if(old != null) {
+            removeFromParent(old);
+        }
+        addTask(task);
+        taskWatermark.put(task.getId(), modifiedAt);
+    }
+
+    /**
+     * Move tasks to project, keeping their parents, for subtrees updated without loading entities
+     * @param taskIds IDs of tasks
+     * @param projectId ID of the new project, null for inbox
+     * @param modifiedAt New modification time of tasks
+     */
+    synchronized void moveTasks(List<Integer> taskIds, Integer projectId, LocalDateTime modifiedAt) {
+        for(Integer id : taskIds) {
+            TaskNode old = tasks.get(id);
+            if(old != null) {
+                putTask(new TaskNode(id, old.getTitle(), old.getDescription(), projectId, old.getParentId()), modifiedAt);
+            }
+        }
+    }
+
+    /**
+     * Update modification time of tasks changed in fields which aren't part of the tree
+     * @param taskIds IDs of tasks
+     * @param modifiedAt New modification time of tasks
+     */
+    synchronized void touchTasks(List<Integer> taskIds, LocalDateTime modifiedAt) {
+        for(Integer id : taskIds) {
+            if(tasks.containsKey(id)) {
+                taskWatermark.put(id, modifiedAt);
+            }
+        }
+    }
+
+    /**
+     * Remove project with its subprojects and their tasks, as deleting project cascades
+     * @param projectId ID of the project
+     */
+    synchronized void removeProject(Integer projectId) {
+        ProjectNode project = projects.get(projectId);
+        if(project == null) {
+            return;
+        }
+        removeFromGroup(projectsByParent, project.getParentId(), projectId);
+        for(Integer id : collectSubtree(projectId, projectsByParent)) {
+            for(Integer taskId : List.copyOf(tasksByProject.getOrDefault(id, Collections.emptySortedSet()))) {
+                removeTask(taskId);
+            }
+            projects.remove(id);
+            projectsByParent.remove(id);
+            projectWatermark.remove(id);
+        }
+    }
+
+    /**
+     * Remove task with its subtasks, as deleting task cascades
+     * @param taskId ID of the task
+     */
+    synchronized void removeTask(Integer taskId) {
+        TaskNode task = tasks.get(taskId);
+        if(task == null) {
+            return;
+        }
+        removeFromParent(task);
+        for(Integer id : collectSubtree(taskId, tasksByParent)) {
+            tasks.remove(id);
+            tasksByParent.remove(id);
+            taskWatermark.remove(id);
+        }
+    }
+
+    /**
+     * Get ids of the project and all its subprojects
+     * @param projectId ID of the project
+     * @return List of ids with parents before children, empty if there is no such project
+     */
+    public synchronized List<Integer> getProjectSubtreeIds(Integer projectId) {
+        return projects.containsKey(projectId) ? collectSubtree(projectId, projectsByParent) : List.of();
+    }
+
+    /**
+     * Get ids of the task and all its subtasks
+     * @param taskId ID of the task
+     * @return List of ids with parents before children, empty if there is no such task
+     */
+    public synchronized List<Integer> getTaskSubtreeIds(Integer taskId) {
+        return tasks.containsKey(taskId) ? collectSubtree(taskId, tasksByParent) : List.of();
+    }
+
+    /**
+     * Build trees for all top-level projects
+     * @return List of project trees
+     */
+    public synchronized List<FullProjectTree> toFullTrees() {
+        Map<Integer, ProjectWithNameAndId> projectRefs = new HashMap<>();
+        List<FullProjectTree> result = new ArrayList<>();
+        for(Integer id : projectsByParent.getOrDefault(null, Collections.emptySortedSet())) {
+            result.add(toProjectTree(projects.get(id), projectRefs));
+        }
+        return result;
+    }
+
+    /**
+     * Build tree of the project
+     * @param projectId ID of the project
+     * @return Project tree, or empty optional if there is no such project
+     */
+    public synchronized Optional<FullProjectTree> toFullTree(Integer projectId) {
+        return Optional.ofNullable(projects.get(projectId))
+                .map((a) -> toProjectTree(a, new HashMap<>()));
+    }
+
+    private FullProjectTree toProjectTree(ProjectNode project, Map<Integer, ProjectWithNameAndId> projectRefs) {
+        FullProjectTree tree = new FullProjectTree(project.getId());
+        tree.setName(project.getName());
+        for(Integer id : tasksByProject.getOrDefault(project.getId(), Collections.emptySortedSet())) {
+            tree.getTasks().add(toTaskTree(tasks.get(id), projectRefs));
+        }
+        for(Integer id : projectsByParent.getOrDefault(project.getId(), Collections.emptySortedSet())) {
+            tree.getChildren().add(toProjectTree(projects.get(id), projectRefs));
+        }
+        return tree;
+    }
+
+    private TaskForTree toTaskTree(TaskNode task, Map<Integer, ProjectWithNameAndId> projectRefs) {
+        TaskForTree tree = new TaskForTree(task.getId());
+        tree.setTitle(task.getTitle());
+        tree.setDescription(task.getDescription());
+        tree.setProject(getProjectRef(task.getProjectId(), projectRefs));
+        for(Integer id : tasksByParent.getOrDefault(task.getId(), Collections.emptySortedSet())) {
+            tree.getChildren().add(toTaskTree(tasks.get(id), projectRefs));
+        }
+        return tree;
+    }
+
+    private ProjectWithNameAndId getProjectRef(Integer projectId, Map<Integer, ProjectWithNameAndId> projectRefs) {
+        if(projectId == null || !projects.containsKey(projectId)) {
+            return null;
+        }
+        return projectRefs.computeIfAbsent(projectId, (id) -> new ProjectNameAndId(id, projects.get(id).getName()));
+    }
+
+    private void addProject(ProjectNode project) {
+        projects.put(project.getId(), project);
+        projectsByParent.computeIfAbsent(project.getParentId(), (a) -> new TreeSet<>()).add(project.getId());
+    }
+
+    private void addTask(TaskNode task) {
+        tasks.put(task.getId(), task);
+        if(task.getParentId() == null) {
+            tasksByProject.computeIfAbsent(task.getProjectId(), (a) -> new TreeSet<>()).add(task.getId());
+        } else {
+            tasksByParent.computeIfAbsent(task.getParentId(), (a) -> new TreeSet<>()).add(task.getId());
+        }
+    }
+
+    private void removeFromParent(TaskNode task) {
+        if(task.getParentId() == null) {
+            removeFromGroup(tasksByProject, task.getProjectId(), task.getId());
+        } else {
+            removeFromGroup(tasksByParent, task.getParentId(), task.getId());
+        }
+    }
+
+    private void removeFromGroup(Map<Integer, SortedSet<Integer>> groups, Integer key, Integer id) {
+        SortedSet<Integer> group = groups.get(key);
+        if(group != null) {
+            group.remove(id);
+            if(group.isEmpty()) {
+                groups.remove(key);
+            }
+        }
+    }
+
+    private List<Integer> collectSubtree(Integer rootId, Map<Integer, SortedSet<Integer>> childrenByParent) {
+        List<Integer> result = new ArrayList<>();
+        result.add(rootId);
+        for(int i = 0; i < result.size(); i++) {
+            result.addAll(childrenByParent.getOrDefault(result.get(i), Collections.emptySortedSet()));
+        }
+        return result;
+    }
+
+    @Value
+    static class ProjectNode {
+        Integer id;
+        String name;
+        Integer parentId;
+    }
+
+    @Value
+    static class TaskNode {
+        Integer id;
+        String title;
+        String description;
+        Integer projectId;
+        Integer parentId;
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.xpakx.ladder.tree;
+
+import io.github.xpakx.ladder.common.dto.ModificationWatermark;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Modification times of rows of one table as known to a cached tree. Tree is current if the table
+ * has the same number of rows, the same latest modification time, and the same number of rows modified
+ * since the tree was loaded, which catches writes that weren't applied to the tree.
+ */
+class TableWatermark {
+    static final LocalDateTime NONE = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final LocalDateTime since;
+    private final Map<Integer, LocalDateTime> modifiedAtById = new HashMap<>();
+    private final TreeMap<LocalDateTime, Integer> rowsByModifiedAt = new TreeMap<>();
+
+    TableWatermark(LocalDateTime lastModifiedAt) {
+        this.since = lastModifiedAt != null ? lastModifiedAt : NONE;
+    }
+
+    LocalDateTime getSince() {
+        return since;
+    }
+
+    void put(Integer id, LocalDateTime modifiedAt) {
+        remove(id);
+        if(modifiedAt == null) {
+            return;
+        }
+        modifiedAt = toStoredPrecision(modifiedAt);
+        modifiedAtById.put(id, modifiedAt);
+        rowsByModifiedAt.merge(modifiedAt, 1, Integer::sum);
+    }
+
+    void remove(Integer id) {
+        LocalDateTime modifiedAt = modifiedAtById.remove(id);
+        if(modifiedAt != null) {
+            rowsByModifiedAt.computeIfPresent(modifiedAt, (key, rows) -> rows > 1 ? rows - 1 : null);
+        }
+    }
+
+    /**
+     * Round time to microseconds, as it's done when timestamp is saved to the database
+     */
+    private LocalDateTime toStoredPrecision(LocalDateTime time) {
+        return time.plusNanos(500).truncatedTo(ChronoUnit.MICROS);
+    }
+
+    boolean matches(ModificationWatermark watermark, int rows) {
+        LocalDateTime lastModifiedAt = rowsByModifiedAt.isEmpty() ? null : rowsByModifiedAt.lastKey();
+        long modifiedSince = rowsByModifiedAt.tailMap(since, false).values().stream()
+                .mapToLong(Integer::longValue)
+                .sum();
+        long expectedModifiedSince = watermark.getModifiedSince() != null ? watermark.getModifiedSince() : 0;
+        return watermark.getRowCount() == rows
+                && Objects.equals(watermark.getLastModifiedAt(), lastModifiedAt)
+                && expectedModifiedSince == modifiedSince;
+    }
+}
@@ -22,12 +22,6 @@ public interface UserAccountRepository extends JpaRepository<UserAccount, Intege
     @Query("SELECT u.id AS id, u.username AS username FROM Project p LEFT JOIN p.collaborators c LEFT JOIN c.owner u WHERE p.id = :projectId AND p.owner.id = :ownerId")
     List<UserWithNameAndId> getCollaboratorsByProjectIdAndOwnerId(Integer projectId, Integer ownerId);
 
-    @Query("SELECT u.id FROM Project p LEFT JOIN p.collaborators c LEFT JOIN c.owner u WHERE p.id = :projectId")
-    List<Integer> getCollaboratorsIdByProjectId(Integer projectId);
-
-    @Query("SELECT u.id FROM Task t LEFT JOIN t.project p LEFT JOIN p.collaborators c LEFT JOIN c.owner u WHERE t.id = :taskId AND p.collaborative = true")
-    List<Integer> getCollaboratorsIdByTaskId(Integer taskId);
-
     @Query("SELECT u FROM Task t LEFT JOIN t.project p LEFT JOIN p.collaborators c LEFT JOIN c.owner u WHERE t.id = :taskId AND p.collaborative = true AND u.id = :userId")
     Optional<UserAccount> getCollaboratorByTaskIdAndId(Integer taskId, Integer userId);
 
@@ -0,0 +1,131 @@
+-- Schema generated by Hibernate before migrations were introduced. Databases created back then
+-- have no migration history and are baselined at this version instead of running it.
+
+CREATE TABLE user_account (
+    id SERIAL NOT NULL PRIMARY KEY,
+    username VARCHAR(255) UNIQUE,
+    password VARCHAR(255),
+    project_collapsed BOOLEAN NOT NULL,
+    collaboration_token VARCHAR(255)
+);
+
+CREATE TABLE user_role (
+    id SERIAL NOT NULL PRIMARY KEY,
+    authority VARCHAR(255)
+);
+
+CREATE TABLE user_roles (
+    user_account_id INTEGER NOT NULL REFERENCES user_account (id),
+    user_role_id INTEGER NOT NULL REFERENCES user_role (id),
+    PRIMARY KEY (user_account_id, user_role_id)
+);
+
+CREATE TABLE project (
+    id SERIAL NOT NULL PRIMARY KEY,
+    name VARCHAR(255),
+    favorite BOOLEAN NOT NULL,
+    color VARCHAR(255),
+    general_order INTEGER,
+    collapsed BOOLEAN NOT NULL,
+    archived BOOLEAN NOT NULL,
+    created_at TIMESTAMP,
+    modified_at TIMESTAMP,
+    project_id INTEGER REFERENCES project (id),
+    user_account_id INTEGER REFERENCES user_account (id),
+    collaborative BOOLEAN NOT NULL
+);
+
+CREATE TABLE task (
+    id SERIAL NOT NULL PRIMARY KEY,
+    title VARCHAR(255),
+    description VARCHAR(255),
+    due TIMESTAMP,
+    timeboxed BOOLEAN NOT NULL,
+    completed_at TIMESTAMP,
+    completed BOOLEAN NOT NULL,
+    collapsed BOOLEAN NOT NULL,
+    archived BOOLEAN NOT NULL,
+    created_at TIMESTAMP,
+    modified_at TIMESTAMP,
+    project_order INTEGER,
+    daily_view_order INTEGER,
+    priority INTEGER,
+    parent_id INTEGER REFERENCES task (id),
+    project_id INTEGER REFERENCES project (id),
+    user_account_id INTEGER REFERENCES user_account (id),
+    assigned_user_id INTEGER REFERENCES user_account (id)
+);
+
+CREATE TABLE label (
+    id SERIAL NOT NULL PRIMARY KEY,
+    name VARCHAR(255),
+    color VARCHAR(255),
+    general_order INTEGER,
+    favorite BOOLEAN NOT NULL,
+    modified_at TIMESTAMP,
+    user_account_id INTEGER REFERENCES user_account (id)
+);
+
+CREATE TABLE task_label (
+    task_id INTEGER NOT NULL REFERENCES task (id),
+    label_id INTEGER NOT NULL REFERENCES label (id),
+    PRIMARY KEY (task_id, label_id)
+);
+
+CREATE TABLE habit (
+    id SERIAL NOT NULL PRIMARY KEY,
+    title VARCHAR(255),
+    description VARCHAR(255),
+    modified_at TIMESTAMP,
+    priority INTEGER,
+    general_order INTEGER,
+    allow_positive BOOLEAN NOT NULL,
+    allow_negative BOOLEAN NOT NULL,
+    archived BOOLEAN NOT NULL,
+    user_account_id INTEGER REFERENCES user_account (id),
+    project_id INTEGER REFERENCES project (id)
+);
+
+CREATE TABLE habit_label (
+    habit_id INTEGER NOT NULL REFERENCES habit (id),
+    label_id INTEGER NOT NULL REFERENCES label (id),
+    PRIMARY KEY (habit_id, label_id)
+);
+
+CREATE TABLE habit_completion (
+    id SERIAL NOT NULL PRIMARY KEY,
+    date TIMESTAMP,
+    positive BOOLEAN NOT NULL,
+    habit_id INTEGER REFERENCES habit (id),
+    user_account_id INTEGER REFERENCES user_account (id)
+);
+
+CREATE TABLE filter (
+    id SERIAL NOT NULL PRIMARY KEY,
+    name VARCHAR(255),
+    search_string VARCHAR(255),
+    modified_at TIMESTAMP,
+    color VARCHAR(255),
+    favorite BOOLEAN NOT NULL,
+    general_order INTEGER,
+    user_account_id INTEGER REFERENCES user_account (id)
+);
+
+CREATE TABLE collaboration (
+    id SERIAL NOT NULL PRIMARY KEY,
+    accepted BOOLEAN NOT NULL,
+    task_completion_allowed BOOLEAN NOT NULL,
+    edition_allowed BOOLEAN NOT NULL,
+    user_account_id INTEGER REFERENCES user_account (id),
+    project_id INTEGER REFERENCES project (id),
+    modified_at TIMESTAMP,
+    UNIQUE (user_account_id, project_id)
+);
+
+CREATE TABLE task_comment (
+    id SERIAL NOT NULL PRIMARY KEY,
+    content VARCHAR(255),
+    created_at TIMESTAMP,
+    task_id INTEGER REFERENCES task (id),
+    user_account_id INTEGER REFERENCES user_account (id)
+);
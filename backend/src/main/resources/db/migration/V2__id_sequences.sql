@@ -0,0 +1,10 @@
+CREATE SEQUENCE IF NOT EXISTS user_account_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS user_role_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS project_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS task_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS label_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS habit_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS habit_completion_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS filter_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS collaboration_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS task_comment_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,3 @@
+ALTER TABLE task ADD COLUMN IF NOT EXISTS due_day DATE;
+
+UPDATE task SET due_day = CAST(due AS DATE) WHERE due IS NOT NULL AND due_day IS NULL;
@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS change_log_entry (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id INTEGER,
+    seq BIGINT,
+    type VARCHAR(255),
+    entity_id INTEGER,
+    deleted BOOLEAN NOT NULL,
+    created_at TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS change_log_user_seq_idx ON change_log_entry (user_id, seq);
+
+CREATE TABLE IF NOT EXISTS change_log_sequence (
+    user_id INTEGER NOT NULL PRIMARY KEY,
+    last_value BIGINT
+);
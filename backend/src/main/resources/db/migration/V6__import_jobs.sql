@@ -0,0 +1,29 @@
+CREATE SEQUENCE IF NOT EXISTS import_job_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS imported_row_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS import_job (
+    id INTEGER NOT NULL PRIMARY KEY,
+    owner_id INTEGER,
+    project_id INTEGER,
+    type VARCHAR(255),
+    status VARCHAR(255),
+    file VARCHAR(255),
+    rows_parsed INTEGER NOT NULL,
+    rows_saved INTEGER NOT NULL,
+    rows_failed INTEGER NOT NULL,
+    error VARCHAR(255),
+    created_at TIMESTAMP,
+    modified_at TIMESTAMP,
+    lease_owner VARCHAR(255),
+    lease_expires_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS imported_row (
+    id BIGINT NOT NULL PRIMARY KEY,
+    job_id INTEGER,
+    project BOOLEAN NOT NULL,
+    imported_id INTEGER,
+    entity_id INTEGER,
+    pending_parent_id INTEGER,
+    created BOOLEAN NOT NULL
+);
@@ -0,0 +1,22 @@
+CREATE SEQUENCE IF NOT EXISTS habit_completion_count_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS task_completion_count_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS habit_completion_count (
+    id BIGINT NOT NULL PRIMARY KEY,
+    owner_id INTEGER,
+    habit_id INTEGER,
+    date DATE,
+    number INTEGER NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS habit_completion_count_idx ON habit_completion_count (owner_id, habit_id, date);
+
+CREATE TABLE IF NOT EXISTS task_completion_count (
+    id BIGINT NOT NULL PRIMARY KEY,
+    owner_id INTEGER,
+    project_id INTEGER,
+    date DATE,
+    number INTEGER NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS task_completion_count_idx ON task_completion_count (owner_id, project_id, date);
@@ -0,0 +1,31 @@
+CREATE INDEX IF NOT EXISTS task_daily_view_idx ON task (user_account_id, due_day, daily_view_order);
+CREATE INDEX IF NOT EXISTS task_owner_modified_at_idx ON task (user_account_id, modified_at);
+CREATE INDEX IF NOT EXISTS task_owner_archived_idx ON task (user_account_id, archived);
+CREATE INDEX IF NOT EXISTS task_project_parent_idx ON task (project_id, parent_id, project_order);
+CREATE INDEX IF NOT EXISTS task_owner_parent_idx ON task (user_account_id, parent_id, project_order);
+CREATE INDEX IF NOT EXISTS task_parent_idx ON task (parent_id);
+
+CREATE INDEX IF NOT EXISTS project_owner_modified_at_idx ON project (user_account_id, modified_at);
+CREATE INDEX IF NOT EXISTS project_owner_archived_idx ON project (user_account_id, archived);
+CREATE INDEX IF NOT EXISTS project_owner_parent_idx ON project (user_account_id, project_id, general_order);
+
+CREATE INDEX IF NOT EXISTS label_owner_modified_at_idx ON label (user_account_id, modified_at);
+CREATE INDEX IF NOT EXISTS label_owner_order_idx ON label (user_account_id, general_order);
+
+CREATE INDEX IF NOT EXISTS habit_owner_modified_at_idx ON habit (user_account_id, modified_at);
+CREATE INDEX IF NOT EXISTS habit_owner_archived_idx ON habit (user_account_id, archived);
+CREATE INDEX IF NOT EXISTS habit_owner_project_idx ON habit (user_account_id, project_id, general_order);
+
+CREATE INDEX IF NOT EXISTS habit_completion_owner_date_idx ON habit_completion (user_account_id, date);
+CREATE INDEX IF NOT EXISTS habit_completion_habit_date_idx ON habit_completion (habit_id, date);
+
+CREATE INDEX IF NOT EXISTS filter_owner_modified_at_idx ON filter (user_account_id, modified_at);
+CREATE INDEX IF NOT EXISTS filter_owner_order_idx ON filter (user_account_id, general_order);
+
+CREATE INDEX IF NOT EXISTS collaboration_project_idx ON collaboration (project_id, accepted);
+CREATE INDEX IF NOT EXISTS task_comment_task_idx ON task_comment (task_id, created_at);
+
+CREATE INDEX IF NOT EXISTS import_job_status_idx ON import_job (status);
+CREATE INDEX IF NOT EXISTS imported_row_job_id_idx ON imported_row (job_id, id);
+
+CREATE INDEX IF NOT EXISTS change_log_created_at_idx ON change_log_entry (created_at);
@@ -0,0 +1,81 @@
+package io.github.xpakx.ladder.collaboration;
+
+import io.github.xpakx.ladder.security.JwtTokenUtil;
+import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.user.UserAccountRepository;
+import io.github.xpakx.ladder.user.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.util.HashSet;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class CollabMetricsControllerTest {
+    @LocalServerPort
+    private int port;
+
+    private String baseUrl;
+
+    @Autowired
+    JwtTokenUtil jwtTokenUtil;
+    @Autowired
+    UserService userService;
+    @Autowired
+    UserAccountRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost".concat(":").concat(port + "");
+        userRepository.save(UserAccount.builder()
+                .username("user1")
+                .password("password")
+                .roles(new HashSet<>())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    private String tokenFor(String username) {
+        return jwtTokenUtil.generateToken(userService.loadUserToLogin(username));
+    }
+
+    @Test
+    void shouldRespondWith401ToCollaboratorCacheMetricsIfUserUnauthorized() {
+        given()
+                .log()
+                .uri()
+        .when()
+                .get(baseUrl + "/metrics/collaborators")
+        .then()
+                .statusCode(UNAUTHORIZED.value());
+    }
+
+    @Test
+    void shouldRespondWithCollaboratorCacheMetrics() {
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .get(baseUrl + "/metrics/collaborators")
+        .then()
+                .statusCode(OK.value())
+                .body("$", hasKey("hits"))
+                .body("$", hasKey("misses"))
+                .body("$", hasKey("hitRatio"))
+                .body("invalidations", greaterThanOrEqualTo(0));
+    }
+}
@@ -0,0 +1,141 @@
+package io.github.xpakx.ladder.collaboration;
+
+import io.github.xpakx.ladder.common.dto.PriorityRequest;
+import io.github.xpakx.ladder.project.Project;
+import io.github.xpakx.ladder.project.ProjectRepository;
+import io.github.xpakx.ladder.task.Task;
+import io.github.xpakx.ladder.task.TaskRepository;
+import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.user.UserAccountRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.HashSet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Cost of updating a task in a collaborative project with access loaded from the database
+ * on every request versus cached access. Run with {@code mvn test -P benchmark}.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class CollabTaskUpdateBenchmark {
+    private static final Logger LOG = LoggerFactory.getLogger(CollabTaskUpdateBenchmark.class);
+    private static final int WARMUP = 500;
+    private static final int UPDATES = 5_000;
+
+    private Integer projectId;
+    private Integer taskId;
+    private Integer collaboratorId;
+
+    @Autowired
+    UserAccountRepository userRepository;
+    @Autowired
+    ProjectRepository projectRepository;
+    @Autowired
+    TaskRepository taskRepository;
+    @Autowired
+    CollaborationRepository collaborationRepository;
+    @Autowired
+    CollabService collabService;
+    @Autowired
+    CollaboratorCache collaboratorCache;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        UserAccount owner = userRepository.save(UserAccount.builder()
+                .username("user1")
+                .password("password")
+                .roles(new HashSet<>())
+                .build());
+        UserAccount collaborator = userRepository.save(UserAccount.builder()
+                .username("user2")
+                .password("password")
+                .roles(new HashSet<>())
+                .build());
+        collaboratorId = collaborator.getId();
+        Project project = projectRepository.save(Project.builder()
+                .owner(owner)
+                .name("Test Project")
+                .generalOrder(1)
+                .collaborative(true)
+                .build());
+        projectId = project.getId();
+        collaborationRepository.save(Collaboration.builder()
+                .project(project)
+                .owner(collaborator)
+                .accepted(true)
+                .editionAllowed(true)
+                .taskCompletionAllowed(true)
+                .build());
+        taskId = taskRepository.save(Task.builder()
+                .owner(owner)
+                .project(project)
+                .title("Test Task")
+                .projectOrder(1)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        collaborationRepository.deleteAll();
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+        collaboratorCache.invalidate(projectId);
+    }
+
+    @Test
+    void shouldCompareAccessChecksWithAndWithoutCache() {
+        Result withoutCache = measure(true);
+        Result withCache = measure(false);
+
+        LOG.info("Without cache: {} ns/update, {} queries/update", withoutCache.nanosPerUpdate, withoutCache.queriesPerUpdate);
+        LOG.info("With cache: {} ns/update, {} queries/update", withCache.nanosPerUpdate, withCache.queriesPerUpdate);
+        assertThat(withCache.queriesPerUpdate, lessThan(withoutCache.queriesPerUpdate));
+    }
+
+    private Result measure(boolean invalidate) {
+        for(int i = 0; i < WARMUP; i++) {
+            update(i, invalidate);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+        for(int i = 0; i < UPDATES; i++) {
+            update(i, invalidate);
+        }
+        long time = System.nanoTime() - start;
+        return new Result(time / UPDATES, (double) statistics.getPrepareStatementCount() / UPDATES);
+    }
+
+    private void update(int i, boolean invalidate) {
+        if(invalidate) {
+            collaboratorCache.invalidate(projectId);
+        }
+        PriorityRequest request = new PriorityRequest();
+        request.setPriority(i % 4);
+        collabService.updateTaskPriority(request, taskId, collaboratorId);
+    }
+
+    private static class Result {
+        private final long nanosPerUpdate;
+        private final double queriesPerUpdate;
+
+        Result(long nanosPerUpdate, double queriesPerUpdate) {
+            this.nanosPerUpdate = nanosPerUpdate;
+            this.queriesPerUpdate = queriesPerUpdate;
+        }
+    }
+}
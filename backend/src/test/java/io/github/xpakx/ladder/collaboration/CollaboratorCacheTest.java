@@ -0,0 +1,288 @@
+package io.github.xpakx.ladder.collaboration;
+
+import io.github.xpakx.ladder.collaboration.dto.CollaboratorCacheDetails;
+import io.github.xpakx.ladder.collaboration.dto.ProjectAccessRow;
+import io.github.xpakx.ladder.task.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class CollaboratorCacheTest {
+    @Mock
+    private CollaborationRepository collaborationRepository;
+    @Mock
+    private TaskRepository taskRepository;
+
+    private CollaboratorCache cache;
+    private AtomicLong time;
+
+    @BeforeEach
+    void setUp() {
+        time = new AtomicLong(1000);
+        cache = new CollaboratorCache(collaborationRepository, taskRepository, 2, 100, 50, time::get);
+    }
+
+    @Test
+    void shouldQueryCollaboratorsOnlyOnceForProject() {
+        given(collaborationRepository.findOwnerIdsByProjectId(5))
+                .willReturn(List.of(1, 2));
+
+        List<Integer> first = cache.getCollaboratorIds(5);
+        List<Integer> second = cache.getCollaboratorIds(5);
+
+        assertEquals(List.of(1, 2), first);
+        assertEquals(List.of(1, 2), second);
+        then(collaborationRepository)
+                .should(times(1))
+                .findOwnerIdsByProjectId(5);
+        assertEquals(1, cache.getMetrics().getHits().get());
+        assertEquals(1, cache.getMetrics().getMisses().get());
+        assertEquals(0.5, cache.getMetrics().getHitRatio());
+    }
+
+    @Test
+    void shouldNotQueryCollaboratorsForTaskWithoutProject() {
+        given(taskRepository.findProjectIdById(3))
+                .willReturn(Optional.empty());
+
+        List<Integer> result = cache.getCollaboratorIdsByTaskId(3);
+
+        assertTrue(result.isEmpty());
+        then(collaborationRepository)
+                .should(times(0))
+                .findOwnerIdsByProjectId(anyInt());
+    }
+
+    @Test
+    void shouldResolveTaskProjectAndUseCachedCollaborators() {
+        given(taskRepository.findProjectIdById(3))
+                .willReturn(Optional.of(5));
+        given(collaborationRepository.findOwnerIdsByProjectId(5))
+                .willReturn(List.of(1));
+
+        cache.getCollaboratorIds(5);
+        List<Integer> result = cache.getCollaboratorIdsByTaskId(3);
+
+        assertEquals(List.of(1), result);
+        then(collaborationRepository)
+                .should(times(1))
+                .findOwnerIdsByProjectId(5);
+    }
+
+    @Test
+    void shouldReloadCollaboratorsAfterInvalidation() {
+        given(collaborationRepository.findOwnerIdsByProjectId(5))
+                .willReturn(List.of(1), List.of(1, 2));
+
+        cache.getCollaboratorIds(5);
+        cache.invalidate(5);
+        List<Integer> result = cache.getCollaboratorIds(5);
+
+        assertEquals(List.of(1, 2), result);
+        assertEquals(1, cache.getMetrics().getInvalidations().get());
+        assertEquals(2, cache.getMetrics().getMisses().get());
+    }
+
+    @Test
+    void shouldExposeMetrics() {
+        given(collaborationRepository.findOwnerIdsByProjectId(5))
+                .willReturn(List.of(1));
+
+        cache.getCollaboratorIds(5);
+        cache.getCollaboratorIds(5);
+        cache.getCollaboratorIds(5);
+        cache.getCollaboratorIds(5);
+        cache.invalidate(6);
+        CollaboratorCacheDetails result = cache.getMetricsDetails();
+
+        assertEquals(1, result.getProjects());
+        assertEquals(3, result.getHits());
+        assertEquals(1, result.getMisses());
+        assertEquals(0.75, result.getHitRatio());
+        assertEquals(1, result.getInvalidations());
+    }
+
+    @Test
+    void shouldNotCacheCollaboratorsLoadedDuringInvalidation() {
+        given(collaborationRepository.findOwnerIdsByProjectId(5))
+                .willAnswer((a) -> {
+                    cache.invalidate(5);
+                    return List.of(1);
+                })
+                .willReturn(List.of(1, 2));
+
+        List<Integer> stale = cache.getCollaboratorIds(5);
+        List<Integer> result = cache.getCollaboratorIds(5);
+
+        assertEquals(List.of(1), stale);
+        assertEquals(List.of(1, 2), result);
+    }
+
+    @Test
+    void shouldReloadCollaboratorsAfterExpiration() {
+        given(collaborationRepository.findOwnerIdsByProjectId(5))
+                .willReturn(List.of(1, 2), List.of(1));
+
+        cache.getCollaboratorIds(5);
+        time.addAndGet(100);
+        List<Integer> result = cache.getCollaboratorIds(5);
+
+        assertEquals(List.of(1), result);
+        then(collaborationRepository)
+                .should(times(2))
+                .findOwnerIdsByProjectId(5);
+    }
+
+    @Test
+    void shouldEvictCollaboratorsIfFull() {
+        given(collaborationRepository.findOwnerIdsByProjectId(anyInt()))
+                .willReturn(List.of(1));
+
+        cache.getCollaboratorIds(5);
+        cache.getCollaboratorIds(6);
+        cache.getCollaboratorIds(7);
+        cache.getCollaboratorIds(5);
+
+        then(collaborationRepository)
+                .should(times(2))
+                .findOwnerIdsByProjectId(5);
+    }
+
+    @Test
+    void shouldBuildAccessFromAcceptedCollaborations() {
+        given(collaborationRepository.findAccessRowsByProjectId(5))
+                .willReturn(List.of(
+                        row(9, 1, true, true, false),
+                        row(9, 2, true, false, true),
+                        row(9, 3, false, true, true)
+                ));
+
+        Optional<ProjectAccess> result = cache.getAccess(5);
+
+        assertTrue(result.isPresent());
+        ProjectAccess access = result.get();
+        assertEquals(9, access.getOwnerId());
+        assertTrue(access.canView(1));
+        assertTrue(access.canEdit(1));
+        assertFalse(access.canComplete(1));
+        assertTrue(access.canView(2));
+        assertFalse(access.canEdit(2));
+        assertTrue(access.canComplete(2));
+        assertFalse(access.canView(3));
+        assertFalse(access.canView(9));
+    }
+
+    @Test
+    void shouldQueryAccessOnlyOnceForProject() {
+        given(collaborationRepository.findAccessRowsByProjectId(5))
+                .willReturn(List.of(row(9, 1, true, true, true)));
+
+        cache.getAccess(5);
+        Optional<ProjectAccess> result = cache.getAccess(5);
+
+        assertTrue(result.isPresent());
+        assertTrue(result.get().canEdit(1));
+        then(collaborationRepository)
+                .should(times(1))
+                .findAccessRowsByProjectId(5);
+    }
+
+    @Test
+    void shouldNotCacheAccessToNonexistentProject() {
+        given(collaborationRepository.findAccessRowsByProjectId(5))
+                .willReturn(List.of());
+
+        cache.getAccess(5);
+        Optional<ProjectAccess> result = cache.getAccess(5);
+
+        assertTrue(result.isEmpty());
+        then(collaborationRepository)
+                .should(times(2))
+                .findAccessRowsByProjectId(5);
+    }
+
+    @Test
+    void shouldReloadAccessAfterInvalidation() {
+        given(collaborationRepository.findAccessRowsByProjectId(5))
+                .willReturn(List.of(row(9, 1, false, true, true)), List.of(row(9, 1, true, true, true)));
+
+        cache.getAccess(5);
+        cache.invalidate(5);
+        Optional<ProjectAccess> result = cache.getAccess(5);
+
+        assertTrue(result.isPresent());
+        assertTrue(result.get().canEdit(1));
+    }
+
+    @Test
+    void shouldReloadAccessAfterExpiration() {
+        given(collaborationRepository.findAccessRowsByProjectId(5))
+                .willReturn(List.of(row(9, 1, true, true, true)), List.of(row(9, 1, true, false, true)));
+
+        cache.getAccess(5);
+        time.addAndGet(50);
+        Optional<ProjectAccess> result = cache.getAccess(5);
+
+        assertTrue(result.isPresent());
+        assertFalse(result.get().canEdit(1));
+        then(collaborationRepository)
+                .should(times(2))
+                .findAccessRowsByProjectId(5);
+    }
+
+    @Test
+    void shouldResolveTaskProjectForAccess() {
+        given(taskRepository.findProjectIdById(3))
+                .willReturn(Optional.of(5));
+        given(collaborationRepository.findAccessRowsByProjectId(5))
+                .willReturn(List.of(row(9, null, null, null, null)));
+
+        Optional<ProjectAccess> result = cache.getAccessByTaskId(3);
+
+        assertTrue(result.isPresent());
+        assertEquals(9, result.get().getOwnerId());
+        assertFalse(result.get().canView(1));
+    }
+
+    private ProjectAccessRow row(Integer ownerId, Integer collaboratorId, Boolean accepted, Boolean edit, Boolean complete) {
+        return new ProjectAccessRow() {
+            @Override
+            public Integer getOwnerId() {
+                return ownerId;
+            }
+
+            @Override
+            public Integer getCollaboratorId() {
+                return collaboratorId;
+            }
+
+            @Override
+            public Boolean getAccepted() {
+                return accepted;
+            }
+
+            @Override
+            public Boolean getEditionAllowed() {
+                return edit;
+            }
+
+            @Override
+            public Boolean getTaskCompletionAllowed() {
+                return complete;
+            }
+        };
+    }
+}
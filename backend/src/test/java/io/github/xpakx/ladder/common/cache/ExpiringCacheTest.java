@@ -0,0 +1,59 @@
+package io.github.xpakx.ladder.common.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpiringCacheTest {
+    private AtomicLong time;
+    private ExpiringCache<String, Integer> cache;
+
+    @BeforeEach
+    void setUp() {
+        time = new AtomicLong(1000);
+        cache = new ExpiringCache<>(2, time::get);
+    }
+
+    @Test
+    void shouldReturnValueBeforeExpiration() {
+        cache.put("a", 1, 100);
+        time.addAndGet(99);
+
+        assertEquals(1, cache.get("a"));
+    }
+
+    @Test
+    void shouldNotReturnExpiredValue() {
+        cache.put("a", 1, 100);
+        time.addAndGet(100);
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedValueIfFull() {
+        cache.put("a", 1, 100);
+        cache.put("b", 2, 100);
+        cache.get("a");
+        cache.put("c", 3, 100);
+
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+    }
+
+    @Test
+    void shouldRemoveMatchingValues() {
+        cache.put("a", 1, 100);
+        cache.put("b", 2, 100);
+
+        cache.removeIf((key, value) -> value == 2);
+
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+}
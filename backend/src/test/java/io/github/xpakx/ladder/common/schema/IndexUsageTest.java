@@ -0,0 +1,136 @@
+package io.github.xpakx.ladder.common.schema;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+
+/**
+ * Checks that hot repository queries are served by their indexes. Derived queries are written
+ * here as JPQL with the same predicates as queries generated by Spring Data. Lookups by a single
+ * foreign key aren't checked, as H2 already indexes foreign keys and may pick its own index.
+ */
+@SpringBootTest
+class IndexUsageTest {
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    DataSource dataSource;
+    @Autowired
+    SchemaCheckService schemaCheckService;
+
+    private QueryPlans plans;
+
+    private static final LocalDateTime DATE = LocalDateTime.of(2022, 1, 12, 12, 32);
+
+    @BeforeEach
+    void setUp() {
+        plans = new QueryPlans(entityManagerFactory, dataSource);
+    }
+
+    @Test
+    void shouldCreateAllDeclaredIndexes() throws Exception {
+        assertThat(schemaCheckService.findMissingIndexes(), empty());
+    }
+
+    @Test
+    void shouldApplyAllMigrations() {
+        assertThat(schemaCheckService.findUnappliedMigrations(), empty());
+    }
+
+    @Test
+    void shouldUseIndexToSyncTasks() throws Exception {
+        plans.assertUsesIndex("SELECT t FROM Task t WHERE t.owner.id = :ownerId AND t.modifiedAt > :date",
+                Map.of("ownerId", 1, "date", DATE), "task_owner_modified_at_idx");
+    }
+
+    @Test
+    void shouldUseIndexToGetNotArchivedTasks() throws Exception {
+        plans.assertUsesIndex("SELECT t FROM Task t WHERE t.owner.id = :ownerId AND t.archived = :archived",
+                Map.of("ownerId", 1, "archived", false), "task_owner_archived_idx");
+    }
+
+    @Test
+    void shouldUseIndexToGetTasksOfProject() throws Exception {
+        plans.assertUsesIndex("SELECT t FROM Task t WHERE t.owner.id = :ownerId AND t.project.id = :projectId " +
+                        "AND t.parent IS NULL ORDER BY t.projectOrder",
+                Map.of("ownerId", 1, "projectId", 1), "task_project_parent_idx");
+    }
+
+    @Test
+    void shouldUseIndexToGetSubtasks() throws Exception {
+        plans.assertUsesIndex("SELECT t FROM Task t WHERE t.owner.id = :ownerId AND t.parent.id = :parentId " +
+                        "ORDER BY t.projectOrder",
+                Map.of("ownerId", 1, "parentId", 1), "task_owner_parent_idx");
+    }
+
+    @Test
+    void shouldUseIndexToSyncProjects() throws Exception {
+        plans.assertUsesIndex("SELECT p FROM Project p WHERE p.owner.id = :ownerId AND p.modifiedAt > :date",
+                Map.of("ownerId", 1, "date", DATE), "project_owner_modified_at_idx");
+    }
+
+    @Test
+    void shouldUseIndexToGetNotArchivedProjects() throws Exception {
+        plans.assertUsesIndex("SELECT p FROM Project p WHERE p.owner.id = :ownerId AND p.archived = :archived",
+                Map.of("ownerId", 1, "archived", false), "project_owner_archived_idx");
+    }
+
+    @Test
+    void shouldUseIndexToGetSubprojects() throws Exception {
+        plans.assertUsesIndex("SELECT p FROM Project p WHERE p.owner.id = :ownerId AND p.parent.id = :parentId " +
+                        "ORDER BY p.generalOrder",
+                Map.of("ownerId", 1, "parentId", 1), "project_owner_parent_idx");
+    }
+
+    @Test
+    void shouldUseIndexToSyncHabits() throws Exception {
+        plans.assertUsesIndex("SELECT h FROM Habit h WHERE h.owner.id = :ownerId AND h.modifiedAt > :date",
+                Map.of("ownerId", 1, "date", DATE), "habit_owner_modified_at_idx");
+    }
+
+    @Test
+    void shouldUseIndexToGetHabitsOfProject() throws Exception {
+        plans.assertUsesIndex("SELECT h FROM Habit h WHERE h.owner.id = :ownerId AND h.project.id = :projectId " +
+                        "ORDER BY h.generalOrder",
+                Map.of("ownerId", 1, "projectId", 1), "habit_owner_project_idx");
+    }
+
+    @Test
+    void shouldUseIndexToSyncHabitCompletions() throws Exception {
+        plans.assertUsesIndex("SELECT c FROM HabitCompletion c WHERE c.owner.id = :ownerId AND c.date > :date",
+                Map.of("ownerId", 1, "date", DATE), "habit_completion_owner_date_idx");
+    }
+
+    @Test
+    void shouldUseIndexToGetCompletionsOfHabit() throws Exception {
+        plans.assertUsesIndex("SELECT c FROM HabitCompletion c WHERE c.habit.id = :habitId AND c.date > :date",
+                Map.of("habitId", 1, "date", DATE), "habit_completion_habit_date_idx");
+    }
+
+    @Test
+    void shouldUseIndexToSyncLabels() throws Exception {
+        plans.assertUsesIndex("SELECT l FROM Label l WHERE l.owner.id = :ownerId AND l.modifiedAt > :date",
+                Map.of("ownerId", 1, "date", DATE), "label_owner_modified_at_idx");
+    }
+
+    @Test
+    void shouldUseIndexToSyncFilters() throws Exception {
+        plans.assertUsesIndex("SELECT f FROM Filter f WHERE f.owner.id = :ownerId AND f.modifiedAt > :date",
+                Map.of("ownerId", 1, "date", DATE), "filter_owner_modified_at_idx");
+    }
+
+    @Test
+    void shouldUseIndexToGetCollaboratorsOfProject() throws Exception {
+        plans.assertUsesIndex("SELECT c FROM Collaboration c WHERE c.project.id = :projectId AND c.accepted = true",
+                Map.of("projectId", 1), "collaboration_project_idx");
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.xpakx.ladder.common.schema;
+
+import io.github.xpakx.ladder.LadderApplication;
+import io.github.xpakx.ladder.task.Task;
+import io.github.xpakx.ladder.task.TaskRepository;
+import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.user.UserAccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.HashSet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Starts the application on a database created by Hibernate before migrations were introduced,
+ * i.e. with the baseline schema, existing rows and no migration history.
+ */
+class MigrationTest {
+    private static final String URL = "jdbc:h2:mem:migration;DB_CLOSE_DELAY=-1";
+
+    private JdbcTemplate jdbcTemplate;
+    private ConfigurableApplicationContext context;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(URL, "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline.sql")).execute(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO user_account (id, username, password, project_collapsed) " +
+                "VALUES (120, 'user1', 'password', false)");
+        jdbcTemplate.update("INSERT INTO task (id, title, due, timeboxed, completed, collapsed, archived, user_account_id) " +
+                "VALUES (140, 'Task', TIMESTAMP '2022-01-12 12:32:00', false, false, false, false, 120)");
+        jdbcTemplate.update("INSERT INTO task (id, title, timeboxed, completed, collapsed, archived, user_account_id) " +
+                "VALUES (141, 'Task without due date', false, false, false, false, 120)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if(context != null) {
+            context.close();
+        }
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    private void startApplication() {
+        context = new SpringApplicationBuilder(LadderApplication.class)
+                .run("--server.port=0", "--spring.datasource.url=" + URL, "--spring.datasource.username=sa");
+    }
+
+    @Test
+    void shouldApplyAllMigrationsToBaselineDatabase() {
+        startApplication();
+
+        assertThat(context.getBean(SchemaCheckService.class).findUnappliedMigrations(), empty());
+    }
+
+    @Test
+    void shouldFillDueDayOfExistingTasks() {
+        startApplication();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT due_day FROM task WHERE id = 140", LocalDate.class),
+                equalTo(LocalDate.of(2022, 1, 12)));
+        assertThat(jdbcTemplate.queryForObject("SELECT due_day FROM task WHERE id = 141", LocalDate.class),
+                nullValue());
+    }
+
+    @Test
+    void shouldGenerateIdsAfterExistingRows() {
+        startApplication();
+        UserAccountRepository userRepository = context.getBean(UserAccountRepository.class);
+        TaskRepository taskRepository = context.getBean(TaskRepository.class);
+
+        UserAccount user = userRepository.save(UserAccount.builder()
+                .username("user2")
+                .password("password")
+                .roles(new HashSet<>())
+                .build());
+        Task task = taskRepository.save(Task.builder()
+                .owner(user)
+                .title("New task")
+                .projectOrder(1)
+                .build());
+
+        assertThat(user.getId(), greaterThan(120));
+        assertThat(task.getId(), greaterThan(141));
+    }
+}
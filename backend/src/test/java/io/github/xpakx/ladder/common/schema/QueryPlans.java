@@ -0,0 +1,66 @@
+package io.github.xpakx.ladder.common.schema;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.hql.internal.ast.ASTQueryTranslatorFactory;
+import org.hibernate.hql.spi.QueryTranslator;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+
+/**
+ * Explains JPQL queries on the test database to check which indexes they use
+ */
+public class QueryPlans {
+    private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
+
+    public QueryPlans(EntityManagerFactory entityManagerFactory, DataSource dataSource) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Fail if query isn't served by given index, or if it scans a whole table
+     * @param jpql Query to check
+     * @param parameters Values of named parameters of the query
+     * @param index Name of the expected index
+     */
+    public void assertUsesIndex(String jpql, Map<String, Object> parameters, String index) throws SQLException {
+        String plan = explain(jpql, parameters).toUpperCase();
+        assertThat(plan, containsString(index.toUpperCase()));
+        assertThat(plan, not(containsString("TABLESCAN")));
+    }
+
+    public String explain(String jpql, Map<String, Object> parameters) throws SQLException {
+        QueryTranslator translator = new ASTQueryTranslatorFactory().createQueryTranslator(
+                jpql, jpql, Collections.emptyMap(),
+                entityManagerFactory.unwrap(SessionFactoryImplementor.class), null
+        );
+        translator.compile(Collections.emptyMap(), false);
+        try(Connection connection = dataSource.getConnection();
+            PreparedStatement statement = connection.prepareStatement("EXPLAIN " + translator.getSQLString())) {
+            for(String name : translator.getParameterTranslations().getNamedParameterInformationMap().keySet()) {
+                for(int location : translator.getParameterTranslations().getNamedParameterInformation(name).getSourceLocations()) {
+                    statement.setObject(location + 1, parameters.get(name));
+                }
+            }
+            StringBuilder plan = new StringBuilder();
+            try(ResultSet result = statement.executeQuery()) {
+                while(result.next()) {
+                    plan.append(result.getString(1));
+                }
+            }
+            return plan.toString();
+        }
+    }
+}
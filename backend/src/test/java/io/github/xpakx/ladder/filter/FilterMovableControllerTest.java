@@ -70,6 +70,13 @@ public class FilterMovableControllerTest {
         return jwtTokenUtil.generateToken(userService.loadUserToLogin(username));
     }
 
+    private List<String> getNamesInOrder(List<Filter> entities) {
+        return entities.stream()
+                .sorted(Comparator.comparingInt(Filter::getGeneralOrder))
+                .map(Filter::getName)
+                .collect(Collectors.toList());
+    }
+
     private FilterRequest getValidAddFilterRequest() {
         FilterRequest request = new FilterRequest();
         request.setName("Added Filter");
@@ -106,18 +113,7 @@ public class FilterMovableControllerTest {
 
         List<Filter> filters = filterRepository.findAll();
         assertThat(filters, hasSize(3));
-        assertThat(filters, hasItem(allOf(
-                hasProperty("name", is("Filter 1")),
-                hasProperty("generalOrder", is(2))
-        )));
-        assertThat(filters, hasItem(allOf(
-                hasProperty("name", is("Filter 2")),
-                hasProperty("generalOrder", is(3))
-        )));
-        assertThat(filters, hasItem(allOf(
-                hasProperty("name", is("Filter 3")),
-                hasProperty("generalOrder", is(1))
-        )));
+        assertThat(getNamesInOrder(filters), contains("Filter 3", "Filter 1", "Filter 2"));
     }
 
     private List<Integer> add3FiltersInOrderAndReturnListOfIds() {
@@ -180,18 +176,7 @@ public class FilterMovableControllerTest {
 
         List<Filter> filters = filterRepository.findAll();
         assertThat(filters, hasSize(3));
-        assertThat(filters, hasItem(allOf(
-                hasProperty("name", is("Filter 1")),
-                hasProperty("generalOrder", is(1))
-        )));
-        assertThat(filters, hasItem(allOf(
-                hasProperty("name", is("Filter 2")),
-                hasProperty("generalOrder", is(3))
-        )));
-        assertThat(filters, hasItem(allOf(
-                hasProperty("name", is("Filter 3")),
-                hasProperty("generalOrder", is(2))
-        )));
+        assertThat(getNamesInOrder(filters), contains("Filter 1", "Filter 3", "Filter 2"));
     }
 
     @Test
@@ -225,22 +210,7 @@ public class FilterMovableControllerTest {
 
         List<Filter> filters = filterRepository.findAll();
         assertThat(filters, hasSize(4));
-        assertThat(filters, hasItem(allOf(
-                hasProperty("name", is("Added Filter")),
-                hasProperty("generalOrder", is(3))
-        )));
-        assertThat(filters, hasItem(allOf(
-                hasProperty("name", is("Filter 1")),
-                hasProperty("generalOrder", is(1))
-        )));
-        assertThat(filters, hasItem(allOf(
-                hasProperty("name", is("Filter 2")),
-                hasProperty("generalOrder", is(2))
-        )));
-        assertThat(filters, hasItem(allOf(
-                hasProperty("name", is("Filter 3")),
-                hasProperty("generalOrder", is(4))
-        )));
+        assertThat(getNamesInOrder(filters), contains("Filter 1", "Filter 2", "Added Filter", "Filter 3"));
     }
 
     @Test
@@ -275,21 +245,6 @@ public class FilterMovableControllerTest {
 
         List<Filter> filters = filterRepository.findAll();
         assertThat(filters, hasSize(4));
-        assertThat(filters, hasItem(allOf(
-                hasProperty("name", is("Added Filter")),
-                hasProperty("generalOrder", is(2))
-        )));
-        assertThat(filters, hasItem(allOf(
-                hasProperty("name", is("Filter 1")),
-                hasProperty("generalOrder", is(1))
-        )));
-        assertThat(filters, hasItem(allOf(
-                hasProperty("name", is("Filter 2")),
-                hasProperty("generalOrder", is(3))
-        )));
-        assertThat(filters, hasItem(allOf(
-                hasProperty("name", is("Filter 3")),
-                hasProperty("generalOrder", is(4))
-        )));
+        assertThat(getNamesInOrder(filters), contains("Filter 1", "Added Filter", "Filter 2", "Filter 3"));
     }
 }
@@ -74,6 +74,13 @@ public class HabitMovableControllerTest {
         return jwtTokenUtil.generateToken(userService.loadUserToLogin(username));
     }
 
+    private List<String> getTitlesInOrder(List<Habit> entities) {
+        return entities.stream()
+                .sorted(Comparator.comparingInt(Habit::getGeneralOrder))
+                .map(Habit::getTitle)
+                .collect(Collectors.toList());
+    }
+
     private Integer addHabitAndReturnId() {
         Habit habit = Habit.builder()
                 .owner(userRepository.getById(userId))
@@ -118,18 +125,7 @@ public class HabitMovableControllerTest {
 
         List<Habit> habits = habitRepository.findAll();
         assertThat(habits, hasSize(3));
-        assertThat(habits, hasItem(allOf(
-                hasProperty("title", is("Habit 1")),
-                hasProperty("generalOrder", is(2))
-        )));
-        assertThat(habits, hasItem(allOf(
-                hasProperty("title", is("Habit 2")),
-                hasProperty("generalOrder", is(3))
-        )));
-        assertThat(habits, hasItem(allOf(
-                hasProperty("title", is("Habit 3")),
-                hasProperty("generalOrder", is(1))
-        )));
+        assertThat(getTitlesInOrder(habits), contains("Habit 3", "Habit 1", "Habit 2"));
     }
 
     private List<Integer> add3HabitsInOrderAndReturnListOfIds() {
@@ -192,18 +188,7 @@ public class HabitMovableControllerTest {
 
         List<Habit> labels = habitRepository.findAll();
         assertThat(labels, hasSize(3));
-        assertThat(labels, hasItem(allOf(
-                hasProperty("title", is("Habit 1")),
-                hasProperty("generalOrder", is(1))
-        )));
-        assertThat(labels, hasItem(allOf(
-                hasProperty("title", is("Habit 2")),
-                hasProperty("generalOrder", is(3))
-        )));
-        assertThat(labels, hasItem(allOf(
-                hasProperty("title", is("Habit 3")),
-                hasProperty("generalOrder", is(2))
-        )));
+        assertThat(getTitlesInOrder(labels), contains("Habit 1", "Habit 3", "Habit 2"));
     }
 
     @Test
@@ -237,22 +222,7 @@ public class HabitMovableControllerTest {
 
         List<Habit> habits = habitRepository.findAll();
         assertThat(habits, hasSize(4));
-        assertThat(habits, hasItem(allOf(
-                hasProperty("title", is("Added Habit")),
-                hasProperty("generalOrder", is(3))
-        )));
-        assertThat(habits, hasItem(allOf(
-                hasProperty("title", is("Habit 1")),
-                hasProperty("generalOrder", is(1))
-        )));
-        assertThat(habits, hasItem(allOf(
-                hasProperty("title", is("Habit 2")),
-                hasProperty("generalOrder", is(2))
-        )));
-        assertThat(habits, hasItem(allOf(
-                hasProperty("title", is("Habit 3")),
-                hasProperty("generalOrder", is(4))
-        )));
+        assertThat(getTitlesInOrder(habits), contains("Habit 1", "Habit 2", "Added Habit", "Habit 3"));
     }
 
     @Test
@@ -286,22 +256,7 @@ public class HabitMovableControllerTest {
 
         List<Habit> habits = habitRepository.findAll();
         assertThat(habits, hasSize(4));
-        assertThat(habits, hasItem(allOf(
-                hasProperty("title", is("Added Habit")),
-                hasProperty("generalOrder", is(2))
-        )));
-        assertThat(habits, hasItem(allOf(
-                hasProperty("title", is("Habit 1")),
-                hasProperty("generalOrder", is(1))
-        )));
-        assertThat(habits, hasItem(allOf(
-                hasProperty("title", is("Habit 2")),
-                hasProperty("generalOrder", is(3))
-        )));
-        assertThat(habits, hasItem(allOf(
-                hasProperty("title", is("Habit 3")),
-                hasProperty("generalOrder", is(4))
-        )));
+        assertThat(getTitlesInOrder(habits), contains("Habit 1", "Added Habit", "Habit 2", "Habit 3"));
     }
 
     @Test
@@ -0,0 +1,304 @@
+package io.github.xpakx.ladder.imports;
+
+import io.github.xpakx.ladder.collaboration.Collaboration;
+import io.github.xpakx.ladder.collaboration.CollaborationRepository;
+import io.github.xpakx.ladder.comment.TaskComment;
+import io.github.xpakx.ladder.comment.TaskCommentRepository;
+import io.github.xpakx.ladder.filter.Filter;
+import io.github.xpakx.ladder.filter.FilterRepository;
+import io.github.xpakx.ladder.habit.Habit;
+import io.github.xpakx.ladder.habit.HabitCompletion;
+import io.github.xpakx.ladder.habit.HabitCompletionRepository;
+import io.github.xpakx.ladder.habit.HabitRepository;
+import io.github.xpakx.ladder.label.Label;
+import io.github.xpakx.ladder.label.LabelRepository;
+import io.github.xpakx.ladder.project.Project;
+import io.github.xpakx.ladder.project.ProjectRepository;
+import io.github.xpakx.ladder.security.JwtTokenUtil;
+import io.github.xpakx.ladder.task.Task;
+import io.github.xpakx.ladder.task.TaskRepository;
+import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.user.UserAccountRepository;
+import io.github.xpakx.ladder.user.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.HttpStatus.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class AccountControllerTest {
+    @LocalServerPort
+    private int port;
+
+    private String baseUrl;
+    private Integer userId;
+    private Integer secondUserId;
+    private Integer collaboratorId;
+
+    @Autowired
+    JwtTokenUtil jwtTokenUtil;
+    @Autowired
+    UserService userService;
+    @Autowired
+    UserAccountRepository userRepository;
+    @Autowired
+    ProjectRepository projectRepository;
+    @Autowired
+    TaskRepository taskRepository;
+    @Autowired
+    LabelRepository labelRepository;
+    @Autowired
+    HabitRepository habitRepository;
+    @Autowired
+    HabitCompletionRepository habitCompletionRepository;
+    @Autowired
+    FilterRepository filterRepository;
+    @Autowired
+    TaskCommentRepository commentRepository;
+    @Autowired
+    CollaborationRepository collaborationRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost".concat(":").concat(port + "");
+        this.userId = addUser("user1");
+        this.secondUserId = addUser("user2");
+        this.collaboratorId = addUser("collaborator");
+    }
+
+    private Integer addUser(String username) {
+        UserAccount user = UserAccount.builder()
+                .username(username)
+                .password("password")
+                .roles(new HashSet<>())
+                .build();
+        return userRepository.save(user).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll();
+        collaborationRepository.deleteAll();
+        habitCompletionRepository.deleteAll();
+        habitRepository.deleteAll();
+        filterRepository.deleteAll();
+        taskRepository.deleteAll();
+        labelRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private String tokenFor(String username) {
+        return jwtTokenUtil.generateToken(userService.loadUserToLogin(username));
+    }
+
+    private void addAccountData() {
+        UserAccount owner = userRepository.getById(userId);
+        Label label = labelRepository.save(Label.builder().name("work").color("#ff0000").owner(owner).build());
+        Project child = projectRepository.save(Project.builder().name("Child").owner(owner).generalOrder(1).build());
+        Project parent = projectRepository.save(Project.builder().name("Parent").owner(owner).generalOrder(2).build());
+        child.setParent(parent);
+        projectRepository.save(child);
+        Task subtask = taskRepository.save(Task.builder()
+                .owner(owner)
+                .project(child)
+                .title("Subtask")
+                .due(LocalDateTime.of(2021, 5, 1, 12, 30))
+                .projectOrder(1)
+                .labels(new HashSet<>())
+                .build());
+        Task task = taskRepository.save(Task.builder()
+                .owner(owner)
+                .project(child)
+                .title("Task")
+                .description("Details")
+                .projectOrder(2)
+                .assigned(userRepository.getById(collaboratorId))
+                .labels(new HashSet<>(Set.of(label)))
+                .build());
+        subtask.setParent(task);
+        taskRepository.save(subtask);
+        Habit habit = habitRepository.save(Habit.builder()
+                .owner(owner)
+                .project(parent)
+                .title("Habit")
+                .allowPositive(true)
+                .labels(new HashSet<>(Set.of(label)))
+                .build());
+        habitCompletionRepository.save(HabitCompletion.builder()
+                .owner(owner)
+                .habit(habit)
+                .positive(true)
+                .date(LocalDateTime.of(2021, 5, 2, 8, 0))
+                .build());
+        filterRepository.save(Filter.builder().owner(owner).name("Filter").searchString("p1").build());
+        commentRepository.save(TaskComment.builder().owner(owner).task(task).content("Mine").build());
+        commentRepository.save(TaskComment.builder().owner(userRepository.getById(collaboratorId)).task(task).content("Theirs").build());
+        collaborationRepository.save(Collaboration.builder()
+                .owner(userRepository.getById(collaboratorId))
+                .project(parent)
+                .accepted(true)
+                .editionAllowed(true)
+                .build());
+    }
+
+    private byte[] exportAccount() {
+        return given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .get(baseUrl + "/{userId}/export/account", userId)
+        .then()
+                .statusCode(OK.value())
+                .header("Content-Type", equalTo("application/gzip"))
+        .extract()
+                .asByteArray();
+    }
+
+    private List<String> readLines(byte[] snapshot) throws IOException {
+        try(BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(snapshot)), StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.toList());
+        }
+    }
+
+    private Integer count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+
+    @Test
+    void shouldRespondWith401ToAccountExportIfUserUnauthorized() {
+        given()
+                .log()
+                .uri()
+        .when()
+                .get(baseUrl + "/{userId}/export/account", 1)
+        .then()
+                .statusCode(UNAUTHORIZED.value());
+    }
+
+    @Test
+    void shouldExportAccountAsNDJSON() throws IOException {
+        addAccountData();
+        List<String> lines = readLines(exportAccount());
+
+        assertEquals(14, lines.size());
+        assertTrue(lines.get(0).startsWith("{\"type\":\"account\",\"version\":1,\"userId\":" + userId + ",\"username\":\"user1\""));
+        assertTrue(lines.get(1).startsWith("{\"type\":\"label\""));
+        List<String> types = lines.stream()
+                .map((a) -> a.substring(9, a.indexOf('"', 9)))
+                .distinct()
+                .collect(Collectors.toList());
+        assertEquals(List.of("account", "label", "project", "task", "task_label", "habit", "habit_label",
+                "habit_completion", "filter", "comment", "collaboration"), types);
+    }
+
+    @Test
+    void shouldImportExportedAccountForAnotherUser() {
+        addAccountData();
+        byte[] snapshot = exportAccount();
+
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user2"))
+                .multiPart("file", "account.ndjson.gz", snapshot)
+        .when()
+                .post(baseUrl + "/{userId}/import/account", secondUserId)
+        .then()
+                .statusCode(OK.value())
+                .body("label", equalTo(1))
+                .body("project", equalTo(2))
+                .body("task", equalTo(2))
+                .body("task_label", equalTo(1))
+                .body("habit", equalTo(1))
+                .body("habit_label", equalTo(1))
+                .body("habit_completion", equalTo(1))
+                .body("filter", equalTo(1))
+                .body("comment", equalTo(2))
+                .body("collaboration", equalTo(1));
+
+        assertEquals(1, count("SELECT COUNT(*) FROM project p JOIN project pa ON pa.id = p.project_id " +
+                "WHERE p.user_account_id = ? AND p.name = 'Child' AND pa.name = 'Parent' AND pa.user_account_id = ?",
+                secondUserId, secondUserId));
+        assertEquals(1, count("SELECT COUNT(*) FROM task t JOIN task pa ON pa.id = t.parent_id " +
+                "JOIN project p ON p.id = t.project_id WHERE t.user_account_id = ? AND t.title = 'Subtask' " +
+                "AND pa.title = 'Task' AND p.name = 'Child' AND p.user_account_id = ?", secondUserId, secondUserId));
+        assertEquals(1, count("SELECT COUNT(*) FROM task t WHERE t.user_account_id = ? AND t.assigned_user_id = ? " +
+                "AND t.description = 'Details'", secondUserId, collaboratorId));
+        assertEquals(1, count("SELECT COUNT(*) FROM task_label tl JOIN task t ON t.id = tl.task_id " +
+                "JOIN label l ON l.id = tl.label_id WHERE t.user_account_id = ? AND l.user_account_id = ?",
+                secondUserId, secondUserId));
+        assertEquals(1, count("SELECT COUNT(*) FROM habit_label hl JOIN habit h ON h.id = hl.habit_id " +
+                "JOIN label l ON l.id = hl.label_id WHERE h.user_account_id = ? AND l.user_account_id = ?",
+                secondUserId, secondUserId));
+        assertEquals(1, count("SELECT COUNT(*) FROM task_comment c JOIN task t ON t.id = c.task_id " +
+                "WHERE t.user_account_id = ? AND c.user_account_id = ? AND c.content = 'Mine'", secondUserId, secondUserId));
+        assertEquals(1, count("SELECT COUNT(*) FROM collaboration c JOIN project p ON p.id = c.project_id " +
+                "WHERE p.user_account_id = ? AND c.user_account_id = ?", secondUserId, collaboratorId));
+        assertEquals(1, count("SELECT COUNT(*) FROM task WHERE user_account_id = ? AND due = ?",
+                secondUserId, LocalDateTime.of(2021, 5, 1, 12, 30)));
+    }
+
+    @Test
+    void shouldSkipReferencesToMissingUsers() {
+        String snapshot = "{\"type\":\"account\",\"version\":1,\"userId\":1000}\n" +
+                "{\"type\":\"task\",\"id\":1,\"title\":\"Task\",\"assignedId\":1001}\n" +
+                "{\"type\":\"comment\",\"id\":1,\"taskId\":1,\"authorId\":1001,\"content\":\"Comment\"}\n" +
+                "{\"type\":\"comment\",\"id\":2,\"taskId\":2,\"authorId\":1000,\"content\":\"Comment\"}\n";
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user2"))
+                .multiPart("file", "account.ndjson", snapshot.getBytes(StandardCharsets.UTF_8))
+        .when()
+                .post(baseUrl + "/{userId}/import/account", secondUserId)
+        .then()
+                .statusCode(OK.value())
+                .body("task", equalTo(1))
+                .body("skipped", equalTo(2));
+
+        assertEquals(1, count("SELECT COUNT(*) FROM task WHERE user_account_id = ? AND assigned_user_id IS NULL", secondUserId));
+    }
+
+    @Test
+    void shouldRejectFileWithoutAccountHeader() {
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user2"))
+                .multiPart("file", "account.ndjson", "{\"type\":\"task\",\"id\":1}\n".getBytes(StandardCharsets.UTF_8))
+        .when()
+                .post(baseUrl + "/{userId}/import/account", secondUserId)
+        .then()
+                .statusCode(BAD_REQUEST.value());
+        assertEquals(0, count("SELECT COUNT(*) FROM task WHERE user_account_id = ?", secondUserId));
+    }
+}
@@ -0,0 +1,165 @@
+package io.github.xpakx.ladder.imports;
+
+import io.github.xpakx.ladder.archive.ArchiveService;
+import io.github.xpakx.ladder.common.dto.BooleanRequest;
+import io.github.xpakx.ladder.project.Project;
+import io.github.xpakx.ladder.project.ProjectRepository;
+import io.github.xpakx.ladder.sync.ChangeLogRepository;
+import io.github.xpakx.ladder.task.TaskRepository;
+import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.user.UserAccountRepository;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Statements and latency of importing and archiving 10k tasks, with JDBC batching
+ * and with one statement per row. Run with {@code mvn test -P benchmark}.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class BatchWriteBenchmark {
+    private static final Logger LOG = LoggerFactory.getLogger(BatchWriteBenchmark.class);
+    private static final int TASKS = 10_000;
+    private static final int BATCH_SIZE = 50;
+    private static final int CHUNK_SIZE = 500;
+
+    private Integer userId;
+    private Integer projectId;
+
+    @Autowired
+    UserAccountRepository userRepository;
+    @Autowired
+    ProjectRepository projectRepository;
+    @Autowired
+    TaskRepository taskRepository;
+    @Autowired
+    ChangeLogRepository changeLogRepository;
+    @Autowired
+    ImportCSVService importService;
+    @Autowired
+    ImportedRowRepository importedRowRepository;
+    @Autowired
+    ArchiveService archiveService;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        UserAccount user = UserAccount.builder()
+                .username("user1")
+                .password("password")
+                .roles(new HashSet<>())
+                .build();
+        userId = userRepository.save(user).getId();
+        projectId = projectRepository.save(Project.builder()
+                .owner(userRepository.getById(userId))
+                .name("Project")
+                .generalOrder(1)
+                .modifiedAt(LocalDateTime.now())
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeLogRepository.deleteAll();
+        importedRowRepository.deleteAllInBatch();
+        taskRepository.deleteAllInBatch();
+        projectRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldImportTasksWithBatchedInserts() {
+        String csv = generateCsv();
+        long unbatched = run("import, batch size 1", 1, () -> importTasks(csv));
+        taskRepository.deleteAllInBatch();
+        long batched = run("import, batch size " + BATCH_SIZE, BATCH_SIZE, () -> importTasks(csv));
+        assertThat(batched, lessThan(unbatched / 10));
+    }
+
+    @Test
+    void shouldArchiveTasksWithBatchedUpdates() {
+        String csv = generateCsv();
+        transactionTemplate.executeWithoutResult((status) -> importTasks(csv));
+        long unbatched = run("archive, batch size 1", 1, () -> archive(true));
+        long batched = run("archive, batch size " + BATCH_SIZE, BATCH_SIZE, () -> archive(false));
+        assertThat(batched, lessThan(unbatched / 10));
+    }
+
+    private void archive(boolean flag) {
+        BooleanRequest request = new BooleanRequest();
+        request.setFlag(flag);
+        archiveService.archiveProject(request, projectId, userId);
+    }
+
+    private long run(String name, int batchSize, Runnable action) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult((status) -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+            action.run();
+        });
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        long statements = statistics.getPrepareStatementCount();
+        LOG.info("{}: {} tasks, {} inserts, {} updates, {} statements in {}ms",
+                name, TASKS, statistics.getEntityInsertCount(), statistics.getEntityUpdateCount(), statements, millis);
+        return statements;
+    }
+
+    private void importTasks(String csv) {
+        ImportJob job = ImportJob.builder()
+                .ownerId(userId)
+                .projectId(projectId)
+                .type(ImportType.PROJECT_TASKS)
+                .build();
+        ImportState state = new ImportState();
+        CsvReader reader = new CsvReader(new StringReader(csv));
+        reader.readRecord();
+        List<List<String>> chunk = new ArrayList<>();
+        List<String> record;
+        while((record = reader.readRecord()) != null) {
+            chunk.add(record);
+            if(chunk.size() == CHUNK_SIZE) {
+                importService.importChunk(job, chunk, state);
+                chunk = new ArrayList<>();
+            }
+        }
+        if(!chunk.isEmpty()) {
+            importService.importChunk(job, chunk, state);
+        }
+    }
+
+    private String generateCsv() {
+        StringBuilder csv = new StringBuilder("id,title,description,parent,due,completed,collapsed,archived," +
+                "projectOrder,dailyOrder,priority,labels,projectId,projectName\n");
+        for(int i = 1; i <= TASKS; i++) {
+            csv.append(",Task ").append(i).append(",,,,false,false,false,")
+                    .append(i).append(",0,0,,,\n");
+        }
+        return csv.toString();
+    }
+}
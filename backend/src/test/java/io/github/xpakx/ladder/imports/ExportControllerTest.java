@@ -0,0 +1,200 @@
+package io.github.xpakx.ladder.imports;
+
+import io.github.xpakx.ladder.label.Label;
+import io.github.xpakx.ladder.label.LabelRepository;
+import io.github.xpakx.ladder.project.Project;
+import io.github.xpakx.ladder.project.ProjectRepository;
+import io.github.xpakx.ladder.security.JwtTokenUtil;
+import io.github.xpakx.ladder.task.Task;
+import io.github.xpakx.ladder.task.TaskRepository;
+import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.user.UserAccountRepository;
+import io.github.xpakx.ladder.user.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ExportControllerTest {
+    @LocalServerPort
+    private int port;
+
+    private String baseUrl;
+    private Integer userId;
+
+    @Autowired
+    JwtTokenUtil jwtTokenUtil;
+    @Autowired
+    UserService userService;
+    @Autowired
+    UserAccountRepository userRepository;
+    @Autowired
+    ProjectRepository projectRepository;
+    @Autowired
+    TaskRepository taskRepository;
+    @Autowired
+    LabelRepository labelRepository;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost".concat(":").concat(port + "");
+        UserAccount user = UserAccount.builder()
+                .username("user1")
+                .password("password")
+                .roles(new HashSet<>())
+                .build();
+        user = userRepository.save(user);
+        this.userId = user.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        labelRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private String tokenFor(String username) {
+        return jwtTokenUtil.generateToken(userService.loadUserToLogin(username));
+    }
+
+    private Project addProject() {
+        Project project = Project.builder()
+                .owner(userRepository.getById(userId))
+                .name("Test \"Project\"")
+                .color("#ffffff")
+                .generalOrder(1)
+                .build();
+        return projectRepository.save(project);
+    }
+
+    private Task addTaskTree(Project project) {
+        Label work = labelRepository.save(Label.builder().name("work").owner(userRepository.getById(userId)).build());
+        Label home = labelRepository.save(Label.builder().name("home").owner(userRepository.getById(userId)).build());
+        Task task = taskRepository.save(Task.builder()
+                .owner(userRepository.getById(userId))
+                .project(project)
+                .title("Second Task")
+                .projectOrder(2)
+                .dailyViewOrder(0)
+                .priority(1)
+                .labels(new HashSet<>(Set.of(work, home)))
+                .build());
+        Task subtask = taskRepository.save(Task.builder()
+                .owner(userRepository.getById(userId))
+                .project(project)
+                .parent(task)
+                .title("Subtask")
+                .description("Details")
+                .completed(true)
+                .projectOrder(1)
+                .dailyViewOrder(0)
+                .priority(0)
+                .labels(new HashSet<>())
+                .build());
+        taskRepository.save(Task.builder()
+                .owner(userRepository.getById(userId))
+                .project(project)
+                .title("First Task")
+                .projectOrder(1)
+                .dailyViewOrder(0)
+                .priority(0)
+                .labels(new HashSet<>())
+                .build());
+        return subtask;
+    }
+
+    @Test
+    void shouldRespondWith401ToExportIfUserUnauthorized() {
+        given()
+                .log()
+                .uri()
+        .when()
+                .get(baseUrl + "/{userId}/export/csv/tasks", 1)
+        .then()
+                .statusCode(UNAUTHORIZED.value());
+    }
+
+    @Test
+    void shouldExportProjectsToCSV() {
+        Project project = addProject();
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .get(baseUrl + "/{userId}/export/csv/projects", userId)
+        .then()
+                .statusCode(OK.value())
+                .body(equalTo("id,name,color,favorite,archived,parentId,order,\n" +
+                        project.getId() + ",\"Test \"\"Project\"\"\",#ffffff,false,false,,1,\n"));
+    }
+
+    @Test
+    void shouldExportTasksWithAllLabelsToCSV() {
+        Project project = addProject();
+        Task subtask = addTaskTree(project);
+        Integer parentId = subtask.getParent().getId();
+        String body = given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .get(baseUrl + "/{userId}/export/csv/projects/{projectId}/tasks", userId, project.getId())
+        .then()
+                .statusCode(OK.value())
+                .header("Content-Encoding", equalTo("gzip"))
+        .extract()
+                .asString();
+
+        List<String> lines = List.of(body.split("\n"));
+        assertEquals(4, lines.size());
+        assertTrue(
+                lines.get(1).equals(parentId + ",\"Second Task\",,,,false,false,false,2,0,1,\"work,home\",") ||
+                lines.get(1).equals(parentId + ",\"Second Task\",,,,false,false,false,2,0,1,\"home,work\",")
+        );
+        assertEquals(
+                subtask.getId() + ",\"Subtask\",\"Details\"," + parentId + ",,true,false,false,1,0,0,\"\",",
+                lines.get(2)
+        );
+    }
+
+    @Test
+    void shouldExportTaskTreeToTXT() {
+        Project project = addProject();
+        addTaskTree(project);
+        String body = given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .get(baseUrl + "/{userId}/export/txt/projects/{projectId}/tasks", userId, project.getId())
+        .then()
+                .statusCode(OK.value())
+        .extract()
+                .asString();
+
+        List<String> lines = List.of(body.split("\n"));
+        assertEquals(3, lines.size());
+        assertEquals("[ ] (0) First Task  @Test \"Project\"", lines.get(0));
+        assertTrue(lines.get(1).startsWith("[ ] (1) Second Task +"));
+        assertEquals("\t[x] (0) Subtask: Details  @Test \"Project\"", lines.get(2));
+    }
+}
@@ -0,0 +1,367 @@
+package io.github.xpakx.ladder.imports;
+
+import io.github.xpakx.ladder.label.Label;
+import io.github.xpakx.ladder.label.LabelRepository;
+import io.github.xpakx.ladder.project.Project;
+import io.github.xpakx.ladder.project.ProjectRepository;
+import io.github.xpakx.ladder.security.JwtTokenUtil;
+import io.github.xpakx.ladder.task.Task;
+import io.github.xpakx.ladder.task.TaskRepository;
+import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.user.UserAccountRepository;
+import io.github.xpakx.ladder.user.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.HttpStatus.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "imports.csv.chunk-size=2")
+class ImportControllerTest {
+    @LocalServerPort
+    private int port;
+
+    private String baseUrl;
+    private Integer userId;
+
+    @Autowired
+    JwtTokenUtil jwtTokenUtil;
+    @Autowired
+    UserService userService;
+    @Autowired
+    UserAccountRepository userRepository;
+    @Autowired
+    ProjectRepository projectRepository;
+    @Autowired
+    TaskRepository taskRepository;
+    @Autowired
+    LabelRepository labelRepository;
+    @Autowired
+    ImportJobRepository jobRepository;
+    @Autowired
+    ImportedRowRepository importedRowRepository;
+    @Autowired
+    ImportJobService jobService;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost".concat(":").concat(port + "");
+        UserAccount user = UserAccount.builder()
+                .username("user1")
+                .password("password")
+                .roles(new HashSet<>())
+                .build();
+        user = userRepository.save(user);
+        this.userId = user.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        importedRowRepository.deleteAll();
+        jobRepository.deleteAll();
+        taskRepository.deleteAll();
+        labelRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private String tokenFor(String username) {
+        return jwtTokenUtil.generateToken(userService.loadUserToLogin(username));
+    }
+
+    private Integer addProjectAndReturnId() {
+        Project project = Project.builder()
+                .owner(userRepository.getById(userId))
+                .name("Test Project")
+                .build();
+        return projectRepository.save(project).getId();
+    }
+
+    private ImportJob awaitJob(Integer jobId) throws InterruptedException {
+        for(int i = 0; i < 200; i++) {
+            ImportJob job = jobRepository.findById(jobId).orElseThrow();
+            if(job.getStatus() != ImportStatus.QUEUED && job.getStatus() != ImportStatus.RUNNING) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        return fail("Import job didn't finish");
+    }
+
+    private ImportJob addJob(ImportStatus status, String csv) throws IOException {
+        Path file = Files.createTempFile("import-", ".csv");
+        Files.writeString(file, csv);
+        return jobRepository.save(ImportJob.builder()
+                .ownerId(userId)
+                .type(ImportType.PROJECTS)
+                .status(status)
+                .file(file.toString())
+                .createdAt(LocalDateTime.now())
+                .modifiedAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Test
+    void shouldRespondWith401ToImportIfUserUnauthorized() {
+        given()
+                .log()
+                .uri()
+                .multiPart("file", "projects.csv", "id,name\n".getBytes(StandardCharsets.UTF_8))
+        .when()
+                .post(baseUrl + "/{userId}/import/csv/projects", 1)
+        .then()
+                .statusCode(UNAUTHORIZED.value());
+    }
+
+    @Test
+    void shouldImportProjectsWithParentsFromOtherChunks() throws InterruptedException {
+        String csv = "id,name,color,favorite,archived,parentId,order,\n" +
+                "3,\"Child, first\",#ffffff,false,false,1,2,\n" +
+                "4,Other,#ffffff,true,false,,3,\n" +
+                "1,Parent,#ffffff,false,false,,1,\n";
+        Integer jobId = given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .multiPart("file", "projects.csv", csv.getBytes(StandardCharsets.UTF_8))
+        .when()
+                .post(baseUrl + "/{userId}/import/csv/projects", userId)
+        .then()
+                .statusCode(ACCEPTED.value())
+                .body("status", equalTo("QUEUED"))
+        .extract()
+                .path("id");
+        ImportJob job = awaitJob(jobId);
+        assertEquals(ImportStatus.COMPLETED, job.getStatus());
+        assertEquals(3, job.getRowsParsed());
+        assertEquals(3, job.getRowsSaved());
+
+        Map<String, Project> projects = projectRepository.findByOwnerIdAndIdIn(userId,
+                        projectRepository.findAll().stream().map(Project::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Project::getName, (a) -> a));
+        assertEquals(3, projects.size());
+        assertEquals(projects.get("Parent").getId(), projects.get("Child, first").getParent().getId());
+        assertNull(projects.get("Other").getParent());
+        assertTrue(projects.get("Other").isFavorite());
+    }
+
+    @Test
+    void shouldImportTasksWithLabelsAndQuotedFields() throws InterruptedException {
+        Integer projectId = addProjectAndReturnId();
+        String csv = "id,title,description,parent_id,due,completed,collapsed,archived,project_order,daily_order,priority,labels,\n" +
+                "10,\"First \"\"quoted\"\" task\",\"Line 1\nLine 2\",,,false,false,false,1,0,1,\"work,home\",\n" +
+                "11,Subtask,,10,,true,false,false,1,0,0,work,\n" +
+                "12,Other,,,,false,false,false,2,0,0,,\n";
+        Integer jobId = given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .multiPart("file", "tasks.csv", csv.getBytes(StandardCharsets.UTF_8))
+        .when()
+                .post(baseUrl + "/{userId}/import/csv/projects/{projectId}/tasks", userId, projectId)
+        .then()
+                .statusCode(ACCEPTED.value())
+        .extract()
+                .path("id");
+        assertEquals(3, awaitJob(jobId).getRowsSaved());
+
+        transactionTemplate.executeWithoutResult((status) -> {
+            Map<String, Task> tasks = taskRepository.findAll().stream()
+                    .collect(Collectors.toMap(Task::getTitle, (a) -> a));
+            Task first = tasks.get("First \"quoted\" task");
+            assertNotNull(first);
+            assertEquals("Line 1\nLine 2", first.getDescription());
+            assertEquals(projectId, first.getProject().getId());
+            assertEquals(Set.of("work", "home"), first.getLabels().stream().map(Label::getName).collect(Collectors.toSet()));
+            assertEquals(first.getId(), tasks.get("Subtask").getParent().getId());
+            assertTrue(tasks.get("Subtask").isCompleted());
+        });
+        assertEquals(2, labelRepository.findAll().size());
+    }
+
+    @Test
+    void shouldImportTasksCreatingMissingProjects() throws InterruptedException {
+        Integer projectId = addProjectAndReturnId();
+        String csv = "id,title,description,parent_id,due,completed,collapsed,archived,project_order,daily_order,priority,labels,project_id,project_name,\n" +
+                "1,First,,,,false,false,false,1,0,0,," + projectId + ",Test Project,\n" +
+                "2,Second,,,,false,false,false,2,0,0,,999999,New Project,\n" +
+                "3,Third,,,,false,false,false,3,0,0,,999999,New Project,\n";
+        Integer jobId = given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .multiPart("file", "tasks.csv", csv.getBytes(StandardCharsets.UTF_8))
+        .when()
+                .post(baseUrl + "/{userId}/import/csv/tasks", userId)
+        .then()
+                .statusCode(ACCEPTED.value())
+        .extract()
+                .path("id");
+        assertEquals(3, awaitJob(jobId).getRowsSaved());
+
+        assertEquals(2, projectRepository.findAll().size());
+        Map<String, Integer> projectIdsByTitle = taskRepository.findAll().stream()
+                .collect(Collectors.toMap(Task::getTitle, (a) -> a.getProject().getId()));
+        assertEquals(projectId, projectIdsByTitle.get("First"));
+        assertNotEquals(projectId, projectIdsByTitle.get("Second"));
+        assertEquals(projectIdsByTitle.get("Second"), projectIdsByTitle.get("Third"));
+    }
+
+    @Test
+    void shouldCountRowsWhichCannotBeSaved() throws InterruptedException {
+        String csv = "id,name,color,favorite,archived,parentId,order,\n" +
+                "1,First,#ffffff,false,false,,1,\n" +
+                "2," + "a".repeat(300) + ",#ffffff,false,false,,2,\n" +
+                "3,Third,#ffffff,false,false,,3,\n";
+        Integer jobId = given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .multiPart("file", "projects.csv", csv.getBytes(StandardCharsets.UTF_8))
+        .when()
+                .post(baseUrl + "/{userId}/import/csv/projects", userId)
+        .then()
+                .statusCode(ACCEPTED.value())
+        .extract()
+                .path("id");
+
+        ImportJob job = awaitJob(jobId);
+        assertEquals(ImportStatus.COMPLETED, job.getStatus());
+        assertEquals(3, job.getRowsParsed());
+        assertEquals(2, job.getRowsSaved());
+        assertEquals(1, job.getRowsFailed());
+        assertEquals(2, projectRepository.findAll().size());
+    }
+
+    @Test
+    void shouldRespondWith404ToJobOfOtherUser() throws IOException {
+        Integer jobId = addJob(ImportStatus.COMPLETED, "").getId();
+        UserAccount other = userRepository.save(UserAccount.builder()
+                .username("user2")
+                .password("password")
+                .roles(new HashSet<>())
+                .build());
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user2"))
+        .when()
+                .get(baseUrl + "/{userId}/import/jobs/{jobId}", other.getId(), jobId)
+        .then()
+                .statusCode(NOT_FOUND.value());
+    }
+
+    @Test
+    void shouldCancelQueuedJob() throws IOException {
+        ImportJob job = addJob(ImportStatus.QUEUED, "id,name,color,favorite,archived,parentId,order,\n" +
+                "1,First,#ffffff,false,false,,1,\n");
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .put(baseUrl + "/{userId}/import/jobs/{jobId}/cancel", userId, job.getId())
+        .then()
+                .statusCode(OK.value())
+                .body("status", equalTo("CANCELLED"));
+
+        jobService.process(job.getId());
+        assertEquals(0, projectRepository.findAll().size());
+        assertEquals(ImportStatus.CANCELLED, jobRepository.findById(job.getId()).orElseThrow().getStatus());
+        assertFalse(Files.exists(Path.of(job.getFile())));
+    }
+
+    @Test
+    void shouldResumeInterruptedJobAfterLastSavedChunk() throws IOException {
+        ImportJob job = addJob(ImportStatus.RUNNING, "id,name,color,favorite,archived,parentId,order,\n" +
+                "1,Parent,#ffffff,false,false,,1,\n" +
+                "2,Child,#ffffff,false,false,1,2,\n" +
+                "3,Other,#ffffff,false,false,,3,\n");
+        Integer parentId = addProjectAndReturnId();
+        job.setRowsParsed(1);
+        job.setRowsSaved(1);
+        jobRepository.save(job);
+        importedRowRepository.save(ImportedRow.builder()
+                .jobId(job.getId())
+                .importedId(1)
+                .entityId(parentId)
+                .created(true)
+                .build());
+
+        jobService.process(job.getId());
+
+        ImportJob finished = jobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(ImportStatus.COMPLETED, finished.getStatus());
+        assertEquals(3, finished.getRowsParsed());
+        assertEquals(3, finished.getRowsSaved());
+        assertEquals(0, importedRowRepository.findAll().size());
+        transactionTemplate.executeWithoutResult((status) -> {
+            Map<String, Project> projects = projectRepository.findAll().stream()
+                    .collect(Collectors.toMap(Project::getName, (a) -> a));
+            assertEquals(3, projects.size());
+            assertEquals(parentId, projects.get("Child").getParent().getId());
+        });
+    }
+
+    @Test
+    void shouldNotTakeOverJobLeasedByOtherInstance() throws IOException {
+        ImportJob job = addJob(ImportStatus.RUNNING, "id,name,color,favorite,archived,parentId,order,\n" +
+                "1,First,#ffffff,false,false,,1,\n");
+        job.setLeaseOwner("other-instance");
+        job.setLeaseExpiresAt(LocalDateTime.now().plusMinutes(5));
+        jobRepository.save(job);
+
+        jobService.process(job.getId());
+
+        ImportJob running = jobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(ImportStatus.RUNNING, running.getStatus());
+        assertEquals("other-instance", running.getLeaseOwner());
+        assertEquals(0, running.getRowsParsed());
+        assertEquals(0, projectRepository.findAll().size());
+        assertTrue(Files.exists(Path.of(job.getFile())));
+    }
+
+    @Test
+    void shouldTakeOverJobWithExpiredLease() throws IOException {
+        ImportJob job = addJob(ImportStatus.RUNNING, "id,name,color,favorite,archived,parentId,order,\n" +
+                "1,First,#ffffff,false,false,,1,\n");
+        job.setLeaseOwner("other-instance");
+        job.setLeaseExpiresAt(LocalDateTime.now().minusMinutes(1));
+        jobRepository.save(job);
+
+        jobService.process(job.getId());
+
+        ImportJob finished = jobRepository.findById(job.getId()).orElseThrow();
+        assertEquals(ImportStatus.COMPLETED, finished.getStatus());
+        assertNotEquals("other-instance", finished.getLeaseOwner());
+        assertEquals(1, finished.getRowsSaved());
+        assertEquals(1, projectRepository.findAll().size());
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.xpakx.ladder.imports;
+
+import io.github.xpakx.ladder.common.error.ImportQueueFullException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class ImportJobServiceTest {
+    @Mock
+    private ImportJobRepository jobRepository;
+    @Mock
+    private ImportCSVService importService;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @TempDir
+    Path directory;
+
+    private ImportJobService jobService;
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        jobService = new ImportJobService(jobRepository, importService, transactionTemplate,
+                directory.toString(), 500, 1, 1, "node", 60000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        jobService.shutdown();
+    }
+
+    private InputStream getCsv() {
+        return new ByteArrayInputStream("id,name\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void blockWorker() {
+        AtomicInteger ids = new AtomicInteger();
+        given(jobRepository.save(any(ImportJob.class)))
+                .willAnswer((a) -> {
+                    ImportJob job = a.getArgument(0);
+                    job.setId(ids.incrementAndGet());
+                    return job;
+                });
+        given(jobRepository.claim(anyInt(), eq("node"), anyCollection(), any(), any()))
+                .willAnswer((a) -> {
+                    started.countDown();
+                    release.await();
+                    return 0;
+                });
+    }
+
+    @Test
+    void shouldRejectJobIfQueueIsFull() throws IOException, InterruptedException {
+        blockWorker();
+        jobService.submit(1, ImportType.PROJECTS, null, getCsv());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        jobService.submit(1, ImportType.PROJECTS, null, getCsv());
+
+        assertThrows(ImportQueueFullException.class,
+                () -> jobService.submit(1, ImportType.PROJECTS, null, getCsv()));
+
+        then(jobRepository)
+                .should(times(1))
+                .delete(argThat((a) -> a.getId() == 3));
+        try(Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+    }
+
+    @Test
+    void shouldLeaseSubmittedJobToThisInstance() throws IOException, InterruptedException {
+        blockWorker();
+
+        ImportJob job = jobService.submit(1, ImportType.PROJECTS, null, getCsv());
+
+        assertEquals("node", job.getLeaseOwner());
+        assertNotNull(job.getLeaseExpiresAt());
+        assertEquals(ImportStatus.QUEUED, job.getStatus());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+}
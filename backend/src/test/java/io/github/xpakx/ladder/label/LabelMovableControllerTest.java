@@ -70,6 +70,13 @@ public class LabelMovableControllerTest {
         return jwtTokenUtil.generateToken(userService.loadUserToLogin(username));
     }
 
+    private List<String> getNamesInOrder(List<Label> entities) {
+        return entities.stream()
+                .sorted(Comparator.comparingInt(Label::getGeneralOrder))
+                .map(Label::getName)
+                .collect(Collectors.toList());
+    }
+
     private LabelRequest getValidAddLabelRequest() {
         LabelRequest request = new LabelRequest();
         request.setName("Added Label");
@@ -105,18 +112,7 @@ public class LabelMovableControllerTest {
 
         List<Label> labels = labelRepository.findAll();
         assertThat(labels, hasSize(3));
-        assertThat(labels, hasItem(allOf(
-                hasProperty("name", is("Label 1")),
-                hasProperty("generalOrder", is(2))
-        )));
-        assertThat(labels, hasItem(allOf(
-                hasProperty("name", is("Label 2")),
-                hasProperty("generalOrder", is(3))
-        )));
-        assertThat(labels, hasItem(allOf(
-                hasProperty("name", is("Label 3")),
-                hasProperty("generalOrder", is(1))
-        )));
+        assertThat(getNamesInOrder(labels), contains("Label 3", "Label 1", "Label 2"));
     }
 
     private List<Integer> add3LabelsInOrderAndReturnListOfIds() {
@@ -179,18 +175,7 @@ public class LabelMovableControllerTest {
 
         List<Label> labels = labelRepository.findAll();
         assertThat(labels, hasSize(3));
-        assertThat(labels, hasItem(allOf(
-                hasProperty("name", is("Label 1")),
-                hasProperty("generalOrder", is(1))
-        )));
-        assertThat(labels, hasItem(allOf(
-                hasProperty("name", is("Label 2")),
-                hasProperty("generalOrder", is(3))
-        )));
-        assertThat(labels, hasItem(allOf(
-                hasProperty("name", is("Label 3")),
-                hasProperty("generalOrder", is(2))
-        )));
+        assertThat(getNamesInOrder(labels), contains("Label 1", "Label 3", "Label 2"));
     }
 
     @Test
@@ -225,22 +210,7 @@ public class LabelMovableControllerTest {
 
         List<Label> labels = labelRepository.findAll();
         assertThat(labels, hasSize(4));
-        assertThat(labels, hasItem(allOf(
-                hasProperty("name", is("Added Label")),
-                hasProperty("generalOrder", is(3))
-        )));
-        assertThat(labels, hasItem(allOf(
-                hasProperty("name", is("Label 1")),
-                hasProperty("generalOrder", is(1))
-        )));
-        assertThat(labels, hasItem(allOf(
-                hasProperty("name", is("Label 2")),
-                hasProperty("generalOrder", is(2))
-        )));
-        assertThat(labels, hasItem(allOf(
-                hasProperty("name", is("Label 3")),
-                hasProperty("generalOrder", is(4))
-        )));
+        assertThat(getNamesInOrder(labels), contains("Label 1", "Label 2", "Added Label", "Label 3"));
     }
 
     @Test
@@ -275,21 +245,6 @@ public class LabelMovableControllerTest {
 
         List<Label> labels = labelRepository.findAll();
         assertThat(labels, hasSize(4));
-        assertThat(labels, hasItem(allOf(
-                hasProperty("name", is("Added Label")),
-                hasProperty("generalOrder", is(2))
-        )));
-        assertThat(labels, hasItem(allOf(
-                hasProperty("name", is("Label 1")),
-                hasProperty("generalOrder", is(1))
-        )));
-        assertThat(labels, hasItem(allOf(
-                hasProperty("name", is("Label 2")),
-                hasProperty("generalOrder", is(3))
-        )));
-        assertThat(labels, hasItem(allOf(
-                hasProperty("name", is("Label 3")),
-                hasProperty("generalOrder", is(4))
-        )));
+        assertThat(getNamesInOrder(labels), contains("Label 1", "Added Label", "Label 2", "Label 3"));
     }
 }
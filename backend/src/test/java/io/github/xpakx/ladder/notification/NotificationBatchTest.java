@@ -0,0 +1,75 @@
+package io.github.xpakx.ladder.notification;
+
+import io.github.xpakx.ladder.notification.dto.CollabNotificationRequest;
+import io.github.xpakx.ladder.notification.dto.NotificationBatchRequest;
+import io.github.xpakx.ladder.notification.dto.NotificationRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NotificationBatchTest {
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Test
+    void shouldCoalesceUpdatesForTheSameUser() {
+        NotificationBatch batch = new NotificationBatch();
+        batch.add(getNotification(1, "UPDATE", null, now.minusSeconds(2)));
+        batch.add(getNotification(1, "UPDATE", null, now));
+        batch.add(getNotification(1, "UPDATE", null, now.minusSeconds(1)));
+
+        NotificationBatchRequest request = batch.toRequest();
+
+        assertEquals(3, batch.getAdded());
+        assertThat(request.getNotifications(), hasSize(1));
+        assertThat(request.getNotifications().get(0).getTime(), is(now));
+    }
+
+    @Test
+    void shouldKeepNotificationsForDifferentUsersAndEntities() {
+        NotificationBatch batch = new NotificationBatch();
+        batch.add(getNotification(1, "UPDATE", null, now));
+        batch.add(getNotification(2, "UPDATE", null, now));
+        batch.add(getNotification(1, "DELETE_TASK", 5, now));
+        batch.add(getNotification(1, "DELETE_TASK", 6, now));
+
+        assertThat(batch.toRequest().getNotifications(), hasSize(4));
+    }
+
+    @Test
+    void shouldCoalesceCollabNotificationsForTheSameCollaborators() {
+        NotificationBatch batch = new NotificationBatch();
+        batch.add(getCollabNotification(List.of(1, 2), now.minusSeconds(1)));
+        batch.add(getCollabNotification(List.of(2, 1), now));
+        batch.add(getCollabNotification(List.of(3), now));
+
+        NotificationBatchRequest request = batch.toRequest();
+
+        assertThat(request.getCollabNotifications(), hasSize(2));
+        assertThat(request.getCollabNotifications(), hasItem(allOf(
+                hasProperty("collabId", is(List.of(2, 1))),
+                hasProperty("time", is(now))
+        )));
+    }
+
+    private NotificationRequest getNotification(Integer userId, String type, Integer id, LocalDateTime time) {
+        return NotificationRequest.builder()
+                .userId(userId)
+                .type(type)
+                .id(id)
+                .time(time)
+                .build();
+    }
+
+    private CollabNotificationRequest getCollabNotification(List<Integer> collabIds, LocalDateTime time) {
+        return CollabNotificationRequest.builder()
+                .collabId(collabIds)
+                .type("COLLAB_UPDATE")
+                .time(time)
+                .build();
+    }
+}
@@ -0,0 +1,142 @@
+package io.github.xpakx.ladder.notification;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.xpakx.ladder.filter.FilterRepository;
+import io.github.xpakx.ladder.habit.HabitRepository;
+import io.github.xpakx.ladder.label.Label;
+import io.github.xpakx.ladder.label.LabelRepository;
+import io.github.xpakx.ladder.task.Task;
+import io.github.xpakx.ladder.task.TaskRepository;
+import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.user.UserAccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class NotificationPayloadServiceTest {
+    private Integer userId;
+
+    @Autowired
+    NotificationPayloadService payloadService;
+    @Autowired
+    UserAccountRepository userRepository;
+    @Autowired
+    TaskRepository taskRepository;
+    @Autowired
+    LabelRepository labelRepository;
+    @Autowired
+    HabitRepository habitRepository;
+    @Autowired
+    FilterRepository filterRepository;
+    @Autowired
+    ObjectMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        UserAccount user = UserAccount.builder()
+                .username("user1")
+                .password("password")
+                .roles(new HashSet<>())
+                .build();
+        user = userRepository.save(user);
+        this.userId = user.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        labelRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private Label addLabel() {
+        Label label = Label.builder()
+                .owner(userRepository.getById(userId))
+                .name("Label")
+                .modifiedAt(LocalDateTime.now())
+                .build();
+        return labelRepository.save(label);
+    }
+
+    private Integer addTaskAndReturnId(Set<Label> labels) {
+        Task task = Task.builder()
+                .owner(userRepository.getById(userId))
+                .title("Task")
+                .description("Description")
+                .labels(labels)
+                .projectOrder(1024)
+                .modifiedAt(LocalDateTime.now())
+                .build();
+        return taskRepository.save(task).getId();
+    }
+
+    @Test
+    void shouldBuildTaskPayloadWithLabels() {
+        Label label = addLabel();
+        Integer taskId = addTaskAndReturnId(Set.of(label));
+
+        Optional<JsonNode> payload = payloadService.getTaskPayload(taskId, userId);
+
+        assertTrue(payload.isPresent());
+        assertEquals(taskId, payload.get().get("id").asInt());
+        assertEquals("Task", payload.get().get("title").asText());
+        assertEquals(1024, payload.get().get("projectOrder").asInt());
+        assertEquals(1, payload.get().get("labels").size());
+        assertEquals("Label", payload.get().get("labels").get(0).get("name").asText());
+    }
+
+    @Test
+    void shouldBuildLabelPayload() {
+        Label label = addLabel();
+
+        Optional<JsonNode> payload = payloadService.getLabelPayload(label.getId(), userId);
+
+        assertTrue(payload.isPresent());
+        assertEquals(label.getId(), payload.get().get("id").asInt());
+        assertEquals("Label", payload.get().get("name").asText());
+    }
+
+    @Test
+    void shouldNotBuildPayloadForEntityOfOtherUser() {
+        Integer taskId = addTaskAndReturnId(new HashSet<>());
+
+        Optional<JsonNode> payload = payloadService.getTaskPayload(taskId, userId + 1);
+
+        assertTrue(payload.isEmpty());
+    }
+
+    @Test
+    void shouldFallBackToSyncIfPayloadIsTooLarge() {
+        Label label = addLabel();
+
+        Optional<JsonNode> payload = payloadServiceWithLimit(64).getLabelPayload(label.getId(), userId);
+
+        assertTrue(payload.isEmpty());
+    }
+
+    @Test
+    void shouldBuildPayloadWithinLimit() {
+        Label label = addLabel();
+
+        Optional<JsonNode> payload = payloadServiceWithLimit(512).getLabelPayload(label.getId(), userId);
+
+        assertTrue(payload.isPresent());
+    }
+
+    private NotificationPayloadService payloadServiceWithLimit(int maxPayloadBytes) {
+        return new NotificationPayloadService(
+                taskRepository, labelRepository, habitRepository, filterRepository, mapper, maxPayloadBytes
+        );
+    }
+}
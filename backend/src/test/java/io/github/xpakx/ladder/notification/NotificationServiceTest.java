@@ -0,0 +1,48 @@
+package io.github.xpakx.ladder.notification;
+
+import io.github.xpakx.ladder.notification.dto.NotificationDispatchDetails;
+import io.github.xpakx.ladder.notification.dto.NotificationRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceTest {
+    @Mock
+    private NotificationClient client;
+
+    private NotificationService service;
+
+    @BeforeEach
+    void setUp() {
+        // dispatcher is not started, so notifications stay in the queue
+        service = new NotificationService(client, 2, 50, 500, 0, 3, 100);
+    }
+
+    private NotificationRequest notification(Integer id) {
+        return NotificationRequest.builder()
+                .userId(1)
+                .type("UPDATE")
+                .id(id)
+                .build();
+    }
+
+    @Test
+    void shouldExposeDroppedNotificationsIfQueueIsFull() {
+        service.sendNotification(notification(1));
+        service.sendNotification(notification(2));
+        service.sendNotification(notification(3));
+
+        NotificationDispatchDetails result = service.getMetricsDetails();
+
+        assertEquals(2, result.getQueued());
+        assertEquals(0, result.getRemainingCapacity());
+        assertEquals(2, result.getEnqueued());
+        assertEquals(1, result.getDropped());
+        assertEquals(0, result.getSent());
+    }
+}
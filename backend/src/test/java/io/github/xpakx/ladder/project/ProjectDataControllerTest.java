@@ -117,6 +117,33 @@ public class ProjectDataControllerTest {
                 .body("tasks[0].children", hasSize(2));
     }
 
+    @Test
+    void shouldRespondWithOnlySubtreeOfNestedProject() {
+        Integer projectId = addNestedProjectsAndReturnIdOfMiddleOne();
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .get(baseUrl + "/{userId}/projects/{projectId}/full", userId, projectId)
+        .then()
+                .log()
+                .body()
+                .statusCode(OK.value())
+                .body("id", equalTo(projectId))
+                .body("name", equalTo("Sub Project"))
+                .body("tasks", hasSize(0))
+                .body("children", hasSize(1))
+                .body("children[0].name", equalTo("Nested Project"))
+                .body("children[0].children", hasSize(0))
+                .body("children[0].tasks", hasSize(1))
+                .body("children[0].tasks[0].project.name", equalTo("Nested Project"))
+                .body("children[0].tasks[0].children", hasSize(1))
+                .body("children[0].tasks[0].children[0].title", equalTo("Subtask"))
+                .body("children[0].tasks[0].children[0].children", hasSize(0));
+    }
+
     @Test
     void shouldRespondWith404IfFullProjectNotFound() {
         given()
@@ -248,4 +275,52 @@ public class ProjectDataControllerTest {
         projectRepository.save(project);
         return project.getId();
     }
+
+    private Integer addNestedProjectsAndReturnIdOfMiddleOne() {
+        Project project = Project.builder()
+                .owner(userRepository.getById(userId))
+                .name("Test Project")
+                .generalOrder(1)
+                .build();
+        Task rootTask = Task.builder()
+                .owner(userRepository.getById(userId))
+                .title("Root Task")
+                .project(project)
+                .projectOrder(1)
+                .dailyViewOrder(0)
+                .build();
+        project.setTasks(List.of(rootTask));
+        Project subProject = Project.builder()
+                .owner(userRepository.getById(userId))
+                .name("Sub Project")
+                .parent(project)
+                .build();
+        Project nestedProject = Project.builder()
+                .owner(userRepository.getById(userId))
+                .name("Nested Project")
+                .parent(subProject)
+                .build();
+        Task task = Task.builder()
+                .owner(userRepository.getById(userId))
+                .title("Task")
+                .project(nestedProject)
+                .projectOrder(1)
+                .dailyViewOrder(0)
+                .build();
+        Task subtask = Task.builder()
+                .owner(userRepository.getById(userId))
+                .title("Subtask")
+                .parent(task)
+                .project(nestedProject)
+                .projectOrder(1)
+                .dailyViewOrder(0)
+                .build();
+        task.setChildren(List.of(subtask));
+        nestedProject.setTasks(List.of(task));
+        subProject.setChildren(List.of(nestedProject));
+        project.setChildren(List.of(subProject));
+
+        projectRepository.save(project);
+        return subProject.getId();
+    }
 }
@@ -3,6 +3,7 @@ package io.github.xpakx.ladder.project;
 import io.github.xpakx.ladder.task.Task;
 import io.github.xpakx.ladder.user.UserAccount;
 import io.github.xpakx.ladder.common.dto.IdRequest;
+import io.github.xpakx.ladder.common.order.SparseOrderService;
 import io.github.xpakx.ladder.project.dto.ProjectRequest;
 import io.github.xpakx.ladder.task.TaskRepository;
 import io.github.xpakx.ladder.user.UserAccountRepository;
@@ -71,6 +72,19 @@ public class ProjectMovableControllerTest {
         return jwtTokenUtil.generateToken(userService.loadUserToLogin(username));
     }
 
+    private List<String> getNamesInOrder(List<Project> entities) {
+        return entities.stream()
+                .sorted(Comparator.comparingInt(Project::getGeneralOrder))
+                .map(Project::getName)
+                .collect(Collectors.toList());
+    }
+
+    private List<Project> getChildren(List<Project> projects) {
+        return projects.stream()
+                .filter((a) -> a.getParent() != null)
+                .collect(Collectors.toList());
+    }
+
     @Test
     void shouldRespondWith401ToDuplicateProjectRequestIfUserUnauthorized() {
         given()
@@ -163,22 +177,7 @@ public class ProjectMovableControllerTest {
 
         List<Project> projects = projectRepository.findAll();
         assertThat(projects, hasSize(4));
-        assertThat(projects, hasItem(allOf(
-                hasProperty("name", is("Added Project")),
-                hasProperty("generalOrder", is(2))
-        )));
-        assertThat(projects, hasItem(allOf(
-                hasProperty("name", is("Project 1")),
-                hasProperty("generalOrder", is(0))
-        )));
-        assertThat(projects, hasItem(allOf(
-                hasProperty("name", is("Project 2")),
-                hasProperty("generalOrder", is(1))
-        )));
-        assertThat(projects, hasItem(allOf(
-                hasProperty("name", is("Project 3")),
-                hasProperty("generalOrder", is(3))
-        )));
+        assertThat(getNamesInOrder(projects), contains("Project 1", "Project 2", "Added Project", "Project 3"));
     }
 
     private ProjectRequest getValidAddProjectRequest() {
@@ -220,22 +219,7 @@ public class ProjectMovableControllerTest {
 
         List<Project> projects = projectRepository.findAll();
         assertThat(projects, hasSize(4));
-        assertThat(projects, hasItem(allOf(
-                hasProperty("name", is("Added Project")),
-                hasProperty("generalOrder", is(1))
-        )));
-        assertThat(projects, hasItem(allOf(
-                hasProperty("name", is("Project 1")),
-                hasProperty("generalOrder", is(0))
-        )));
-        assertThat(projects, hasItem(allOf(
-                hasProperty("name", is("Project 2")),
-                hasProperty("generalOrder", is(2))
-        )));
-        assertThat(projects, hasItem(allOf(
-                hasProperty("name", is("Project 3")),
-                hasProperty("generalOrder", is(3))
-        )));
+        assertThat(getNamesInOrder(projects), contains("Project 1", "Added Project", "Project 2", "Project 3"));
     }
 
     @Test
@@ -307,18 +291,7 @@ public class ProjectMovableControllerTest {
 
         List<Project> projects = projectRepository.findAll();
         assertThat(projects, hasSize(3));
-        assertThat(projects, hasItem(allOf(
-                hasProperty("name", is("Project 1")),
-                hasProperty("generalOrder", is(1))
-        )));
-        assertThat(projects, hasItem(allOf(
-                hasProperty("name", is("Project 2")),
-                hasProperty("generalOrder", is(3))
-        )));
-        assertThat(projects, hasItem(allOf(
-                hasProperty("name", is("Project 3")),
-                hasProperty("generalOrder", is(2))
-        )));
+        assertThat(getNamesInOrder(projects), contains("Project 1", "Project 3", "Project 2"));
     }
 
     @Test
@@ -340,17 +313,37 @@ public class ProjectMovableControllerTest {
 
         List<Project> projects = projectRepository.findAll();
         assertThat(projects, hasSize(4));
+        assertThat(getNamesInOrder(getChildren(projects)), contains("Project 1", "Project 3", "Project 2"));
+    }
+
+    @Test
+    void shouldMoveProjectAfterWithoutUpdatingSiblingsIfThereIsGap() {
+        List<Integer> ids = add3SparseProjectsInOrderAndReturnListOfIds();
+        IdRequest request = getValidIdRequest(ids.get(0));
+        Integer projectId = ids.get(2);
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .put(baseUrl + "/{userId}/projects/{projectId}/move/after", userId, projectId)
+                .then()
+                .statusCode(OK.value());
+
+        List<Project> projects = projectRepository.findAll();
+        assertThat(getNamesInOrder(projects), contains("Project 1", "Project 3", "Project 2"));
         assertThat(projects, hasItem(allOf(
                 hasProperty("name", is("Project 1")),
-                hasProperty("generalOrder", is(1))
+                hasProperty("generalOrder", is(SparseOrderService.GAP)),
+                hasProperty("modifiedAt", nullValue())
         )));
         assertThat(projects, hasItem(allOf(
                 hasProperty("name", is("Project 2")),
-                hasProperty("generalOrder", is(3))
-        )));
-        assertThat(projects, hasItem(allOf(
-                hasProperty("name", is("Project 3")),
-                hasProperty("generalOrder", is(2))
+                hasProperty("generalOrder", is(2 * SparseOrderService.GAP)),
+                hasProperty("modifiedAt", nullValue())
         )));
     }
 
@@ -386,18 +379,7 @@ public class ProjectMovableControllerTest {
 
         List<Project> projects = projectRepository.findAll();
         assertThat(projects, hasSize(4));
-        assertThat(projects, hasItem(allOf(
-                hasProperty("name", is("Project 1")),
-                hasProperty("generalOrder", is(2))
-        )));
-        assertThat(projects, hasItem(allOf(
-                hasProperty("name", is("Project 2")),
-                hasProperty("generalOrder", is(3))
-        )));
-        assertThat(projects, hasItem(allOf(
-                hasProperty("name", is("Project 3")),
-                hasProperty("generalOrder", is(1))
-        )));
+        assertThat(getNamesInOrder(getChildren(projects)), contains("Project 3", "Project 1", "Project 2"));
     }
 
     private IdRequest getValidIdRequest(Integer id) {
@@ -435,18 +417,7 @@ public class ProjectMovableControllerTest {
 
         List<Project> projects = projectRepository.findAll();
         assertThat(projects, hasSize(3));
-        assertThat(projects, hasItem(allOf(
-                hasProperty("name", is("Project 1")),
-                hasProperty("generalOrder", is(2))
-        )));
-        assertThat(projects, hasItem(allOf(
-                hasProperty("name", is("Project 2")),
-                hasProperty("generalOrder", is(3))
-        )));
-        assertThat(projects, hasItem(allOf(
-                hasProperty("name", is("Project 3")),
-                hasProperty("generalOrder", is(1))
-        )));
+        assertThat(getNamesInOrder(projects), contains("Project 3", "Project 1", "Project 2"));
     }
 
     private Integer add3ProjectsInOrderAndReturnIdOfMiddleOne() {
@@ -494,6 +465,28 @@ public class ProjectMovableControllerTest {
                 .collect(Collectors.toList());
     }
 
+    private List<Integer> add3SparseProjectsInOrderAndReturnListOfIds() {
+        Project project1 = Project.builder()
+                .owner(userRepository.getById(userId))
+                .generalOrder(SparseOrderService.GAP)
+                .name("Project 1")
+                .build();
+        Project project2 = Project.builder()
+                .owner(userRepository.getById(userId))
+                .generalOrder(2 * SparseOrderService.GAP)
+                .name("Project 2")
+                .build();
+        Project project3 = Project.builder()
+                .owner(userRepository.getById(userId))
+                .generalOrder(3 * SparseOrderService.GAP)
+                .name("Project 3")
+                .build();
+        return projectRepository.saveAll(List.of(project1, project2, project3)).stream()
+                .sorted(Comparator.comparingInt(Project::getGeneralOrder))
+                .map(Project::getId)
+                .collect(Collectors.toList());
+    }
+
     private List<Integer> add3ProjectsWithParentInOrderAndReturnListOfIds() {
         Project parent = Project.builder()
                 .owner(userRepository.getById(userId))
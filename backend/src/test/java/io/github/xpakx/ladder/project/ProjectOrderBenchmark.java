@@ -0,0 +1,139 @@
+package io.github.xpakx.ladder.project;
+
+import io.github.xpakx.ladder.common.dto.IdRequest;
+import io.github.xpakx.ladder.common.order.SparseOrderService;
+import io.github.xpakx.ladder.sync.ChangeLogRepository;
+import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.user.UserAccountRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Rows written by a single project move on a large account. Run with {@code mvn test -P benchmark}.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class ProjectOrderBenchmark {
+    private static final Logger LOG = LoggerFactory.getLogger(ProjectOrderBenchmark.class);
+    private static final int PROJECTS = 5000;
+    private static final int MOVES = 50;
+    private static final long SEED = 42;
+
+    private Integer userId;
+
+    @Autowired
+    UserAccountRepository userRepository;
+    @Autowired
+    ProjectRepository projectRepository;
+    @Autowired
+    ChangeLogRepository changeLogRepository;
+    @Autowired
+    ProjectMovableService projectMovableService;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        UserAccount user = UserAccount.builder()
+                .username("user1")
+                .password("password")
+                .roles(new HashSet<>())
+                .build();
+        userId = userRepository.save(user).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeLogRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldCountRowsWrittenByIncrementingOrders() {
+        addProjects(1);
+        Random random = new Random(SEED);
+        long rows = 0;
+        long start = System.nanoTime();
+        for(int i = 0; i < MOVES; i++) {
+            int afterOrder = random.nextInt(PROJECTS) + 1;
+            random.nextInt(PROJECTS); // moved project, its own row is counted below
+            rows += incrementOrdersAfter(afterOrder) + 1;
+        }
+        report("dense orders", rows, start);
+        assertThat(rows, greaterThan((long) MOVES * PROJECTS / 4));
+    }
+
+    @Test
+    void shouldCountRowsWrittenBySparseOrders() {
+        List<Integer> ids = addProjects(SparseOrderService.GAP);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        Random random = new Random(SEED);
+        long start = System.nanoTime();
+        for(int i = 0; i < MOVES; i++) {
+            IdRequest request = new IdRequest();
+            request.setId(ids.get(random.nextInt(PROJECTS)));
+            Integer projectToMoveId = ids.get(random.nextInt(PROJECTS));
+            if(!projectToMoveId.equals(request.getId())) {
+                projectMovableService.moveProjectAfter(request, userId, projectToMoveId);
+            }
+        }
+        long rows = statistics.getEntityUpdateCount();
+        report("sparse orders", rows, start);
+        assertThat(rows, lessThanOrEqualTo((long) MOVES));
+    }
+
+    private long incrementOrdersAfter(int order) {
+        return transactionTemplate.execute((status) -> entityManager.createQuery(
+                "Update Project p SET p.generalOrder = p.generalOrder + 1, p.modifiedAt = :modifiedAt " +
+                        "WHERE p.owner.id = :ownerId AND p.parent IS NULL AND p.generalOrder > :generalOrder")
+                .setParameter("modifiedAt", LocalDateTime.now())
+                .setParameter("ownerId", userId)
+                .setParameter("generalOrder", order)
+                .executeUpdate());
+    }
+
+    private List<Integer> addProjects(int gap) {
+        List<Project> projects = new ArrayList<>();
+        for(int i = 1; i <= PROJECTS; i++) {
+            projects.add(Project.builder()
+                    .owner(userRepository.getById(userId))
+                    .name("Project " + i)
+                    .generalOrder(i * gap)
+                    .build());
+        }
+        List<Integer> ids = new ArrayList<>();
+        projectRepository.saveAll(projects).forEach((a) -> ids.add(a.getId()));
+        return ids;
+    }
+
+    private void report(String name, long rows, long start) {
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        LOG.info("{}: {} moves on {} projects wrote {} rows ({} per move) in {}ms",
+                name, MOVES, PROJECTS, rows, rows / MOVES, millis);
+    }
+}
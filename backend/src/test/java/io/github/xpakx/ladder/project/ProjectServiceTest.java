@@ -1,9 +1,12 @@
 package io.github.xpakx.ladder.project;
 
+import io.github.xpakx.ladder.collaboration.CollaboratorCache;
 import io.github.xpakx.ladder.user.UserAccount;
 import io.github.xpakx.ladder.project.dto.ProjectDetails;
 import io.github.xpakx.ladder.project.dto.ProjectRequest;
 import io.github.xpakx.ladder.common.error.NotFoundException;
+import io.github.xpakx.ladder.common.order.SparseOrderService;
+import io.github.xpakx.ladder.stats.CompletionCountService;
 import io.github.xpakx.ladder.user.UserAccountRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,6 +31,10 @@ class ProjectServiceTest {
     private ProjectRepository projectRepository;
     @Mock
     private UserAccountRepository userRepository;
+    @Mock
+    private CollaboratorCache collaboratorCache;
+    @Mock
+    private CompletionCountService completionCounts;
 
     private ProjectService projectService;
 
@@ -40,7 +47,7 @@ class ProjectServiceTest {
     }
 
     private void injectMocks() {
-        projectService = new ProjectService(projectRepository, userRepository);
+        projectService = new ProjectService(projectRepository, userRepository, collaboratorCache, completionCounts);
     }
 
     @Test
@@ -133,7 +140,7 @@ class ProjectServiceTest {
                 .should()
                 .save(projectCaptor.capture());
         assertNotNull(projectCaptor.getValue());
-        assertEquals(MAX_ORDER+1, projectCaptor.getValue().getGeneralOrder());
+        assertEquals(MAX_ORDER + SparseOrderService.GAP, projectCaptor.getValue().getGeneralOrder());
     }
 
     @Test
@@ -152,7 +159,7 @@ class ProjectServiceTest {
                 .should()
                 .save(projectCaptor.capture());
         assertNotNull(projectCaptor.getValue());
-        assertEquals(MAX_ORDER+1, projectCaptor.getValue().getGeneralOrder());
+        assertEquals(MAX_ORDER + SparseOrderService.GAP, projectCaptor.getValue().getGeneralOrder());
     }
 
     @Test
@@ -405,4 +412,30 @@ class ProjectServiceTest {
                 .should(times(1))
                 .deleteByIdAndOwnerId(eq(PROJECT_ID), eq(USER_ID));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldInvalidateCachedCollaboratorsAfterDeletingProject() {
+        final int USER_ID = 5;
+        final int PROJECT_ID = 7;
+        injectMocks();
+
+        projectService.deleteProject(PROJECT_ID, USER_ID);
+
+        then(collaboratorCache)
+                .should(times(1))
+                .invalidate(eq(PROJECT_ID));
+    }
+
+    @Test
+    void shouldRemoveCompletionCountsBeforeDeletingProject() {
+        final int USER_ID = 5;
+        final int PROJECT_ID = 7;
+        injectMocks();
+
+        projectService.deleteProject(PROJECT_ID, USER_ID);
+
+        then(completionCounts)
+                .should(times(1))
+                .projectDeleted(eq(USER_ID), eq(PROJECT_ID));
+    }
+}
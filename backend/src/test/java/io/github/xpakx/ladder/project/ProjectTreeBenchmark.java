@@ -0,0 +1,242 @@
+package io.github.xpakx.ladder.project;
+
+import io.github.xpakx.ladder.project.dto.FullProjectTree;
+import io.github.xpakx.ladder.project.dto.ProjectDetails;
+import io.github.xpakx.ladder.project.dto.ProjectMin;
+import io.github.xpakx.ladder.task.Task;
+import io.github.xpakx.ladder.task.TaskRepository;
+import io.github.xpakx.ladder.task.dto.TaskDetails;
+import io.github.xpakx.ladder.task.dto.TaskForTree;
+import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.user.UserAccountRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Latency and allocation of building a tree of one small project in accounts of growing size,
+ * loading the whole account versus loading only the subtree. Run with {@code mvn test -P benchmark}.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class ProjectTreeBenchmark {
+    private static final Logger LOG = LoggerFactory.getLogger(ProjectTreeBenchmark.class);
+    private static final int[] ACCOUNT_SIZES = {1_000, 5_000, 20_000};
+    private static final int TASKS_PER_PROJECT = 100;
+    private static final int SUBTREE_TASKS = 20;
+    private static final int WARMUP = 2;
+    private static final int ITERATIONS = 5;
+
+    private Integer userId;
+
+    @Autowired
+    UserAccountRepository userRepository;
+    @Autowired
+    ProjectRepository projectRepository;
+    @Autowired
+    TaskRepository taskRepository;
+    @Autowired
+    ProjectDataService projectDataService;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        UserAccount user = UserAccount.builder()
+                .username("user1")
+                .password("password")
+                .roles(new HashSet<>())
+                .build();
+        userId = userRepository.save(user).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clearAccount();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldCompareWholeAccountAndSubtreeLoading() {
+        for(int size : ACCOUNT_SIZES) {
+            Integer projectId = addAccountAndReturnSmallProjectId(size);
+
+            Result wholeAccount = measure(() -> loadWholeAccount(projectId));
+            Result subtree = measure(() -> projectDataService.getFullProject(projectId, userId));
+
+            LOG.info("{} tasks, whole account: {} us, {} KB allocated, {} queries per tree",
+                    size, wholeAccount.micros, wholeAccount.kilobytes, wholeAccount.queries);
+            LOG.info("{} tasks, subtree: {} us, {} KB allocated, {} queries per tree",
+                    size, subtree.micros, subtree.kilobytes, subtree.queries);
+            assertThat(subtree.tasks, equalTo(wholeAccount.tasks));
+            assertThat(subtree.kilobytes, lessThan(wholeAccount.kilobytes));
+            clearAccount();
+        }
+    }
+
+    private Result measure(Supplier<FullProjectTree> builder) {
+        for(int i = 0; i < WARMUP; i++) {
+            builder.get();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        FullProjectTree tree = null;
+        long allocated = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for(int i = 0; i < ITERATIONS; i++) {
+            tree = builder.get();
+        }
+        long time = System.nanoTime() - start;
+        allocated = threads.getThreadAllocatedBytes(threadId) - allocated;
+        return new Result(
+                time / ITERATIONS / 1_000,
+                allocated / ITERATIONS / 1_024,
+                statistics.getPrepareStatementCount() / ITERATIONS,
+                countTasks(tree)
+        );
+    }
+
+    private int countTasks(FullProjectTree project) {
+        return project.getTasks().stream().mapToInt(this::countTasks).sum() +
+                project.getChildren().stream().mapToInt(this::countTasks).sum();
+    }
+
+    private int countTasks(TaskForTree task) {
+        return 1 + task.getChildren().stream().mapToInt(this::countTasks).sum();
+    }
+
+    private FullProjectTree loadWholeAccount(Integer projectId) {
+        ProjectMin project = projectRepository.findProjectedByIdAndOwnerId(projectId, userId, ProjectMin.class)
+                .orElseThrow();
+        List<ProjectDetails> projects = projectRepository.findByOwnerId(userId, ProjectDetails.class);
+        List<TaskDetails> tasks = taskRepository.findByOwnerId(userId, TaskDetails.class);
+        Map<Integer, List<ProjectDetails>> projectsByParent = projects.stream()
+                .filter((a) -> a.getParent() != null)
+                .collect(Collectors.groupingBy((a) -> a.getParent().getId()));
+        Map<Integer, List<TaskDetails>> tasksByParent = tasks.stream()
+                .filter((a) -> a.getParent() != null)
+                .collect(Collectors.groupingBy((a) -> a.getParent().getId()));
+        Map<Integer, List<TaskDetails>> tasksByProject = tasks.stream()
+                .filter((a) -> a.getParent() == null)
+                .filter((a) -> a.getProject() != null)
+                .collect(Collectors.groupingBy((a) -> a.getProject().getId()));
+        FullProjectTree tree = new FullProjectTree(project.getId());
+        tree.setName(project.getName());
+        addToTree(tree, projectsByParent, tasksByParent, tasksByProject);
+        return tree;
+    }
+
+    private void addToTree(FullProjectTree parent, Map<Integer, List<ProjectDetails>> projectsByParent,
+                           Map<Integer, List<TaskDetails>> tasksByParent, Map<Integer, List<TaskDetails>> tasksByProject) {
+        for(TaskDetails details : tasksByProject.getOrDefault(parent.getId(), List.of())) {
+            parent.getTasks().add(toTree(details, tasksByParent));
+        }
+        for(ProjectDetails details : projectsByParent.getOrDefault(parent.getId(), List.of())) {
+            FullProjectTree child = new FullProjectTree(details.getId());
+            child.setName(details.getName());
+            addToTree(child, projectsByParent, tasksByParent, tasksByProject);
+            parent.getChildren().add(child);
+        }
+    }
+
+    private TaskForTree toTree(TaskDetails details, Map<Integer, List<TaskDetails>> tasksByParent) {
+        TaskForTree task = new TaskForTree(details);
+        task.setChildren(tasksByParent.getOrDefault(details.getId(), List.of()).stream()
+                .map((a) -> toTree(a, tasksByParent))
+                .collect(Collectors.toList()));
+        return task;
+    }
+
+    private Integer addAccountAndReturnSmallProjectId(int size) {
+        List<Project> projects = new ArrayList<>();
+        for(int i = 0; i < size / TASKS_PER_PROJECT; i++) {
+            projects.add(Project.builder()
+                    .owner(userRepository.getById(userId))
+                    .name("Project " + i)
+                    .generalOrder(i + 1)
+                    .build());
+        }
+        Project small = Project.builder()
+                .owner(userRepository.getById(userId))
+                .name("Small Project")
+                .generalOrder(projects.size() + 1)
+                .build();
+        Project smallChild = Project.builder()
+                .owner(userRepository.getById(userId))
+                .name("Small Project Child")
+                .parent(small)
+                .generalOrder(1)
+                .build();
+        projects.add(small);
+        projects.add(smallChild);
+        projectRepository.saveAll(projects);
+
+        List<Task> tasks = new ArrayList<>();
+        for(int i = 0; i < projects.size() - 2; i++) {
+            addTasks(tasks, projects.get(i), TASKS_PER_PROJECT);
+        }
+        addTasks(tasks, small, SUBTREE_TASKS / 2);
+        addTasks(tasks, smallChild, SUBTREE_TASKS / 2);
+        taskRepository.saveAll(tasks);
+        return small.getId();
+    }
+
+    private void addTasks(List<Task> tasks, Project project, int count) {
+        Task parent = null;
+        for(int i = 0; i < count; i++) {
+            Task task = Task.builder()
+                    .owner(userRepository.getById(userId))
+                    .title("Task " + i)
+                    .description("Description")
+                    .project(project)
+                    .parent(i % 2 == 1 ? parent : null)
+                    .projectOrder(i + 1)
+                    .dailyViewOrder(0)
+                    .build();
+            parent = task;
+            tasks.add(task);
+        }
+    }
+
+    private void clearAccount() {
+        taskRepository.deleteAllInBatch();
+        projectRepository.findByOwnerId(userId, Project.class).stream()
+                .filter((a) -> a.getParent() != null)
+                .forEach(projectRepository::delete);
+        projectRepository.deleteAllInBatch();
+    }
+
+    private static class Result {
+        private final long micros;
+        private final long kilobytes;
+        private final long queries;
+        private final int tasks;
+
+        Result(long micros, long kilobytes, long queries, int tasks) {
+            this.micros = micros;
+            this.kilobytes = kilobytes;
+            this.queries = queries;
+            this.tasks = tasks;
+        }
+    }
+}
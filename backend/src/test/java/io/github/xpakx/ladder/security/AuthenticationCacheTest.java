@@ -0,0 +1,85 @@
+package io.github.xpakx.ladder.security;
+
+import io.github.xpakx.ladder.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Date;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticationCacheTest {
+    @Mock
+    private UserService userService;
+
+    private AuthenticationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new AuthenticationCache(userService, 100, 60_000, 60_000);
+    }
+
+    private Date inOneHour() {
+        return new Date(System.currentTimeMillis() + 3_600_000);
+    }
+
+    @Test
+    void shouldReturnUsernameForVerifiedToken() {
+        cache.putVerifiedToken("token", "5", inOneHour());
+
+        assertEquals("5", cache.getVerifiedUsername("token"));
+        assertNull(cache.getVerifiedUsername("other"));
+        assertEquals(1, cache.getMetrics().getTokenHits().get());
+        assertEquals(1, cache.getMetrics().getTokenMisses().get());
+    }
+
+    @Test
+    void shouldNotKeepTokenPastItsExpiration() {
+        cache.putVerifiedToken("token", "5", new Date(System.currentTimeMillis() - 1));
+
+        assertNull(cache.getVerifiedUsername("token"));
+    }
+
+    @Test
+    void shouldLoadUserDetailsOnlyOnce() {
+        UserDetails user = new User("5", "password", new HashSet<>());
+        given(userService.loadUserByUsername("5"))
+                .willReturn(user);
+
+        cache.getUserDetails("5");
+        UserDetails result = cache.getUserDetails("5");
+
+        assertSame(user, result);
+        then(userService)
+                .should(times(1))
+                .loadUserByUsername("5");
+    }
+
+    @Test
+    void shouldForgetUserAndTokensAfterInvalidation() {
+        given(userService.loadUserByUsername("5"))
+                .willReturn(new User("5", "password", new HashSet<>()));
+        cache.getUserDetails("5");
+        cache.putVerifiedToken("token", "5", inOneHour());
+        cache.putVerifiedToken("token2", "6", inOneHour());
+
+        cache.invalidateUser("5");
+        cache.getUserDetails("5");
+
+        assertNull(cache.getVerifiedUsername("token"));
+        assertEquals("6", cache.getVerifiedUsername("token2"));
+        then(userService)
+                .should(times(2))
+                .loadUserByUsername("5");
+    }
+}
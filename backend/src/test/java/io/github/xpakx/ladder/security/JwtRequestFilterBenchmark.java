@@ -0,0 +1,109 @@
+package io.github.xpakx.ladder.security;
+
+import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.user.UserAccountRepository;
+import io.github.xpakx.ladder.user.UserService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.HashSet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Cost of authenticating a request with and without cached tokens. Run with {@code mvn test -P benchmark}.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class JwtRequestFilterBenchmark {
+    private static final Logger LOG = LoggerFactory.getLogger(JwtRequestFilterBenchmark.class);
+    private static final int WARMUP = 2_000;
+    private static final int REQUESTS = 20_000;
+
+    private String token;
+
+    @Autowired
+    UserAccountRepository userRepository;
+    @Autowired
+    UserService userService;
+    @Autowired
+    JwtTokenUtil jwtTokenUtil;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        UserAccount user = UserAccount.builder()
+                .username("user1")
+                .password("password")
+                .roles(new HashSet<>())
+                .build();
+        userRepository.save(user);
+        token = jwtTokenUtil.generateToken(userService.loadUserToLogin("user1"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldCompareAuthenticationWithAndWithoutCache() throws Exception {
+        JwtRequestFilter uncached = new JwtRequestFilter(new AuthenticationCache(userService, 10_000, 0, 0), jwtTokenUtil);
+        JwtRequestFilter cached = new JwtRequestFilter(new AuthenticationCache(userService, 10_000, 300_000, 300_000), jwtTokenUtil);
+
+        Result withoutCache = measure(uncached);
+        Result withCache = measure(cached);
+
+        LOG.info("Without cache: {} ns/request, {} queries/request", withoutCache.nanosPerRequest, withoutCache.queriesPerRequest);
+        LOG.info("With cache: {} ns/request, {} queries/request", withCache.nanosPerRequest, withCache.queriesPerRequest);
+        assertThat(withoutCache.queriesPerRequest, greaterThanOrEqualTo(1.0));
+        assertThat(withCache.queriesPerRequest, equalTo(0.0));
+    }
+
+    private Result measure(JwtRequestFilter filter) throws Exception {
+        for(int i = 0; i < WARMUP; i++) {
+            authenticate(filter);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+        for(int i = 0; i < REQUESTS; i++) {
+            authenticate(filter);
+        }
+        long time = System.nanoTime() - start;
+        return new Result(time / REQUESTS, (double) statistics.getPrepareStatementCount() / REQUESTS);
+    }
+
+    private void authenticate(JwtRequestFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    private static class Result {
+        private final long nanosPerRequest;
+        private final double queriesPerRequest;
+
+        Result(long nanosPerRequest, double queriesPerRequest) {
+            this.nanosPerRequest = nanosPerRequest;
+            this.queriesPerRequest = queriesPerRequest;
+        }
+    }
+}
@@ -0,0 +1,432 @@
+package io.github.xpakx.ladder.stats;
+
+import io.github.xpakx.ladder.common.dto.BooleanRequest;
+import io.github.xpakx.ladder.common.dto.IdRequest;
+import io.github.xpakx.ladder.habit.Habit;
+import io.github.xpakx.ladder.habit.HabitCompletion;
+import io.github.xpakx.ladder.habit.HabitCompletionRepository;
+import io.github.xpakx.ladder.habit.HabitRepository;
+import io.github.xpakx.ladder.project.Project;
+import io.github.xpakx.ladder.project.ProjectRepository;
+import io.github.xpakx.ladder.security.JwtTokenUtil;
+import io.github.xpakx.ladder.task.Task;
+import io.github.xpakx.ladder.task.TaskRepository;
+import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.user.UserAccountRepository;
+import io.github.xpakx.ladder.user.UserService;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class StatsControllerTest {
+    @LocalServerPort
+    private int port;
+
+    private String baseUrl;
+    private Integer userId;
+    private Integer projectId;
+
+    @Autowired
+    JwtTokenUtil jwtTokenUtil;
+    @Autowired
+    UserService userService;
+    @Autowired
+    UserAccountRepository userRepository;
+    @Autowired
+    ProjectRepository projectRepository;
+    @Autowired
+    TaskRepository taskRepository;
+    @Autowired
+    HabitRepository habitRepository;
+    @Autowired
+    HabitCompletionRepository habitCompletionRepository;
+    @Autowired
+    TaskCompletionCountRepository taskCountRepository;
+    @Autowired
+    HabitCompletionCountRepository habitCountRepository;
+    @Autowired
+    CompletionCountService completionCountService;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost".concat(":").concat(port + "");
+        UserAccount user = UserAccount.builder()
+                .username("user1")
+                .password("password")
+                .roles(new HashSet<>())
+                .build();
+        user = userRepository.save(user);
+        this.userId = user.getId();
+        this.projectId = projectRepository.save(Project.builder()
+                .name("Project")
+                .owner(user)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskCountRepository.deleteAll();
+        habitCountRepository.deleteAll();
+        habitCompletionRepository.deleteAll();
+        habitRepository.deleteAll();
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private String tokenFor(String username) {
+        return jwtTokenUtil.generateToken(userService.loadUserToLogin(username));
+    }
+
+    private BooleanRequest getBooleanRequest(boolean value) {
+        BooleanRequest request = new BooleanRequest();
+        request.setFlag(value);
+        return request;
+    }
+
+    private Task addTask(Task parent, LocalDateTime completedAt) {
+        return taskRepository.save(Task.builder()
+                .owner(userRepository.getById(userId))
+                .project(projectRepository.getById(projectId))
+                .parent(parent)
+                .title("Task")
+                .completed(completedAt != null)
+                .completedAt(completedAt)
+                .labels(new HashSet<>())
+                .build());
+    }
+
+    private Integer addHabit() {
+        return habitRepository.save(Habit.builder()
+                .owner(userRepository.getById(userId))
+                .project(projectRepository.getById(projectId))
+                .title("Habit")
+                .allowPositive(true)
+                .build()).getId();
+    }
+
+    private void addHabitCompletion(Integer habitId, LocalDateTime date) {
+        habitCompletionRepository.save(HabitCompletion.builder()
+                .owner(userRepository.getById(userId))
+                .habit(habitRepository.getById(habitId))
+                .positive(true)
+                .date(date)
+                .build());
+    }
+
+    private void completeTask(Integer taskId, boolean flag) {
+        given()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .contentType(ContentType.JSON)
+                .body(getBooleanRequest(flag))
+        .when()
+                .put(baseUrl + "/{userId}/tasks/{taskId}/completed", userId, taskId)
+        .then()
+                .statusCode(OK.value());
+    }
+
+    private Integer addProject() {
+        return projectRepository.save(Project.builder()
+                .name("Other project")
+                .owner(userRepository.getById(userId))
+                .build()).getId();
+    }
+
+    private void moveTask(Integer taskId, Integer projectId) {
+        IdRequest request = new IdRequest();
+        request.setId(projectId);
+        given()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .contentType(ContentType.JSON)
+                .body(request)
+        .when()
+                .put(baseUrl + "/{userId}/tasks/{taskId}/project", userId, taskId)
+        .then()
+                .statusCode(OK.value());
+    }
+
+    private ValidatableResponse getTaskHeatMap(Integer projectId) {
+        return given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .get(baseUrl + "/{userId}/statistics/project/{projectId}/year/{year}/tasks", userId, projectId,
+                        LocalDateTime.now().getYear())
+        .then()
+                .statusCode(OK.value());
+    }
+
+    @Test
+    void shouldRespondWith401ToHeatMapIfUserUnauthorized() {
+        given()
+                .log()
+                .uri()
+        .when()
+                .get(baseUrl + "/{userId}/statistics/project/{projectId}/year/{year}/tasks", 1, 1, 2021)
+        .then()
+                .statusCode(UNAUTHORIZED.value());
+    }
+
+    @Test
+    void shouldCountTasksCompletedWithSubtasks() {
+        Task task = addTask(null, null);
+        addTask(task, null);
+        completeTask(task.getId(), true);
+
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .get(baseUrl + "/{userId}/statistics/project/{projectId}/year/{year}/tasks", userId, projectId,
+                        LocalDateTime.now().getYear())
+        .then()
+                .statusCode(OK.value())
+                .body("map", hasSize(1))
+                .body("map[0].number", equalTo(2));
+    }
+
+    @Test
+    void shouldNotCountUncompletedTasks() {
+        Task task = addTask(null, null);
+        completeTask(task.getId(), true);
+        completeTask(task.getId(), false);
+
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .get(baseUrl + "/{userId}/statistics/project/{projectId}/year/{year}/tasks", userId, projectId,
+                        LocalDateTime.now().getYear())
+        .then()
+                .statusCode(OK.value())
+                .body("map", hasSize(0));
+    }
+
+    @Test
+    void shouldNotCountDeletedTasks() {
+        Task task = addTask(null, null);
+        addTask(task, null);
+        Task other = addTask(null, null);
+        completeTask(task.getId(), true);
+        completeTask(other.getId(), true);
+
+        given()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .delete(baseUrl + "/{userId}/tasks/{taskId}", userId, task.getId())
+        .then()
+                .statusCode(OK.value());
+
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .get(baseUrl + "/{userId}/statistics/project/{projectId}/year/{year}/tasks", userId, projectId,
+                        LocalDateTime.now().getYear())
+        .then()
+                .statusCode(OK.value())
+                .body("map", hasSize(1))
+                .body("map[0].number", equalTo(1));
+    }
+
+    @Test
+    void shouldNotCountTasksOfDeletedProject() {
+        Task task = addTask(null, null);
+        completeTask(task.getId(), true);
+
+        given()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .delete(baseUrl + "/{userId}/projects/{projectId}", userId, projectId)
+        .then()
+                .statusCode(OK.value());
+
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .get(baseUrl + "/{userId}/statistics/project/{projectId}/year/{year}/tasks", userId, projectId,
+                        LocalDateTime.now().getYear())
+        .then()
+                .statusCode(OK.value())
+                .body("map", hasSize(0));
+    }
+
+    @Test
+    void shouldCountHabitCompletions() {
+        Integer habitId = addHabit();
+        for(int i = 0; i < 2; i++) {
+            given()
+                    .auth()
+                    .oauth2(tokenFor("user1"))
+                    .contentType(ContentType.JSON)
+                    .body(getBooleanRequest(true))
+            .when()
+                    .put(baseUrl + "/{userId}/habits/{habitId}/complete", userId, habitId)
+            .then()
+                    .statusCode(OK.value());
+        }
+
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .get(baseUrl + "/{userId}/statistics/habits/{habitId}/year/{year}", userId, habitId,
+                        LocalDateTime.now().getYear())
+        .then()
+                .statusCode(OK.value())
+                .body("map", hasSize(1))
+                .body("map[0].number", equalTo(2));
+    }
+
+    @Test
+    void shouldRecountExistingCompletions() {
+        addTask(null, LocalDateTime.of(2021, 3, 1, 10, 0));
+        addTask(null, LocalDateTime.of(2021, 3, 1, 18, 0));
+        addTask(null, LocalDateTime.of(2021, 3, 2, 10, 0));
+        addTask(null, LocalDateTime.of(2020, 3, 2, 10, 0));
+
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .post(baseUrl + "/{userId}/statistics/recount", userId)
+        .then()
+                .statusCode(OK.value());
+
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .get(baseUrl + "/{userId}/statistics/project/{projectId}/year/{year}/tasks", userId, projectId, 2021)
+        .then()
+                .statusCode(OK.value())
+                .body("map", hasSize(2))
+                .body("map[0].number", equalTo(2))
+                .body("map[1].number", equalTo(1));
+
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .get(baseUrl + "/{userId}/statistics/project/{projectId}/month/{month}/tasks", userId, projectId, 3)
+        .then()
+                .statusCode(OK.value())
+                .body("map", hasSize(3));
+    }
+
+    @Test
+    void shouldBackfillCountsForHabitsOfProject() {
+        Integer habitId = addHabit();
+        Integer otherHabitId = addHabit();
+        addHabitCompletion(habitId, LocalDateTime.of(2021, 3, 1, 10, 0));
+        addHabitCompletion(otherHabitId, LocalDateTime.of(2021, 3, 1, 12, 0));
+        addHabitCompletion(otherHabitId, LocalDateTime.of(2021, 4, 1, 12, 0));
+        completionCountService.backfill();
+
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .get(baseUrl + "/{userId}/statistics/project/{projectId}/year/{year}/habits", userId, projectId, 2021)
+        .then()
+                .statusCode(OK.value())
+                .body("map", hasSize(2))
+                .body("map[0].number", equalTo(2))
+                .body("map[1].number", equalTo(1));
+    }
+
+    @Test
+    void shouldMoveCountsWithTaskAndSubtasks() {
+        Task task = addTask(null, null);
+        addTask(task, null);
+        completeTask(task.getId(), true);
+        Integer otherProjectId = addProject();
+
+        moveTask(task.getId(), otherProjectId);
+
+        getTaskHeatMap(projectId)
+                .body("map", hasSize(0));
+        getTaskHeatMap(otherProjectId)
+                .body("map", hasSize(1))
+                .body("map[0].number", equalTo(2));
+    }
+
+    @Test
+    void shouldNotCountTaskUncompletedAfterMove() {
+        Task task = addTask(null, null);
+        completeTask(task.getId(), true);
+        Integer otherProjectId = addProject();
+
+        moveTask(task.getId(), otherProjectId);
+        completeTask(task.getId(), false);
+
+        getTaskHeatMap(projectId)
+                .body("map", hasSize(0));
+        getTaskHeatMap(otherProjectId)
+                .body("map", hasSize(0));
+        assertThat(taskCountRepository.findAll(), everyItem(hasProperty("number", equalTo(0))));
+    }
+
+    @Test
+    void shouldNotCountTaskDeletedAfterMove() {
+        Task task = addTask(null, null);
+        addTask(task, null);
+        completeTask(task.getId(), true);
+        Integer otherProjectId = addProject();
+
+        moveTask(task.getId(), otherProjectId);
+        given()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .delete(baseUrl + "/{userId}/tasks/{taskId}", userId, task.getId())
+        .then()
+                .statusCode(OK.value());
+
+        getTaskHeatMap(projectId)
+                .body("map", hasSize(0));
+        getTaskHeatMap(otherProjectId)
+                .body("map", hasSize(0));
+        assertThat(taskCountRepository.findAll(), everyItem(hasProperty("number", equalTo(0))));
+    }
+}
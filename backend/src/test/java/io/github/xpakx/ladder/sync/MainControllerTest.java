@@ -1,8 +1,12 @@
 package io.github.xpakx.ladder.sync;
 
 import io.github.xpakx.ladder.label.Label;
+import io.github.xpakx.ladder.label.dto.LabelRequest;
+import io.github.xpakx.ladder.sync.dto.CursorRequest;
 import io.github.xpakx.ladder.project.Project;
 import io.github.xpakx.ladder.task.Task;
+import io.github.xpakx.ladder.task.dto.BulkTaskOperation;
+import io.github.xpakx.ladder.task.dto.BulkTaskRequest;
 import io.github.xpakx.ladder.user.UserAccount;
 import io.github.xpakx.ladder.label.LabelRepository;
 import io.github.xpakx.ladder.project.ProjectRepository;
@@ -10,6 +14,7 @@ import io.github.xpakx.ladder.task.TaskRepository;
 import io.github.xpakx.ladder.user.UserAccountRepository;
 import io.github.xpakx.ladder.security.JwtTokenUtil;
 import io.github.xpakx.ladder.user.UserService;
+import io.restassured.http.ContentType;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -45,6 +50,12 @@ class MainControllerTest {
     LabelRepository labelRepository;
     @Autowired
     ProjectRepository projectRepository;
+    @Autowired
+    ChangeLogRepository changeLogRepository;
+    @Autowired
+    ChangeLogSequenceRepository changeLogSequenceRepository;
+    @Autowired
+    ChangeLogService changeLogService;
 
     @BeforeEach
     void setUp() {
@@ -64,6 +75,8 @@ class MainControllerTest {
         taskRepository.deleteAll();
         projectRepository.deleteAll();
         userRepository.deleteAll();
+        changeLogRepository.deleteAll();
+        changeLogSequenceRepository.deleteAll();
     }
 
     void addUser2() {
@@ -161,4 +174,224 @@ class MainControllerTest {
                 .body("$", hasKey("labels"))
                 .body("labels", hasSize(2));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRespondWith401ToStreamUserInfoIfUserUnauthorized() {
+        given()
+                .log()
+                .uri()
+        .when()
+                .get(baseUrl + "/{userId}/all/stream", 1)
+        .then()
+                .statusCode(UNAUTHORIZED.value());
+    }
+
+    @Test
+    void shouldRespondWith403ToStreamUserInfoIfWrongUser() {
+        addUser2();
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user2"))
+        .when()
+                .get(baseUrl + "/{userId}/all/stream", userId)
+        .then()
+                .statusCode(FORBIDDEN.value());
+    }
+
+    @Test
+    void shouldStreamUserInfo() {
+        add3Projects2Labels2TasksToUser1();
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .get(baseUrl + "/{userId}/all/stream", userId)
+        .then()
+                .statusCode(OK.value())
+                .body("id", equalTo(userId))
+                .body("username", equalTo("user1"))
+                .body("projects", hasSize(3))
+                .body("tasks", hasSize(2))
+                .body("labels", hasSize(2))
+                .body("$", hasKey("habits"))
+                .body("$", hasKey("filters"))
+                .body("$", hasKey("todayHabitCompletions"))
+                .body("$", hasKey("collabs"))
+                .body("$", hasKey("collabTasks"));
+    }
+
+    private CursorRequest getCursorRequest(Long cursor) {
+        CursorRequest request = new CursorRequest();
+        request.setCursor(cursor);
+        return request;
+    }
+
+    private Integer addLabel(String name) {
+        LabelRequest request = new LabelRequest();
+        request.setName(name);
+        return given()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .contentType(ContentType.JSON)
+                .body(request)
+        .when()
+                .post(baseUrl + "/{userId}/labels", userId)
+        .then()
+                .statusCode(CREATED.value())
+                .extract()
+                .path("id");
+    }
+
+    @Test
+    void shouldRespondWith401ToSyncByCursorIfUserUnauthorized() {
+        given()
+                .log()
+                .uri()
+                .contentType(ContentType.JSON)
+                .body(getCursorRequest(0L))
+        .when()
+                .post(baseUrl + "/{userId}/sync/journal", 1)
+        .then()
+                .statusCode(UNAUTHORIZED.value());
+    }
+
+    @Test
+    void shouldReturnAllDataIfCursorIsMissing() {
+        add3Projects2Labels2TasksToUser1();
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .contentType(ContentType.JSON)
+                .body(getCursorRequest(null))
+        .when()
+                .post(baseUrl + "/{userId}/sync/journal", userId)
+        .then()
+                .statusCode(OK.value())
+                .body("fullSync", equalTo(true))
+                .body("$", hasKey("cursor"))
+                .body("all.projects", hasSize(3))
+                .body("all.tasks", hasSize(2))
+                .body("all.labels", hasSize(2));
+    }
+
+    @Test
+    void shouldReturnAllDataIfEntriesAfterCursorWereCompacted() {
+        addLabel("Label 1");
+        addLabel("Label 2");
+        changeLogRepository.deleteAll();
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .contentType(ContentType.JSON)
+                .body(getCursorRequest(0L))
+        .when()
+                .post(baseUrl + "/{userId}/sync/journal", userId)
+        .then()
+                .statusCode(OK.value())
+                .body("fullSync", equalTo(true))
+                .body("all.labels", hasSize(2));
+    }
+
+    @Test
+    void shouldReturnOnlyChangesAfterCursor() {
+        add3Projects2Labels2TasksToUser1();
+        Long cursor = changeLogService.getCurrentCursor(userId);
+        addLabel("New label");
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .contentType(ContentType.JSON)
+                .body(getCursorRequest(cursor))
+        .when()
+                .post(baseUrl + "/{userId}/sync/journal", userId)
+        .then()
+                .statusCode(OK.value())
+                .body("fullSync", equalTo(false))
+                .body("changes.labels", hasSize(1))
+                .body("changes.labels[0].name", equalTo("New label"))
+                .body("changes.tasks", hasSize(0))
+                .body("changes.projects", hasSize(0))
+                .body("deleted", hasSize(0));
+    }
+
+    @Test
+    void shouldReturnDeletedEntities() {
+        Integer labelId = addLabel("Label to delete");
+        Long cursor = changeLogService.getCurrentCursor(userId);
+        given()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .delete(baseUrl + "/{userId}/labels/{labelId}", userId, labelId)
+        .then()
+                .statusCode(OK.value());
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .contentType(ContentType.JSON)
+                .body(getCursorRequest(cursor))
+        .when()
+                .post(baseUrl + "/{userId}/sync/journal", userId)
+        .then()
+                .statusCode(OK.value())
+                .body("fullSync", equalTo(false))
+                .body("deleted", hasSize(1))
+                .body("deleted[0].type", equalTo("LABEL"))
+                .body("deleted[0].id", equalTo(labelId));
+    }
+
+    @Test
+    void shouldReturnSubtasksChangedWithParent() {
+        Task parent = taskRepository.save(Task.builder()
+                .owner(userRepository.getById(userId))
+                .title("Parent")
+                .build());
+        Task subtask = taskRepository.save(Task.builder()
+                .owner(userRepository.getById(userId))
+                .title("Subtask")
+                .parent(parent)
+                .build());
+        Long cursor = changeLogService.getCurrentCursor(userId);
+        BulkTaskRequest request = new BulkTaskRequest();
+        request.setOperation(BulkTaskOperation.ARCHIVE);
+        request.setIds(List.of(parent.getId()));
+        request.setFlag(true);
+        given()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .contentType(ContentType.JSON)
+                .body(request)
+        .when()
+                .put(baseUrl + "/{userId}/tasks/bulk", userId)
+        .then()
+                .statusCode(OK.value());
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .contentType(ContentType.JSON)
+                .body(getCursorRequest(cursor))
+        .when()
+                .post(baseUrl + "/{userId}/sync/journal", userId)
+        .then()
+                .statusCode(OK.value())
+                .body("fullSync", equalTo(false))
+                .body("cursor", equalTo(changeLogService.getCurrentCursor(userId).intValue()))
+                .body("changes.tasks", hasSize(2))
+                .body("changes.tasks.id", containsInAnyOrder(parent.getId(), subtask.getId()))
+                .body("changes.tasks.archived", everyItem(equalTo(true)));
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.xpakx.ladder.sync;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.xpakx.ladder.collaboration.CollaborationRepository;
+import io.github.xpakx.ladder.filter.FilterRepository;
+import io.github.xpakx.ladder.habit.HabitCompletionRepository;
+import io.github.xpakx.ladder.habit.HabitRepository;
+import io.github.xpakx.ladder.label.LabelRepository;
+import io.github.xpakx.ladder.project.ProjectRepository;
+import io.github.xpakx.ladder.task.TaskRepository;
+import io.github.xpakx.ladder.task.dto.TaskDetails;
+import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.user.UserAccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class MainStreamServiceTest {
+    @Mock
+    private UserAccountRepository userAccountRepository;
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private LabelRepository labelRepository;
+    @Mock
+    private HabitRepository habitRepository;
+    @Mock
+    private FilterRepository filterRepository;
+    @Mock
+    private HabitCompletionRepository habitCompletionRepository;
+    @Mock
+    private CollaborationRepository collaborationRepository;
+    @Mock
+    private ChangeLogService changeLogService;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private MainStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        streamService = new MainStreamService(userAccountRepository, projectRepository, taskRepository,
+                labelRepository, habitRepository, filterRepository, habitCompletionRepository,
+                collaborationRepository, changeLogService, mapper, 2, 16);
+        UserAccount user = UserAccount.builder()
+                .id(1)
+                .username("user1")
+                .build();
+        given(userAccountRepository.findById(1))
+                .willReturn(Optional.of(user));
+        given(changeLogService.getCurrentCursor(1))
+                .willReturn(5L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.shutdown();
+    }
+
+    private JsonNode stream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        streamService.streamAll(1).writeTo(out);
+        return mapper.readTree(out.toByteArray());
+    }
+
+    @Test
+    void shouldStreamAllSections() throws IOException {
+        JsonNode result = stream();
+
+        assertEquals(1, result.get("id").asInt());
+        assertTrue(result.has("tasks"));
+        assertTrue(result.has("collabTasks"));
+        assertFalse(result.has("error"));
+    }
+
+    @Test
+    void shouldEndStreamWithErrorIfQueryFails() throws IOException {
+        given(taskRepository.findByOwnerIdAndArchived(1, false, TaskDetails.class))
+                .willThrow(new IllegalStateException("Connection lost"));
+
+        JsonNode result = stream();
+
+        assertEquals(1, result.get("id").asInt());
+        assertEquals("Cannot load data", result.get("error").asText());
+        assertFalse(result.has("tasks"));
+    }
+}
@@ -0,0 +1,300 @@
+package io.github.xpakx.ladder.task;
+
+import io.github.xpakx.ladder.collaboration.CollaborationRepository;
+import io.github.xpakx.ladder.project.Project;
+import io.github.xpakx.ladder.project.ProjectRepository;
+import io.github.xpakx.ladder.security.JwtTokenUtil;
+import io.github.xpakx.ladder.task.dto.BulkTaskOperation;
+import io.github.xpakx.ladder.task.dto.BulkTaskRequest;
+import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.user.UserAccountRepository;
+import io.github.xpakx.ladder.user.UserService;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.http.HttpStatus.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class TaskBulkControllerTest {
+    @LocalServerPort
+    private int port;
+
+    private String baseUrl;
+    private Integer userId;
+
+    @Autowired
+    JwtTokenUtil jwtTokenUtil;
+
+    @Autowired
+    UserService userService;
+    @Autowired
+    UserAccountRepository userRepository;
+    @Autowired
+    ProjectRepository projectRepository;
+    @Autowired
+    TaskRepository taskRepository;
+    @Autowired
+    CollaborationRepository collaborationRepository;
+
+    @BeforeEach
+    void setUp() {
+        baseUrl = "http://localhost".concat(":").concat(port + "");
+        UserAccount user = UserAccount.builder()
+                .username("user1")
+                .password("password")
+                .roles(new HashSet<>())
+                .build();
+        user = userRepository.save(user);
+        this.userId = user.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        collaborationRepository.deleteAll();
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private String tokenFor(String username) {
+        return jwtTokenUtil.generateToken(userService.loadUserToLogin(username));
+    }
+
+    private Integer addTaskAndReturnId(String title) {
+        Task task = Task.builder()
+                .owner(userRepository.getById(userId))
+                .title(title)
+                .projectOrder(1)
+                .build();
+        return taskRepository.save(task).getId();
+    }
+
+    private Integer addSubtaskAndReturnId(Integer parentId) {
+        Task task = Task.builder()
+                .owner(userRepository.getById(userId))
+                .title("Subtask")
+                .parent(taskRepository.getById(parentId))
+                .projectOrder(1)
+                .build();
+        return taskRepository.save(task).getId();
+    }
+
+    private Integer addProjectAndReturnId() {
+        Project project = Project.builder()
+                .owner(userRepository.getById(userId))
+                .name("Test Project")
+                .build();
+        return projectRepository.save(project).getId();
+    }
+
+    private BulkTaskRequest getRequest(BulkTaskOperation operation, List<Integer> ids) {
+        BulkTaskRequest request = new BulkTaskRequest();
+        request.setOperation(operation);
+        request.setIds(ids);
+        return request;
+    }
+
+    @Test
+    void shouldRespondWith401ToBulkUpdateIfUserUnauthorized() {
+        given()
+                .log()
+                .uri()
+                .when()
+                .put(baseUrl + "/{userId}/tasks/bulk", 1)
+                .then()
+                .statusCode(UNAUTHORIZED.value());
+    }
+
+    @Test
+    void shouldRespondWith404ToBulkUpdateIfTaskNotFound() {
+        Integer taskId = addTaskAndReturnId("Task");
+        BulkTaskRequest request = getRequest(BulkTaskOperation.SET_PRIORITY, List.of(taskId, taskId + 100));
+        request.setPriority(2);
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .put(baseUrl + "/{userId}/tasks/bulk", userId)
+                .then()
+                .statusCode(NOT_FOUND.value());
+        assertThat(taskRepository.findById(taskId).get().getPriority(), nullValue());
+    }
+
+    @Test
+    void shouldRespondWith400ToBulkUpdateWithoutOperation() {
+        Integer taskId = addTaskAndReturnId("Task");
+        BulkTaskRequest request = getRequest(null, List.of(taskId));
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .put(baseUrl + "/{userId}/tasks/bulk", userId)
+                .then()
+                .statusCode(BAD_REQUEST.value());
+    }
+
+    @Test
+    void shouldUpdatePriorityOfManyTasks() {
+        Integer firstId = addTaskAndReturnId("First Task");
+        Integer secondId = addTaskAndReturnId("Second Task");
+        BulkTaskRequest request = getRequest(BulkTaskOperation.SET_PRIORITY, List.of(firstId, secondId));
+        request.setPriority(3);
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .put(baseUrl + "/{userId}/tasks/bulk", userId)
+                .then()
+                .statusCode(OK.value())
+                .body("$", hasSize(2))
+                .body("priority", everyItem(equalTo(3)));
+    }
+
+    @Test
+    void shouldCompleteTasksWithSubtasks() {
+        Integer firstId = addTaskAndReturnId("First Task");
+        Integer subtaskId = addSubtaskAndReturnId(firstId);
+        Integer secondId = addTaskAndReturnId("Second Task");
+        BulkTaskRequest request = getRequest(BulkTaskOperation.COMPLETE, List.of(firstId, secondId));
+        request.setFlag(true);
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .put(baseUrl + "/{userId}/tasks/bulk", userId)
+                .then()
+                .statusCode(OK.value())
+                .body("$", hasSize(3))
+                .body("completed", everyItem(equalTo(true)));
+        assertThat(taskRepository.findById(subtaskId).get().isCompleted(), equalTo(true));
+    }
+
+    @Test
+    void shouldMoveTasksWithSubtasksToProject() {
+        Integer projectId = addProjectAndReturnId();
+        Integer firstId = addTaskAndReturnId("First Task");
+        Integer subtaskId = addSubtaskAndReturnId(firstId);
+        Integer secondId = addTaskAndReturnId("Second Task");
+        BulkTaskRequest request = getRequest(BulkTaskOperation.MOVE_TO_PROJECT, List.of(firstId, secondId));
+        request.setProjectId(projectId);
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .put(baseUrl + "/{userId}/tasks/bulk", userId)
+                .then()
+                .statusCode(OK.value())
+                .body("$", hasSize(3));
+        List<Task> tasks = taskRepository.findByOwnerIdAndProjectId(userId, projectId);
+        assertThat(tasks, hasSize(3));
+        Task subtask = taskRepository.findById(subtaskId).get();
+        assertThat(subtask.getParent().getId(), equalTo(firstId));
+        assertThat(taskRepository.findById(secondId).get().getProjectOrder(),
+                greaterThan(taskRepository.findById(firstId).get().getProjectOrder()));
+    }
+
+    @Test
+    void shouldKeepSelectedSubtaskUnderSelectedParentWhenMovingToProject() {
+        Integer projectId = addProjectAndReturnId();
+        Integer parentId = addTaskAndReturnId("Parent");
+        Integer subtaskId = addSubtaskAndReturnId(parentId);
+        BulkTaskRequest request = getRequest(BulkTaskOperation.MOVE_TO_PROJECT, List.of(subtaskId, parentId));
+        request.setProjectId(projectId);
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .put(baseUrl + "/{userId}/tasks/bulk", userId)
+                .then()
+                .statusCode(OK.value())
+                .body("$", hasSize(2));
+        Task subtask = taskRepository.findById(subtaskId).get();
+        assertThat(subtask.getParent().getId(), equalTo(parentId));
+        assertThat(subtask.getProject().getId(), equalTo(projectId));
+        assertThat(taskRepository.findById(parentId).get().getParent(), nullValue());
+    }
+
+    @Test
+    void shouldAssignDailyOrderInRequestOrder() {
+        Integer firstId = addTaskAndReturnId("First Task");
+        Integer secondId = addTaskAndReturnId("Second Task");
+        Integer thirdId = addTaskAndReturnId("Third Task");
+        BulkTaskRequest request = getRequest(BulkTaskOperation.SET_DUE, List.of(thirdId, firstId, secondId));
+        request.setDate(LocalDateTime.now().plusDays(1));
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .put(baseUrl + "/{userId}/tasks/bulk", userId)
+                .then()
+                .statusCode(OK.value())
+                .body("$", hasSize(3));
+        Integer third = taskRepository.findById(thirdId).get().getDailyViewOrder();
+        Integer first = taskRepository.findById(firstId).get().getDailyViewOrder();
+        Integer second = taskRepository.findById(secondId).get().getDailyViewOrder();
+        assertThat(first, greaterThan(third));
+        assertThat(second, greaterThan(first));
+    }
+
+    @Test
+    void shouldArchiveTasksWithSubtasks() {
+        Integer firstId = addTaskAndReturnId("First Task");
+        Integer subtaskId = addSubtaskAndReturnId(firstId);
+        BulkTaskRequest request = getRequest(BulkTaskOperation.ARCHIVE, List.of(firstId));
+        request.setFlag(true);
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .contentType(ContentType.JSON)
+                .body(request)
+                .when()
+                .put(baseUrl + "/{userId}/tasks/bulk", userId)
+                .then()
+                .statusCode(OK.value())
+                .body("$", hasSize(2))
+                .body("archived", everyItem(equalTo(true)));
+        assertThat(taskRepository.findById(subtaskId).get().isArchived(), equalTo(true));
+    }
+}
@@ -326,4 +326,45 @@ class TaskControllerTest {
                 .statusCode(CREATED.value());
         assertEquals(2*tasks, taskRepository.findAll().size());
     }
+
+    @Test
+    void shouldRespondWithDuplicatedSubtreeOnly() {
+        Integer taskId = addTaskWith2SubtasksAndReturnId();
+        Integer otherTaskId = addTaskWith2SubtasksAndReturnId();
+        Integer subtaskId = taskRepository.findSubtreeByIdAndOwnerId(taskId, userId).get(1).getId();
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .post(baseUrl + "/{userId}/tasks/{taskId}/duplicate", userId, subtaskId)
+        .then()
+                .statusCode(CREATED.value())
+                .body("$", hasSize(1))
+                .body("[0].title", equalTo("First Subtask"))
+                .body("[0].parent.id", equalTo(taskId))
+                .body("[0].id", not(equalTo(subtaskId)))
+                .body("[0].id", not(equalTo(otherTaskId)));
+        assertEquals(7, taskRepository.findAll().size());
+    }
+
+    @Test
+    void shouldRespondWithDuplicatedTaskAndSubtasks() {
+        Integer taskId = addTaskWith2SubtasksAndReturnId();
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .post(baseUrl + "/{userId}/tasks/{taskId}/duplicate", userId, taskId)
+        .then()
+                .statusCode(CREATED.value())
+                .body("$", hasSize(3))
+                .body("[0].title", equalTo("First Task"))
+                .body("[0].parent", nullValue())
+                .body("title", hasItems("First Subtask", "Second Subtask"))
+                .body("[1].parent.id", not(equalTo(taskId)));
+    }
 }
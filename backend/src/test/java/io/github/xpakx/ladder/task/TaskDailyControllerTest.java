@@ -87,7 +87,6 @@ public class TaskDailyControllerTest {
     }
 
     @Test
-    @Disabled
     void shouldMoveTaskAsFirst() {
         List<Integer> ids = add3TasksWithDueDateInOrderAndReturnListOfIds(LocalDateTime.now());
 
@@ -105,18 +104,7 @@ public class TaskDailyControllerTest {
 
         List<Task> tasks = taskRepository.findAll();
         assertThat(tasks, hasSize(3));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 1")),
-                hasProperty("dailyViewOrder", is(2))
-        )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 2")),
-                hasProperty("dailyViewOrder", is(3))
-        )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 3")),
-                hasProperty("dailyViewOrder", is(1))
-        )));
+        assertThat(getTitlesInDailyOrder(tasks), contains("Task 3", "Task 1", "Task 2"));
     }
 
     private List<Integer> add3TasksWithDueDateInOrderAndReturnListOfIds(LocalDateTime date) {
@@ -154,6 +142,30 @@ public class TaskDailyControllerTest {
         return taskRepository.save(task).getId();
     }
 
+    @Test
+    void shouldNotMoveTasksDueOnSameDayOfOtherMonth() {
+        LocalDateTime date = LocalDateTime.of(2022, 1, 12, 12, 32);
+        List<Integer> ids = add3TasksWithDueDateInOrderAndReturnListOfIds(date);
+        Integer otherMonthTaskId = addTaskAndReturnId(date.plusMonths(1));
+
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+        .when()
+                .put(baseUrl + "/{userId}/tasks/{taskId}/daily/move/asFirst", userId, ids.get(2))
+        .then()
+                .statusCode(OK.value());
+
+        List<Task> tasks = taskRepository.findAll();
+        assertThat(tasks, hasSize(4));
+        assertThat(getTitlesInDailyOrder(tasks.stream()
+                .filter((a) -> !a.getId().equals(otherMonthTaskId))
+                .collect(Collectors.toList())), contains("Task 3", "Task 1", "Task 2"));
+        assertThat(taskRepository.findById(otherMonthTaskId).orElseThrow().getDailyViewOrder(), equalTo(1));
+    }
+
     @Test
     void shouldRespondWith401ToMoveTaskAsFirstForDateIfUserUnauthorized() {
         given()
@@ -166,7 +178,6 @@ public class TaskDailyControllerTest {
     }
 
     @Test
-    @Disabled
     void shouldMoveTaskAsFirstForDate() {
         DateRequest request = getValidDateRequest();
         List<Integer> ids = add3TasksWithDueDateInOrderAndReturnListOfIds(request.getDate());
@@ -186,18 +197,7 @@ public class TaskDailyControllerTest {
 
         List<Task> tasks = taskRepository.findAll();
         assertThat(tasks, hasSize(3));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 1")),
-                hasProperty("dailyViewOrder", is(2))
-        )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 2")),
-                hasProperty("dailyViewOrder", is(3))
-        )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 3")),
-                hasProperty("dailyViewOrder", is(1))
-        )));
+        assertThat(getTitlesInDailyOrder(tasks), contains("Task 3", "Task 1", "Task 2"));
     }
 
     private DateRequest getValidDateRequest() {
@@ -218,7 +218,6 @@ public class TaskDailyControllerTest {
     }
 
     @Test
-    @Disabled
     void shouldMoveTaskAfter() {
         List<Integer> ids = add3TasksWithDueDateInOrderAndReturnListOfIds(LocalDateTime.now());
         IdRequest request = getValidIdRequest(ids.get(0));
@@ -239,18 +238,14 @@ public class TaskDailyControllerTest {
 
         List<Task> tasks = taskRepository.findAll();
         assertThat(tasks, hasSize(3));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 1")),
-                hasProperty("dailyViewOrder", is(1))
-        )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 2")),
-                hasProperty("dailyViewOrder", is(3))
-        )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 3")),
-                hasProperty("dailyViewOrder", is(2))
-        )));
+        assertThat(getTitlesInDailyOrder(tasks), contains("Task 1", "Task 3", "Task 2"));
+    }
+
+    private List<String> getTitlesInDailyOrder(List<Task> tasks) {
+        return tasks.stream()
+                .sorted(Comparator.comparingInt(Task::getDailyViewOrder))
+                .map(Task::getTitle)
+                .collect(Collectors.toList());
     }
 
     private IdRequest getValidIdRequest(Integer id) {
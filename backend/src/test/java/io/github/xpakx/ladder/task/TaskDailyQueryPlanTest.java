@@ -0,0 +1,73 @@
+package io.github.xpakx.ladder.task;
+
+import io.github.xpakx.ladder.common.schema.QueryPlans;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.repository.Query;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Checks that queries of the daily view are served by the daily view index, and fails if they scan all tasks
+ */
+@SpringBootTest
+class TaskDailyQueryPlanTest {
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    DataSource dataSource;
+
+    private QueryPlans plans;
+
+    private static final Map<String, Object> PARAMETERS = Map.of(
+            "ownerId", 1,
+            "date", LocalDate.of(2022, 1, 12),
+            "dailyOrder", 1,
+            "excludedId", 1
+    );
+
+    @BeforeEach
+    void setUp() {
+        plans = new QueryPlans(entityManagerFactory, dataSource);
+    }
+
+    @Test
+    void shouldUseIndexToGetMaxDailyOrder() throws Exception {
+        assertUsesDailyViewIndex("getMaxOrderByOwnerIdAndDate");
+    }
+
+    @Test
+    void shouldUseIndexToGetNextDailyOrder() throws Exception {
+        assertUsesDailyViewIndex("getNextDailyOrderByOwnerIdAndDate");
+    }
+
+    @Test
+    void shouldUseIndexToGetPreviousDailyOrder() throws Exception {
+        assertUsesDailyViewIndex("getPreviousDailyOrderByOwnerIdAndDate");
+    }
+
+    @Test
+    void shouldUseIndexToGetTasksOfDay() throws Exception {
+        assertUsesDailyViewIndex("findByOwnerIdAndDateOrderByDailyViewOrder");
+    }
+
+    private void assertUsesDailyViewIndex(String methodName) throws SQLException {
+        plans.assertUsesIndex(getQuery(methodName), PARAMETERS, "task_daily_view_idx");
+    }
+
+    private String getQuery(String methodName) {
+        for(Method method : TaskRepository.class.getMethods()) {
+            if(method.getName().equals(methodName)) {
+                return method.getAnnotation(Query.class).value();
+            }
+        }
+        throw new IllegalArgumentException("No such method: " + methodName);
+    }
+}
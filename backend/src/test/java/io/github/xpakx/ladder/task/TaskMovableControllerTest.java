@@ -3,6 +3,7 @@ package io.github.xpakx.ladder.task;
 import io.github.xpakx.ladder.user.UserAccount;
 import io.github.xpakx.ladder.task.dto.AddTaskRequest;
 import io.github.xpakx.ladder.common.dto.IdRequest;
+import io.github.xpakx.ladder.common.order.SparseOrderService;
 import io.github.xpakx.ladder.collaboration.CollaborationRepository;
 import io.github.xpakx.ladder.project.ProjectRepository;
 import io.github.xpakx.ladder.user.UserAccountRepository;
@@ -73,6 +74,19 @@ public class TaskMovableControllerTest {
         return jwtTokenUtil.generateToken(userService.loadUserToLogin(username));
     }
 
+    private List<String> getTitlesInOrder(List<Task> tasks) {
+        return tasks.stream()
+                .sorted(Comparator.comparingInt(Task::getProjectOrder))
+                .map(Task::getTitle)
+                .collect(Collectors.toList());
+    }
+
+    private List<Task> getChildren(List<Task> tasks) {
+        return tasks.stream()
+                .filter((a) -> a.getParent() != null)
+                .collect(Collectors.toList());
+    }
+
     private IdRequest getValidIdRequest(Integer id) {
         IdRequest request = new IdRequest();
         request.setId(id);
@@ -111,18 +125,7 @@ public class TaskMovableControllerTest {
 
         List<Task> tasks = taskRepository.findAll();
         assertThat(tasks, hasSize(3));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 1")),
-                hasProperty("projectOrder", is(1))
-        )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 2")),
-                hasProperty("projectOrder", is(3))
-        )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 3")),
-                hasProperty("projectOrder", is(2))
-        )));
+        assertThat(getTitlesInOrder(tasks), contains("Task 1", "Task 3", "Task 2"));
     }
 
     private List<Integer> add3TasksInOrderAndReturnListOfIds() {
@@ -166,20 +169,63 @@ public class TaskMovableControllerTest {
 
         List<Task> tasks = taskRepository.findAll();
         assertThat(tasks, hasSize(4));
+        assertThat(getTitlesInOrder(getChildren(tasks)), contains("Task 1", "Task 3", "Task 2"));
+    }
+
+    @Test
+    void shouldMoveTaskAfterWithoutUpdatingSiblingsIfThereIsGap() {
+        List<Integer> ids = add3SparseTasksInOrderAndReturnListOfIds();
+        IdRequest request = getValidIdRequest(ids.get(0));
+        Integer taskId = ids.get(2);
+
+        given()
+                .log()
+                .uri()
+                .auth()
+                .oauth2(tokenFor("user1"))
+                .contentType(ContentType.JSON)
+                .body(request)
+        .when()
+                .put(baseUrl + "/{userId}/tasks/{taskId}/move/after", userId, taskId)
+        .then()
+                .statusCode(OK.value());
+
+        List<Task> tasks = taskRepository.findAll();
+        assertThat(getTitlesInOrder(tasks), contains("Task 1", "Task 3", "Task 2"));
         assertThat(tasks, hasItem(allOf(
                 hasProperty("title", is("Task 1")),
-                hasProperty("projectOrder", is(1))
+                hasProperty("projectOrder", is(SparseOrderService.GAP)),
+                hasProperty("modifiedAt", nullValue())
         )));
         assertThat(tasks, hasItem(allOf(
                 hasProperty("title", is("Task 2")),
-                hasProperty("projectOrder", is(3))
-        )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 3")),
-                hasProperty("projectOrder", is(2))
+                hasProperty("projectOrder", is(2 * SparseOrderService.GAP)),
+                hasProperty("modifiedAt", nullValue())
         )));
     }
 
+    private List<Integer> add3SparseTasksInOrderAndReturnListOfIds() {
+        Task task1 = Task.builder()
+                .owner(userRepository.getById(userId))
+                .projectOrder(SparseOrderService.GAP)
+                .title("Task 1")
+                .build();
+        Task task2 = Task.builder()
+                .owner(userRepository.getById(userId))
+                .projectOrder(2 * SparseOrderService.GAP)
+                .title("Task 2")
+                .build();
+        Task task3 = Task.builder()
+                .owner(userRepository.getById(userId))
+                .projectOrder(3 * SparseOrderService.GAP)
+                .title("Task 3")
+                .build();
+        return taskRepository.saveAll(List.of(task1, task2, task3)).stream()
+                .sorted(Comparator.comparingInt(Task::getProjectOrder))
+                .map(Task::getId)
+                .collect(Collectors.toList());
+    }
+
     private List<Integer> add3TasksWithParentInOrderAndReturnListOfIds() {
         Task parent = Task.builder()
                 .owner(userRepository.getById(userId))
@@ -243,18 +289,7 @@ public class TaskMovableControllerTest {
 
         List<Task> tasks = taskRepository.findAll();
         assertThat(tasks, hasSize(4));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 1")),
-                hasProperty("projectOrder", is(2))
-        )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 2")),
-                hasProperty("projectOrder", is(3))
-        )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 3")),
-                hasProperty("projectOrder", is(1))
-        )));
+        assertThat(getTitlesInOrder(getChildren(tasks)), contains("Task 3", "Task 1", "Task 2"));
     }
 
     @Test
@@ -286,18 +321,7 @@ public class TaskMovableControllerTest {
 
         List<Task> tasks = taskRepository.findAll();
         assertThat(tasks, hasSize(3));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 1")),
-                hasProperty("projectOrder", is(2))
-        )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 2")),
-                hasProperty("projectOrder", is(3))
-        )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 3")),
-                hasProperty("projectOrder", is(1))
-        )));
+        assertThat(getTitlesInOrder(tasks), contains("Task 3", "Task 1", "Task 2"));
     }
 
     @Test
@@ -332,22 +356,7 @@ public class TaskMovableControllerTest {
 
         List<Task> tasks = taskRepository.findAll();
         assertThat(tasks, hasSize(4));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Added Task")),
-                hasProperty("projectOrder", is(2))
-        )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 1")),
-                hasProperty("projectOrder", is(0))
-        )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 2")),
-                hasProperty("projectOrder", is(1))
-        )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 3")),
-                hasProperty("projectOrder", is(3))
-        )));
+        assertThat(getTitlesInOrder(tasks), contains("Task 1", "Task 2", "Added Task", "Task 3"));
     }
 
     private Integer add3TasksInOrderAndReturnIdOfMiddleOne() {
@@ -413,22 +422,7 @@ public class TaskMovableControllerTest {
 
         List<Task> tasks = taskRepository.findAll();
         assertThat(tasks, hasSize(4));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Added Task")),
-                hasProperty("projectOrder", is(1))
-        )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 1")),
-                hasProperty("projectOrder", is(0))
-        )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 2")),
-                hasProperty("projectOrder", is(2))
-        )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 3")),
-                hasProperty("projectOrder", is(3))
-        )));
+        assertThat(getTitlesInOrder(tasks), contains("Task 1", "Added Task", "Task 2", "Task 3"));
     }
 
     @Test
@@ -462,19 +456,12 @@ public class TaskMovableControllerTest {
 
         List<Task> tasks = taskRepository.findAll();
         assertThat(tasks, hasSize(3));
+        assertThat(tasks, hasItem(hasProperty("title", is("Parent"))));
+        assertThat(getTitlesInOrder(getChildren(tasks)), contains("Task 1", "Added Task"));
         assertThat(tasks, hasItem(allOf(
                 hasProperty("title", is("Added Task")),
-                hasProperty("projectOrder", is(2)),
                 hasProperty("parent", hasProperty("id", is(parentId)))
         )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Task 1")),
-                hasProperty("projectOrder", is(1))
-        )));
-        assertThat(tasks, hasItem(allOf(
-                hasProperty("title", is("Parent")),
-                hasProperty("projectOrder", is(1))
-        )));
     }
 
     private Integer addTaskWithParentAndReturnParentId() {
@@ -0,0 +1,148 @@
+package io.github.xpakx.ladder.task;
+
+import io.github.xpakx.ladder.project.Project;
+import io.github.xpakx.ladder.project.ProjectRepository;
+import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.user.UserAccountRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Cost of moving a task with a deep subtree to another project, saving every subtask as an entity
+ * versus updating the subtree with set-based queries. Run with {@code mvn test -P benchmark}.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class TaskSubtreeBenchmark {
+    private static final Logger LOG = LoggerFactory.getLogger(TaskSubtreeBenchmark.class);
+    private static final int DEPTH = 10;
+    private static final int TASKS_PER_LEVEL = 500;
+    private static final int WARMUP = 2;
+    private static final int ITERATIONS = 5;
+
+    private Integer userId;
+    private Task root;
+    private List<Project> projects;
+
+    @Autowired
+    UserAccountRepository userRepository;
+    @Autowired
+    ProjectRepository projectRepository;
+    @Autowired
+    TaskRepository taskRepository;
+    @Autowired
+    TaskUpdateUtilsService utils;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        UserAccount user = userRepository.save(UserAccount.builder()
+                .username("user1")
+                .password("password")
+                .roles(new HashSet<>())
+                .build());
+        userId = user.getId();
+        projects = projectRepository.saveAll(List.of(
+                Project.builder().owner(user).name("First").generalOrder(1).build(),
+                Project.builder().owner(user).name("Second").generalOrder(2).build()
+        ));
+        root = taskRepository.save(Task.builder()
+                .owner(user)
+                .title("Root")
+                .project(projects.get(0))
+                .projectOrder(1)
+                .build());
+        Random random = new Random(42);
+        List<Task> parents = List.of(root);
+        for(int level = 0; level < DEPTH; level++) {
+            List<Task> children = new ArrayList<>();
+            for(int i = 0; i < TASKS_PER_LEVEL; i++) {
+                children.add(Task.builder()
+                        .owner(user)
+                        .title("Task " + level + "." + i)
+                        .project(projects.get(0))
+                        .parent(parents.get(random.nextInt(parents.size())))
+                        .projectOrder(i)
+                        .build());
+            }
+            parents = taskRepository.saveAll(children);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldCompareEntityAndSetBasedSubtreeMove() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Result entities = measure((project) -> transaction.executeWithoutResult((status) -> {
+            List<Task> subtree = taskRepository.findSubtreeByIdAndOwnerId(root.getId(), userId);
+            LocalDateTime now = LocalDateTime.now();
+            subtree.stream()
+                    .filter((a) -> !a.getId().equals(root.getId()))
+                    .forEach((a) -> {
+                        a.setProject(project);
+                        a.setModifiedAt(now);
+                    });
+            taskRepository.saveAll(subtree);
+        }));
+        Result setBased = measure((project) -> transaction.executeWithoutResult((status) ->
+                assertThat(utils.updateChildrenProject(project, root, userId).size(), equalTo(DEPTH * TASKS_PER_LEVEL))
+        ));
+
+        LOG.info("Entities: {} ms/move, {} statements/move", entities.millisPerMove, entities.statementsPerMove);
+        LOG.info("Set-based: {} ms/move, {} statements/move", setBased.millisPerMove, setBased.statementsPerMove);
+        assertThat(setBased.statementsPerMove, lessThan(entities.statementsPerMove));
+    }
+
+    private Result measure(Consumer<Project> move) {
+        for(int i = 0; i < WARMUP; i++) {
+            move.accept(projects.get((i + 1) % 2));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        long start = System.nanoTime();
+        for(int i = 0; i < ITERATIONS; i++) {
+            move.accept(projects.get((WARMUP + i + 1) % 2));
+        }
+        long time = System.nanoTime() - start;
+        return new Result(time / ITERATIONS / 1_000_000, (double) statistics.getPrepareStatementCount() / ITERATIONS);
+    }
+
+    private static class Result {
+        private final long millisPerMove;
+        private final double statementsPerMove;
+
+        Result(long millisPerMove, double statementsPerMove) {
+            this.millisPerMove = millisPerMove;
+            this.statementsPerMove = statementsPerMove;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package io.github.xpakx.ladder.tree;
+
+import io.github.xpakx.ladder.common.dto.IdRequest;
+import io.github.xpakx.ladder.project.Project;
+import io.github.xpakx.ladder.project.ProjectRepository;
+import io.github.xpakx.ladder.project.ProjectService;
+import io.github.xpakx.ladder.project.dto.FullProjectTree;
+import io.github.xpakx.ladder.task.Task;
+import io.github.xpakx.ladder.task.TaskMovableService;
+import io.github.xpakx.ladder.task.TaskPartialUpdateService;
+import io.github.xpakx.ladder.task.TaskRepository;
+import io.github.xpakx.ladder.user.UserAccount;
+import io.github.xpakx.ladder.user.UserAccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ProjectTreeCacheTest {
+    private Integer userId;
+    private Project project;
+    private Project subProject;
+    private Task task;
+    private Task otherTask;
+
+    @Autowired
+    ProjectTreeCache treeCache;
+    @Autowired
+    UserAccountRepository userRepository;
+    @Autowired
+    ProjectRepository projectRepository;
+    @Autowired
+    TaskRepository taskRepository;
+    @Autowired
+    TaskMovableService taskMovableService;
+    @Autowired
+    ProjectService projectService;
+    @Autowired
+    TaskPartialUpdateService taskUpdateService;
+
+    @BeforeEach
+    void setUp() {
+        UserAccount user = UserAccount.builder()
+                .username("user1")
+                .password("password")
+                .roles(new HashSet<>())
+                .build();
+        userId = userRepository.save(user).getId();
+        project = projectRepository.save(Project.builder()
+                .owner(userRepository.getById(userId))
+                .name("Project")
+                .generalOrder(1)
+                .modifiedAt(LocalDateTime.now())
+                .build());
+        subProject = projectRepository.save(Project.builder()
+                .owner(userRepository.getById(userId))
+                .name("Sub Project")
+                .parent(project)
+                .generalOrder(1)
+                .modifiedAt(LocalDateTime.now())
+                .build());
+        task = addTask("Task", project);
+        otherTask = addTask("Other Task", subProject);
+    }
+
+    private Task addTask(String title, Project project) {
+        return taskRepository.save(Task.builder()
+                .owner(userRepository.getById(userId))
+                .title(title)
+                .project(project)
+                .projectOrder(1)
+                .dailyViewOrder(0)
+                .modifiedAt(LocalDateTime.now())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        projectRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void shouldReuseTreeIfNothingChanged() {
+        ProjectTreeIndex first = treeCache.getTree(userId);
+        ProjectTreeIndex second = treeCache.getTree(userId);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void shouldApplyMovedTaskToCachedTree() {
+        ProjectTreeIndex tree = treeCache.getTree(userId);
+        IdRequest request = new IdRequest();
+        request.setId(task.getId());
+
+        taskMovableService.moveTaskAsFirstChild(request, userId, otherTask.getId());
+
+        assertSame(tree, treeCache.getTree(userId));
+        FullProjectTree projectTree = tree.toFullTree(project.getId()).orElseThrow();
+        assertEquals(1, projectTree.getTasks().size());
+        assertEquals(1, projectTree.getTasks().get(0).getChildren().size());
+        assertEquals("Other Task", projectTree.getTasks().get(0).getChildren().get(0).getTitle());
+        assertTrue(projectTree.getChildren().get(0).getTasks().isEmpty());
+    }
+
+    @Test
+    void shouldApplySubtreeMovedToOtherProjectToCachedTree() {
+        Task subtask = taskRepository.save(Task.builder()
+                .owner(userRepository.getById(userId))
+                .title("Subtask")
+                .project(project)
+                .parent(task)
+                .projectOrder(1)
+                .dailyViewOrder(0)
+                .modifiedAt(LocalDateTime.now())
+                .build());
+        ProjectTreeIndex tree = treeCache.getTree(userId);
+        IdRequest request = new IdRequest();
+        request.setId(subProject.getId());
+
+        taskUpdateService.updateTaskProject(request, task.getId(), userId);
+
+        assertSame(tree, treeCache.getTree(userId));
+        assertTrue(tree.toFullTree(project.getId()).orElseThrow().getTasks().isEmpty());
+        FullProjectTree projectTree = tree.toFullTree(subProject.getId()).orElseThrow();
+        assertEquals(2, projectTree.getTasks().size());
+        assertEquals(List.of(task.getId(), subtask.getId()), tree.getTaskSubtreeIds(task.getId()));
+        assertEquals(subProject.getId(), taskRepository.findProjectIdById(subtask.getId()).orElseThrow());
+    }
+
+    @Test
+    void shouldApplyDeletedProjectToCachedTree() {
+        ProjectTreeIndex tree = treeCache.getTree(userId);
+
+        projectService.deleteProject(subProject.getId(), userId);
+
+        assertSame(tree, treeCache.getTree(userId));
+        assertTrue(tree.getProjectSubtreeIds(subProject.getId()).isEmpty());
+        assertTrue(tree.getTaskSubtreeIds(otherTask.getId()).isEmpty());
+        assertTrue(tree.toFullTree(project.getId()).orElseThrow().getChildren().isEmpty());
+    }
+
+    @Test
+    void shouldReloadTreeAfterUnreportedChange() {
+        ProjectTreeIndex tree = treeCache.getTree(userId);
+        task.setTitle("Changed");
+        task.setModifiedAt(LocalDateTime.now());
+        taskRepository.save(task);
+
+        ProjectTreeIndex reloaded = treeCache.getTree(userId);
+
+        assertNotSame(tree, reloaded);
+        FullProjectTree projectTree = reloaded.toFullTree(project.getId()).orElseThrow();
+        assertEquals("Changed", projectTree.getTasks().get(0).getTitle());
+    }
+
+    @Test
+    void shouldReloadTreeAfterUnreportedDeletion() {
+        ProjectTreeIndex tree = treeCache.getTree(userId);
+        taskRepository.deleteById(otherTask.getId());
+
+        ProjectTreeIndex reloaded = treeCache.getTree(userId);
+
+        assertNotSame(tree, reloaded);
+        assertTrue(reloaded.getTaskSubtreeIds(otherTask.getId()).isEmpty());
+    }
+
+    @Test
+    void shouldReturnProjectSubtreeIds() {
+        List<Integer> ids = treeCache.getTree(userId).getProjectSubtreeIds(project.getId());
+
+        assertEquals(List.of(project.getId(), subProject.getId()), ids);
+    }
+}
@@ -63,13 +63,6 @@ export class FilterTreeService implements MovableTreeService<Filter> {
   addNewFilterBefore(filter: Filter, beforeId: number) {
     let beforeFilter = this.getById(beforeId);
     if(beforeFilter) {
-      let fltr : FilterDetails = beforeFilter;
-      filter.generalOrder = fltr.generalOrder;
-      let filters = this.list
-        .filter((a) => a.generalOrder >= fltr.generalOrder);
-        for(let filt of filters) {
-          filt.generalOrder = filt.generalOrder + 1;
-        }
       this.addNewFilter(filter);
     }
   }
@@ -77,13 +70,6 @@ export class FilterTreeService implements MovableTreeService<Filter> {
   addNewFilterAfter(filter: Filter, afterId: number) {
     let afterFilter = this.getById(afterId);
     if(afterFilter) {
-      let fltr : FilterDetails = afterFilter;
-      filter.generalOrder = fltr.generalOrder + 1;
-      let filters = this.list
-        .filter((a) => a.generalOrder > fltr.generalOrder);
-        for(let filt of filters) {
-          filt.generalOrder = filt.generalOrder + 1;
-        }
       this.addNewFilter(filter);
     }
   }
@@ -92,14 +78,7 @@ export class FilterTreeService implements MovableTreeService<Filter> {
     let afterFilter = this.getById(afterId);
     let movedFilter = this.getById(filter.id);
     if(afterFilter && movedFilter) {
-      let fltr : FilterDetails = afterFilter;
-      let filters = this.list
-        .filter((a) => a.generalOrder > fltr.generalOrder);
-        for(let filt of filters) {
-          filt.generalOrder = filt.generalOrder + 1;
-        }
-      
-      movedFilter.generalOrder = afterFilter.generalOrder+1;
+      movedFilter.generalOrder = filter.generalOrder;
       movedFilter.modifiedAt = new Date(filter.modifiedAt);
 
       this.sort();
@@ -109,10 +88,7 @@ export class FilterTreeService implements MovableTreeService<Filter> {
   moveAsFirst(filter: Filter) {
     let movedFilter = this.getById(filter.id);
     if(movedFilter) {
-      for(let fltr of this.list) {
-        fltr.generalOrder = fltr.generalOrder + 1;
-      }
-      movedFilter.generalOrder = 1;
+      movedFilter.generalOrder = filter.generalOrder;
       movedFilter.modifiedAt = new Date(filter.modifiedAt);
       this.sort();
     }
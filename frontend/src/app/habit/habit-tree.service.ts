@@ -40,14 +40,7 @@ export class HabitTreeService implements MovableTreeService<Habit> {
     let afterLabel = this.getById(afterId);
     let movedLabel = this.getById(habit.id);
     if(afterLabel && movedLabel) {
-      let lbl : HabitDetails = afterLabel;
-      let labels = this.list
-        .filter((a) => a.generalOrder > lbl.generalOrder);
-        for(let lab of labels) {
-          lab.generalOrder = lab.generalOrder + 1;
-        }
-      
-      movedLabel.generalOrder = afterLabel.generalOrder+1;
+      movedLabel.generalOrder = habit.generalOrder;
 
       this.sort();
     }
@@ -56,10 +49,7 @@ export class HabitTreeService implements MovableTreeService<Habit> {
   moveAsFirst(label: Habit) {
     let movedLabel = this.getById(label.id);
     if(movedLabel) {
-      for(let lbl of this.list) {
-        lbl.generalOrder = lbl.generalOrder + 1;
-      }
-      movedLabel.generalOrder = 1;
+      movedLabel.generalOrder = label.generalOrder;
       this.sort();
     }
   }
@@ -102,14 +92,6 @@ export class HabitTreeService implements MovableTreeService<Habit> {
   addNewHabitAfter(habit: Habit, afterId: number, project: ProjectTreeElem | undefined, labels: LabelDetails[] = []) {
     let afterHabit = this.getById(afterId);
     if(afterHabit) {
-      let hbt : HabitDetails = afterHabit;
-      habit.generalOrder = hbt.generalOrder+1;
-      let tasks = this.list
-        .filter((a) => project ? a.project && a.project.id == project.id : !a.project)
-        .filter((a) => a.generalOrder > hbt.generalOrder);
-      for(let sibling of tasks) {
-        sibling.generalOrder = sibling.generalOrder + 1;
-      }
       this.addNewHabit(habit, project, labels);
     }
   }
@@ -117,14 +99,6 @@ export class HabitTreeService implements MovableTreeService<Habit> {
   addNewHabitBefore(habit: Habit, beforeId: number, project: ProjectTreeElem | undefined, labels: LabelDetails[] = []) {
     let beforeHabit = this.getById(beforeId);
     if(beforeHabit) {
-      let hbt : HabitDetails = beforeHabit;
-      habit.generalOrder = hbt.generalOrder;
-      let tasks = this.list
-        .filter((a) => project ? a.project && a.project.id == project.id : !a.project)
-        .filter((a) => a.generalOrder >= hbt.generalOrder);
-      for(let sibling of tasks) {
-        sibling.generalOrder = sibling.generalOrder + 1;
-      }
       this.addNewHabit(habit, project, labels);
     }
   }
@@ -138,13 +112,9 @@ export class HabitTreeService implements MovableTreeService<Habit> {
   moveHabitToProject(habit: Habit, project: ProjectTreeElem | undefined) {
     let habitToMove = this.getById(habit.id);
     if(habitToMove) {
-      let siblings = project ? this.getHabitsByProject(project.id) : this.getHabitsFromInbox();
-      
       habitToMove.modifiedAt =  new Date(habit.modifiedAt);
       habitToMove.project = project ? project : null;
-      habitToMove.generalOrder = siblings
-        .map((a) => a.generalOrder)
-        .reduce(((total, curr)=>Math.max(total, curr)), 0) + 1;
+      habitToMove.generalOrder = habit.generalOrder;
       this.sort();
     }
   }
@@ -67,13 +67,6 @@ export class LabelTreeService implements MovableTreeService<Label> {
   addNewLabelBefore(label: Label, beforeId: number) {
     let beforeLabel = this.getLabelById(beforeId);
     if(beforeLabel) {
-      let lbl : LabelDetails = beforeLabel;
-      label.generalOrder = lbl.generalOrder;
-      let labels = this.labels
-        .filter((a) => a.generalOrder >= lbl.generalOrder);
-        for(let lab of labels) {
-          lab.generalOrder = lab.generalOrder + 1;
-        }
       this.addNewLabel(label);
     }
   }
@@ -81,13 +74,6 @@ export class LabelTreeService implements MovableTreeService<Label> {
   addNewLabelAfter(label: Label, afterId: number) {
     let afterLabel = this.getLabelById(afterId);
     if(afterLabel) {
-      let lbl : LabelDetails = afterLabel;
-      label.generalOrder = lbl.generalOrder + 1;
-      let labels = this.labels
-        .filter((a) => a.generalOrder > lbl.generalOrder);
-        for(let lab of labels) {
-          lab.generalOrder = lab.generalOrder + 1;
-        }
       this.addNewLabel(label);
     }
   }
@@ -96,14 +82,7 @@ export class LabelTreeService implements MovableTreeService<Label> {
     let afterLabel = this.getLabelById(afterId);
     let movedLabel = this.getLabelById(label.id);
     if(afterLabel && movedLabel) {
-      let lbl : LabelDetails = afterLabel;
-      let labels = this.labels
-        .filter((a) => a.generalOrder > lbl.generalOrder);
-        for(let lab of labels) {
-          lab.generalOrder = lab.generalOrder + 1;
-        }
-      
-      movedLabel.generalOrder = afterLabel.generalOrder+1;
+      movedLabel.generalOrder = label.generalOrder;
       movedLabel.modifiedAt = new Date(label.modifiedAt);
 
       this.sort();
@@ -113,10 +92,7 @@ export class LabelTreeService implements MovableTreeService<Label> {
   moveAsFirst(label: Label) {
     let movedLabel = this.getLabelById(label.id);
     if(movedLabel) {
-      for(let lbl of this.labels) {
-        lbl.generalOrder = lbl.generalOrder + 1;
-      }
-      movedLabel.generalOrder = 1;
+      movedLabel.generalOrder = label.generalOrder;
       movedLabel.modifiedAt = new Date(label.modifiedAt);
       this.sort();
     }
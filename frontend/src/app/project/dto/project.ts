@@ -2,7 +2,7 @@ export interface Project {
     id: number;
     name: string;
     color: string;
-    order: number;
+    generalOrder: number;
     favorite: boolean;
     modifiedAt: Date;
 }
\ No newline at end of file
@@ -154,8 +154,8 @@ export class ProjectListComponent extends MultilevelDraggableComponent<ProjectWi
 
   duplicateProject(project: ProjectTreeElem): void {
     this.projectService.duplicateProject(project.id).subscribe(
-        (response: TasksWithProjects, mainId: number = project.id) => {
-        this.tree.duplicateProject(response, mainId);
+        (response: TasksWithProjects) => {
+        this.tree.duplicateProject(response);
       },
       (error: HttpErrorResponse) => {
        
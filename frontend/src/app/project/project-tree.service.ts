@@ -86,7 +86,7 @@ implements MultilevelMovableTreeService<Project, ProjectTreeElem> {
       name: project.name,
       parent: parent,
       color: project.color,
-      order: project.order,
+      order: project.generalOrder,
       realOrder: this.list.length+1,
       hasChildren: false,
       indent: indent,
@@ -102,8 +102,6 @@ implements MultilevelMovableTreeService<Project, ProjectTreeElem> {
   addNewProjectAfter(project: Project, indent: number, afterId: number) {
     let afterProject = this.getById(afterId);
     if(afterProject) {
-      project.order = afterProject.order+1;
-      this.incrementOrderAfter(afterProject);
       this.addNewProject(project, indent, afterProject.parent);
     }
   }
@@ -113,11 +111,10 @@ implements MultilevelMovableTreeService<Project, ProjectTreeElem> {
     let movedProject = this.getById(project.id);
     if(afterProject && movedProject) {
       let oldParent: ProjectTreeElem | undefined = movedProject.parent ? this.getById(movedProject.parent.id) : undefined;
-      this.incrementOrderAfter(afterProject);
       
       movedProject.indent = indent;
       movedProject.parent = afterProject.parent;
-      movedProject.order = afterProject.order+1;
+      movedProject.order = project.generalOrder;
 
       this.recalculateChildrenIndent(movedProject.id, indent+1);
       if(oldParent) {
@@ -134,10 +131,9 @@ implements MultilevelMovableTreeService<Project, ProjectTreeElem> {
     let movedProject = this.getById(project.id);
     if(parentProject && movedProject) {
       let oldParent: ProjectTreeElem | undefined = movedProject.parent ? this.getById(movedProject.parent.id) : undefined;
-      this.incrementOrderForAllSiblings(parentProject);
       
       movedProject.indent = indent;
-      movedProject.order = 1;
+      movedProject.order = project.generalOrder;
       movedProject.parent = parentProject;
 
       this.recalculateChildrenIndent(movedProject.id, indent+1);
@@ -154,10 +150,9 @@ implements MultilevelMovableTreeService<Project, ProjectTreeElem> {
     let movedProject = this.getById(project.id);
     if(movedProject) {
       let oldParent: ProjectTreeElem | undefined = movedProject.parent ? this.getById(movedProject.parent.id) : undefined;
-      this.incrementOrdeForFirstOrderProjects();
       
       movedProject.indent = 0;
-      movedProject.order = 1;
+      movedProject.order = project.generalOrder;
       movedProject.parent = null;
 
       this.recalculateChildrenIndent(movedProject.id, 1);
@@ -172,8 +167,6 @@ implements MultilevelMovableTreeService<Project, ProjectTreeElem> {
   addNewProjectBefore(project: Project, indent: number, beforeId: number) {
     let beforeProject = this.getById(beforeId);
     if(beforeProject) {
-      project.order = beforeProject.order;
-      this.incrementOrderAfterOrEqual(beforeProject);
       this.addNewProject(project, indent, beforeProject.parent);
     }
   }
@@ -249,49 +242,12 @@ implements MultilevelMovableTreeService<Project, ProjectTreeElem> {
     );
   }
 
-  addDuplicated(response: ProjectDetails[], mainId: number) {
+  addDuplicated(response: ProjectDetails[]) {
     let projects = this.transformAll(response);
-    let mainProject = this.getById(mainId);
-    if(mainProject) {
-      this.incrementOrderAfter(mainProject);
-    }
     this.list = this.list.concat(projects);
     this.sort();
   }
 
-  incrementOrderForAllSiblings(parent: ProjectTreeElem) {
-    let siblings = this.list
-        .filter((a) => !a.parent && !parent || (a.parent && parent && a.parent.id == parent.id));
-    for(let sibling of siblings) {
-      sibling.order = sibling.order + 1;
-    }
-  }
-
-  incrementOrdeForFirstOrderProjects() {
-    let projects = this.list.filter((a) => !a.parent);
-    for(let project of projects) {
-      project.order = project.order + 1;
-    }
-  }
-  
-  incrementOrderAfter(project: ProjectTreeElem) {
-    let siblingsAfter = this.list
-        .filter((a) => !a.parent && !project.parent || (a.parent && project.parent && a.parent.id == project.parent.id))
-        .filter((a) => a.order > project.order);
-    for(let sibling of siblingsAfter) {
-      sibling.order = sibling.order + 1;
-    }
-  }
-
-  incrementOrderAfterOrEqual(project: ProjectTreeElem) {
-    let siblingsAfter = this.list
-        .filter((a) => !a.parent && !project.parent || (a.parent && project.parent && a.parent.id == project.parent.id))
-        .filter((a) => a.order >= project.order);
-    for(let sibling of siblingsAfter) {
-      sibling.order = sibling.order + 1;
-    }
-  }
-
   sync(projects: ProjectDetails[]) {
     for(let project of projects) {
       let projectWithId = this.getById(project.id);
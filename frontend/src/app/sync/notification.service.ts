@@ -38,8 +38,19 @@ export class NotificationService {
     console.log("Got an event" + event.data);
     let timestamp = new Date(JSON.parse(event.data).time);
     let type: string = JSON.parse(event.data).type;
-
-    if(type == 'UPDATE') {
+    let payload = JSON.parse(event.data).payload;
+
+    if(type == 'UPDATE_TASK') {
+      this.tree.syncTasks([payload]);
+    } else if(type == 'UPDATE_CTASK') {
+      this.tree.syncCollabTasks([payload]);
+    } else if(type == 'UPDATE_LABEL') {
+      this.tree.syncLabels([payload]);
+    } else if(type == 'UPDATE_HABIT') {
+      this.tree.syncHabits([payload]);
+    } else if(type == 'UPDATE_FILTER') {
+      this.tree.syncFilters([payload]);
+    } else if(type == 'UPDATE') {
       setTimeout(() => this.testSync(timestamp), 500);
     } else if(type == 'DELETE_PROJ') {
       setTimeout(() => this.deleteProject(JSON.parse(event.data).id), 500);
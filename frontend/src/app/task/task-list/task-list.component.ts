@@ -304,8 +304,8 @@ implements OnInit {
   duplicate(task: TaskTreeElem) {
     let id: number = task.id;
     this.taskService.duplicateTask(id).subscribe(
-        (response: TaskDetails[], mainId: number = id) => {
-        this.tree.duplicateTask(response, mainId);
+        (response: TaskDetails[]) => {
+        this.tree.duplicateTask(response);
       },
       (error: HttpErrorResponse) => {
         
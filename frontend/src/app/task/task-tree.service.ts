@@ -228,20 +228,18 @@ implements MovableTaskTreeService<Task, TaskTreeElem> {
     let afterTask = this.getById(afterId);
     let movedTask = this.getById(task.id);
     if(afterTask && movedTask) {
-      let tas : TaskTreeElem = afterTask;
       let oldParent: TaskTreeElem | undefined = movedTask.parent ? this.getById(movedTask.parent.id) : undefined;
-      this.incrementOrderAfter(tas);
       
       movedTask.indent = indent;
       movedTask.parent = afterTask.parent;
-      movedTask.order = afterTask.order+1;
+      movedTask.order = task.projectOrder;
       movedTask.modifiedAt =  new Date(task.modifiedAt);
 
       this.recalculateChildrenIndent(movedTask.id, indent+1);
       if(oldParent) {
         this.recalculateHasChildren(oldParent);
       }
-      this.recalculateHasChildren(tas);
+      this.recalculateHasChildren(afterTask);
 
       this.sort();
     }
@@ -252,10 +250,9 @@ implements MovableTaskTreeService<Task, TaskTreeElem> {
     let movedTask = this.getById(task.id);
     if(parentTask && movedTask) {
       let oldParent: TaskTreeElem | undefined = movedTask.parent ? this.getById(movedTask.parent.id) : undefined;
-      this.incrementOrderForAllSiblings(parentTask);
       
       movedTask.indent = indent;
-      movedTask.order = 1;
+      movedTask.order = task.projectOrder;
       movedTask.parent = parentTask;
       movedTask.modifiedAt =  new Date(task.modifiedAt);
 
@@ -277,10 +274,9 @@ implements MovableTaskTreeService<Task, TaskTreeElem> {
     let movedTask = this.getById(task.id);
     if(movedTask) {
       let oldParent: TaskTreeElem | undefined = movedTask.parent ? this.getById(movedTask.parent.id) : undefined;
-      this.incrementOrderForFirstOrderTasks(project);
       
       movedTask.indent = 0;
-      movedTask.order = 1;
+      movedTask.order = task.projectOrder;
       movedTask.parent = null;
       movedTask.modifiedAt =  new Date(task.modifiedAt);
 
@@ -331,20 +327,14 @@ implements MovableTaskTreeService<Task, TaskTreeElem> {
   addNewTaskAfter(task: Task, indent: number, afterId: number, project: ProjectTreeElem | undefined, labels: LabelDetails[] = []): void {
     let afterTask = this.getById(afterId);
     if(afterTask) {
-      let tsk : TaskTreeElem = afterTask;
-      task.projectOrder = tsk.order+1;
-      this.incrementOrderAfter(tsk);
-      this.addNewTask(task, project, indent, tsk.parent, labels);
+      this.addNewTask(task, project, indent, afterTask.parent, labels);
     }
   }
 
   addNewTaskBefore(task: Task, indent: number, beforeId: number, project: ProjectTreeElem | undefined, labels: LabelDetails[] = []): void {
     let beforeTask = this.getById(beforeId);
     if(beforeTask) {
-      let tsk : TaskTreeElem = beforeTask;
-      task.projectOrder = tsk.order;
-      this.incrementOrderAfterOrEqual(tsk);
-      this.addNewTask(task, project, indent, tsk.parent, labels);
+      this.addNewTask(task, project, indent, beforeTask.parent, labels);
     }
   }
 
@@ -361,7 +351,6 @@ implements MovableTaskTreeService<Task, TaskTreeElem> {
   moveTaskToProject(task: Task, project: ProjectTreeElem | undefined): void {
     let taskToMove = this.getById(task.id);
     if(taskToMove) {
-      let tasks = project ? this.getTasksByProject(project.id) : this.getTasksFromInbox();
       if(!this.hasSameProject(taskToMove, project)) {
         this.updateChildrenProject(project, taskToMove);
         this.updateParentChildren(taskToMove);
@@ -370,9 +359,7 @@ implements MovableTaskTreeService<Task, TaskTreeElem> {
       taskToMove.parent = null;
       taskToMove.indent = 0;
       taskToMove.project = project ? project : null;
-      taskToMove.order = tasks
-        .map((a) => a.order)
-        .reduce(((total, curr)=>Math.max(total, curr)), 0) + 1;
+      taskToMove.order = task.projectOrder;
       this.sort();
     }
   }
@@ -454,89 +441,28 @@ implements MovableTaskTreeService<Task, TaskTreeElem> {
   moveAsFirstDaily(task: Task): void {
     let movedTask = this.getById(task.id);
     if(movedTask) {
-      let date = new Date(task.due);
-      this.incrementDailyOrderForDate(date);
-      movedTask.dailyOrder = 1;
-      movedTask.due = date
+      movedTask.dailyOrder = task.dailyViewOrder;
+      movedTask.due = new Date(task.due);
       movedTask.modifiedAt =  new Date(task.modifiedAt);
     }
   }
 
-  private incrementDailyOrderForDate(date: Date): void {
-    let tasks = this.getByDate(date);
-    for (let task of tasks) {
-      task.dailyOrder = task.dailyOrder + 1;
-    }
-  }
-
   moveAfterDaily(task: Task, afterId: number): void {
     let afterTask = this.getById(afterId);
     let movedTask = this.getById(task.id);
     if(afterTask && movedTask) {
-      let date = new Date(task.due);
-      this.incrementDailyOrderForDateAfter(date, afterTask);
-      movedTask.dailyOrder = afterTask.dailyOrder+1;
+      movedTask.dailyOrder = task.dailyViewOrder;
       movedTask.due = new Date(task.due);
       movedTask.modifiedAt = new Date(task.modifiedAt);
     }
   }
 
-  private incrementDailyOrderForDateAfter(date: Date, afterTask: TaskTreeElem): void {
-    let tasks = this.getByDate(date)
-      .filter((a) => a.dailyOrder > afterTask.dailyOrder);
-    for (let task of tasks) {
-      task.dailyOrder = task.dailyOrder + 1;
-    }
-  }
-
-  addDuplicated(response: TaskDetails[], mainId: number | undefined = undefined): void {
+  addDuplicated(response: TaskDetails[]): void {
     let tasks = this.transformAll(response);
-    let mainTask = mainId ? this.getById(mainId) : undefined;
-    if(mainTask) {
-      this.incrementOrderAfter(mainTask);
-      if(mainTask.due) {
-        this.incrementDailyOrderForDateAfter(mainTask.due, mainTask);
-      }
-    }
     this.list = this.list.concat(tasks);
     this.sort();
   }
 
-  private incrementOrderForFirstOrderTasks(project: ProjectTreeElem | undefined): void {
-    let tasks = this.list
-      .filter((a) => project ? a.project && a.project.id == project.id : !a.project)
-      .filter((a) => !a.parent);
-    for (let pro of tasks) {
-      pro.order = pro.order + 1;
-    }
-  }
-
-  incrementOrderForAllSiblings(parent: TaskTreeElem): void {
-    let siblings = this.list
-        .filter((a) => !a.parent && !parent || (a.parent && parent && a.parent.id == parent.id));
-    for(let sibling of siblings) {
-      sibling.order = sibling.order + 1;
-    }
-  }
-  
-  incrementOrderAfter(task: TaskTreeElem): void {
-    let siblingsAfter = this.list
-        .filter((a) => !a.parent && !task.parent || (a.parent && task.parent && a.parent.id == task.parent.id))
-        .filter((a) => a.order > task.order);
-    for(let sibling of siblingsAfter) {
-      sibling.order = sibling.order + 1;
-    }
-  }
-
-  incrementOrderAfterOrEqual(task: TaskTreeElem): void {
-    let siblingsAfter = this.list
-        .filter((a) => !a.parent && !task.parent || (a.parent && task.parent && a.parent.id == task.parent.id))
-        .filter((a) => a.order >= task.order);
-    for(let sibling of siblingsAfter) {
-      sibling.order = sibling.order + 1;
-    }
-  }
-
   getByParentId(parentId: number): TaskTreeElem[] {
     return this.list.filter((a) => a.parent && a.parent.id == parentId);
   }
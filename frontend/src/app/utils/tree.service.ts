@@ -385,13 +385,13 @@ export class TreeService {
     return this.tasks.getNumOfUncompletedTasksByLabel(labelId);
   }
 
-  duplicateProject(response: TasksWithProjects, mainId: number): void {
-    this.projects.addDuplicated(response.projects, mainId);
+  duplicateProject(response: TasksWithProjects): void {
+    this.projects.addDuplicated(response.projects);
     this.duplicateTask(response.tasks);
   }
 
-  duplicateTask(response: TaskDetails[], mainId: number | undefined = undefined): void {
-    this.tasks.addDuplicated(response, mainId);
+  duplicateTask(response: TaskDetails[]): void {
+    this.tasks.addDuplicated(response);
   }
 
   sync(response: SyncData): void {
@@ -409,6 +409,22 @@ export class TreeService {
     this.collabTasks.syncTasks(list);
   }
 
+  syncTasks(list: TaskDetails[]): void {
+    this.tasks.sync(list);
+  }
+
+  syncLabels(list: LabelDetails[]): void {
+    this.labels.sync(list);
+  }
+
+  syncHabits(list: HabitDetails[]): void {
+    this.habits.sync(list);
+  }
+
+  syncFilters(list: FilterDetails[]): void {
+    this.filters.sync(list);
+  }
+
   filterNewCollabsIds(list: CollabProjectDetails[]): number[] {
     let existingIds = this.collabs.list.map((a) => a.project.id);
     return list
@@ -0,0 +1,13 @@
+package io.github.xpakx.laddernotify.bus;
+
+import java.util.function.Consumer;
+
+/**
+ * Publish-subscribe channel shared by all nodes. Every subscriber, including the publishing node,
+ * receives each message.
+ */
+public interface BrokerConnection {
+    void publish(String channel, String message);
+
+    void subscribe(String channel, Consumer<String> listener);
+}
@@ -0,0 +1,53 @@
+package io.github.xpakx.laddernotify.bus;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.xpakx.laddernotify.entity.NotificationBatchRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Event bus shared by many nodes. Events are sent through a broker and delivered
+ * to local listeners when they come back from it, so every node handles them the same way.
+ */
+@Component
+@ConditionalOnExpression("'${notification.bus:memory}' != 'memory'")
+public class BrokerEventBus implements EventBus {
+    private final BrokerConnection connection;
+    private final ObjectMapper mapper;
+    private final String channel;
+    private static final Logger LOG = LoggerFactory.getLogger(BrokerEventBus.class);
+
+    public BrokerEventBus(BrokerConnection connection, ObjectMapper mapper,
+                          @Value("${notification.bus-channel:notifications}") String channel) {
+        this.connection = connection;
+        this.mapper = mapper;
+        this.channel = channel;
+    }
+
+    @Override
+    public void publish(NotificationBatchRequest notifications) {
+        try {
+            connection.publish(channel, mapper.writeValueAsString(notifications));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<NotificationBatchRequest> listener) {
+        connection.subscribe(channel, (message) -> {
+            try {
+                listener.accept(mapper.readValue(message, NotificationBatchRequest.class));
+            } catch (JsonProcessingException e) {
+                LOG.error("Cannot read message from broker.", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.xpakx.laddernotify.bus;
+
+import io.github.xpakx.laddernotify.entity.NotificationBatchRequest;
+
+import java.util.function.Consumer;
+
+/**
+ * Delivers published notifications to listeners on every node of the notification service
+ */
+public interface EventBus {
+    void publish(NotificationBatchRequest notifications);
+
+    void subscribe(Consumer<NotificationBatchRequest> listener);
+}
@@ -0,0 +1,28 @@
+package io.github.xpakx.laddernotify.bus;
+
+import io.github.xpakx.laddernotify.entity.NotificationBatchRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Event bus for a single node, events are passed directly to local listeners
+ */
+@Component
+@ConditionalOnProperty(name = "notification.bus", havingValue = "memory", matchIfMissing = true)
+public class InMemoryEventBus implements EventBus {
+    private final List<Consumer<NotificationBatchRequest>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(NotificationBatchRequest notifications) {
+        listeners.forEach((a) -> a.accept(notifications));
+    }
+
+    @Override
+    public void subscribe(Consumer<NotificationBatchRequest> listener) {
+        listeners.add(listener);
+    }
+}
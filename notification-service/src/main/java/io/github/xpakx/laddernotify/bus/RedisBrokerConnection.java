@@ -0,0 +1,49 @@
+package io.github.xpakx.laddernotify.bus;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Redis pub/sub broker. Enabled by the {@code redis} profile, which also turns on the Redis
+ * auto-configuration excluded by default in application.properties.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.bus", havingValue = "redis")
+public class RedisBrokerConnection implements BrokerConnection {
+    private final StringRedisTemplate template;
+    private final RedisMessageListenerContainer container;
+
+    public RedisBrokerConnection(RedisConnectionFactory connectionFactory) {
+        this.template = new StringRedisTemplate(connectionFactory);
+        this.container = new RedisMessageListenerContainer();
+        this.container.setConnectionFactory(connectionFactory);
+        this.container.afterPropertiesSet();
+        this.container.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws Exception {
+        container.destroy();
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        template.convertAndSend(channel, message);
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        container.addMessageListener(
+                (message, pattern) -> listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel)
+        );
+    }
+}
@@ -1,7 +1,11 @@
 package io.github.xpakx.laddernotify.controller;
 
+import io.github.xpakx.laddernotify.bus.EventBus;
 import io.github.xpakx.laddernotify.entity.CollabNotificationRequest;
+import io.github.xpakx.laddernotify.entity.DeliveryMetrics;
+import io.github.xpakx.laddernotify.entity.NotificationBatchRequest;
 import io.github.xpakx.laddernotify.entity.NotificationRequest;
+import io.github.xpakx.laddernotify.service.EmitterWriter;
 import io.github.xpakx.laddernotify.service.NotificationService;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -9,11 +13,15 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.List;
+
 @Controller
 @CrossOrigin("*")
 @AllArgsConstructor
 public class NotificationController {
     private final NotificationService notificationService;
+    private final EmitterWriter emitterWriter;
+    private final EventBus eventBus;
 
     @GetMapping("/subscription/{userId}")
     public SseEmitter subscribe(@PathVariable Integer userId) {
@@ -22,13 +30,28 @@ public class NotificationController {
 
     @PostMapping("/notification")
     public ResponseEntity<?> send(@RequestBody NotificationRequest request) {
-        notificationService.pushNotification(request);
+        NotificationBatchRequest batch = new NotificationBatchRequest();
+        batch.setNotifications(List.of(request));
+        eventBus.publish(batch);
         return ResponseEntity.ok().build();
     }
 
     @PostMapping("/collab/notification")
     public ResponseEntity<?> sendCollab(@RequestBody CollabNotificationRequest request) {
-        notificationService.pushNotification(request);
+        NotificationBatchRequest batch = new NotificationBatchRequest();
+        batch.setCollabNotifications(List.of(request));
+        eventBus.publish(batch);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/notification/batch")
+    public ResponseEntity<?> sendBatch(@RequestBody NotificationBatchRequest request) {
+        eventBus.publish(request);
         return ResponseEntity.ok().build();
     }
+
+    @GetMapping("/metrics/delivery")
+    public ResponseEntity<DeliveryMetrics> getDeliveryMetrics() {
+        return ResponseEntity.ok(emitterWriter.getMetrics());
+    }
 }
@@ -0,0 +1,14 @@
+package io.github.xpakx.laddernotify.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ConnectionMetrics {
+    private Integer userId;
+    private int queueDepth;
+    private long lastLagMillis;
+    private long sent;
+    private long dropped;
+}
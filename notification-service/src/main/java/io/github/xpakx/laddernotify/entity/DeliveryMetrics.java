@@ -0,0 +1,16 @@
+package io.github.xpakx.laddernotify.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class DeliveryMetrics {
+    private int connections;
+    private long queued;
+    private long maxLagMillis;
+    private long disconnected;
+    private List<ConnectionMetrics> connectionMetrics;
+}
@@ -1,5 +1,7 @@
 package io.github.xpakx.laddernotify.entity;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -7,8 +9,10 @@ import java.time.LocalDateTime;
 
 @Data
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class Notification {
     private LocalDateTime time;
     private String type;
     private Integer id;
+    private JsonNode payload;
 }
@@ -0,0 +1,11 @@
+package io.github.xpakx.laddernotify.entity;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class NotificationBatchRequest {
+    private List<NotificationRequest> notifications;
+    private List<CollabNotificationRequest> collabNotifications;
+}
@@ -1,5 +1,6 @@
 package io.github.xpakx.laddernotify.entity;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.Data;
 
 import java.time.LocalDateTime;
@@ -10,4 +11,5 @@ public class NotificationRequest {
     private LocalDateTime time;
     private String type;
     private Integer id;
+    private JsonNode payload;
 }
@@ -0,0 +1,60 @@
+package io.github.xpakx.laddernotify.service;
+
+import io.github.xpakx.laddernotify.utils.CustomEmitter;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Open emitters indexed by user id. A user may have several emitters (e.g. one per browser tab).
+ * Adding and removing emitters is atomic per user, lookups don't block and iteration is weakly consistent,
+ * so emitters can be removed while notifications are being pushed.
+ */
+@Component
+public class EmitterRegistry {
+    private final ConcurrentMap<Integer, Set<CustomEmitter>> emittersByUser = new ConcurrentHashMap<>();
+
+    public void add(CustomEmitter emitter) {
+        emittersByUser.compute(emitter.getUserId(), (userId, emitters) -> {
+            if(emitters == null) {
+                emitters = ConcurrentHashMap.newKeySet();
+            }
+            emitters.add(emitter);
+            return emitters;
+        });
+    }
+
+    public void remove(CustomEmitter emitter) {
+        emittersByUser.computeIfPresent(emitter.getUserId(), (userId, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    public Collection<CustomEmitter> getByUserId(Integer userId) {
+        Set<CustomEmitter> emitters = emittersByUser.get(userId);
+        return emitters != null ? emitters : Collections.emptySet();
+    }
+
+    public List<CustomEmitter> getAll() {
+        return emittersByUser.values().stream()
+                .flatMap(Set::stream)
+                .collect(Collectors.toList());
+    }
+
+    public int countUsers() {
+        return emittersByUser.size();
+    }
+
+    public int countEmitters() {
+        return emittersByUser.values().stream()
+                .mapToInt(Set::size)
+                .sum();
+    }
+}
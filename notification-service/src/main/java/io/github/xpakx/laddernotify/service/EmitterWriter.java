@@ -0,0 +1,109 @@
+package io.github.xpakx.laddernotify.service;
+
+import io.github.xpakx.laddernotify.entity.ConnectionMetrics;
+import io.github.xpakx.laddernotify.entity.DeliveryMetrics;
+import io.github.xpakx.laddernotify.utils.CustomEmitter;
+import io.github.xpakx.laddernotify.utils.OutboundEvent;
+import io.github.xpakx.laddernotify.utils.SlowConsumerPolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers events to subscribers from a small writer pool. Every subscriber has its own bounded queue
+ * and at most one writer drains it at a time, so a slow subscriber delays only its own events.
+ */
+@Component
+public class EmitterWriter {
+    private static final int MAX_EVENTS_PER_DRAIN = 32;
+    private final EmitterRegistry registry;
+    private final ExecutorService executor;
+    private final SlowConsumerPolicy policy;
+    private final AtomicLong disconnected = new AtomicLong();
+
+    public EmitterWriter(EmitterRegistry registry,
+                         @Value("${notification.writer-threads:4}") int threads,
+                         @Value("${notification.slow-consumer-policy:DROP_OLDEST}") SlowConsumerPolicy policy) {
+        this.registry = registry;
+        this.executor = Executors.newFixedThreadPool(threads);
+        this.policy = policy;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Queue already serialized event for given subscriber
+     * @param emitter Subscriber
+     * @param json Event serialized to JSON
+     */
+    public void enqueue(CustomEmitter emitter, String json) {
+        OutboundEvent event = new OutboundEvent(json, System.nanoTime());
+        if(!emitter.offer(event)) {
+            if(policy == SlowConsumerPolicy.DISCONNECT) {
+                disconnect(emitter);
+                return;
+            }
+            emitter.offerDroppingOldest(event);
+        }
+        schedule(emitter);
+    }
+
+    private void schedule(CustomEmitter emitter) {
+        if(emitter.markScheduled()) {
+            executor.execute(() -> drain(emitter));
+        }
+    }
+
+    private void drain(CustomEmitter emitter) {
+        try {
+            for(int i = 0; i < MAX_EVENTS_PER_DRAIN; i++) {
+                OutboundEvent event = emitter.poll();
+                if(event == null) {
+                    break;
+                }
+                emitter.send(SseEmitter.event().data(event.getJson(), MediaType.APPLICATION_JSON));
+                emitter.recordSent(event);
+            }
+        } catch(Exception e) {
+            registry.remove(emitter);
+            emitter.clear();
+            return;
+        } finally {
+            emitter.unmarkScheduled();
+        }
+        if(emitter.hasPending()) {
+            schedule(emitter);
+        }
+    }
+
+    private void disconnect(CustomEmitter emitter) {
+        registry.remove(emitter);
+        emitter.clear();
+        disconnected.incrementAndGet();
+        emitter.complete();
+    }
+
+    public DeliveryMetrics getMetrics() {
+        List<ConnectionMetrics> connections = registry.getAll().stream()
+                .map((a) -> new ConnectionMetrics(a.getUserId(), a.getQueueDepth(), a.getLastLagMillis(), a.getSent(), a.getDropped()))
+                .collect(Collectors.toList());
+        return new DeliveryMetrics(
+                connections.size(),
+                connections.stream().mapToLong(ConnectionMetrics::getQueueDepth).sum(),
+                connections.stream().mapToLong(ConnectionMetrics::getLastLagMillis).max().orElse(0),
+                disconnected.get(),
+                connections
+        );
+    }
+}
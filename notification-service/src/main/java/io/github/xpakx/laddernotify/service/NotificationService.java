@@ -1,71 +1,79 @@
 package io.github.xpakx.laddernotify.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.xpakx.laddernotify.bus.EventBus;
 import io.github.xpakx.laddernotify.entity.CollabNotificationRequest;
 import io.github.xpakx.laddernotify.entity.Notification;
+import io.github.xpakx.laddernotify.entity.NotificationBatchRequest;
 import io.github.xpakx.laddernotify.entity.NotificationRequest;
 import io.github.xpakx.laddernotify.utils.CustomEmitter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
-import org.springframework.http.MediaType;
 
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.HashSet;
 
 @Service
 public class NotificationService {
-    List<CustomEmitter> emitters = new ArrayList<>();
+    private final EmitterRegistry registry;
+    private final EmitterWriter writer;
+    private final ObjectMapper mapper;
+    private final int queueCapacity;
+
+    public NotificationService(EmitterRegistry registry, EmitterWriter writer, ObjectMapper mapper, EventBus eventBus,
+                               @Value("${notification.queue-capacity:64}") int queueCapacity) {
+        this.registry = registry;
+        this.writer = writer;
+        this.mapper = mapper;
+        this.queueCapacity = queueCapacity;
+        eventBus.subscribe(this::pushNotifications);
+    }
 
     public SseEmitter subscribe(Integer userId) {
-        CustomEmitter emitter = new CustomEmitter(userId, 24 * 60 * 60 * 1000L);
-        emitter.onCompletion(() -> {
-			emitters.remove(emitter);
-			});
+        CustomEmitter emitter = new CustomEmitter(userId, 24 * 60 * 60 * 1000L, queueCapacity);
+        emitter.onCompletion(() -> registry.remove(emitter));
+        emitter.onError((e) -> registry.remove(emitter));
         emitter.onTimeout(emitter::complete);
-        emitters.add(emitter);
+        registry.add(emitter);
         return emitter;
     }
 
     public void pushNotification(NotificationRequest request) {
-        List<CustomEmitter> deadEmitters = new ArrayList<>();
-
-        Notification notification = new Notification(request.getTime(), request.getType(), request.getId());
-
-        emitters.stream()
-                .filter((a) -> Objects.equals(a.getUserId(), request.getUserId()))
-                .forEach(emitter -> {
-                    try {
-                        sendNotification(notification, emitter);
-
-                    } catch (IOException e) {
-                        deadEmitters.add(emitter);
-                    }
-        });
-
-        emitters.removeAll(deadEmitters);
+        Notification notification = new Notification(request.getTime(), request.getType(), request.getId(), request.getPayload());
+        sendToAll(serialize(notification), registry.getByUserId(request.getUserId()));
     }
 
     public void pushNotification(CollabNotificationRequest request) {
-        List<CustomEmitter> deadEmitters = new ArrayList<>();
-
-        Notification notification = new Notification(request.getTime(), request.getType(), request.getId());
-
-        emitters.stream()
-                .filter((a) -> request.getCollabId().contains(a.getUserId()))
-                .forEach(emitter -> {
-                    try {
-                        sendNotification(notification, emitter);
+        Notification notification = new Notification(request.getTime(), request.getType(), request.getId(), request.getPayload());
+        String json = serialize(notification);
+        for(Integer userId : new HashSet<>(request.getCollabId())) {
+            sendToAll(json, registry.getByUserId(userId));
+        }
+    }
 
-                    } catch (IOException e) {
-                        deadEmitters.add(emitter);
-                    }
-                });
+    public void pushNotifications(NotificationBatchRequest request) {
+        if(request.getNotifications() != null) {
+            request.getNotifications().forEach(this::pushNotification);
+        }
+        if(request.getCollabNotifications() != null) {
+            request.getCollabNotifications().forEach(this::pushNotification);
+        }
+    }
 
-        emitters.removeAll(deadEmitters);
+    private void sendToAll(String json, Collection<CustomEmitter> emitters) {
+        for(CustomEmitter emitter : emitters) {
+            writer.enqueue(emitter, json);
+        }
     }
 
-    private void sendNotification(Notification payload, CustomEmitter emitter) throws IOException {
-        emitter.send(payload, MediaType.APPLICATION_JSON);
+    private String serialize(Notification notification) {
+        try {
+            return mapper.writeValueAsString(notification);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
@@ -2,15 +2,92 @@ package io.github.xpakx.laddernotify.utils;
 
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
 public class CustomEmitter extends SseEmitter {
+    private static final int DEFAULT_QUEUE_CAPACITY = 64;
     private final Integer userId;
+    private final BlockingQueue<OutboundEvent> queue;
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long lastLagMillis = 0;
 
     public Integer getUserId() {
         return userId;
     }
 
     public CustomEmitter(Integer id, Long timeout) {
+        this(id, timeout, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public CustomEmitter(Integer id, Long timeout, int queueCapacity) {
         super(timeout);
         this.userId = id;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public boolean offer(OutboundEvent event) {
+        return queue.offer(event);
+    }
+
+    /**
+     * Make room for the event by discarding the oldest queued ones
+     */
+    public void offerDroppingOldest(OutboundEvent event) {
+        while(!queue.offer(event)) {
+            if(queue.poll() != null) {
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    public OutboundEvent poll() {
+        return queue.poll();
+    }
+
+    public boolean hasPending() {
+        return !queue.isEmpty();
+    }
+
+    public void clear() {
+        dropped.addAndGet(queue.size());
+        queue.clear();
+    }
+
+    /**
+     * @return true if caller should start draining the queue
+     */
+    public boolean markScheduled() {
+        return scheduled.compareAndSet(false, true);
+    }
+
+    public void unmarkScheduled() {
+        scheduled.set(false);
+    }
+
+    public void recordSent(OutboundEvent event) {
+        sent.incrementAndGet();
+        lastLagMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - event.getEnqueuedAt());
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getSent() {
+        return sent.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getLastLagMillis() {
+        return lastLagMillis;
     }
 }
@@ -0,0 +1,11 @@
+package io.github.xpakx.laddernotify.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OutboundEvent {
+    private final String json;
+    private final long enqueuedAt;
+}
@@ -0,0 +1,8 @@
+package io.github.xpakx.laddernotify.utils;
+
+/**
+ * What to do with a new event when subscriber's queue is full
+ */
+public enum SlowConsumerPolicy {
+    DROP_OLDEST, DISCONNECT
+}
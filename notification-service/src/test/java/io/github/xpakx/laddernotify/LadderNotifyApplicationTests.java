@@ -1,13 +1,29 @@
 package io.github.xpakx.laddernotify;
 
+import io.github.xpakx.laddernotify.bus.EventBus;
+import io.github.xpakx.laddernotify.bus.InMemoryEventBus;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 class LadderNotifyApplicationTests {
+	@Autowired
+	ApplicationContext context;
 
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void shouldNotConfigureRedisWithoutRedisProfile() {
+		assertEquals(0, context.getBeanNamesForType(RedisConnectionFactory.class).length);
+		assertTrue(context.getBean(EventBus.class) instanceof InMemoryEventBus);
+	}
+
 }
@@ -0,0 +1,24 @@
+package io.github.xpakx.laddernotify.bus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process stand-in for a message broker, one instance can be shared by many application contexts
+ */
+public class LocalBrokerConnection implements BrokerConnection {
+    private final Map<String, List<Consumer<String>>> listeners = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String channel, String message) {
+        listeners.getOrDefault(channel, List.of()).forEach((a) -> a.accept(message));
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> listener) {
+        listeners.computeIfAbsent(channel, (a) -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+}
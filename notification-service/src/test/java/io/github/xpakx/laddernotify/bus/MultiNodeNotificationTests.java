@@ -0,0 +1,101 @@
+package io.github.xpakx.laddernotify.bus;
+
+import io.github.xpakx.laddernotify.LadderNotifyApplication;
+import io.github.xpakx.laddernotify.entity.CollabNotificationRequest;
+import io.github.xpakx.laddernotify.entity.NotificationRequest;
+import io.github.xpakx.laddernotify.service.EmitterRegistry;
+import io.github.xpakx.laddernotify.utils.CustomEmitter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultiNodeNotificationTests {
+    private final LocalBrokerConnection broker = new LocalBrokerConnection();
+    private final RestTemplate template = new RestTemplate();
+    private ConfigurableApplicationContext firstNode;
+    private ConfigurableApplicationContext secondNode;
+
+    @BeforeEach
+    void setUp() {
+        firstNode = startNode();
+        secondNode = startNode();
+    }
+
+    @AfterEach
+    void tearDown() {
+        firstNode.close();
+        secondNode.close();
+    }
+
+    private ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(LadderNotifyApplication.class)
+                .initializers((ApplicationContextInitializer<GenericApplicationContext>) (context) ->
+                        context.registerBean(BrokerConnection.class, () -> broker))
+                .run("--server.port=0", "--notification.bus=local");
+    }
+
+    private String urlOf(ConfigurableApplicationContext node) {
+        return "http://localhost:" + node.getEnvironment().getProperty("local.server.port");
+    }
+
+    private CapturingEmitter subscribe(ConfigurableApplicationContext node, Integer userId) {
+        CapturingEmitter emitter = new CapturingEmitter(userId);
+        node.getBean(EmitterRegistry.class).add(emitter);
+        return emitter;
+    }
+
+    @Test
+    void shouldDeliverNotificationToSubscribersOnBothNodes() throws InterruptedException {
+        CapturingEmitter onFirstNode = subscribe(firstNode, 1);
+        CapturingEmitter onSecondNode = subscribe(secondNode, 1);
+        CapturingEmitter otherUser = subscribe(secondNode, 2);
+        NotificationRequest request = new NotificationRequest();
+        request.setUserId(1);
+        request.setType("UPDATE");
+        request.setTime(LocalDateTime.now());
+
+        template.postForEntity(urlOf(firstNode) + "/notification", request, Object.class);
+
+        assertTrue(onFirstNode.received.await(5, TimeUnit.SECONDS));
+        assertTrue(onSecondNode.received.await(5, TimeUnit.SECONDS));
+        assertTrue(otherUser.received.getCount() > 0);
+    }
+
+    @Test
+    void shouldDeliverCollabNotificationToSubscriberOnOtherNode() throws InterruptedException {
+        CapturingEmitter collaborator = subscribe(secondNode, 3);
+        CollabNotificationRequest request = new CollabNotificationRequest();
+        request.setCollabId(List.of(3, 4));
+        request.setType("COLLAB_UPDATE");
+        request.setTime(LocalDateTime.now());
+
+        template.postForEntity(urlOf(firstNode) + "/collab/notification", request, Object.class);
+
+        assertTrue(collaborator.received.await(5, TimeUnit.SECONDS));
+    }
+
+    private static class CapturingEmitter extends CustomEmitter {
+        private final CountDownLatch received = new CountDownLatch(1);
+
+        CapturingEmitter(Integer userId) {
+            super(userId, 60_000L);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            received.countDown();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.xpakx.laddernotify.bus;
+
+import io.github.xpakx.laddernotify.LadderNotifyApplication;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+class RedisBrokerConnectionTests {
+    private static final int REDIS_PORT = 6379;
+
+    @Container
+    private static final GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:6.2-alpine"))
+            .withExposedPorts(REDIS_PORT);
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisBrokerConnection firstNode;
+    private RedisBrokerConnection secondNode;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(REDIS_PORT));
+        connectionFactory.afterPropertiesSet();
+        firstNode = new RedisBrokerConnection(connectionFactory);
+        secondNode = new RedisBrokerConnection(connectionFactory);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        firstNode.shutdown();
+        secondNode.shutdown();
+        connectionFactory.destroy();
+    }
+
+    // subscriptions are registered asynchronously, so publish until the listener is up
+    private String publishUntilReceived(BrokerConnection publisher, String channel, BlockingQueue<String> received)
+            throws InterruptedException {
+        for(int i = 0; i < 50; i++) {
+            publisher.publish(channel, "message");
+            String message = received.poll(100, TimeUnit.MILLISECONDS);
+            if(message != null) {
+                return message;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    void shouldDeliverMessageToSubscriberOnOtherNode() throws InterruptedException {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        secondNode.subscribe("notifications", received::add);
+
+        assertEquals("message", publishUntilReceived(firstNode, "notifications", received));
+    }
+
+    @Test
+    void shouldDeliverMessageToPublishingNode() throws InterruptedException {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        firstNode.subscribe("notifications", received::add);
+
+        assertEquals("message", publishUntilReceived(firstNode, "notifications", received));
+    }
+
+    @Test
+    void shouldNotDeliverMessageFromOtherChannel() throws InterruptedException {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        BlockingQueue<String> other = new LinkedBlockingQueue<>();
+        secondNode.subscribe("notifications", received::add);
+        secondNode.subscribe("other", other::add);
+
+        assertNotNull(publishUntilReceived(firstNode, "notifications", received));
+        assertTrue(other.isEmpty());
+    }
+
+    @Test
+    void shouldUseRedisBrokerWithRedisProfile() {
+        try(ConfigurableApplicationContext node = new SpringApplicationBuilder(LadderNotifyApplication.class)
+                .profiles("redis")
+                .run("--server.port=0",
+                        "--spring.redis.host=" + redis.getHost(),
+                        "--spring.redis.port=" + redis.getMappedPort(REDIS_PORT))) {
+            assertTrue(node.getBean(BrokerConnection.class) instanceof RedisBrokerConnection);
+            assertTrue(node.getBean(EventBus.class) instanceof BrokerEventBus);
+        }
+    }
+}
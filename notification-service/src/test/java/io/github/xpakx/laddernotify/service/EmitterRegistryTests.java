@@ -0,0 +1,117 @@
+package io.github.xpakx.laddernotify.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.xpakx.laddernotify.bus.InMemoryEventBus;
+import io.github.xpakx.laddernotify.entity.NotificationRequest;
+import io.github.xpakx.laddernotify.utils.CustomEmitter;
+import io.github.xpakx.laddernotify.utils.SlowConsumerPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmitterRegistryTests {
+    private static final int SUBSCRIBERS = 50_000;
+    private static final int EMITTERS_PER_USER = 5;
+    private static final int THREADS = 8;
+
+    private EmitterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new EmitterRegistry();
+    }
+
+    @Test
+    void shouldKeepSeveralEmittersPerUser() {
+        CustomEmitter first = new CustomEmitter(1, 1000L);
+        CustomEmitter second = new CustomEmitter(1, 1000L);
+        registry.add(first);
+        registry.add(second);
+        registry.add(new CustomEmitter(2, 1000L));
+
+        assertEquals(2, registry.getByUserId(1).size());
+        registry.remove(first);
+        assertEquals(1, registry.getByUserId(1).size());
+        registry.remove(second);
+        assertTrue(registry.getByUserId(1).isEmpty());
+        assertEquals(1, registry.countUsers());
+    }
+
+    @Test
+    void shouldHold50kSubscribersWithConcurrentSubscriptionsAndRemovals() throws Exception {
+        List<CustomEmitter> emitters = new ArrayList<>();
+        for(int i = 0; i < SUBSCRIBERS; i++) {
+            emitters.add(new CustomEmitter(i / EMITTERS_PER_USER, 60_000L));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            runConcurrently(executor, emitters, registry::add);
+            assertEquals(SUBSCRIBERS, registry.countEmitters());
+            assertEquals(SUBSCRIBERS / EMITTERS_PER_USER, registry.countUsers());
+
+            List<CustomEmitter> removed = new ArrayList<>();
+            for(int i = 0; i < SUBSCRIBERS; i += 2) {
+                removed.add(emitters.get(i));
+            }
+            EmitterWriter writer = new EmitterWriter(registry, THREADS, SlowConsumerPolicy.DROP_OLDEST);
+            NotificationService service = new NotificationService(registry, writer, new ObjectMapper().findAndRegisterModules(), new InMemoryEventBus(), 64);
+            Future<?> pushes = executor.submit(() -> pushToRandomUsers(service));
+            runConcurrently(executor, removed, registry::remove);
+            pushes.get(1, TimeUnit.MINUTES);
+
+            assertEquals(SUBSCRIBERS - removed.size(), registry.countEmitters());
+            writer.shutdown();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldLookUpSingleUserWithoutScanningAllSubscribers() {
+        for(int i = 0; i < SUBSCRIBERS; i++) {
+            registry.add(new CustomEmitter(i / EMITTERS_PER_USER, 60_000L));
+        }
+
+        long start = System.nanoTime();
+        for(int i = 0; i < SUBSCRIBERS; i++) {
+            assertEquals(EMITTERS_PER_USER, registry.getByUserId(i % (SUBSCRIBERS / EMITTERS_PER_USER)).size());
+        }
+        long perLookup = (System.nanoTime() - start) / SUBSCRIBERS;
+
+        assertTrue(perLookup < TimeUnit.MICROSECONDS.toNanos(50), "Lookup took " + perLookup + "ns");
+    }
+
+    private void runConcurrently(ExecutorService executor, List<CustomEmitter> emitters,
+                                 Consumer<CustomEmitter> action) throws Exception {
+        List<Future<?>> tasks = new ArrayList<>();
+        int chunk = emitters.size() / THREADS + 1;
+        for(int i = 0; i < emitters.size(); i += chunk) {
+            List<CustomEmitter> part = emitters.subList(i, Math.min(i + chunk, emitters.size()));
+            tasks.add(executor.submit(() -> part.forEach(action)));
+        }
+        for(Future<?> task : tasks) {
+            task.get(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private void pushToRandomUsers(NotificationService service) {
+        for(int i = 0; i < 1000; i++) {
+            NotificationRequest request = new NotificationRequest();
+            request.setUserId(i * 7 % (SUBSCRIBERS / EMITTERS_PER_USER));
+            request.setType("UPDATE");
+            request.setTime(LocalDateTime.now());
+            service.pushNotification(request);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.xpakx.laddernotify.service;
+
+import io.github.xpakx.laddernotify.entity.DeliveryMetrics;
+import io.github.xpakx.laddernotify.utils.CustomEmitter;
+import io.github.xpakx.laddernotify.utils.SlowConsumerPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmitterWriterTests {
+    private final EmitterRegistry registry = new EmitterRegistry();
+    private EmitterWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdown();
+    }
+
+    @Test
+    void shouldDeliverEventsInOrder() throws Exception {
+        writer = new EmitterWriter(registry, 2, SlowConsumerPolicy.DROP_OLDEST);
+        SlowEmitter emitter = new SlowEmitter(1, 16, 3);
+        emitter.release();
+        registry.add(emitter);
+
+        writer.enqueue(emitter, "1");
+        writer.enqueue(emitter, "2");
+        writer.enqueue(emitter, "3");
+
+        assertTrue(emitter.delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("1", "2", "3"), emitter.events);
+        assertEquals(0, emitter.getDropped());
+    }
+
+    @Test
+    void shouldDropOldestEventsForSlowConsumer() throws Exception {
+        writer = new EmitterWriter(registry, 2, SlowConsumerPolicy.DROP_OLDEST);
+        SlowEmitter slow = new SlowEmitter(1, 2, 3);
+        SlowEmitter fast = new SlowEmitter(2, 2, 1);
+        fast.release();
+        registry.add(slow);
+        registry.add(fast);
+
+        writer.enqueue(slow, "1");
+        assertTrue(slow.started.await(5, TimeUnit.SECONDS));
+        for(int i = 2; i <= 5; i++) {
+            writer.enqueue(slow, String.valueOf(i));
+        }
+        writer.enqueue(fast, "1");
+
+        assertTrue(fast.delivered.await(5, TimeUnit.SECONDS));
+        assertTrue(writer.getMetrics().getConnectionMetrics().stream()
+                .anyMatch((a) -> a.getUserId().equals(1) && a.getQueueDepth() == 2 && a.getDropped() == 2));
+        slow.release();
+        assertTrue(slow.delivered.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("1", "4", "5"), slow.events);
+    }
+
+    @Test
+    void shouldDisconnectSlowConsumer() throws Exception {
+        writer = new EmitterWriter(registry, 2, SlowConsumerPolicy.DISCONNECT);
+        SlowEmitter slow = new SlowEmitter(1, 2, 1);
+        registry.add(slow);
+
+        writer.enqueue(slow, "1");
+        assertTrue(slow.started.await(5, TimeUnit.SECONDS));
+        writer.enqueue(slow, "2");
+        writer.enqueue(slow, "3");
+        writer.enqueue(slow, "4");
+
+        assertTrue(registry.getByUserId(1).isEmpty());
+        assertEquals(1, writer.getMetrics().getDisconnected());
+        slow.release();
+    }
+
+    private static class SlowEmitter extends CustomEmitter {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch unblocked = new CountDownLatch(1);
+        private final CountDownLatch delivered;
+        private final List<Object> events = new CopyOnWriteArrayList<>();
+
+        SlowEmitter(Integer userId, int queueCapacity, int expectedEvents) {
+            super(userId, 60_000L, queueCapacity);
+            this.delivered = new CountDownLatch(expectedEvents);
+        }
+
+        void release() {
+            unblocked.countDown();
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            started.countDown();
+            try {
+                unblocked.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(new ArrayList<>(builder.build()).get(1).getData());
+            delivered.countDown();
+        }
+    }
+}